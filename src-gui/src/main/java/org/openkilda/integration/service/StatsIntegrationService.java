@@ -15,32 +15,20 @@
 
 package org.openkilda.integration.service;
 
-import org.openkilda.constants.IConstants;
 import org.openkilda.constants.IConstants.Metrics;
 import org.openkilda.constants.OpenTsDb;
 import org.openkilda.constants.OpenTsDb.StatsType;
-import org.openkilda.helper.RestClientManager;
 import org.openkilda.integration.exception.IntegrationException;
 import org.openkilda.integration.exception.InvalidResponseException;
 import org.openkilda.integration.model.Filter;
-import org.openkilda.integration.model.IslStats;
 import org.openkilda.integration.model.Query;
-import org.openkilda.utility.ApplicationProperties;
-import org.openkilda.utility.IoUtil;
-import org.openkilda.utility.JsonUtil;
 import org.openkilda.utility.StringUtil;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-
-import org.apache.http.HttpResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Service;
 
-import java.io.IOException;
-
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -60,10 +48,7 @@ public class StatsIntegrationService {
     private static final Logger LOGGER = LoggerFactory.getLogger(StatsIntegrationService.class);
 
     @Autowired
-    private RestClientManager restClientManager;
-
-    @Autowired
-    private ApplicationProperties applicationProperties;
+    private StatsQueryService statsQueryService;
 
     /**
      * Gets the stats.
@@ -91,25 +76,17 @@ public class StatsIntegrationService {
 
         LOGGER.info("Inside getStats: switchId: " + switchId);
         try {
-            String payload = getOpenTsdbRequestBody(startDate, endDate, downsample, switchId, port, flowId, srcSwitch,
+            List<Query> queries = getQueries(startDate, endDate, downsample, switchId, port, flowId, srcSwitch,
                     srcPort, dstSwitch, dstPort, statsType, metric, direction);
 
-            LOGGER.info("Inside getStats: startDate: " + startDate + ": endDate: " + endDate + ": payload: " + payload);
+            LOGGER.info("Inside getStats: startDate: " + startDate + ": endDate: " + endDate + ": queries: "
+                    + queries.size());
 
-            HttpResponse response = restClientManager.invoke(
-                    applicationProperties.getOpenTsdbBaseUrl() + IConstants.OpenTsDbUrl.OPEN_TSDB_QUERY,
-                    HttpMethod.POST, payload, "application/json", "");
-            if (RestClientManager.isValidResponse(response)) {
-                return IoUtil.toString(response.getEntity().getContent());
-            }
+            return statsQueryService.getStats(startDate, endDate, queries);
         } catch (InvalidResponseException e) {
             LOGGER.error("Error occurred while getting stats", e);
             throw new InvalidResponseException(e.getCode(), e.getResponse());
-        } catch (IOException e) {
-            LOGGER.warn("Error occurred while getting stats", e);
-            throw new IntegrationException(e);
         }
-        return null;
     }
 
     private String populateFiltersAndReturnDownsample(final List<Filter> filters, final Map<String, String[]> params,
@@ -198,36 +175,6 @@ public class StatsIntegrationService {
         return isValidDownsample;
     }
 
-    /**
-     * Sets the date format.
-     *
-     * @param date the date
-     * @return the string
-     */
-    private String formatDate(final String date) {
-        return date.replaceFirst("-", "/").replaceFirst("-", "/");
-    }
-
-    private String getOpenTsdbRequestBody(final String startDate, final String endDate, final String downsample,
-            final List<String> switchIds, final String port, final String flowId, final String srcSwitch,
-            final String srcPort, final String dstSwitch, final String dstPort, final StatsType statsType,
-            final String metric, final String direction) throws JsonProcessingException {
-        LOGGER.info("Inside getOpenTsdbRequestBody :");
-
-        List<Query> queries = getQueries(startDate, endDate, downsample, switchIds, port, flowId, srcSwitch, srcPort,
-                dstSwitch, dstPort, statsType, metric, direction);
-        return getRequest(startDate, endDate, queries);
-    }
-
-    private String getRequest(final String startDate, final String endDate, final List<Query> queryList)
-            throws JsonProcessingException {
-        IslStats islStatsRequest = new IslStats();
-        islStatsRequest.setStart(formatDate(startDate));
-        islStatsRequest.setEnd(formatDate(endDate));
-        islStatsRequest.setQueries(queryList);
-        return JsonUtil.toString(islStatsRequest);
-    }
-
     /**
      * Gets the metircs.
      *
@@ -0,0 +1,245 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.integration.service;
+
+import org.openkilda.constants.IConstants;
+import org.openkilda.helper.RestClientManager;
+import org.openkilda.integration.exception.IntegrationException;
+import org.openkilda.integration.model.IslStats;
+import org.openkilda.integration.model.Query;
+import org.openkilda.utility.ApplicationProperties;
+import org.openkilda.utility.IoUtil;
+import org.openkilda.utility.JsonUtil;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+
+import org.apache.http.HttpResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Executes OpenTSDB queries. The queries of one stats request are split into batches which are sent concurrently and
+ * the responses are merged back in the order of the queries. Responses are cached for a short time and identical
+ * requests which are in flight share one OpenTSDB call.
+ */
+@Service
+public class StatsQueryService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StatsQueryService.class);
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private final Map<String, CachedResponse> responses = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    @Autowired
+    private RestClientManager restClientManager;
+
+    @Autowired
+    private ApplicationProperties applicationProperties;
+
+    @PostConstruct
+    public void init() {
+        executor = Executors.newFixedThreadPool(Math.max(1, applicationProperties.getOpenTsdbQueryParallelism()));
+    }
+
+    @PreDestroy
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the stats of the queries for the time range.
+     *
+     * @param startDate the start date
+     * @param endDate the end date
+     * @param queries the queries
+     * @return the merged OpenTSDB response
+     * @throws IntegrationException the integration exception
+     */
+    public String getStats(final String startDate, final String endDate, final List<Query> queries)
+            throws IntegrationException {
+        evictExpired();
+
+        int batchSize = Math.max(1, applicationProperties.getOpenTsdbQueryBatchSize());
+        if (queries.size() <= batchSize) {
+            return await(query(getRequest(startDate, endDate, queries)));
+        }
+
+        List<CompletableFuture<String>> batches = new ArrayList<>();
+        for (int i = 0; i < queries.size(); i += batchSize) {
+            List<Query> batch = queries.subList(i, Math.min(i + batchSize, queries.size()));
+            batches.add(query(getRequest(startDate, endDate, batch)));
+        }
+
+        ArrayNode result = mapper.createArrayNode();
+        try {
+            for (CompletableFuture<String> batch : batches) {
+                String response = await(batch);
+                if (response == null) {
+                    return null;
+                }
+                JsonNode node = mapper.readTree(response);
+                if (node.isArray()) {
+                    result.addAll((ArrayNode) node);
+                } else {
+                    result.add(node);
+                }
+            }
+            return mapper.writeValueAsString(result);
+        } catch (IOException e) {
+            LOGGER.warn("Error occurred while merging stats", e);
+            throw new IntegrationException(e);
+        }
+    }
+
+    private CompletableFuture<String> query(final String payload) {
+        long now = System.currentTimeMillis();
+        return responses.compute(payload, (key, current) -> {
+            if (current != null && !current.isExpired(now)) {
+                return current;
+            }
+            return new CachedResponse(execute(payload), now);
+        }).getResponse();
+    }
+
+    private CompletableFuture<String> execute(final String payload) {
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        return CompletableFuture.supplyAsync(() -> {
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                return invoke(payload);
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }, executor);
+    }
+
+    private String invoke(final String payload) {
+        LOGGER.info("Inside getStats: payload: " + payload);
+        HttpResponse response = restClientManager.invoke(
+                applicationProperties.getOpenTsdbBaseUrl() + IConstants.OpenTsDbUrl.OPEN_TSDB_QUERY,
+                HttpMethod.POST, payload, "application/json", "");
+        try {
+            if (RestClientManager.isValidResponse(response)) {
+                return IoUtil.toString(response.getEntity().getContent());
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Error occurred while getting stats", e);
+            throw new IntegrationException(e);
+        }
+        return null;
+    }
+
+    private String await(final CompletableFuture<String> response) {
+        try {
+            return response.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IntegrationException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof CompletionException && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IntegrationException(cause);
+        }
+    }
+
+    private void evictExpired() {
+        long now = System.currentTimeMillis();
+        responses.values().removeIf(cached -> cached.isExpired(now));
+    }
+
+    private String getRequest(final String startDate, final String endDate, final List<Query> queryList)
+            throws IntegrationException {
+        IslStats islStatsRequest = new IslStats();
+        islStatsRequest.setStart(formatDate(startDate));
+        islStatsRequest.setEnd(formatDate(endDate));
+        islStatsRequest.setQueries(queryList);
+        try {
+            return JsonUtil.toString(islStatsRequest);
+        } catch (JsonProcessingException e) {
+            throw new IntegrationException(e);
+        }
+    }
+
+    /**
+     * Sets the date format.
+     *
+     * @param date the date
+     * @return the string
+     */
+    private String formatDate(final String date) {
+        return date.replaceFirst("-", "/").replaceFirst("-", "/");
+    }
+
+    private final class CachedResponse {
+        private final CompletableFuture<String> response;
+        private final long createdAt;
+
+        private CachedResponse(final CompletableFuture<String> response, final long createdAt) {
+            this.response = response;
+            this.createdAt = createdAt;
+        }
+
+        private CompletableFuture<String> getResponse() {
+            return response;
+        }
+
+        /**
+         * In flight response is never expired, so identical requests wait for it instead of querying OpenTSDB again.
+         * Failed response is not cached.
+         */
+        private boolean isExpired(final long now) {
+            if (!response.isDone()) {
+                return false;
+            }
+            if (response.isCompletedExceptionally()) {
+                return true;
+            }
+            return createdAt + TimeUnit.SECONDS.toMillis(applicationProperties.getOpenTsdbQueryCacheTtlSeconds())
+                    <= now;
+        }
+    }
+}
@@ -49,8 +49,10 @@ import java.math.RoundingMode;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * The Class StatsService.
@@ -292,17 +294,16 @@ public class StatsService {
 
     private void processInventoryPorts(final List<PortInfo> portStats, final List<Port> inventoryPorts) {
         if (!CollectionUtil.isEmpty(inventoryPorts)) {
+            Map<Integer, PortInfo> portStatsByPortNumber = new HashMap<Integer, PortInfo>();
+            for (PortInfo portInfo : portStats) {
+                portStatsByPortNumber.putIfAbsent(Integer.parseInt(portInfo.getPortNumber()), portInfo);
+            }
+            Set<Integer> inventoryPortNumbers = new HashSet<Integer>();
             List<PortInfo> discrepancyPorts = new ArrayList<PortInfo>();
             for (Port port : inventoryPorts) {
-                int index = -1;
-                for (PortInfo portInfo : portStats) {
-                    if (port.getPortNumber() == Integer.parseInt(portInfo.getPortNumber())) {
-                        index = portStats.indexOf(portInfo);
-                        break;
-                    }
-                }
-                if (index >= 0) {
-                    PortInfo portInfo = portStats.get(index);
+                inventoryPortNumbers.add(port.getPortNumber());
+                PortInfo portInfo = portStatsByPortNumber.get(port.getPortNumber());
+                if (portInfo != null) {
                     portConverter.appendInventoryInfo(portInfo, port);
                     PortDiscrepancy portDiscrepancy = new PortDiscrepancy();
                     portDiscrepancy.setControllerDiscrepancy(false);
@@ -320,14 +321,7 @@ public class StatsService {
             }
 
             for (PortInfo portInfo : portStats) {
-                boolean flag = false;
-                for (Port port : inventoryPorts) {
-                    if (port.getPortNumber() == Integer.parseInt(portInfo.getPortNumber())) {
-                        flag = true;
-                        break;
-                    }
-                }
-                if (!flag) {
+                if (!inventoryPortNumbers.contains(Integer.parseInt(portInfo.getPortNumber()))) {
                     PortDiscrepancy discrepancy = new PortDiscrepancy();
                     discrepancy.setInventoryDiscrepancy(true);
                     discrepancy.setControllerDiscrepancy(false);
@@ -405,14 +399,17 @@ public class StatsService {
         List<IslLink> islLinkPorts = switchIntegrationService.getIslLinkPortsInfo(null);
         String switchIdInfo = null;
         if (islLinkPorts != null) {
+            Map<String, PortInfo> portInfoByPortNo = new HashMap<String, PortInfo>();
+            for (PortInfo portInfo : portInfos) {
+                portInfoByPortNo.put(portInfo.getPortNumber(), portInfo);
+            }
             for (IslLink islLink : islLinkPorts) {
                 for (IslPath islPath : islLink.getPath()) {
                     switchIdInfo = ("SW" + islPath.getSwitchId().replaceAll(":", "")).toUpperCase();
                     if (switchIdInfo.equals(switchid)) {
-                        for (int i = 0; i < portInfos.size(); i++) {
-                            if (portInfos.get(i).getPortNumber().equals(islPath.getPortNo().toString())) {
-                                portInfos.get(i).setAssignmenttype("ISL");
-                            }
+                        PortInfo portInfo = portInfoByPortNo.get(islPath.getPortNo().toString());
+                        if (portInfo != null) {
+                            portInfo.setAssignmenttype("ISL");
                         }
                     }
                 }
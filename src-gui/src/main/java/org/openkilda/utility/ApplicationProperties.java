@@ -41,6 +41,15 @@ public class ApplicationProperties {
     @Value("${opentsdb.metric.prefix}")
     private String openTsdbMetricPrefix;
 
+    @Value("${opentsdb.query.parallelism:8}")
+    private int openTsdbQueryParallelism;
+
+    @Value("${opentsdb.query.batch.size:1}")
+    private int openTsdbQueryBatchSize;
+
+    @Value("${opentsdb.query.cache.ttl.seconds:30}")
+    private int openTsdbQueryCacheTtlSeconds;
+
     @Value("${kilda.username}")
     private String kildaUsername;
 
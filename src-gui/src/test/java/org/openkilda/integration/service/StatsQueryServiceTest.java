@@ -0,0 +1,196 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.integration.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.helper.RestClientManager;
+import org.openkilda.integration.exception.InvalidResponseException;
+import org.openkilda.integration.model.Query;
+import org.openkilda.utility.ApplicationProperties;
+
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpVersion;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.message.BasicHttpResponse;
+import org.apache.http.message.BasicStatusLine;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.http.HttpMethod;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+@RunWith(MockitoJUnitRunner.class)
+public class StatsQueryServiceTest {
+
+    private static final String START_DATE = "2020-01-01-00:00:00";
+    private static final String END_DATE = "2020-01-01-01:00:00";
+
+    @Mock
+    private RestClientManager restClientManager;
+
+    @Mock
+    private ApplicationProperties applicationProperties;
+
+    @InjectMocks
+    private StatsQueryService statsQueryService;
+
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    @Before
+    public void init() {
+        when(applicationProperties.getOpenTsdbBaseUrl()).thenReturn("http://opentsdb");
+        when(applicationProperties.getOpenTsdbQueryParallelism()).thenReturn(4);
+        when(applicationProperties.getOpenTsdbQueryBatchSize()).thenReturn(1);
+        when(applicationProperties.getOpenTsdbQueryCacheTtlSeconds()).thenReturn(60);
+        statsQueryService.init();
+    }
+
+    @After
+    public void destroy() {
+        statsQueryService.destroy();
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void identicalInFlightQueriesShareOneCall() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(restClientManager.invoke(anyString(), any(HttpMethod.class), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    started.countDown();
+                    release.await(10, TimeUnit.SECONDS);
+                    return makeResponse("[{\"metric\":\"a\"}]");
+                });
+
+        List<Query> queries = Collections.singletonList(makeQuery("a"));
+        final Future<String> first = callers.submit(() -> statsQueryService.getStats(START_DATE, END_DATE, queries));
+        started.await(10, TimeUnit.SECONDS);
+
+        AtomicReference<String> second = new AtomicReference<>();
+        Thread secondCaller = new Thread(() -> second.set(statsQueryService.getStats(START_DATE, END_DATE, queries)));
+        secondCaller.start();
+        awaitWaiting(secondCaller);
+        release.countDown();
+        secondCaller.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertEquals("[{\"metric\":\"a\"}]", first.get(10, TimeUnit.SECONDS));
+        assertEquals("[{\"metric\":\"a\"}]", second.get());
+        verifyInvocations(1);
+    }
+
+    @Test
+    public void failedQueryIsNotCached() {
+        when(restClientManager.invoke(anyString(), any(HttpMethod.class), anyString(), anyString(), anyString()))
+                .thenThrow(new InvalidResponseException(500, "unavailable"))
+                .thenAnswer(invocation -> makeResponse("[{\"metric\":\"a\"}]"));
+
+        List<Query> queries = Collections.singletonList(makeQuery("a"));
+        try {
+            statsQueryService.getStats(START_DATE, END_DATE, queries);
+            fail("OpenTSDB error must be propagated");
+        } catch (InvalidResponseException e) {
+            assertEquals(500, e.getCode());
+        }
+
+        assertEquals("[{\"metric\":\"a\"}]", statsQueryService.getStats(START_DATE, END_DATE, queries));
+        verifyInvocations(2);
+    }
+
+    @Test
+    public void responseIsCachedUntilTtlExpires() {
+        when(restClientManager.invoke(anyString(), any(HttpMethod.class), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> makeResponse("[{\"metric\":\"a\"}]"));
+
+        List<Query> queries = Collections.singletonList(makeQuery("a"));
+        statsQueryService.getStats(START_DATE, END_DATE, queries);
+        statsQueryService.getStats(START_DATE, END_DATE, queries);
+        verifyInvocations(1);
+
+        when(applicationProperties.getOpenTsdbQueryCacheTtlSeconds()).thenReturn(0);
+        assertEquals("[{\"metric\":\"a\"}]", statsQueryService.getStats(START_DATE, END_DATE, queries));
+        verifyInvocations(2);
+    }
+
+    @Test
+    public void batchesAreMergedInQueryOrder() {
+        CountDownLatch lastBatchSent = new CountDownLatch(1);
+        when(restClientManager.invoke(anyString(), any(HttpMethod.class), anyString(), anyString(), anyString()))
+                .thenAnswer(invocation -> {
+                    String payload = (String) invocation.getArguments()[2];
+                    if (payload.contains("\"metric\":\"a\"")) {
+                        // the first batch completes last
+                        lastBatchSent.await(10, TimeUnit.SECONDS);
+                        return makeResponse("[{\"metric\":\"a\"}]");
+                    } else if (payload.contains("\"metric\":\"b\"")) {
+                        return makeResponse("[{\"metric\":\"b1\"},{\"metric\":\"b2\"}]");
+                    }
+                    lastBatchSent.countDown();
+                    return makeResponse("{\"metric\":\"c\"}");
+                });
+
+        String result = statsQueryService.getStats(START_DATE, END_DATE,
+                Arrays.asList(makeQuery("a"), makeQuery("b"), makeQuery("c")));
+
+        assertEquals("[{\"metric\":\"a\"},{\"metric\":\"b1\"},{\"metric\":\"b2\"},{\"metric\":\"c\"}]", result);
+        verifyInvocations(3);
+    }
+
+    private void verifyInvocations(int count) {
+        verify(restClientManager, times(count))
+                .invoke(anyString(), any(HttpMethod.class), anyString(), anyString(), anyString());
+    }
+
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + TimeUnit.SECONDS.toMillis(10);
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    private static Query makeQuery(String metric) {
+        Query query = new Query();
+        query.setAggregator("sum");
+        query.setMetric(metric);
+        return query;
+    }
+
+    private static HttpResponse makeResponse(String body) {
+        HttpResponse response = new BasicHttpResponse(new BasicStatusLine(HttpVersion.HTTP_1_1, 200, "OK"));
+        response.setEntity(new StringEntity(body, StandardCharsets.UTF_8));
+        return response;
+    }
+}
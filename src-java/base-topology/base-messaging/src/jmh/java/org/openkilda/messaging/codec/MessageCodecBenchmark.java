@@ -0,0 +1,156 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.model.FlowDto;
+import org.openkilda.messaging.payload.flow.FlowEncapsulationType;
+import org.openkilda.messaging.payload.flow.FlowState;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares encoding and decoding of representative Kafka payloads in JSON and in Smile. The encoded size of the
+ * payload is printed on setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class MessageCodecBenchmark {
+    private static final SwitchId SRC_SWITCH = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId DST_SWITCH = new SwitchId("00:00:00:00:00:00:00:02");
+
+    @Param({"FLOW", "PORT_STATS", "ISL_DISCOVERY"})
+    Payload payload;
+
+    @Param({"JSON", "SMILE"})
+    MessageFormat format;
+
+    private final MessageCodec codec = new MessageCodec(ObjectMapper::new);
+    private Object value;
+    private byte[] encoded;
+
+    /**
+     * Creates and encodes the payload.
+     */
+    @Setup
+    public void setUp() throws IOException {
+        value = payload.create();
+        encoded = codec.encode(value, format);
+        System.out.printf("%n%s payload in %s is %d bytes%n", payload, format, encoded.length);
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        return codec.encode(value, format);
+    }
+
+    @Benchmark
+    public Object decode() throws IOException {
+        return codec.decode(encoded, payload.type);
+    }
+
+    public enum Payload {
+        FLOW(FlowDto.class) {
+            @Override
+            Object create() {
+                return FlowDto.builder()
+                        .flowId("flow-benchmark-0001")
+                        .bandwidth(10_000)
+                        .cookie(0x4000000000000001L)
+                        .description("representative flow description")
+                        .createdTime("2020-07-08T10:00:00Z")
+                        .lastUpdated("2020-07-08T10:00:00Z")
+                        .sourceSwitch(SRC_SWITCH)
+                        .destinationSwitch(DST_SWITCH)
+                        .sourcePort(10)
+                        .destinationPort(20)
+                        .sourceVlan(100)
+                        .destinationVlan(200)
+                        .meterId(32)
+                        .transitEncapsulationId(2000)
+                        .state(FlowState.UP)
+                        .maxLatency(500L)
+                        .priority(10)
+                        .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                        .pathComputationStrategy(PathComputationStrategy.COST)
+                        .diverseWith(Collections.singleton("flow-benchmark-0002"))
+                        .build();
+            }
+        },
+
+        PORT_STATS(Message.class) {
+            @Override
+            Object create() {
+                List<PortStatsEntry> entries = new ArrayList<>();
+                for (int port = 1; port <= 48; port++) {
+                    entries.add(new PortStatsEntry(port, 1_000_000L + port, 2_000_000L + port, 1_500_000_000L + port,
+                            3_000_000_000L + port, port, port, 0, 0, 0, 0, 0, 0));
+                }
+                return new InfoMessage(new PortStatsData(SRC_SWITCH, entries), 1594202400000L, "stats-request");
+            }
+        },
+
+        ISL_DISCOVERY(Message.class) {
+            @Override
+            Object create() {
+                IslInfoData isl = IslInfoData.builder()
+                        .latency(1_500_000L)
+                        .source(new PathNode(SRC_SWITCH, 10, 0))
+                        .destination(new PathNode(DST_SWITCH, 20, 1))
+                        .speed(10_000_000L)
+                        .availableBandwidth(9_000_000L)
+                        .maxBandwidth(10_000_000L)
+                        .defaultMaxBandwidth(10_000_000L)
+                        .state(IslChangeType.DISCOVERED)
+                        .cost(700)
+                        .packetId(42L)
+                        .build();
+                return new InfoMessage(isl, 1594202400000L, "discovery");
+            }
+        };
+
+        private final Class<?> type;
+
+        Payload(Class<?> type) {
+            this.type = type;
+        }
+
+        abstract Object create();
+    }
+}
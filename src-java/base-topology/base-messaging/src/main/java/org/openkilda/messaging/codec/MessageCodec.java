@@ -0,0 +1,61 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Encodes messages into the requested {@link MessageFormat} and decodes them from any supported format, so producers
+ * can be switched to the binary format topic by topic while consumers keep reading both.
+ */
+public class MessageCodec {
+    private final Map<MessageFormat, ObjectMapper> mappers = new EnumMap<>(MessageFormat.class);
+
+    /**
+     * Creates the codec.
+     *
+     * @param mapperFactory creates an object mapper over the given factory, it must apply the same modules and
+     *                      features for all formats.
+     */
+    public MessageCodec(Function<JsonFactory, ObjectMapper> mapperFactory) {
+        mappers.put(MessageFormat.JSON, mapperFactory.apply(new JsonFactory()));
+
+        SmileFactory smileFactory = new SmileFactory();
+        // Back references make repeated field names and short values (switch ids, enums) one or two bytes long.
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_NAMES);
+        smileFactory.enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES);
+        mappers.put(MessageFormat.SMILE, mapperFactory.apply(smileFactory));
+    }
+
+    public byte[] encode(Object value, MessageFormat format) throws IOException {
+        return mappers.get(format).writeValueAsBytes(value);
+    }
+
+    /**
+     * Decodes the value, the format is detected by the value header.
+     */
+    public <T> T decode(byte[] data, Class<T> type) throws IOException {
+        return mappers.get(MessageFormat.detect(data)).readValue(data, type);
+    }
+}
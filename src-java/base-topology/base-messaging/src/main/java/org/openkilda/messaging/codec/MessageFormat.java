@@ -0,0 +1,47 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import com.fasterxml.jackson.dataformat.smile.SmileConstants;
+
+/**
+ * Wire formats of Kafka message values.
+ */
+public enum MessageFormat {
+    /**
+     * Plain JSON text.
+     */
+    JSON,
+
+    /**
+     * Smile, the binary form of JSON. It uses the same Jackson annotations of the message classes, so both formats
+     * carry the same data and a record can be decoded without knowing the format in advance.
+     */
+    SMILE;
+
+    /**
+     * Detects the format of the encoded value by the Smile header. JSON text can't start with it.
+     */
+    public static MessageFormat detect(byte[] data) {
+        if (data != null && data.length >= 3
+                && data[0] == SmileConstants.HEADER_BYTE_1
+                && data[1] == SmileConstants.HEADER_BYTE_2
+                && data[2] == SmileConstants.HEADER_BYTE_3) {
+            return SMILE;
+        }
+        return JSON;
+    }
+}
@@ -0,0 +1,64 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Selects the format of values produced into a topic. Topics listed in the binary topics are written in
+ * {@link MessageFormat#SMILE}, all the rest in {@link MessageFormat#JSON}.
+ */
+public class TopicFormatSelector {
+    /**
+     * Kafka client property with the comma separated list of topics to be written in the binary format.
+     */
+    public static final String BINARY_TOPICS_CONFIG = "kilda.codec.binary.topics";
+
+    private final Set<String> binaryTopics;
+
+    public TopicFormatSelector(Set<String> binaryTopics) {
+        this.binaryTopics = Collections.unmodifiableSet(binaryTopics);
+    }
+
+    /**
+     * Creates the selector from Kafka client properties.
+     */
+    public static TopicFormatSelector fromConfig(Map<String, ?> configs) {
+        Object topics = configs.get(BINARY_TOPICS_CONFIG);
+        return new TopicFormatSelector(parseTopics(topics == null ? null : topics.toString()));
+    }
+
+    /**
+     * Splits the comma separated list of topics.
+     */
+    public static Set<String> parseTopics(String topics) {
+        if (topics == null) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(topics.split(","))
+                .map(String::trim)
+                .filter(topic -> !topic.isEmpty())
+                .collect(Collectors.toSet());
+    }
+
+    public MessageFormat select(String topic) {
+        return binaryTopics.contains(topic) ? MessageFormat.SMILE : MessageFormat.JSON;
+    }
+}
@@ -0,0 +1,248 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of datapoints in a columnar form. Metric names and tag sets are stored once in dictionaries and referenced
+ * by index, times and values are kept in primitive arrays. Integral values are stored as is, floating point values
+ * are stored as raw double bits and marked in the {@code floating} column (which is absent if there are none).
+ */
+@EqualsAndHashCode(callSuper = false)
+@ToString
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"metrics", "tags", "metric_index", "tags_index", "time", "value", "floating"})
+public class DatapointBatch extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("metrics")
+    private final String[] metrics;
+
+    @JsonProperty("tags")
+    private final List<Map<String, String>> tags;
+
+    @JsonProperty("metric_index")
+    private final int[] metricIndex;
+
+    @JsonProperty("tags_index")
+    private final int[] tagsIndex;
+
+    @JsonProperty("time")
+    private final long[] time;
+
+    @JsonProperty("value")
+    private final long[] value;
+
+    @JsonProperty("floating")
+    private final boolean[] floating;
+
+    @JsonCreator
+    public DatapointBatch(@JsonProperty("metrics") String[] metrics,
+                          @JsonProperty("tags") List<Map<String, String>> tags,
+                          @JsonProperty("metric_index") int[] metricIndex,
+                          @JsonProperty("tags_index") int[] tagsIndex,
+                          @JsonProperty("time") long[] time,
+                          @JsonProperty("value") long[] value,
+                          @JsonProperty("floating") boolean[] floating) {
+        this.metrics = metrics;
+        this.tags = tags;
+        this.metricIndex = metricIndex;
+        this.tagsIndex = tagsIndex;
+        this.time = time;
+        this.value = value;
+        this.floating = floating;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return time.length;
+    }
+
+    @JsonIgnore
+    public boolean isEmpty() {
+        return time.length == 0;
+    }
+
+    public String getMetric(int index) {
+        return metrics[metricIndex[index]];
+    }
+
+    public Map<String, String> getTags(int index) {
+        return tags.get(tagsIndex[index]);
+    }
+
+    public long getTime(int index) {
+        return time[index];
+    }
+
+    /**
+     * Returns the value of the datapoint, {@link Long} for integral values and {@link Double} for floating point ones.
+     */
+    public Number getValue(int index) {
+        if (isFloating(index)) {
+            return Double.longBitsToDouble(value[index]);
+        }
+        return value[index];
+    }
+
+    /**
+     * Calc hash code of the datapoint only from metric and tags, the same way as {@link Datapoint#simpleHashCode()}.
+     */
+    public int simpleHashCode(int index) {
+        return 31 * getMetric(index).hashCode() + getTags(index).hashCode();
+    }
+
+    /**
+     * Expands the batch into separate datapoints.
+     */
+    public List<Datapoint> toDatapoints() {
+        List<Datapoint> result = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            result.add(new Datapoint(getMetric(i), getTime(i), getTags(i), getValue(i)));
+        }
+        return result;
+    }
+
+    private boolean isFloating(int index) {
+        return floating != null && floating[index];
+    }
+
+    /**
+     * Accumulates datapoints and builds {@link DatapointBatch}.
+     */
+    public static final class Builder {
+        private static final int INITIAL_CAPACITY = 64;
+
+        private final Map<String, Integer> metricsDictionary = new HashMap<>();
+        private final Map<Map<String, String>, Integer> tagsDictionary = new HashMap<>();
+        private final List<String> metrics = new ArrayList<>();
+        private final List<Map<String, String>> tags = new ArrayList<>();
+
+        private int[] metricIndex = new int[INITIAL_CAPACITY];
+        private int[] tagsIndex = new int[INITIAL_CAPACITY];
+        private long[] time = new long[INITIAL_CAPACITY];
+        private long[] value = new long[INITIAL_CAPACITY];
+        private boolean[] floating;
+        private int size;
+
+        private Map<String, String> lastTags;
+        private int lastTagsIndex;
+
+        private Builder() {
+        }
+
+        /**
+         * Add a datapoint to the batch. Equal tag sets are stored once, so the same (or an equal) tags map can be
+         * passed for several metrics without extra cost. The tags map must not be modified after it was added.
+         */
+        public Builder add(String metric, long timestamp, Map<String, String> tags, Number value) {
+            if (value instanceof Double || value instanceof Float || value instanceof BigDecimal) {
+                add(metric, timestamp, tags, Double.doubleToLongBits(value.doubleValue()), true);
+            } else {
+                add(metric, timestamp, tags, value.longValue(), false);
+            }
+            return this;
+        }
+
+        /**
+         * Add a datapoint of the other batch to this batch.
+         */
+        public Builder add(DatapointBatch source, int index) {
+            add(source.getMetric(index), source.getTime(index), source.getTags(index), source.value[index],
+                    source.isFloating(index));
+            return this;
+        }
+
+        private void add(String metric, long timestamp, Map<String, String> tags, long rawValue,
+                         boolean isFloating) {
+            if (size == time.length) {
+                grow();
+            }
+            metricIndex[size] = metricsDictionary.computeIfAbsent(metric, key -> {
+                metrics.add(key);
+                return metrics.size() - 1;
+            });
+            tagsIndex[size] = lookupTags(tags);
+            time[size] = timestamp;
+            value[size] = rawValue;
+            if (isFloating) {
+                if (floating == null) {
+                    floating = new boolean[time.length];
+                }
+                floating[size] = true;
+            }
+            size += 1;
+        }
+
+        public int size() {
+            return size;
+        }
+
+        public boolean isEmpty() {
+            return size == 0;
+        }
+
+        /**
+         * Build the batch of all added datapoints.
+         */
+        public DatapointBatch build() {
+            return new DatapointBatch(
+                    metrics.toArray(new String[0]), new ArrayList<>(tags),
+                    Arrays.copyOf(metricIndex, size), Arrays.copyOf(tagsIndex, size),
+                    Arrays.copyOf(time, size), Arrays.copyOf(value, size),
+                    floating != null ? Arrays.copyOf(floating, size) : null);
+        }
+
+        private int lookupTags(Map<String, String> entry) {
+            if (entry != lastTags) {
+                lastTagsIndex = tagsDictionary.computeIfAbsent(entry, key -> {
+                    tags.add(key);
+                    return tags.size() - 1;
+                });
+                lastTags = entry;
+            }
+            return lastTagsIndex;
+        }
+
+        private void grow() {
+            int capacity = time.length * 2;
+            metricIndex = Arrays.copyOf(metricIndex, capacity);
+            tagsIndex = Arrays.copyOf(tagsIndex, capacity);
+            time = Arrays.copyOf(time, capacity);
+            value = Arrays.copyOf(value, capacity);
+            if (floating != null) {
+                floating = Arrays.copyOf(floating, capacity);
+            }
+        }
+    }
+}
@@ -0,0 +1,170 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.stats;
+
+import org.openkilda.messaging.info.InfoData;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A batch of flow RTT measurements in a compact binary form. Flow IDs and directions are stored once in a dictionary
+ * and referenced by index, so a measurement takes 24 bytes of the payload instead of a separate JSON message.
+ * <p/>
+ * Payload layout: format version (byte), dictionary size (int), dictionary entries (modified UTF-8), measurements
+ * count (int), then per measurement: flow ID index (int), direction index (int), t0 (long), t1 (long).
+ */
+@Getter
+@EqualsAndHashCode(callSuper = false)
+@ToString(exclude = "payload")
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"count", "payload"})
+public class FlowRttStatsBatchData extends InfoData {
+    private static final long serialVersionUID = 1L;
+
+    private static final byte FORMAT_VERSION = 1;
+
+    @JsonProperty("count")
+    private final int count;
+
+    @JsonProperty("payload")
+    private final byte[] payload;
+
+    @JsonCreator
+    public FlowRttStatsBatchData(@JsonProperty("count") int count,
+                                 @JsonProperty("payload") byte[] payload) {
+        this.count = count;
+        this.payload = payload;
+    }
+
+    public static Encoder encoder() {
+        return new Encoder();
+    }
+
+    /**
+     * Decode the payload and pass each measurement to the consumer in order of encoding.
+     */
+    public void forEach(FlowRttStatsConsumer consumer) {
+        try (DataInputStream input = new DataInputStream(new ByteArrayInputStream(payload))) {
+            byte version = input.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException(String.format(
+                        "Unsupported flow RTT stats batch format version %d", version));
+            }
+
+            String[] dictionary = new String[input.readInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                dictionary[i] = input.readUTF();
+            }
+
+            int recordsCount = input.readInt();
+            for (int i = 0; i < recordsCount; i++) {
+                String flowId = dictionary[input.readInt()];
+                String direction = dictionary[input.readInt()];
+                long t0 = input.readLong();
+                long t1 = input.readLong();
+                consumer.accept(flowId, direction, t0, t1);
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupted flow RTT stats batch payload", e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface FlowRttStatsConsumer {
+        void accept(String flowId, String direction, long t0, long t1);
+    }
+
+    /**
+     * Accumulates measurements and builds {@link FlowRttStatsBatchData}.
+     */
+    public static final class Encoder {
+        private final Map<String, Integer> dictionaryIndex = new HashMap<>();
+        private final List<String> dictionary = new ArrayList<>();
+        private final ByteArrayOutputStream records = new ByteArrayOutputStream();
+        private final DataOutputStream recordsOutput = new DataOutputStream(records);
+        private int count;
+
+        private Encoder() {
+        }
+
+        /**
+         * Add a measurement to the batch.
+         */
+        public Encoder add(String flowId, String direction, long t0, long t1) {
+            try {
+                recordsOutput.writeInt(lookup(flowId));
+                recordsOutput.writeInt(lookup(direction));
+                recordsOutput.writeLong(t0);
+                recordsOutput.writeLong(t1);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            count += 1;
+            return this;
+        }
+
+        public int size() {
+            return count;
+        }
+
+        public boolean isEmpty() {
+            return count == 0;
+        }
+
+        /**
+         * Build the batch of all added measurements.
+         */
+        public FlowRttStatsBatchData build() {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(records.size() + dictionary.size() * 40 + 16);
+            try (DataOutputStream output = new DataOutputStream(buffer)) {
+                output.writeByte(FORMAT_VERSION);
+                output.writeInt(dictionary.size());
+                for (String entry : dictionary) {
+                    output.writeUTF(entry);
+                }
+                output.writeInt(count);
+                records.writeTo(output);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return new FlowRttStatsBatchData(count, buffer.toByteArray());
+        }
+
+        private int lookup(String value) {
+            return dictionaryIndex.computeIfAbsent(value, key -> {
+                dictionary.add(key);
+                return dictionary.size() - 1;
+            });
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.codec;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+
+public class MessageCodecTest {
+    private final MessageCodec codec = new MessageCodec(ObjectMapper::new);
+
+    private final Message message = new InfoMessage(
+            new IslInfoData(new PathNode(new SwitchId(1), 1, 0), new PathNode(new SwitchId(2), 2, 1),
+                    IslChangeType.DISCOVERED, false),
+            1000L, "correlation-id");
+
+    @Test
+    public void shouldDecodeBothFormats() throws Exception {
+        byte[] json = codec.encode(message, MessageFormat.JSON);
+        byte[] smile = codec.encode(message, MessageFormat.SMILE);
+
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(json));
+        assertEquals(MessageFormat.SMILE, MessageFormat.detect(smile));
+        assertTrue(smile.length < json.length);
+
+        assertEquals(message, codec.decode(json, Message.class));
+        assertEquals(message, codec.decode(smile, Message.class));
+    }
+
+    @Test
+    public void shouldDecodeJsonProducedByPlainMapper() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(message);
+
+        assertEquals(message, codec.decode(json.getBytes(StandardCharsets.UTF_8), Message.class));
+    }
+
+    @Test
+    public void shouldSelectBinaryFormatForListedTopicsOnly() {
+        TopicFormatSelector selector = TopicFormatSelector.fromConfig(
+                ImmutableMap.of(TopicFormatSelector.BINARY_TOPICS_CONFIG, " topic-a, ,topic-b"));
+
+        assertEquals(MessageFormat.SMILE, selector.select("topic-a"));
+        assertEquals(MessageFormat.SMILE, selector.select("topic-b"));
+        assertEquals(MessageFormat.JSON, selector.select("topic-c"));
+        assertEquals(Sets.newHashSet("topic-a", "topic-b"), TopicFormatSelector.parseTopics("topic-a,topic-b,"));
+        assertEquals(MessageFormat.JSON, TopicFormatSelector.fromConfig(Collections.emptyMap()).select("topic-a"));
+    }
+}
@@ -0,0 +1,99 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.StringSerializer;
+
+import com.google.common.collect.ImmutableMap;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+public class DatapointBatchTest {
+    private static final long TIMESTAMP = System.currentTimeMillis();
+
+    @Test
+    public void serializeLoop() throws Exception {
+        DatapointBatch origin = DatapointBatch.builder()
+                .add("test.metric", TIMESTAMP, ImmutableMap.of("keyAlpha", "valueAlpha"), 4294967296L)
+                .add("test.other", TIMESTAMP + 1, ImmutableMap.of("keyBeta", "valueBeta"), 2.5)
+                .build();
+        InfoMessage wrapper = new InfoMessage(origin, origin.getTimestamp(), "serialization-loop");
+
+        StringSerializer serializer = new StringSerializer();
+        serializer.serialize(wrapper);
+        DatapointBatch reconstruct = (DatapointBatch) ((InfoMessage) serializer.deserialize()).getData();
+
+        assertEquals(origin, reconstruct);
+        assertEquals(4294967296L, reconstruct.getValue(0));
+        assertEquals(2.5, reconstruct.getValue(1));
+    }
+
+    @Test
+    public void shouldStoreMetricsAndTagsOnce() {
+        Map<String, String> tags = new HashMap<>();
+        tags.put("switchid", "00:00:00:00:00:00:00:01");
+        Map<String, String> equalTags = new HashMap<>(tags);
+
+        DatapointBatch.Builder builder = DatapointBatch.builder();
+        for (int i = 0; i < 100; i++) {
+            builder.add("metric.a", TIMESTAMP, tags, i);
+            builder.add("metric.b", TIMESTAMP, equalTags, i);
+        }
+        DatapointBatch batch = builder.build();
+
+        assertEquals(200, batch.size());
+        assertEquals(2, batch.toDatapoints().stream().map(Datapoint::getMetric).distinct().count());
+        assertEquals(equalTags, batch.getTags(199));
+        assertEquals(99L, batch.getValue(199));
+    }
+
+    @Test
+    public void shouldExpandIntoDatapoints() {
+        Map<String, String> tags = ImmutableMap.of("flowid", "flow1");
+        DatapointBatch batch = DatapointBatch.builder()
+                .add("flow.bytes", TIMESTAMP, tags, 10)
+                .add("flow.packets", TIMESTAMP, tags, 1)
+                .build();
+
+        assertEquals(Arrays.asList(
+                new Datapoint("flow.bytes", TIMESTAMP, tags, 10L),
+                new Datapoint("flow.packets", TIMESTAMP, tags, 1L)), batch.toDatapoints());
+        assertEquals(batch.toDatapoints().get(1).simpleHashCode(), batch.simpleHashCode(1));
+    }
+
+    @Test
+    public void shouldCopyDatapointFromOtherBatch() {
+        DatapointBatch source = DatapointBatch.builder()
+                .add("metric.a", TIMESTAMP, ImmutableMap.of("key", "a"), 1)
+                .add("metric.b", TIMESTAMP, ImmutableMap.of("key", "b"), 0.5)
+                .build();
+
+        DatapointBatch copy = DatapointBatch.builder()
+                .add(source, 1)
+                .build();
+
+        assertEquals(1, copy.size());
+        assertEquals("metric.b", copy.getMetric(0));
+        assertEquals(0.5, copy.getValue(0));
+        assertTrue(copy.getTags(0).containsKey("key"));
+    }
+}
@@ -0,0 +1,56 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.info.stats;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.JsonSerializeAbstractTest;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class FlowRttStatsBatchDataTest extends JsonSerializeAbstractTest {
+    @Test
+    public void shouldDecodeEncodedMeasurementsInOrder() {
+        List<FlowRttStatsData> origin = Arrays.asList(
+                new FlowRttStatsData("flow-1", "forward", 1L, Long.MAX_VALUE),
+                new FlowRttStatsData("flow-2", "forward", 3L, 4L),
+                new FlowRttStatsData("flow-1", "reverse", Long.MIN_VALUE, 6L));
+
+        FlowRttStatsBatchData.Encoder encoder = FlowRttStatsBatchData.encoder();
+        origin.forEach(entry -> encoder.add(entry.getFlowId(), entry.getDirection(), entry.getT0(), entry.getT1()));
+        FlowRttStatsBatchData batch = encoder.build();
+
+        List<FlowRttStatsData> decoded = new ArrayList<>();
+        batch.forEach((flowId, direction, t0, t1) -> decoded.add(new FlowRttStatsData(flowId, direction, t0, t1)));
+
+        assertEquals(3, batch.getCount());
+        assertEquals(origin, decoded);
+    }
+
+    @Test
+    public void serializeLoop() throws Exception {
+        FlowRttStatsBatchData batch = FlowRttStatsBatchData.encoder()
+                .add("flow-1", "forward", 1L, 2L)
+                .add("flow-1", "reverse", 3L, 4L)
+                .build();
+
+        infoSerializeLoop(batch);
+    }
+}
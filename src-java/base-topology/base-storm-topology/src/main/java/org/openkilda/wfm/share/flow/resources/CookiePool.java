@@ -31,16 +31,14 @@ public class CookiePool {
     private final TransactionManager transactionManager;
     private final FlowCookieRepository flowCookieRepository;
 
-    private final long minCookie;
-    private final long maxCookie;
+    private final ResourceBitmap cookies;
 
     public CookiePool(PersistenceManager persistenceManager, long minCookie, long maxCookie) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         flowCookieRepository = repositoryFactory.createFlowCookieRepository();
 
-        this.minCookie = minCookie;
-        this.maxCookie = maxCookie;
+        cookies = new ResourceBitmap(minCookie, maxCookie);
     }
 
     /**
@@ -50,13 +48,11 @@ public class CookiePool {
      */
     public long allocate(String flowId) {
         return transactionManager.doInTransaction(() -> {
-            long startCookie = ResourceUtils.computeStartValue(minCookie, maxCookie);
-            long availableCookie = flowCookieRepository.findUnassignedCookie(startCookie, maxCookie)
-                    .orElse(flowCookieRepository.findUnassignedCookie(minCookie, maxCookie)
-                            .orElseThrow(() -> new ResourceNotAvailableException("No cookie available")));
-            if (availableCookie > maxCookie) {
-                throw new ResourceNotAvailableException("No cookie available");
-            }
+            long availableCookie = cookies.allocate(
+                    cookie -> flowCookieRepository.findByCookie(cookie).isPresent(),
+                    () -> flowCookieRepository.findAll().stream().mapToLong(FlowCookie::getUnmaskedCookie))
+                    .orElseThrow(() -> new ResourceNotAvailableException("No cookie available"));
+            transactionManager.runOnRollback(() -> cookies.release(availableCookie));
 
             FlowCookie flowCookie = FlowCookie.builder()
                     .unmaskedCookie(availableCookie)
@@ -76,5 +72,13 @@ public class CookiePool {
                 flowCookieRepository.findByCookie(unmaskedCookie)
                         .ifPresent(flowCookieRepository::delete)
         );
+        cookies.release(unmaskedCookie);
+    }
+
+    /**
+     * Get the share (0.0 - 1.0) of allocated cookies.
+     */
+    public double getUtilization() {
+        return cookies.getUtilization();
     }
 }
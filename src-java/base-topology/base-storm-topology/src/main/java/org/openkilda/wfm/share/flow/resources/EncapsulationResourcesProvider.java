@@ -37,4 +37,9 @@ public interface EncapsulationResourcesProvider<T extends EncapsulationResources
      * Get allocated encapsulation resources of the flow path.
      */
     Optional<T> get(PathId pathId, PathId oppositePathId);
+
+    /**
+     * Get the share (0.0 - 1.0) of allocated resources in the pool.
+     */
+    double getUtilization();
 }
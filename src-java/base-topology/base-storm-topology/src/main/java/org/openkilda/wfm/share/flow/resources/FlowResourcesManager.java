@@ -35,6 +35,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.RetryPolicy;
 
+import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
 import java.util.UUID;
@@ -42,6 +43,9 @@ import java.util.stream.Stream;
 
 @Slf4j
 public class FlowResourcesManager {
+    public static final String METRIC_POOLS_UTILIZATION = "flow.resources.utilization";
+    public static final int METRICS_BUCKET_SIZE_SECONDS = 60;
+
     private static final int MAX_ALLOCATION_ATTEMPTS = 5;
 
     private final TransactionManager transactionManager;
@@ -197,6 +201,18 @@ public class FlowResourcesManager {
         });
     }
 
+    /**
+     * Get the share (0.0 - 1.0) of allocated resources by pool. The meter pool reports the most utilized switch.
+     */
+    public Map<String, Double> getPoolsUtilization() {
+        Map<String, Double> utilization = new HashMap<>();
+        utilization.put("cookie", cookiePool.getUtilization());
+        utilization.put("meter", meterPool.getMaxUtilization());
+        encapsulationResourcesProviders.forEach((type, provider) ->
+                utilization.put(type.name().toLowerCase(), provider.getUtilization()));
+        return utilization;
+    }
+
     /**
      * Get allocated encapsulation resources of the flow path.
      */
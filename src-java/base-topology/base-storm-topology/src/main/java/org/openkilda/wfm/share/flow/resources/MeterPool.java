@@ -33,7 +33,9 @@ import lombok.extern.slf4j.Slf4j;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * The resource pool is responsible for meter de-/allocation.
@@ -46,6 +48,7 @@ public class MeterPool {
 
     private final MeterId minMeterId;
     private final MeterId maxMeterId;
+    private final Map<SwitchId, ResourceBitmap> switchMeters = new ConcurrentHashMap<>();
 
     public MeterPool(PersistenceManager persistenceManager, MeterId minMeterId, MeterId maxMeterId) {
         transactionManager = persistenceManager.getTransactionManager();
@@ -76,15 +79,14 @@ public class MeterPool {
         return transactionManager.doInTransaction(() -> {
             String noMetersErrorMessage = format("No meter available for switch %s", theSwitch);
 
-            MeterId startMeterId = new MeterId(
-                    ResourceUtils.computeStartValue(minMeterId.getValue(), maxMeterId.getValue()));
             SwitchId switchId = theSwitch.getSwitchId();
-            MeterId availableMeterId = flowMeterRepository.findUnassignedMeterId(switchId, startMeterId, maxMeterId)
-                    .orElse(flowMeterRepository.findUnassignedMeterId(switchId, minMeterId, maxMeterId)
-                            .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
-            if (availableMeterId.compareTo(maxMeterId) > 0) {
-                throw new ResourceNotAvailableException(noMetersErrorMessage);
-            }
+            ResourceBitmap meters = getSwitchMeters(switchId);
+            MeterId availableMeterId = new MeterId(meters.allocate(
+                    meterId -> flowMeterRepository.findById(switchId, new MeterId(meterId)).isPresent(),
+                    () -> flowMeterRepository.findBySwitchId(switchId).stream()
+                            .mapToLong(flowMeter -> flowMeter.getMeterId().getValue()))
+                    .orElseThrow(() -> new ResourceNotAvailableException(noMetersErrorMessage)));
+            transactionManager.runOnRollback(() -> meters.release(availableMeterId.getValue()));
 
             FlowMeter flowMeter = FlowMeter.builder()
                     .meterId(availableMeterId)
@@ -109,7 +111,26 @@ public class MeterPool {
                     .map(Optional::get)
                     .collect(toList());
 
-            meters.forEach(flowMeterRepository::delete);
+            meters.forEach(flowMeter -> {
+                flowMeterRepository.delete(flowMeter);
+                Optional.ofNullable(switchMeters.get(flowMeter.getSwitchId()))
+                        .ifPresent(bitmap -> bitmap.release(flowMeter.getMeterId().getValue()));
+            });
         });
     }
+
+    /**
+     * Get the share (0.0 - 1.0) of allocated meters on the most utilized switch.
+     */
+    public double getMaxUtilization() {
+        return switchMeters.values().stream()
+                .mapToDouble(ResourceBitmap::getUtilization)
+                .max()
+                .orElse(0);
+    }
+
+    private ResourceBitmap getSwitchMeters(SwitchId switchId) {
+        return switchMeters.computeIfAbsent(switchId,
+                key -> new ResourceBitmap(minMeterId.getValue(), maxMeterId.getValue()));
+    }
 }
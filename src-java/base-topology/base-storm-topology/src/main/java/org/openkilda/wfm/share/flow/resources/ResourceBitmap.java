@@ -0,0 +1,153 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static java.lang.String.format;
+
+import com.google.common.annotations.VisibleForTesting;
+
+import java.util.BitSet;
+import java.util.OptionalLong;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+/**
+ * In-memory bitmap of allocated resource ids in the range [min, max], so resource pools don't have to run gap-finding
+ * DB queries.
+ * <p/>
+ * The bitmap is loaded from the DB on the first allocation. Ids are allocated round-robin, starting after the
+ * previously allocated one, so a released id is not reused right away. The first search starts at a random position,
+ * so bitmaps of different bolt tasks don't compete for the same ids. Other pool instances may allocate and release
+ * ids in the DB, so the bitmap is a hint only: each candidate is checked against the DB before it is used. The bitmap
+ * is reloaded each time the search reaches the end of the range, which picks up ids released by other instances.
+ */
+public class ResourceBitmap {
+    private final long min;
+    private final int capacity;
+
+    private final BitSet allocated;
+    private int allocatedCount;
+    private int cursor;
+    private boolean loaded;
+
+    public ResourceBitmap(long min, long max) {
+        this(min, max, ThreadLocalRandom.current());
+    }
+
+    @VisibleForTesting
+    ResourceBitmap(long min, long max, Random random) {
+        if (max < min || max - min >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Invalid resource range [%d, %d]", min, max));
+        }
+        this.min = min;
+        this.capacity = (int) (max - min + 1);
+        this.allocated = new BitSet(capacity);
+        this.cursor = random.nextInt(capacity);
+    }
+
+    /**
+     * Find a free id and mark it as allocated.
+     *
+     * @param isUsed checks in the DB whether the id is in use.
+     * @param loader provides all ids which are in use according to the DB.
+     * @return the allocated id or empty if all ids in the range are in use.
+     */
+    public synchronized OptionalLong allocate(LongPredicate isUsed, Supplier<LongStream> loader) {
+        boolean reloaded = false;
+        if (!loaded) {
+            reload(loader.get());
+            reloaded = true;
+        }
+
+        while (true) {
+            int offset = allocated.nextClearBit(cursor);
+            if (offset >= capacity) {
+                if (reloaded && cursor == 0) {
+                    return OptionalLong.empty();
+                }
+                if (!reloaded) {
+                    reload(loader.get());
+                    reloaded = true;
+                }
+                cursor = 0;
+                continue;
+            }
+
+            markAllocated(offset);
+            cursor = offset + 1;
+            long id = min + offset;
+            if (!isUsed.test(id)) {
+                return OptionalLong.of(id);
+            }
+        }
+    }
+
+    /**
+     * Mark the id as free.
+     */
+    public synchronized void release(long id) {
+        int offset = toOffset(id);
+        if (offset >= 0 && allocated.get(offset)) {
+            allocated.clear(offset);
+            allocatedCount--;
+        }
+    }
+
+    public synchronized boolean isAllocated(long id) {
+        int offset = toOffset(id);
+        return offset >= 0 && allocated.get(offset);
+    }
+
+    public synchronized int getAllocatedCount() {
+        return allocatedCount;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Get the share (0.0 - 1.0) of allocated ids in the range.
+     */
+    public synchronized double getUtilization() {
+        return (double) allocatedCount / capacity;
+    }
+
+    private void reload(LongStream ids) {
+        allocated.clear();
+        allocatedCount = 0;
+        ids.forEach(id -> {
+            int offset = toOffset(id);
+            if (offset >= 0 && !allocated.get(offset)) {
+                markAllocated(offset);
+            }
+        });
+        loaded = true;
+    }
+
+    private void markAllocated(int offset) {
+        allocated.set(offset);
+        allocatedCount++;
+    }
+
+    private int toOffset(long id) {
+        long offset = id - min;
+        return offset >= 0 && offset < capacity ? (int) offset : -1;
+    }
+}
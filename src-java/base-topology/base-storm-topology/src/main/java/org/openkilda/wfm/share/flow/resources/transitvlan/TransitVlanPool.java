@@ -23,8 +23,8 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
-import org.openkilda.wfm.share.flow.resources.ResourceUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,16 +39,14 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     private final TransactionManager transactionManager;
     private final TransitVlanRepository transitVlanRepository;
 
-    private final int minTransitVlan;
-    private final int maxTransitVlan;
+    private final ResourceBitmap transitVlans;
 
     public TransitVlanPool(PersistenceManager persistenceManager, int minTransitVlan, int maxTransitVlan) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         transitVlanRepository = repositoryFactory.createTransitVlanRepository();
 
-        this.minTransitVlan = minTransitVlan;
-        this.maxTransitVlan = maxTransitVlan;
+        transitVlans = new ResourceBitmap(minTransitVlan, maxTransitVlan);
     }
 
     /**
@@ -62,13 +60,11 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
 
     private TransitVlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int startValue = ResourceUtils.computeStartValue(minTransitVlan, maxTransitVlan);
-            int availableVlan = transitVlanRepository.findUnassignedTransitVlan(startValue, maxTransitVlan)
-                    .orElse(transitVlanRepository.findUnassignedTransitVlan(minTransitVlan, maxTransitVlan)
-                            .orElseThrow(() -> new ResourceNotAvailableException("No vlan available")));
-            if (availableVlan > maxTransitVlan) {
-                throw new ResourceNotAvailableException("No vlan available");
-            }
+            int availableVlan = (int) transitVlans.allocate(
+                    vlan -> transitVlanRepository.findByVlan((int) vlan).isPresent(),
+                    () -> transitVlanRepository.findAll().stream().mapToLong(TransitVlan::getVlan))
+                    .orElseThrow(() -> new ResourceNotAvailableException("No vlan available"));
+            transactionManager.runOnRollback(() -> transitVlans.release(availableVlan));
 
             TransitVlan transitVlan = TransitVlan.builder()
                     .vlan(availableVlan)
@@ -90,7 +86,10 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 transitVlanRepository.findByPathId(pathId, null)
-                        .forEach(transitVlanRepository::delete));
+                        .forEach(transitVlan -> {
+                            transitVlanRepository.delete(transitVlan);
+                            transitVlans.release(transitVlan.getVlan());
+                        }));
     }
 
     /**
@@ -103,4 +102,9 @@ public class TransitVlanPool implements EncapsulationResourcesProvider<TransitVl
                 .findAny()
                 .map(transitVlan -> TransitVlanEncapsulation.builder().transitVlan(transitVlan).build());
     }
+
+    @Override
+    public double getUtilization() {
+        return transitVlans.getUtilization();
+    }
 }
@@ -23,8 +23,8 @@ import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.persistence.repositories.VxlanRepository;
 import org.openkilda.wfm.share.flow.resources.EncapsulationResourcesProvider;
+import org.openkilda.wfm.share.flow.resources.ResourceBitmap;
 import org.openkilda.wfm.share.flow.resources.ResourceNotAvailableException;
-import org.openkilda.wfm.share.flow.resources.ResourceUtils;
 
 import lombok.extern.slf4j.Slf4j;
 
@@ -39,16 +39,14 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     private final TransactionManager transactionManager;
     private final VxlanRepository vxlanRepository;
 
-    private final int minVxlan;
-    private final int maxVxlan;
+    private final ResourceBitmap vnis;
 
     public VxlanPool(PersistenceManager persistenceManager, int minVxlan, int maxVxlan) {
         transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         vxlanRepository = repositoryFactory.createVxlanRepository();
 
-        this.minVxlan = minVxlan;
-        this.maxVxlan = maxVxlan;
+        vnis = new ResourceBitmap(minVxlan, maxVxlan);
     }
 
     /**
@@ -62,13 +60,11 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
 
     private VxlanEncapsulation allocate(Flow flow, PathId pathId) {
         return transactionManager.doInTransaction(() -> {
-            int startValue = ResourceUtils.computeStartValue(minVxlan, maxVxlan);
-            int availableVxlan = vxlanRepository.findUnassignedVxlan(startValue, maxVxlan)
-                    .orElse(vxlanRepository.findUnassignedVxlan(minVxlan, maxVxlan)
-                            .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available")));
-            if (availableVxlan > maxVxlan) {
-                throw new ResourceNotAvailableException("No vxlan available");
-            }
+            int availableVxlan = (int) vnis.allocate(
+                    vni -> vxlanRepository.findByVni((int) vni).isPresent(),
+                    () -> vxlanRepository.findAll().stream().mapToLong(Vxlan::getVni))
+                    .orElseThrow(() -> new ResourceNotAvailableException("No vxlan available"));
+            transactionManager.runOnRollback(() -> vnis.release(availableVxlan));
 
             Vxlan vxlan = Vxlan.builder()
                     .vni(availableVxlan)
@@ -90,7 +86,10 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
     public void deallocate(PathId pathId) {
         transactionManager.doInTransaction(() ->
                 vxlanRepository.findByPathId(pathId, null)
-                        .forEach(vxlanRepository::delete));
+                        .forEach(vxlan -> {
+                            vxlanRepository.delete(vxlan);
+                            vnis.release(vxlan.getVni());
+                        }));
     }
 
     /**
@@ -103,4 +102,9 @@ public class VxlanPool implements EncapsulationResourcesProvider<VxlanEncapsulat
                 .findAny()
                 .map(vxlan -> VxlanEncapsulation.builder().vxlan(vxlan).build());
     }
+
+    @Override
+    public double getUtilization() {
+        return vnis.getUtilization();
+    }
 }
@@ -19,35 +19,98 @@ import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PA
 
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
-import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.service.HistoryBatchWriter;
+import org.openkilda.wfm.share.history.service.HistoryBatchWriterCarrier;
 
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 
-public class HistoryBolt extends AbstractBolt {
+import java.util.Map;
+
+/**
+ * Writes flow history records by batches of {@code batchSize}, a partial batch is written on each tick. A record tuple
+ * is acked only after its batch is committed and failed if the record can't be written.
+ */
+public class HistoryBolt extends AbstractBolt implements HistoryBatchWriterCarrier<Tuple> {
     private final PersistenceManager persistenceManager;
-    private transient HistoryService historyService;
+    private final int batchSize;
+    private final int flushIntervalSeconds;
+    private transient HistoryBatchWriter<Tuple> historyWriter;
+    private transient boolean currentTupleBuffered;
 
-    public HistoryBolt(PersistenceManager persistenceManager) {
+    public HistoryBolt(PersistenceManager persistenceManager, int batchSize, int flushIntervalSeconds) {
         this.persistenceManager = persistenceManager;
+        this.batchSize = batchSize;
+        this.flushIntervalSeconds = flushIntervalSeconds;
     }
 
     @Override
     protected void init() {
-        historyService = new HistoryService(persistenceManager);
+        historyWriter = new HistoryBatchWriter<>(persistenceManager, this, batchSize);
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input)) {
+            historyWriter.flush();
+            return;
+        }
+
         Object payload = input.getValueByField(FIELD_ID_PAYLOAD);
         if (payload instanceof FlowHistoryHolder) {
-            historyService.store((FlowHistoryHolder) payload);
+            currentTupleBuffered = true;
+            historyWriter.add((FlowHistoryHolder) payload, input);
         } else {
             log.error("Skip undefined payload: {}", payload);
         }
     }
 
+    @Override
+    public void onRecordWritten(Tuple anchor) {
+        super.ack(anchor);
+    }
+
+    @Override
+    public void onRecordFailed(Tuple anchor) {
+        // the history record is lost, replay of the source tuple would repeat the whole operation
+        log.warn("Drop history record of tuple id {}", anchor.getMessageId());
+        super.ack(anchor);
+    }
+
+    @Override
+    protected void ack(Tuple input) {
+        // buffered tuples are acked by the history writer
+        if (currentTupleBuffered) {
+            currentTupleBuffered = false;
+        } else {
+            super.ack(input);
+        }
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public void cleanup() {
+        if (historyWriter != null) {
+            historyWriter.flush();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(
+                super.getComponentConfiguration(), flushIntervalSeconds);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
 
@@ -0,0 +1,130 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.history.model.PortHistoryData;
+
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects history records and writes them into the storage by batches, one transaction per batch. The buffer is
+ * bounded by the batch size: a record which fills the batch flushes it synchronously, so a slow storage holds the
+ * caller back instead of growing the buffer. The owner must call {@link #flush()} periodically and on shutdown.
+ *
+ * <p>Each record carries an anchor which is reported to the carrier once the record is committed or failed to be
+ * written, so the owner can hold the source of the record (e.g. a tuple) until then.
+ *
+ * @param <A> type of the record anchor
+ */
+@Slf4j
+public class HistoryBatchWriter<A> {
+    private final HistoryService historyService;
+    private final TransactionManager transactionManager;
+    private final HistoryBatchWriterCarrier<A> carrier;
+    private final int batchSize;
+    private final List<PendingRecord<A>> pending;
+
+    public HistoryBatchWriter(PersistenceManager persistenceManager, HistoryBatchWriterCarrier<A> carrier,
+                              int batchSize) {
+        this(new HistoryService(persistenceManager), persistenceManager.getTransactionManager(), carrier, batchSize);
+    }
+
+    public HistoryBatchWriter(HistoryService historyService, TransactionManager transactionManager,
+                              HistoryBatchWriterCarrier<A> carrier, int batchSize) {
+        this.historyService = historyService;
+        this.transactionManager = transactionManager;
+        this.carrier = carrier;
+        this.batchSize = Math.max(1, batchSize);
+        this.pending = new ArrayList<>(this.batchSize);
+    }
+
+    public void add(FlowHistoryHolder historyHolder, A anchor) {
+        addRecord(historyHolder, anchor);
+    }
+
+    public void add(PortHistoryData data, A anchor) {
+        addRecord(data, anchor);
+    }
+
+    /**
+     * Write all pending records in one transaction. If the transaction fails, the records are written one by one, so
+     * a single broken record doesn't drop the whole batch. The carrier is notified only after the records are
+     * committed, or when a record can't be written at all.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingRecord<A>> batch = new ArrayList<>(pending);
+        pending.clear();
+        log.debug("Write {} history records", batch.size());
+        try {
+            transactionManager.doInTransaction(() -> batch.forEach(entry -> store(entry.getRecord())));
+        } catch (Exception e) {
+            log.warn("Unable to write {} history records in one transaction, write them one by one",
+                    batch.size(), e);
+            batch.forEach(this::flushRecord);
+            return;
+        }
+        batch.forEach(entry -> carrier.onRecordWritten(entry.getAnchor()));
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void addRecord(Object record, A anchor) {
+        pending.add(new PendingRecord<>(record, anchor));
+        if (pending.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flushRecord(PendingRecord<A> entry) {
+        try {
+            transactionManager.doInTransaction(() -> store(entry.getRecord()));
+        } catch (Exception e) {
+            log.error("Unable to write history record {}", entry.getRecord(), e);
+            carrier.onRecordFailed(entry.getAnchor());
+            return;
+        }
+        carrier.onRecordWritten(entry.getAnchor());
+    }
+
+    private void store(Object record) {
+        if (record instanceof FlowHistoryHolder) {
+            historyService.store((FlowHistoryHolder) record);
+        } else if (record instanceof PortHistoryData) {
+            historyService.store((PortHistoryData) record);
+        } else {
+            log.error("Skip history record of unsupported type: {}", record);
+        }
+    }
+
+    @Value
+    private static class PendingRecord<A> {
+        Object record;
+        A anchor;
+    }
+}
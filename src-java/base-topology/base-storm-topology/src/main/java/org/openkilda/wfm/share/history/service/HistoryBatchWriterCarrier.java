@@ -0,0 +1,28 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+/**
+ * Receives the outcome of buffered history records, e.g. to ack their tuples. A failed record has already been
+ * retried by the writer, so it must not be replayed by the owner.
+ *
+ * @param <A> type of the anchor passed along with a record
+ */
+public interface HistoryBatchWriterCarrier<A> {
+    void onRecordWritten(A anchor);
+
+    void onRecordFailed(A anchor);
+}
@@ -20,23 +20,23 @@ import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.COMMAND_FIELD;
 import static org.openkilda.wfm.share.hubandspoke.CoordinatedBolt.TIMEOUT_FIELD;
 
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.share.utils.TimingWheel;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
+import org.apache.storm.metric.api.CountMetric;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 /**
  * Storm bolt that keeps track of duration of operation's execution and then sends callback to the requester.
@@ -46,8 +46,26 @@ public final class CoordinatorBolt extends AbstractBolt {
     public static final String ID = "coordinator.bolt";
     public static final String INCOME_STREAM = "coordinator.command";
 
+    public static final String METRIC_PENDING_CALLBACKS = "coordinator.callbacks.pending";
+    public static final String METRIC_EXPIRED_CALLBACKS = "coordinator.callbacks.expired";
+
+    private static final long TIMER_TICK_MS = 10;
+    private static final int TIMER_BUCKETS_COUNT = 1024;
+    private static final int METRICS_BUCKET_SIZE_SECONDS = 60;
+
     private Map<String, Callback> callbacks = new HashMap<>();
-    private SortedMap<Long, Set<String>> timeouts = new TreeMap<>();
+    private TimingWheel<String> timeouts = new TimingWheel<>(TIMER_TICK_MS, TIMER_BUCKETS_COUNT);
+
+    private transient CountMetric expiredCallbacks;
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric(METRIC_PENDING_CALLBACKS, (IMetric) callbacks::size, METRICS_BUCKET_SIZE_SECONDS);
+        expiredCallbacks = new CountMetric();
+        context.registerMetric(METRIC_EXPIRED_CALLBACKS, expiredCallbacks, METRICS_BUCKET_SIZE_SECONDS);
+    }
 
     @Override
     protected void handleInput(Tuple input) {
@@ -82,8 +100,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     void registerCallback(String key, Object context, int timeout, int taskId) {
         log.trace("Adding callback for {} with timeout {}", key, timeout);
         long triggerTime = System.currentTimeMillis() + timeout;
-        timeouts.computeIfAbsent(triggerTime, mappingFunction -> new HashSet<>())
-                .add(key);
+        timeouts.schedule(key, triggerTime);
 
         Values value = new Values(key, context);
         callbacks.put(key, Callback.of(taskId, value));
@@ -91,6 +108,7 @@ public final class CoordinatorBolt extends AbstractBolt {
 
     @VisibleForTesting
     void cancelCallback(String key) {
+        timeouts.cancel(key);
         if (callbacks.remove(key) == null) {
             log.warn("{} is already cancelled", key);
         } else {
@@ -103,15 +121,13 @@ public final class CoordinatorBolt extends AbstractBolt {
      */
     @VisibleForTesting
     void tick(Long currentTime) {
-        SortedMap<Long, Set<String>> outdatedCallbacks = timeouts.headMap(currentTime);
-        for (Set<String> callbacks : outdatedCallbacks.values()) {
-            callbacks.stream()
-                    .map(this.callbacks::remove)
-                    .filter(Objects::nonNull)
-                    .forEach(callback -> getOutput().emitDirect(callback.taskId, callback.context));
+        for (String key : timeouts.advance(currentTime)) {
+            Callback callback = callbacks.remove(key);
+            if (callback != null) {
+                getOutput().emitDirect(callback.taskId, callback.context);
+                expiredCallbacks.incr();
+            }
         }
-
-        outdatedCallbacks.clear();
     }
 
     @Override
@@ -126,7 +142,7 @@ public final class CoordinatorBolt extends AbstractBolt {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<String>> getTimeouts() {
+    TimingWheel<String> getTimeouts() {
         return timeouts;
     }
 
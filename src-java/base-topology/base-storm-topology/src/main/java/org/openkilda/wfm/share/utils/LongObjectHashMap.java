@@ -0,0 +1,195 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.util.Arrays;
+
+/**
+ * Hash map with primitive long keys. Uses open addressing with linear probing over parallel key and value arrays,
+ * so neither lookups nor updates box keys or allocate entry objects. Null values are not allowed (an empty slot is
+ * the slot with null value). Not thread safe.
+ */
+public class LongObjectHashMap<V> {
+    private static final int DEFAULT_CAPACITY = 16;
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private long[] keys;
+    private V[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    public LongObjectHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Create the map able to keep the given number of entries without resize.
+     */
+    public LongObjectHashMap(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException(String.format("Invalid expected size %d", expectedSize));
+        }
+        allocate(capacityFor(expectedSize));
+    }
+
+    /**
+     * Return the value of the key or null if there is no such key.
+     */
+    public V get(long key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                return values[slot];
+            }
+        }
+        return null;
+    }
+
+    public boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    /**
+     * Put the value of the key and return the replaced value or null.
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null values are not allowed");
+        }
+
+        int slot = slotOf(key);
+        for (; values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                V replaced = values[slot];
+                values[slot] = value;
+                return replaced;
+            }
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Remove the key and return its value or null if there was no such key.
+     */
+    public V remove(long key) {
+        for (int slot = slotOf(key); values[slot] != null; slot = (slot + 1) & mask) {
+            if (keys[slot] == key) {
+                final V removed = values[slot];
+                values[slot] = null;
+                size--;
+                compactChain(slot);
+                return removed;
+            }
+        }
+        return null;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    /**
+     * Pass each entry to the consumer. The map must not be modified during iteration.
+     */
+    public void forEach(LongObjectConsumer<? super V> consumer) {
+        for (int slot = 0; slot < values.length; slot++) {
+            if (values[slot] != null) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    /**
+     * Shift entries following the freed slot back, so no entry is separated from its home slot by an empty slot.
+     */
+    private void compactChain(int freeSlot) {
+        for (int slot = (freeSlot + 1) & mask; values[slot] != null; slot = (slot + 1) & mask) {
+            int home = slotOf(keys[slot]);
+            boolean canMove = freeSlot <= slot
+                    ? home <= freeSlot || home > slot
+                    : home <= freeSlot && home > slot;
+            if (canMove) {
+                keys[freeSlot] = keys[slot];
+                values[freeSlot] = values[slot];
+                values[slot] = null;
+                freeSlot = slot;
+            }
+        }
+    }
+
+    private void resize(int capacity) {
+        if (capacity > MAX_CAPACITY) {
+            throw new IllegalStateException("Max capacity of the map is reached");
+        }
+
+        long[] oldKeys = keys;
+        V[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            V value = oldValues[i];
+            if (value == null) {
+                continue;
+            }
+            int slot = slotOf(oldKeys[i]);
+            while (values[slot] != null) {
+                slot = (slot + 1) & mask;
+            }
+            keys[slot] = oldKeys[i];
+            values[slot] = value;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = (V[]) new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 4 * 3;
+    }
+
+    private int slotOf(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long required = (long) expectedSize * 4 / 3 + 1;
+        if (required > MAX_CAPACITY) {
+            throw new IllegalArgumentException(String.format("Expected size %d is too big", expectedSize));
+        }
+        return Math.max(DEFAULT_CAPACITY, Integer.highestOneBit((int) required - 1) << 1);
+    }
+
+    @FunctionalInterface
+    public interface LongObjectConsumer<V> {
+        void accept(long key, V value);
+    }
+}
@@ -0,0 +1,210 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+/**
+ * Hashed timing wheel. Keeps keys with deadlines in a ring of buckets, each bucket covers one tick of the given
+ * duration, so scheduling and cancellation take O(1) and advancing the time scans only the buckets of passed ticks.
+ * Deadlines further than one wheel round stay in their bucket until the round comes.
+ * <p/>
+ * Time units are defined by the caller (the tick duration and all times must use the same ones). A key can have only
+ * one deadline, scheduling of the existing key replaces it. Not thread safe, keys must be serializable if the wheel
+ * is serialized (e.g. as a field of a bolt).
+ */
+public class TimingWheel<K> implements Serializable {
+    private final long tickDuration;
+    private final Bucket<K>[] buckets;
+    private final int mask;
+    private final Map<K, Entry<K>> entries = new HashMap<>();
+
+    private boolean started = false;
+    private long currentTick;
+
+    /**
+     * Create the timing wheel. The number of buckets is rounded up to the power of 2.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickDuration, int bucketsCount) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException(String.format("Invalid tick duration %d", tickDuration));
+        }
+        if (bucketsCount <= 0 || bucketsCount > (1 << 30)) {
+            throw new IllegalArgumentException(String.format("Invalid buckets count %d", bucketsCount));
+        }
+
+        this.tickDuration = tickDuration;
+        int size = Integer.highestOneBit(bucketsCount);
+        if (size < bucketsCount) {
+            size <<= 1;
+        }
+        buckets = new Bucket[size];
+        for (int i = 0; i < size; i++) {
+            buckets[i] = new Bucket<>();
+        }
+        mask = size - 1;
+    }
+
+    /**
+     * Schedule the key to expire at the deadline, the previous deadline of the key is dropped.
+     */
+    public void schedule(K key, long deadline) {
+        cancel(key);
+
+        long tick = Math.floorDiv(deadline, tickDuration);
+        if (!started) {
+            currentTick = tick;
+            started = true;
+        }
+        // deadlines in the past go into the current bucket, it is scanned on each advance
+        Entry<K> entry = new Entry<>(key, deadline);
+        buckets[(int) (Math.max(tick, currentTick) & mask)].add(entry);
+        entries.put(key, entry);
+    }
+
+    /**
+     * Remove the key from the wheel.
+     *
+     * @return true if the key was scheduled.
+     */
+    public boolean cancel(K key) {
+        Entry<K> entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        entry.bucket.remove(entry);
+        return true;
+    }
+
+    /**
+     * Remove all keys matching the predicate. Takes O(n) of scheduled keys.
+     */
+    public void cancelIf(Predicate<K> predicate) {
+        Iterator<Entry<K>> iterator = entries.values().iterator();
+        while (iterator.hasNext()) {
+            Entry<K> entry = iterator.next();
+            if (predicate.test(entry.key)) {
+                iterator.remove();
+                entry.bucket.remove(entry);
+            }
+        }
+    }
+
+    public boolean contains(K key) {
+        return entries.containsKey(key);
+    }
+
+    /**
+     * Move the wheel to the time and remove all keys with deadline before or at the time.
+     *
+     * @return expired keys in order of buckets, keys of the same bucket are in order of scheduling.
+     */
+    public List<K> advance(long time) {
+        long tick = Math.floorDiv(time, tickDuration);
+        if (!started) {
+            currentTick = tick;
+            started = true;
+        }
+
+        List<K> expired = new ArrayList<>();
+        if (entries.isEmpty()) {
+            currentTick = Math.max(tick, currentTick);
+            return expired;
+        }
+
+        // the current bucket is scanned again as it can have entries with deadlines later in the same tick
+        long ticksCount = Math.min(Math.max(tick, currentTick) - currentTick + 1, buckets.length);
+        for (long i = 0; i < ticksCount; i++) {
+            buckets[(int) ((currentTick + i) & mask)].expire(time, expired, entries);
+        }
+        currentTick = Math.max(tick, currentTick);
+        return expired;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public boolean isEmpty() {
+        return entries.isEmpty();
+    }
+
+    private static final class Entry<K> implements Serializable {
+        private final K key;
+        private final long deadline;
+
+        private Bucket<K> bucket;
+        private Entry<K> prev;
+        private Entry<K> next;
+
+        private Entry(K key, long deadline) {
+            this.key = key;
+            this.deadline = deadline;
+        }
+    }
+
+    private static final class Bucket<K> implements Serializable {
+        private Entry<K> head;
+        private Entry<K> tail;
+
+        private void add(Entry<K> entry) {
+            entry.bucket = this;
+            entry.prev = tail;
+            if (tail == null) {
+                head = entry;
+            } else {
+                tail.next = entry;
+            }
+            tail = entry;
+        }
+
+        private void remove(Entry<K> entry) {
+            if (entry.prev == null) {
+                head = entry.next;
+            } else {
+                entry.prev.next = entry.next;
+            }
+            if (entry.next == null) {
+                tail = entry.prev;
+            } else {
+                entry.next.prev = entry.prev;
+            }
+            entry.bucket = null;
+            entry.prev = null;
+            entry.next = null;
+        }
+
+        private void expire(long time, List<K> expired, Map<K, Entry<K>> entries) {
+            Entry<K> entry = head;
+            while (entry != null) {
+                Entry<K> next = entry.next;
+                if (entry.deadline <= time) {
+                    remove(entry);
+                    entries.remove(entry.key);
+                    expired.add(entry.key);
+                }
+                entry = next;
+            }
+        }
+    }
+}
@@ -21,6 +21,7 @@ import org.openkilda.config.KafkaConfig;
 import org.openkilda.config.naming.KafkaNamingStrategy;
 import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.TopicFormatSelector;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.config.naming.TopologyNamingStrategy;
 import org.openkilda.wfm.config.provider.MultiPrefixConfigurationProvider;
@@ -59,6 +60,8 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 /**
  * Represents abstract topology.
@@ -169,6 +172,13 @@ public abstract class AbstractTopology<T extends AbstractTopologyConfig> impleme
         kafka.setProperty(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, kafkaConfig.getHosts());
         kafka.setProperty("request.required.acks", "1");
 
+        Set<String> binaryTopics = TopicFormatSelector.parseTopics(kafkaConfig.getBinaryCodecTopics());
+        if (!binaryTopics.isEmpty()) {
+            kafka.setProperty(TopicFormatSelector.BINARY_TOPICS_CONFIG, binaryTopics.stream()
+                    .map(kafkaNamingStrategy::kafkaTopicName)
+                    .collect(Collectors.joining(",")));
+        }
+
         return kafka;
     }
 
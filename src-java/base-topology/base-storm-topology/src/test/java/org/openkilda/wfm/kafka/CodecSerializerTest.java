@@ -0,0 +1,64 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.kafka;
+
+import static org.junit.Assert.assertEquals;
+
+import org.openkilda.messaging.Message;
+import org.openkilda.messaging.codec.MessageFormat;
+import org.openkilda.messaging.codec.TopicFormatSelector;
+import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.event.IslChangeType;
+import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.messaging.info.event.PathNode;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class CodecSerializerTest {
+    private static final String BINARY_TOPIC = "binary";
+    private static final String JSON_TOPIC = "json";
+
+    private final Message message = new InfoMessage(
+            new IslInfoData(new PathNode(new SwitchId(1), 1, 0), new PathNode(new SwitchId(2), 2, 1),
+                    IslChangeType.DISCOVERED, false),
+            1000L, "correlation-id");
+
+    @Test
+    public void shouldWriteSelectedFormatAndReadBoth() {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.singletonMap(TopicFormatSelector.BINARY_TOPICS_CONFIG, BINARY_TOPIC), false);
+        MessageDeserializer deserializer = new MessageDeserializer();
+
+        byte[] binary = serializer.serialize(BINARY_TOPIC, message);
+        byte[] json = serializer.serialize(JSON_TOPIC, message);
+
+        assertEquals(MessageFormat.SMILE, MessageFormat.detect(binary));
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(json));
+        assertEquals(message, deserializer.deserialize(BINARY_TOPIC, binary));
+        assertEquals(message, deserializer.deserialize(JSON_TOPIC, json));
+    }
+
+    @Test
+    public void shouldWriteJsonWhenNotConfigured() {
+        MessageSerializer serializer = new MessageSerializer();
+        serializer.configure(Collections.emptyMap(), false);
+
+        assertEquals(MessageFormat.JSON, MessageFormat.detect(serializer.serialize(BINARY_TOPIC, message)));
+    }
+}
@@ -28,6 +28,7 @@ import org.openkilda.persistence.repositories.FlowCookieRepository;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -72,6 +73,43 @@ public class CookiePoolTest extends Neo4jBasedTest {
         assertNotEquals(flowCookie, lldpCookie);
     }
 
+    @Test
+    public void skipCookiesAllocatedByAnotherPoolTest() {
+        CookiePool anotherCookiePool = new CookiePool(persistenceManager, MIN_COOKIE, MAX_COOKIE);
+        long first = cookiePool.allocate("flow_1");
+        long second = anotherCookiePool.allocate("flow_2");
+        long third = cookiePool.allocate("flow_3");
+
+        assertEquals(3, new HashSet<>(Arrays.asList(first, second, third)).size());
+    }
+
+    @Test
+    public void reuseDeallocatedCookieWhenPoolIsFullTest() {
+        for (long i = MIN_COOKIE; i <= MAX_COOKIE; i++) {
+            cookiePool.allocate(format("flow_%d", i));
+        }
+        long cookie = MIN_COOKIE + 3;
+        cookiePool.deallocate(cookie);
+
+        assertEquals(cookie, cookiePool.allocate("flow_new"));
+        assertEquals(1.0, cookiePool.getUtilization(), 0.001);
+    }
+
+    @Test
+    public void releaseCookieOfRolledBackTransactionTest() {
+        try {
+            persistenceManager.getTransactionManager().doInTransaction(() -> {
+                cookiePool.allocate("flow_1");
+                throw new IllegalStateException("test");
+            });
+        } catch (IllegalStateException e) {
+            // expected
+        }
+
+        assertTrue(flowCookieRepository.findAll().isEmpty());
+        assertEquals(0, cookiePool.getUtilization(), 0.001);
+    }
+
     @Test
     public void deallocateCookiesTest() {
         cookiePool.allocate("flow_1");
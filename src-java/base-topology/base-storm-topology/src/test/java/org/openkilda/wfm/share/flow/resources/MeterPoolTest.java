@@ -32,6 +32,7 @@ import org.openkilda.persistence.repositories.SwitchRepository;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -86,6 +87,19 @@ public class MeterPoolTest extends Neo4jBasedTest {
         assertEquals(2, flowMeterRepository.findAll().size());
     }
 
+    @Test
+    public void skipMetersAllocatedByAnotherPoolTest() {
+        MeterPool anotherMeterPool = new MeterPool(persistenceManager, MIN_METER_ID, MAX_METER_ID);
+        MeterId first = meterPool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1);
+        MeterId second = anotherMeterPool.allocate(SWITCH_ID, FLOW_2, PATH_ID_2);
+        MeterId third = meterPool.allocate(SWITCH_ID, FLOW_3, PATH_ID_3);
+
+        assertEquals(3, new HashSet<>(Arrays.asList(first, second, third)).size());
+        // the pool knows the meter of another pool only if it had to skip it
+        double utilization = meterPool.getMaxUtilization();
+        assertTrue(utilization > 0.199 && utilization < 0.301);
+    }
+
     @Test
     public void deallocateMetersByPathTest() {
         meterPool.allocate(SWITCH_ID, FLOW_1, PATH_ID_1);
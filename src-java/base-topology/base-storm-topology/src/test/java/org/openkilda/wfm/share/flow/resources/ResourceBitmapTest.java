@@ -0,0 +1,136 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.flow.resources;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.junit.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+
+public class ResourceBitmapTest {
+    private static final long MIN = 10;
+    private static final long MAX = 14;
+
+    private final Set<Long> usedInDb = new HashSet<>();
+    private final AtomicInteger loadCount = new AtomicInteger();
+    private final LongPredicate isUsed = usedInDb::contains;
+    private final Supplier<LongStream> loader = () -> {
+        loadCount.incrementAndGet();
+        return usedInDb.stream().mapToLong(Long::longValue);
+    };
+
+    @Test
+    public void shouldAllocateRoundRobin() {
+        ResourceBitmap bitmap = newBitmap();
+
+        assertEquals(10, allocate(bitmap));
+        assertEquals(11, allocate(bitmap));
+        bitmap.release(10);
+        // released id is not reused until the end of the range is reached
+        assertEquals(12, allocate(bitmap));
+        assertFalse(bitmap.isAllocated(10));
+        assertEquals(2, bitmap.getAllocatedCount());
+        assertEquals(1, loadCount.get());
+    }
+
+    @Test
+    public void shouldLoadAllocatedIds() {
+        usedInDb.add(10L);
+        usedInDb.add(12L);
+        usedInDb.add(100L); // out of range
+        ResourceBitmap bitmap = newBitmap();
+
+        assertEquals(11, allocate(bitmap));
+        assertEquals(13, allocate(bitmap));
+        assertTrue(bitmap.isAllocated(12));
+        assertEquals(0.8, bitmap.getUtilization(), 0.001);
+    }
+
+    @Test
+    public void shouldSkipIdsUsedByOthers() {
+        ResourceBitmap bitmap = newBitmap();
+        assertEquals(10, allocate(bitmap));
+
+        // allocated by another pool instance after the bitmap was loaded
+        usedInDb.add(11L);
+        usedInDb.add(12L);
+
+        assertEquals(13, allocate(bitmap));
+        assertTrue(bitmap.isAllocated(11));
+        assertTrue(bitmap.isAllocated(12));
+    }
+
+    @Test
+    public void shouldReloadWhenEndOfRangeIsReached() {
+        ResourceBitmap bitmap = newBitmap();
+        for (long id = MIN; id <= MAX; id++) {
+            usedInDb.add(allocate(bitmap));
+        }
+
+        // released by another pool instance, so this bitmap still has it marked
+        usedInDb.remove(12L);
+
+        assertEquals(12, allocate(bitmap));
+        assertEquals(2, loadCount.get());
+    }
+
+    @Test
+    public void shouldReportExhaustedRange() {
+        ResourceBitmap bitmap = newBitmap();
+        for (long id = MIN; id <= MAX; id++) {
+            usedInDb.add(allocate(bitmap));
+        }
+
+        assertFalse(bitmap.allocate(isUsed, loader).isPresent());
+        assertEquals(1.0, bitmap.getUtilization(), 0.001);
+    }
+
+    @Test
+    public void shouldStartAtRandomPosition() {
+        Random random = mock(Random.class);
+        when(random.nextInt(5)).thenReturn(3);
+        ResourceBitmap bitmap = new ResourceBitmap(MIN, MAX, random);
+
+        assertEquals(13, allocate(bitmap));
+        assertEquals(14, allocate(bitmap));
+        assertEquals(10, allocate(bitmap));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectInvalidRange() {
+        new ResourceBitmap(MAX, MIN);
+    }
+
+    private ResourceBitmap newBitmap() {
+        // mocked random starts allocation from the beginning of the range
+        return new ResourceBitmap(MIN, MAX, mock(Random.class));
+    }
+
+    private long allocate(ResourceBitmap bitmap) {
+        return bitmap.allocate(isUsed, loader).getAsLong();
+    }
+}
@@ -0,0 +1,148 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.history.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.TransactionCallbackWithoutResult;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.exceptions.PersistenceException;
+import org.openkilda.wfm.share.history.model.FlowHistoryHolder;
+import org.openkilda.wfm.share.history.model.PortHistoryData;
+import org.openkilda.wfm.share.history.model.PortHistoryEvent;
+import org.openkilda.wfm.share.model.Endpoint;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+
+import java.time.Instant;
+
+public class HistoryBatchWriterTest {
+    private HistoryService historyService;
+    private TransactionManager transactionManager;
+    private HistoryBatchWriterCarrier<String> carrier;
+
+    @Before
+    public void setUp() throws Exception {
+        historyService = mock(HistoryService.class);
+        transactionManager = mock(TransactionManager.class);
+        carrier = mock(HistoryBatchWriterCarrier.class);
+        doAnswer(invocation -> {
+            TransactionCallbackWithoutResult<?> callback = invocation.getArgument(0);
+            callback.doInTransaction();
+            return null;
+        }).when(transactionManager).doInTransaction(anyCallback());
+    }
+
+    @Test
+    public void shouldWriteFullBatchInOneTransaction() {
+        HistoryBatchWriter<String> writer = new HistoryBatchWriter<>(historyService, transactionManager, carrier, 3);
+
+        writer.add(buildFlowHistory("task-1"), "task-1");
+        writer.add(buildPortHistory(1), "port-1");
+        verify(historyService, never()).store(any(FlowHistoryHolder.class));
+        verify(carrier, never()).onRecordWritten(any());
+        assertEquals(2, writer.getPendingCount());
+
+        writer.add(buildFlowHistory("task-2"), "task-2");
+        verify(transactionManager, times(1)).doInTransaction(anyCallback());
+        verify(historyService, times(2)).store(any(FlowHistoryHolder.class));
+        verify(historyService, times(1)).store(any(PortHistoryData.class));
+        verify(carrier).onRecordWritten("task-1");
+        verify(carrier).onRecordWritten("port-1");
+        verify(carrier).onRecordWritten("task-2");
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    public void shouldWritePartialBatchOnFlush() {
+        HistoryBatchWriter<String> writer = new HistoryBatchWriter<>(historyService, transactionManager, carrier, 100);
+
+        writer.flush();
+        verify(transactionManager, never()).doInTransaction(anyCallback());
+
+        writer.add(buildPortHistory(1), "port-1");
+        writer.add(buildPortHistory(2), "port-2");
+        writer.flush();
+        verify(transactionManager, times(1)).doInTransaction(anyCallback());
+        verify(historyService, times(2)).store(any(PortHistoryData.class));
+        verify(carrier, times(2)).onRecordWritten(any());
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    public void shouldWriteRecordsOneByOneIfBatchFails() {
+        FlowHistoryHolder broken = buildFlowHistory("broken");
+        doThrow(new PersistenceException("dummy")).when(historyService).store(broken);
+        HistoryBatchWriter<String> writer = new HistoryBatchWriter<>(historyService, transactionManager, carrier, 100);
+
+        writer.add(buildFlowHistory("task-1"), "task-1");
+        writer.add(broken, "broken");
+        writer.add(buildPortHistory(1), "port-1");
+        writer.flush();
+
+        // one batch transaction and one per each record
+        verify(transactionManager, times(4)).doInTransaction(anyCallback());
+        verify(historyService, times(4)).store(any(FlowHistoryHolder.class));
+        verify(historyService, times(1)).store(any(PortHistoryData.class));
+        verify(carrier).onRecordWritten("task-1");
+        verify(carrier).onRecordWritten("port-1");
+        verify(carrier).onRecordFailed("broken");
+        verify(carrier, never()).onRecordFailed("task-1");
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    @Test
+    public void shouldFailRecordsIfStorageIsUnavailable() {
+        doThrow(new PersistenceException("dummy")).when(transactionManager).doInTransaction(anyCallback());
+        HistoryBatchWriter<String> writer = new HistoryBatchWriter<>(historyService, transactionManager, carrier, 2);
+
+        writer.add(buildFlowHistory("task-1"), "task-1");
+        writer.add(buildPortHistory(1), "port-1");
+
+        verify(carrier).onRecordFailed("task-1");
+        verify(carrier).onRecordFailed("port-1");
+        verify(carrier, never()).onRecordWritten(any());
+        assertEquals(0, writer.getPendingCount());
+    }
+
+    private static TransactionCallbackWithoutResult<RuntimeException> anyCallback() {
+        return Mockito.any();
+    }
+
+    private FlowHistoryHolder buildFlowHistory(String taskId) {
+        return FlowHistoryHolder.builder()
+                .taskId(taskId)
+                .build();
+    }
+
+    private PortHistoryData buildPortHistory(int port) {
+        return PortHistoryData.builder()
+                .endpoint(Endpoint.of(new SwitchId(1), port))
+                .event(PortHistoryEvent.PORT_UP)
+                .time(Instant.now())
+                .build();
+    }
+}
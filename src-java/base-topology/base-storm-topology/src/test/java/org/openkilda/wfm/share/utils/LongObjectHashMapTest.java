@@ -0,0 +1,84 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class LongObjectHashMapTest {
+    @Test
+    public void shouldPutGetAndRemove() {
+        LongObjectHashMap<String> map = new LongObjectHashMap<>();
+        assertTrue(map.isEmpty());
+
+        assertNull(map.put(1L, "a"));
+        assertNull(map.put(-1L, "b"));
+        assertNull(map.put(0L, "c"));
+        assertEquals("a", map.put(1L, "d"));
+
+        assertEquals(3, map.size());
+        assertEquals("d", map.get(1L));
+        assertEquals("b", map.get(-1L));
+        assertEquals("c", map.get(0L));
+        assertNull(map.get(2L));
+
+        assertEquals("b", map.remove(-1L));
+        assertNull(map.remove(-1L));
+        assertFalse(map.containsKey(-1L));
+        assertEquals(2, map.size());
+
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1L));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void shouldRejectNullValues() {
+        new LongObjectHashMap<String>().put(1L, null);
+    }
+
+    @Test
+    public void shouldBehaveAsHashMapOnRandomOperations() {
+        LongObjectHashMap<Long> map = new LongObjectHashMap<>(4);
+        Map<Long, Long> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            // small key range to get a lot of collisions, removals and re-insertions
+            long key = random.nextInt(2000) * 0x100000000L;
+            if (random.nextInt(3) == 0) {
+                assertEquals(reference.remove(key), map.remove(key));
+            } else {
+                assertEquals(reference.put(key, (long) i), map.put(key, (long) i));
+            }
+        }
+
+        assertEquals(reference.size(), map.size());
+        for (Map.Entry<Long, Long> entry : reference.entrySet()) {
+            assertEquals(entry.getValue(), map.get(entry.getKey()));
+        }
+        Map<Long, Long> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(reference, iterated);
+    }
+}
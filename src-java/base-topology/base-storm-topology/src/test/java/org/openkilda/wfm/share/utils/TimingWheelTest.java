@@ -0,0 +1,101 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.share.utils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+public class TimingWheelTest {
+    @Test
+    public void shouldExpireKeysAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8);
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 25);
+        wheel.schedule("c", 25);
+
+        assertEquals(Collections.emptyList(), wheel.advance(14));
+        assertEquals(Collections.singletonList("a"), wheel.advance(15));
+        assertEquals(Collections.emptyList(), wheel.advance(24));
+        assertEquals(Arrays.asList("b", "c"), wheel.advance(30));
+        assertTrue(wheel.isEmpty());
+    }
+
+    @Test
+    public void shouldKeepKeysOfLaterRounds() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4);
+        wheel.advance(0);
+        wheel.schedule("near", 20);
+        wheel.schedule("far", 20 + 40 * 3);
+
+        assertEquals(Collections.singletonList("near"), wheel.advance(50));
+        assertEquals(1, wheel.size());
+        assertEquals(Collections.emptyList(), wheel.advance(100));
+        assertEquals(Collections.singletonList("far"), wheel.advance(1000));
+    }
+
+    @Test
+    public void shouldRemoveCancelledKeys() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8);
+        wheel.schedule("a", 15);
+        wheel.schedule("b", 15);
+
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertFalse(wheel.contains("a"));
+        assertEquals(1, wheel.size());
+
+        assertEquals(Collections.singletonList("b"), wheel.advance(100));
+    }
+
+    @Test
+    public void shouldReplaceDeadlineOnReschedule() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8);
+        wheel.schedule("a", 15);
+        wheel.schedule("a", 45);
+
+        assertEquals(1, wheel.size());
+        assertEquals(Collections.emptyList(), wheel.advance(20));
+        assertEquals(Collections.singletonList("a"), wheel.advance(45));
+    }
+
+    @Test
+    public void shouldExpireDeadlinesInPast() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8);
+        wheel.advance(100);
+        wheel.schedule("a", 50);
+
+        assertEquals(Collections.singletonList("a"), wheel.advance(101));
+    }
+
+    @Test
+    public void shouldCancelKeysMatchingPredicate() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(10, 8);
+        for (int i = 0; i < 10; i++) {
+            wheel.schedule(i, i * 10);
+        }
+
+        wheel.cancelIf(key -> key % 2 == 0);
+
+        assertEquals(new HashSet<>(Arrays.asList(1, 3, 5, 7, 9)), new HashSet<>(wheel.advance(1000)));
+    }
+}
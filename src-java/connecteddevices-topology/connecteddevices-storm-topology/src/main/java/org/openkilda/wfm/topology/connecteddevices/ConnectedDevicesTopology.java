@@ -20,9 +20,11 @@ import org.openkilda.persistence.spi.PersistenceProvider;
 import org.openkilda.wfm.LaunchEnvironment;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.connecteddevices.bolts.PacketBolt;
+import org.openkilda.wfm.topology.utils.KafkaRecordTranslator;
 
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.topology.TopologyBuilder;
+import org.apache.storm.tuple.Fields;
 
 public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesTopologyConfig> {
     public static final String CONNECTED_DEVICES_SPOUT_ID = "connected-devices-spout";
@@ -48,9 +50,12 @@ public class ConnectedDevicesTopology extends AbstractTopology<ConnectedDevicesT
     }
 
     private void createPacketBolt(TopologyBuilder builder, PersistenceManager persistenceManager) {
-        PacketBolt routerBolt = new PacketBolt(persistenceManager);
+        PacketBolt routerBolt = new PacketBolt(persistenceManager, topologyConfig.getLastSeenFlushIntervalSeconds(),
+                topologyConfig.getFlowCacheTtlSeconds(), topologyConfig.getDeviceIdleTimeoutSeconds(),
+                topologyConfig.getFlushBatchSize());
+        // packets are keyed by switch ID, so each device is always handled by the same bolt and its device table
         builder.setBolt(PACKET_BOLT_ID, routerBolt, topologyConfig.getNewParallelism())
-                .shuffleGrouping(CONNECTED_DEVICES_SPOUT_ID);
+                .fieldsGrouping(CONNECTED_DEVICES_SPOUT_ID, new Fields(KafkaRecordTranslator.FIELD_ID_KEY));
     }
 
     private void createSpout(TopologyBuilder builder) {
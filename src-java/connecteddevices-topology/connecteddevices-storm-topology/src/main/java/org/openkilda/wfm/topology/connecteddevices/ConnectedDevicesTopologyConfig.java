@@ -18,6 +18,8 @@ package org.openkilda.wfm.topology.connecteddevices;
 import org.openkilda.wfm.topology.AbstractTopologyConfig;
 
 import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Key;
 
 @Configuration
 public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
@@ -25,4 +27,20 @@ public interface ConnectedDevicesTopologyConfig extends AbstractTopologyConfig {
     default String getKafkaTopoConnectedDevicesTopic() {
         return getKafkaTopics().getTopoConnectedDevicesTopic();
     }
+
+    @Key("connected.devices.last.seen.flush.interval.seconds")
+    @Default("10")
+    int getLastSeenFlushIntervalSeconds();
+
+    @Key("connected.devices.flow.cache.ttl.seconds")
+    @Default("60")
+    int getFlowCacheTtlSeconds();
+
+    @Key("connected.devices.idle.timeout.seconds")
+    @Default("600")
+    int getDeviceIdleTimeoutSeconds();
+
+    @Key("connected.devices.flush.batch.size")
+    @Default("500")
+    int getFlushBatchSize();
 }
@@ -24,6 +24,7 @@ import org.openkilda.messaging.info.event.ArpInfoData;
 import org.openkilda.messaging.info.event.LldpInfoData;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.connecteddevices.service.PacketService;
@@ -31,23 +32,45 @@ import org.openkilda.wfm.topology.connecteddevices.service.PacketService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
 
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Stores connected devices in write-behind mode, pending last seen times are written on each tick.
+ */
 @Slf4j
 public class PacketBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
+    private final int flushIntervalSeconds;
+    private final int flowCacheTtlSeconds;
+    private final int deviceIdleTimeoutSeconds;
+    private final int flushBatchSize;
     private transient PacketService packetService;
 
-    public PacketBolt(PersistenceManager persistenceManager) {
+    public PacketBolt(PersistenceManager persistenceManager, int flushIntervalSeconds, int flowCacheTtlSeconds,
+                      int deviceIdleTimeoutSeconds, int flushBatchSize) {
         this.persistenceManager = persistenceManager;
+        this.flushIntervalSeconds = flushIntervalSeconds;
+        this.flowCacheTtlSeconds = flowCacheTtlSeconds;
+        this.deviceIdleTimeoutSeconds = deviceIdleTimeoutSeconds;
+        this.flushBatchSize = flushBatchSize;
     }
 
     @Override
     protected void init() {
-        packetService = new PacketService(persistenceManager);
+        packetService = new PacketService(persistenceManager, true, Duration.ofSeconds(flowCacheTtlSeconds),
+                Duration.ofSeconds(deviceIdleTimeoutSeconds), flushBatchSize);
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            packetService.flush();
+            return;
+        }
+
         Message message = pullValue(input, FIELD_ID_PAYLOAD, Message.class);
 
         if (message instanceof InfoMessage) {
@@ -65,6 +88,27 @@ public class PacketBolt extends AbstractBolt {
         }
     }
 
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public void cleanup() {
+        if (packetService != null) {
+            packetService.flush();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(
+                super.getComponentConfiguration(), flushIntervalSeconds);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
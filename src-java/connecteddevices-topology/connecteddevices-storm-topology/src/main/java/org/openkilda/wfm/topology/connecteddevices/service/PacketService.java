@@ -33,6 +33,7 @@ import static org.openkilda.model.cookie.Cookie.LLDP_TRANSIT_COOKIE;
 import org.openkilda.messaging.info.event.ArpInfoData;
 import org.openkilda.messaging.info.event.ConnectedDevicePacketBase;
 import org.openkilda.messaging.info.event.LldpInfoData;
+import org.openkilda.model.ConnectedDeviceType;
 import org.openkilda.model.Flow;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchConnectedDevice;
@@ -46,23 +47,64 @@ import org.openkilda.persistence.repositories.SwitchRepository;
 import org.openkilda.persistence.repositories.TransitVlanRepository;
 
 import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.Lists;
+import lombok.AllArgsConstructor;
+import lombok.Data;
 import lombok.Value;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Stores connected devices found by LLDP and ARP packets.
+ *
+ * <p>In write-behind mode the service keeps a table of known devices. A packet from a known device with the same
+ * attributes only moves the pending last seen time, pending times are written by {@link #flush()} in batches.
+ * New devices and attribute changes are still written immediately. Resolved flow data is cached by packet cookie,
+ * switch, port and VLANs for {@code flowCacheTtl}.
+ */
 @Slf4j
 public class PacketService {
     public static final int FULL_PORT_VLAN = 0;
 
+    private static final int FLOW_CACHE_MAX_SIZE = 100_000;
+
     private TransactionManager transactionManager;
     private SwitchRepository switchRepository;
     private SwitchConnectedDeviceRepository switchConnectedDeviceRepository;
     private TransitVlanRepository transitVlanRepository;
     private FlowRepository flowRepository;
 
+    private final boolean writeBehind;
+    private final Duration deviceIdleTimeout;
+    private final int flushBatchSize;
+    private final Map<DeviceKey, DeviceEntry> devices = new HashMap<>();
+    private final Cache<FlowLookupKey, FlowRelatedData> flowRelatedDataCache;
+
     public PacketService(PersistenceManager persistenceManager) {
+        this(persistenceManager, false, Duration.ZERO, Duration.ZERO, 1);
+    }
+
+    public PacketService(PersistenceManager persistenceManager, boolean writeBehind, Duration flowCacheTtl,
+                         Duration deviceIdleTimeout, int flushBatchSize) {
+        this.writeBehind = writeBehind;
+        this.deviceIdleTimeout = deviceIdleTimeout;
+        this.flushBatchSize = flushBatchSize;
+        flowRelatedDataCache = CacheBuilder.newBuilder()
+                .expireAfterWrite(flowCacheTtl.toMillis(), TimeUnit.MILLISECONDS)
+                .maximumSize(flowCacheTtl.isZero() ? 0 : FLOW_CACHE_MAX_SIZE)
+                .build();
+
         transactionManager = persistenceManager.getTransactionManager();
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         switchConnectedDeviceRepository = persistenceManager.getRepositoryFactory()
@@ -75,17 +117,26 @@ public class PacketService {
      * Handle LLDP info data.
      */
     public void handleLldpData(LldpInfoData data) {
-        transactionManager.doInTransaction(() -> {
+        FlowRelatedData flowRelatedData = getFlowRelatedData(data);
+        if (flowRelatedData == null) {
+            return;
+        }
 
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
-            }
+        DeviceKey key = new DeviceKey(LLDP, data.getSwitchId(), data.getPortNumber(), flowRelatedData.originalVlan,
+                data.getMacAddress(), data.getChassisId(), data.getPortId(), null);
+        DeviceAttributes attributes = new DeviceAttributes(data.getTtl(), data.getPortDescription(),
+                data.getSystemName(), data.getSystemDescription(), data.getSystemCapabilities(),
+                data.getManagementAddress(), flowRelatedData.flowId, flowRelatedData.source);
+        Instant timeLastSeen = Instant.ofEpochMilli(data.getTimestamp());
+        if (deferLastSeen(key, attributes, timeLastSeen)) {
+            return;
+        }
 
+        boolean stored = transactionManager.doInTransaction(() -> {
             SwitchConnectedDevice device = getOrBuildLldpDevice(data, flowRelatedData.originalVlan);
 
             if (device == null) {
-                return;
+                return false;
             }
 
             device.setTtl(data.getTtl());
@@ -94,37 +145,136 @@ public class PacketService {
             device.setSystemDescription(data.getSystemDescription());
             device.setSystemCapabilities(data.getSystemCapabilities());
             device.setManagementAddress(data.getManagementAddress());
-            device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
+            device.setTimeLastSeen(timeLastSeen);
             device.setFlowId(flowRelatedData.flowId);
             device.setSource(flowRelatedData.source);
 
             switchConnectedDeviceRepository.createOrUpdate(device);
+            return true;
         });
+        if (stored) {
+            rememberDevice(key, attributes);
+        }
     }
 
     /**
      * Handle Arp info data.
      */
     public void handleArpData(ArpInfoData data) {
-        transactionManager.doInTransaction(() -> {
+        FlowRelatedData flowRelatedData = getFlowRelatedData(data);
+        if (flowRelatedData == null) {
+            return;
+        }
 
-            FlowRelatedData flowRelatedData = findFlowRelatedData(data);
-            if (flowRelatedData == null) {
-                return;
-            }
+        DeviceKey key = new DeviceKey(ARP, data.getSwitchId(), data.getPortNumber(), flowRelatedData.originalVlan,
+                data.getMacAddress(), null, null, data.getIpAddress());
+        DeviceAttributes attributes = new DeviceAttributes(null, null, null, null, null, null,
+                flowRelatedData.flowId, flowRelatedData.source);
+        Instant timeLastSeen = Instant.ofEpochMilli(data.getTimestamp());
+        if (deferLastSeen(key, attributes, timeLastSeen)) {
+            return;
+        }
 
+        boolean stored = transactionManager.doInTransaction(() -> {
             SwitchConnectedDevice device = getOrBuildArpDevice(data, flowRelatedData.originalVlan);
 
             if (device == null) {
-                return;
+                return false;
             }
 
-            device.setTimeLastSeen(Instant.ofEpochMilli(data.getTimestamp()));
+            device.setTimeLastSeen(timeLastSeen);
             device.setFlowId(flowRelatedData.flowId);
             device.setSource(flowRelatedData.source);
 
             switchConnectedDeviceRepository.createOrUpdate(device);
+            return true;
         });
+        if (stored) {
+            rememberDevice(key, attributes);
+        }
+    }
+
+    /**
+     * Writes pending last seen times of known devices, one transaction per {@code flushBatchSize} devices. Devices
+     * not seen for {@code deviceIdleTimeout} are removed from the table.
+     */
+    public void flush() {
+        List<Entry<DeviceKey, DeviceEntry>> pending = new ArrayList<>();
+        for (Entry<DeviceKey, DeviceEntry> entry : devices.entrySet()) {
+            if (entry.getValue().getPendingLastSeen() != null) {
+                pending.add(entry);
+            }
+        }
+
+        for (List<Entry<DeviceKey, DeviceEntry>> batch : Lists.partition(pending, flushBatchSize)) {
+            try {
+                transactionManager.doInTransaction(() -> batch.forEach(this::writeLastSeen));
+            } catch (Exception e) {
+                log.error("Unable to write last seen time of {} connected devices: {}", batch.size(),
+                        e.getMessage(), e);
+                continue;
+            }
+            batch.forEach(entry -> entry.getValue().setPendingLastSeen(null));
+        }
+
+        Instant idleSince = Instant.now().minus(deviceIdleTimeout);
+        devices.values().removeIf(entry -> entry.getPendingLastSeen() == null
+                && !entry.getLastAccess().isAfter(idleSince));
+    }
+
+    @VisibleForTesting
+    int getDeviceTableSize() {
+        return devices.size();
+    }
+
+    private boolean deferLastSeen(DeviceKey key, DeviceAttributes attributes, Instant timeLastSeen) {
+        DeviceEntry entry = devices.get(key);
+        if (entry == null || !attributes.equals(entry.getAttributes())) {
+            return false;
+        }
+        entry.setPendingLastSeen(timeLastSeen);
+        entry.setLastAccess(Instant.now());
+        return true;
+    }
+
+    private void rememberDevice(DeviceKey key, DeviceAttributes attributes) {
+        if (writeBehind) {
+            devices.put(key, new DeviceEntry(attributes, null, Instant.now()));
+        }
+    }
+
+    private void writeLastSeen(Entry<DeviceKey, DeviceEntry> entry) {
+        DeviceKey key = entry.getKey();
+        Optional<SwitchConnectedDevice> device;
+        if (key.getType() == LLDP) {
+            device = switchConnectedDeviceRepository.findLldpByUniqueFieldCombination(key.getSwitchId(),
+                    key.getPortNumber(), key.getVlan(), key.getMacAddress(), key.getChassisId(), key.getPortId());
+        } else {
+            device = switchConnectedDeviceRepository.findArpByUniqueFieldCombination(key.getSwitchId(),
+                    key.getPortNumber(), key.getVlan(), key.getMacAddress(), key.getIpAddress());
+        }
+
+        if (device.isPresent()) {
+            device.get().setTimeLastSeen(entry.getValue().getPendingLastSeen());
+            switchConnectedDeviceRepository.createOrUpdate(device.get());
+        } else {
+            // the device was removed, so the next packet must create it again
+            log.info("Connected device {} was removed from the database", key);
+            entry.getValue().setAttributes(null);
+        }
+    }
+
+    private FlowRelatedData getFlowRelatedData(ConnectedDevicePacketBase data) {
+        FlowLookupKey key = new FlowLookupKey(
+                data.getCookie(), data.getSwitchId(), data.getPortNumber(), data.getVlans());
+        FlowRelatedData flowRelatedData = flowRelatedDataCache.getIfPresent(key);
+        if (flowRelatedData == null) {
+            flowRelatedData = findFlowRelatedData(data);
+            if (flowRelatedData != null) {
+                flowRelatedDataCache.put(key, flowRelatedData);
+            }
+        }
+        return flowRelatedData;
     }
 
     private FlowRelatedData findFlowRelatedData(ConnectedDevicePacketBase data) {
@@ -426,4 +576,44 @@ public class PacketService {
         String flowId;
         Boolean source; // device connected to source of Flow or to destination
     }
+
+    @Value
+    private static class FlowLookupKey {
+        long cookie;
+        SwitchId switchId;
+        int portNumber;
+        List<Integer> vlans;
+    }
+
+    @Value
+    private static class DeviceKey {
+        ConnectedDeviceType type;
+        SwitchId switchId;
+        int portNumber;
+        int vlan;
+        String macAddress;
+        String chassisId;
+        String portId;
+        String ipAddress;
+    }
+
+    @Value
+    private static class DeviceAttributes {
+        Integer ttl;
+        String portDescription;
+        String systemName;
+        String systemDescription;
+        String systemCapabilities;
+        String managementAddress;
+        String flowId;
+        Boolean source;
+    }
+
+    @Data
+    @AllArgsConstructor
+    private static class DeviceEntry {
+        private DeviceAttributes attributes;
+        private Instant pendingLastSeen;
+        private Instant lastAccess;
+    }
 }
@@ -44,6 +44,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.time.Duration;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -284,6 +285,62 @@ public class PacketServiceTest extends Neo4jBasedTest {
         runHandleArpDataWithAddedDevice(updatedData);
     }
 
+    @Test
+    public void testWriteBehindDefersLastSeenOfUnchangedDeviceUntilFlush() {
+        PacketService service = new PacketService(
+                persistenceManager, true, Duration.ofMinutes(1), Duration.ofMinutes(10), 100);
+        LldpInfoData data = createLldpInfoDataData();
+        service.handleLldpData(data);
+
+        LldpInfoData sameData = createLldpInfoDataData();
+        sameData.setTimestamp(data.getTimestamp() + 1000);
+        service.handleLldpData(sameData);
+
+        SwitchConnectedDevice device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(device.getTimeFirstSeen(), device.getTimeLastSeen());
+
+        service.flush();
+        device = switchConnectedDeviceRepository.findAll().iterator().next();
+        assertEquals(sameData.getTimestamp(), device.getTimeLastSeen().toEpochMilli());
+        assertEquals(1, service.getDeviceTableSize());
+    }
+
+    @Test
+    public void testWriteBehindWritesChangedDeviceImmediately() {
+        PacketService service = new PacketService(
+                persistenceManager, true, Duration.ofMinutes(1), Duration.ofMinutes(10), 100);
+        LldpInfoData data = createLldpInfoDataData();
+        service.handleLldpData(data);
+
+        LldpInfoData updatedData = createLldpInfoDataData();
+        updatedData.setSystemName(SYSTEM_NAME_2);
+        updatedData.setTimestamp(data.getTimestamp() + 1000);
+        service.handleLldpData(updatedData);
+
+        Collection<SwitchConnectedDevice> devices = switchConnectedDeviceRepository.findAll();
+        assertEquals(1, devices.size());
+        assertLldpInfoDataDataEqualsSwitchConnectedDevice(updatedData, devices.iterator().next());
+        assertEquals(updatedData.getTimestamp(), devices.iterator().next().getTimeLastSeen().toEpochMilli());
+    }
+
+    @Test
+    public void testWriteBehindForgetsIdleDevicesOnFlush() {
+        PacketService service = new PacketService(persistenceManager, true, Duration.ZERO, Duration.ZERO, 100);
+        ArpInfoData data = createArpInfoData();
+        service.handleArpData(data);
+        assertEquals(1, service.getDeviceTableSize());
+
+        service.flush();
+        assertEquals(0, service.getDeviceTableSize());
+
+        // unknown device is written again
+        ArpInfoData sameData = createArpInfoData();
+        sameData.setTimestamp(data.getTimestamp() + 1000);
+        service.handleArpData(sameData);
+        assertEquals(sameData.getTimestamp(),
+                switchConnectedDeviceRepository.findAll().iterator().next().getTimeLastSeen().toEpochMilli());
+    }
+
     private Object[][] getOneSwitchOnePortFlowParameters() {
         return new Object[][] {
                 // inVlan, srcVlan, dstVlan, vlansInPacket, sourceSwitch
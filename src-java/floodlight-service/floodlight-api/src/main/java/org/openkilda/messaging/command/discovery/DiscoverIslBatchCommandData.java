@@ -0,0 +1,48 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.messaging.command.discovery;
+
+import org.openkilda.messaging.command.CommandData;
+import org.openkilda.model.SwitchId;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.EqualsAndHashCode;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Request to send discovery packets via several ports of one switch.
+ */
+@Value
+@EqualsAndHashCode(callSuper = false)
+public class DiscoverIslBatchCommandData extends CommandData {
+    private static final long serialVersionUID = 1L;
+
+    @JsonProperty("switch_id")
+    private SwitchId switchId;
+
+    @JsonProperty("packets")
+    private List<DiscoverIslPortPacket> packets;
+
+    @JsonCreator
+    public DiscoverIslBatchCommandData(@JsonProperty("switch_id") SwitchId switchId,
+                                       @JsonProperty("packets") List<DiscoverIslPortPacket> packets) {
+        this.switchId = switchId;
+        this.packets = packets;
+    }
+}
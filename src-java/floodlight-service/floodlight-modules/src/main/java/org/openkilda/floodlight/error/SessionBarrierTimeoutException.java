@@ -1,4 +1,4 @@
-/* Copyright 2019 Telstra Open Source
+/* Copyright 2020 Telstra Open Source
  *
  *   Licensed under the Apache License, Version 2.0 (the "License");
  *   you may not use this file except in compliance with the License.
@@ -13,14 +13,12 @@
  *   limitations under the License.
  */
 
-package org.openkilda.wfm.topology.stats;
+package org.openkilda.floodlight.error;
 
-import org.openkilda.model.SwitchId;
+import org.projectfloodlight.openflow.types.DatapathId;
 
-import lombok.Value;
-
-@Value
-public class MeterCacheKey {
-    private SwitchId switchId;
-    private Long meterId;
+public class SessionBarrierTimeoutException extends SwitchOperationException {
+    public SessionBarrierTimeoutException(DatapathId dpId) {
+        super(dpId, String.format("Switch %s have not responded on barrier request in time", dpId));
+    }
 }
@@ -95,11 +95,21 @@ public class KafkaMessageCollector implements IFloodlightModule {
     protected void launchTopics(KafkaMessageCollectorConfig consumerConfig,
                                 KafkaChannel kafkaChannel,
                                 ConsumerLauncher launcher) {
+        SwitchExecutionLanes lanes = null;
+        if (consumerConfig.isSwitchLanesEnabled()) {
+            // general executor threads only parse records, switch commands are executed in the per-switch lanes
+            ExecutorService lanesExecutor = Executors.newFixedThreadPool(consumerConfig.getSwitchLanesExecutorCount());
+            lanes = new SwitchExecutionLanes(lanesExecutor, consumerConfig.getSwitchLaneCapacity());
+            logger.info("Kafka Consumer: switch lanes executor threads = {}, lane capacity = {}",
+                    consumerConfig.getSwitchLanesExecutorCount(), consumerConfig.getSwitchLaneCapacity());
+        }
+        logger.info("Kafka Consumer: per-switch execution lanes enabled = {}", lanes != null);
+
         ExecutorService generalExecutor = buildExecutorWithNoQueue(consumerConfig.getGeneralExecutorCount());
         logger.info("Kafka Consumer: general executor threads = {}", consumerConfig.getGeneralExecutorCount());
-        launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerTopic()));
-        launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowTopic()));
-        launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowPingTopic()));
+        launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerTopic()), lanes);
+        launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowTopic()), lanes);
+        launcher.launch(generalExecutor, new KafkaConsumerSetup(kafkaChannel.getSpeakerFlowPingTopic()), lanes);
 
         ExecutorService discoCommandExecutor = buildExecutorWithNoQueue(consumerConfig.getDiscoExecutorCount());
         logger.info("Kafka Consumer: disco executor threads = {}", consumerConfig.getDiscoExecutorCount());
@@ -119,18 +129,30 @@ public class KafkaMessageCollector implements IFloodlightModule {
         private final FloodlightModuleContext moduleContext;
         private final KafkaMessageCollectorConfig consumerConfig;
 
+        private final ConsumerContext context;
         private final RecordHandler.Factory handlerFactory;
 
         ConsumerLauncher(FloodlightModuleContext moduleContext, KafkaMessageCollectorConfig consumerConfig) {
             this.moduleContext = moduleContext;
             this.consumerConfig = consumerConfig;
 
-            ConsumerContext context = new ConsumerContext(moduleContext);
+            this.context = new ConsumerContext(moduleContext);
             this.handlerFactory = new RecordHandler.Factory(context);
         }
 
         protected void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup) {
-            Consumer consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, handlerFactory,
+            launch(handlerExecutor, kafkaSetup, handlerFactory);
+        }
+
+        protected void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup,
+                              SwitchExecutionLanes lanes) {
+            RecordHandler.Factory factory = lanes == null ? handlerFactory : new RecordHandler.Factory(context, lanes);
+            launch(handlerExecutor, kafkaSetup, factory);
+        }
+
+        private void launch(ExecutorService handlerExecutor, KafkaConsumerSetup kafkaSetup,
+                            RecordHandler.Factory factory) {
+            Consumer consumer = new Consumer(moduleContext, handlerExecutor, kafkaSetup, factory,
                     consumerConfig.getAutoCommitInterval());
             Executors.newSingleThreadScheduledExecutor()
                     .scheduleWithFixedDelay(consumer, 0, 1, TimeUnit.MILLISECONDS);
@@ -36,6 +36,20 @@ public interface KafkaMessageCollectorConfig {
     @Min(1)
     int getDiscoExecutorCount();
 
+    @Key("consumer-switch-lanes-enabled")
+    @Default("true")
+    boolean isSwitchLanesEnabled();
+
+    @Key("consumer-switch-lanes-executors")
+    @Default("20")
+    @Min(1)
+    int getSwitchLanesExecutorCount();
+
+    @Key("consumer-switch-lane-capacity")
+    @Default("100")
+    @Min(1)
+    int getSwitchLaneCapacity();
+
     @Key("consumer-auto-commit-interval")
     @Default("1000")
     @Min(1)
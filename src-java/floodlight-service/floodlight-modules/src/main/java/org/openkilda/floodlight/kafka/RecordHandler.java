@@ -21,6 +21,7 @@ import static org.openkilda.floodlight.switchmanager.SwitchManager.INGRESS_TABLE
 import static org.openkilda.floodlight.switchmanager.SwitchManager.POST_INGRESS_TABLE_ID;
 import static org.openkilda.floodlight.switchmanager.SwitchManager.TRANSIT_TABLE_ID;
 import static org.openkilda.messaging.Utils.MAPPER;
+import static org.openkilda.messaging.Utils.PAYLOAD;
 import static org.openkilda.model.cookie.Cookie.ARP_INGRESS_COOKIE;
 import static org.openkilda.model.cookie.Cookie.ARP_INPUT_PRE_DROP_COOKIE;
 import static org.openkilda.model.cookie.Cookie.ARP_POST_INGRESS_COOKIE;
@@ -76,6 +77,7 @@ import org.openkilda.floodlight.model.FlowSegmentMetadata;
 import org.openkilda.floodlight.model.RulesContext;
 import org.openkilda.floodlight.service.CommandProcessorService;
 import org.openkilda.floodlight.service.kafka.IKafkaProducerService;
+import org.openkilda.floodlight.service.session.SessionService;
 import org.openkilda.floodlight.switchmanager.ISwitchManager;
 import org.openkilda.floodlight.switchmanager.SwitchTrackingService;
 import org.openkilda.floodlight.utils.CorrelationContext;
@@ -85,7 +87,9 @@ import org.openkilda.messaging.AliveResponse;
 import org.openkilda.messaging.MessageContext;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.NetworkCommandData;
 import org.openkilda.messaging.command.discovery.PortsCommandData;
@@ -128,6 +132,7 @@ import org.openkilda.messaging.error.ErrorMessage;
 import org.openkilda.messaging.error.ErrorType;
 import org.openkilda.messaging.error.rule.FlowCommandErrorData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketBatchSendingConfirmation;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.info.discovery.InstallIslDefaultRulesResult;
 import org.openkilda.messaging.info.discovery.RemoveIslDefaultRulesResult;
@@ -169,6 +174,7 @@ import org.openkilda.model.cookie.PortColourCookie;
 
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonNode;
 import com.google.common.collect.ImmutableList;
 import net.floodlightcontroller.core.IOFSwitch;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
@@ -185,12 +191,14 @@ import org.slf4j.LoggerFactory;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
 import java.util.stream.Collectors;
 
 class RecordHandler implements Runnable {
@@ -201,14 +209,21 @@ class RecordHandler implements Runnable {
     private final ConsumerContext context;
     private final List<CommandDispatcher<?>> dispatchers;
     private final ConsumerRecord<String, String> record;
+    private final SwitchExecutionLanes lanes;
 
     private final CommandProcessorService commandProcessor;
 
     public RecordHandler(ConsumerContext context, List<CommandDispatcher<?>> dispatchers,
                          ConsumerRecord<String, String> record) {
+        this(context, dispatchers, record, null);
+    }
+
+    public RecordHandler(ConsumerContext context, List<CommandDispatcher<?>> dispatchers,
+                         ConsumerRecord<String, String> record, SwitchExecutionLanes lanes) {
         this.context = context;
         this.dispatchers = dispatchers;
         this.record = record;
+        this.lanes = lanes;
 
         this.commandProcessor = context.getModuleContext().getServiceImpl(CommandProcessorService.class);
     }
@@ -219,6 +234,8 @@ class RecordHandler implements Runnable {
 
         if (data instanceof DiscoverIslCommandData) {
             doDiscoverIslCommand(message);
+        } else if (data instanceof DiscoverIslBatchCommandData) {
+            doDiscoverIslBatchCommand(message);
         } else if (data instanceof DiscoverPathCommandData) {
             doDiscoverPathCommand(data);
         } else if (data instanceof RemoveFlowForSwitchManagerRequest) {
@@ -331,6 +348,24 @@ class RecordHandler implements Runnable {
                         context.getRegion()));
     }
 
+    private void doDiscoverIslBatchCommand(CommandMessage message) {
+        DiscoverIslBatchCommandData command = (DiscoverIslBatchCommandData) message.getData();
+        SwitchId switchId = command.getSwitchId();
+        Map<OFPort, Long> packetIds = new LinkedHashMap<>();
+        for (DiscoverIslPortPacket entry : command.getPackets()) {
+            packetIds.put(OFPort.of(entry.getPortNumber()), entry.getPacketId());
+        }
+        context.getPathVerificationService().sendDiscoveryMessages(DatapathId.of(switchId.toLong()), packetIds);
+
+        // confirm all packets of the batch (same as single port command does), so not written ones are reported as
+        // lost by the watcher timeout
+        DiscoPacketBatchSendingConfirmation confirmation = new DiscoPacketBatchSendingConfirmation(
+                switchId, command.getPackets());
+        getKafkaProducer().sendMessageAndTrack(context.getKafkaTopoDiscoTopic(), switchId.toString(),
+                new InfoMessage(confirmation, System.currentTimeMillis(), message.getCorrelationId(),
+                        context.getRegion()));
+    }
+
     private void doDiscoverPathCommand(CommandData data) {
         DiscoverPathCommandData command = (DiscoverPathCommandData) data;
         logger.warn("NOT IMPLEMENTED: sending discover Path to {}", command);
@@ -1613,6 +1648,7 @@ class RecordHandler implements Runnable {
             return;
         }
 
+        JsonNode tree;
         CommandMessage message;
         try {
             String value = record.value();
@@ -1620,7 +1656,8 @@ class RecordHandler implements Runnable {
             //          but, changed to BaseMessage and got an error wrt "timestamp" ..
             //          so, need to experiment with why CommandMessage can't be read as
             //          a BaseMessage
-            message = MAPPER.readValue(value, CommandMessage.class);
+            tree = MAPPER.readTree(value);
+            message = MAPPER.treeToValue(tree, CommandMessage.class);
         } catch (Exception exception) {
             logger.error("error parsing record '{}'", record.value(), exception);
             return;
@@ -1634,7 +1671,17 @@ class RecordHandler implements Runnable {
 
             CommandContext commandContext = new CommandContext(context.getModuleContext(), message.getCorrelationId(),
                     record.key());
-            if (!dispatch(commandContext, message)) {
+            if (dispatch(commandContext, message)) {
+                return;
+            }
+
+            Optional<SwitchId> laneSwitchId = getLaneSwitchId(tree);
+            if (laneSwitchId.isPresent()) {
+                SwitchId switchId = laneSwitchId.get();
+                if (!lanes.execute(switchId, () -> handleCommandInLane(switchId, message))) {
+                    logger.error("Drop command {}, the lane of switch {} is full", message, switchId);
+                }
+            } else {
                 handleCommand(message);
             }
         } catch (Exception exception) {
@@ -1642,6 +1689,45 @@ class RecordHandler implements Runnable {
         }
     }
 
+    /**
+     * Handle the command and return the barrier of the OF messages it has written, the lane starts the next command of
+     * the switch when the switch has processed them.
+     */
+    private CompletableFuture<?> handleCommandInLane(SwitchId switchId, CommandMessage message) {
+        try (CorrelationContextClosable closable = CorrelationContext.create(message.getCorrelationId())) {
+            handleCommand(message);
+        } catch (Exception exception) {
+            logger.error("error processing message '{}'", message, exception);
+        }
+
+        IOFSwitch sw;
+        try {
+            sw = context.getSwitchManager().lookupSwitch(DatapathId.of(switchId.toLong()));
+        } catch (SwitchNotFoundException e) {
+            return CompletableFuture.completedFuture(null);
+        }
+        SessionService sessionService = context.getModuleContext().getServiceImpl(SessionService.class);
+        return sessionService.barrier(new MessageContext(message.getCorrelationId()), sw);
+    }
+
+    /**
+     * Legacy commands don't share any interface to get the target switch, so it is taken from the raw payload.
+     */
+    private Optional<SwitchId> getLaneSwitchId(JsonNode tree) {
+        if (lanes == null) {
+            return Optional.empty();
+        }
+        JsonNode switchId = tree.path(PAYLOAD).findValue("switch_id");
+        if (switchId == null || !switchId.isTextual()) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(new SwitchId(switchId.asText()));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     private Optional<FlowSegmentWrapperCommand> makeSyncCommand(
             BaseFlow request, MessageContext messageContext, FlowSegmentResponseFactory responseFactory) {
         FlowSegmentWrapperCommand command;
@@ -1768,6 +1854,7 @@ class RecordHandler implements Runnable {
 
     public static class Factory {
         private final ConsumerContext context;
+        private final SwitchExecutionLanes lanes;
         private final List<CommandDispatcher<?>> dispatchers = ImmutableList.of(
                 new PingRequestDispatcher(),
                 new SetupBfdSessionDispatcher(),
@@ -1776,11 +1863,20 @@ class RecordHandler implements Runnable {
                 new ListSwitchDispatcher());
 
         public Factory(ConsumerContext context) {
+            this(context, null);
+        }
+
+        /**
+         * Handlers produced by this factory execute legacy switch commands in the per-switch lanes (if lanes are
+         * provided).
+         */
+        public Factory(ConsumerContext context, SwitchExecutionLanes lanes) {
             this.context = context;
+            this.lanes = lanes;
         }
 
         public RecordHandler produce(ConsumerRecord<String, String> record) {
-            return new RecordHandler(context, dispatchers, record);
+            return new RecordHandler(context, dispatchers, record, lanes);
         }
     }
 }
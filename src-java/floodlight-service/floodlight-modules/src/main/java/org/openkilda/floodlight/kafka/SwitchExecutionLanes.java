@@ -0,0 +1,105 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import org.openkilda.model.SwitchId;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
+
+/**
+ * Executes tasks in per-switch ordered lanes: tasks of one switch are executed one by one in the order of submission,
+ * tasks of different switches are executed concurrently. So a slow switch holds only its own lane and doesn't stall
+ * commands for other switches.
+ *
+ * <p>A task returns the future of its completion (e.g. the barrier of the OF messages it has written), the next task
+ * of the lane is started when this future is completed. The executor thread is not held while the task waits for
+ * the switch.
+ *
+ * <p>Each lane holds at most {@code laneCapacity} pending tasks. Submission into a full lane is rejected, so a slow
+ * switch never blocks the caller.
+ */
+public class SwitchExecutionLanes {
+    private static final Logger logger = LoggerFactory.getLogger(SwitchExecutionLanes.class);
+
+    private final Executor executor;
+    private final int laneCapacity;
+
+    private final Map<SwitchId, Queue<Supplier<CompletableFuture<?>>>> lanes = new HashMap<>();
+
+    public SwitchExecutionLanes(Executor executor, int laneCapacity) {
+        this.executor = executor;
+        this.laneCapacity = laneCapacity;
+    }
+
+    /**
+     * Add the task into the lane of the switch, start the lane if it is idle.
+     *
+     * @return false if the lane is full and the task is rejected
+     */
+    public boolean execute(SwitchId switchId, Supplier<CompletableFuture<?>> task) {
+        synchronized (lanes) {
+            Queue<Supplier<CompletableFuture<?>>> lane = lanes.get(switchId);
+            if (lane != null) {
+                if (lane.size() >= laneCapacity) {
+                    return false;
+                }
+                lane.add(task);
+                return true;
+            }
+            lanes.put(switchId, new ArrayDeque<>());
+        }
+
+        executor.execute(() -> run(switchId, task));
+        return true;
+    }
+
+    private void run(SwitchId switchId, Supplier<CompletableFuture<?>> task) {
+        CompletableFuture<?> completion = null;
+        try {
+            completion = task.get();
+        } catch (Exception e) {
+            logger.error("Failed to execute task in the lane of switch {}", switchId, e);
+        }
+
+        if (completion == null) {
+            next(switchId);
+        } else {
+            completion.whenComplete((result, error) -> next(switchId));
+        }
+    }
+
+    private void next(SwitchId switchId) {
+        Supplier<CompletableFuture<?>> task;
+        synchronized (lanes) {
+            task = lanes.get(switchId).poll();
+            if (task == null) {
+                lanes.remove(switchId);
+                return;
+            }
+        }
+
+        executor.execute(() -> run(switchId, task));
+    }
+}
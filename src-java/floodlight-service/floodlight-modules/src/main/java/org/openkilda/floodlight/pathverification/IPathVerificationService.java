@@ -19,9 +19,18 @@ import net.floodlightcontroller.core.module.IFloodlightService;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 
+import java.util.Map;
+
 public interface IPathVerificationService extends IFloodlightService {
 
     boolean sendDiscoveryMessage(DatapathId srcSwId, OFPort port, Long packetId);
 
+    /**
+     * Build discovery packets for all passed ports of the switch and write them into the switch in one pass.
+     *
+     * @return packet ids (by port) of the successfully written packets.
+     */
+    Map<OFPort, Long> sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds);
+
     PathVerificationServiceConfig getConfig();
 }
@@ -74,6 +74,7 @@ import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.OFMessageUtils;
 import org.apache.commons.codec.binary.Hex;
 import org.bouncycastle.util.Arrays;
+import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFPacketIn;
 import org.projectfloodlight.openflow.protocol.OFPacketOut;
 import org.projectfloodlight.openflow.protocol.OFPortDesc;
@@ -102,6 +103,8 @@ import java.nio.ByteBuffer;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -331,6 +334,53 @@ public class PathVerificationService implements IFloodlightModule, IPathVerifica
         return result;
     }
 
+    @Override
+    public Map<OFPort, Long> sendDiscoveryMessages(DatapathId srcSwId, Map<OFPort, Long> packetIds) {
+        Map<OFPort, Long> sent = new HashMap<>();
+        IOFSwitch srcSwitch = switchService.getSwitch(srcSwId);
+        if (srcSwitch == null) {
+            logger.warn("Unable to send discovery packets via {} - switch is not connected", srcSwId);
+            return sent;
+        }
+
+        Map<OFMessage, OFPort> packets = new LinkedHashMap<>();
+        for (Map.Entry<OFPort, Long> entry : packetIds.entrySet()) {
+            OFPort port = entry.getKey();
+            if (srcSwitch.getPort(port) == null) {
+                continue;
+            }
+            try {
+                OFPacketOut ofPacketOut = generateDiscoveryPacket(srcSwitch, port, true, entry.getValue());
+                if (ofPacketOut != null) {
+                    packets.put(ofPacketOut, port);
+                } else {
+                    logger.error("<== Received null from generateDiscoveryPacket, inputs where: "
+                            + "srcSwitch: {}, port: {} id: {}", srcSwitch, port, entry.getValue());
+                }
+            } catch (Exception exception) {
+                logger.error(String.format("Unhandled exception in %s", getClass().getName()), exception);
+            }
+        }
+        if (packets.isEmpty()) {
+            return sent;
+        }
+
+        Collection<OFMessage> failed = srcSwitch.write(packets.keySet());
+        for (Map.Entry<OFMessage, OFPort> entry : packets.entrySet()) {
+            OFPort port = entry.getValue();
+            Long packetId = packetIds.get(port);
+            if (failed.contains(entry.getKey())) {
+                logger.error("Failed to send PACKET_OUT(ISL discovery packet) via {}-{} id:{} OF-xid:{}",
+                        srcSwitch.getId(), port.getPortNumber(), packetId, entry.getKey().getXid());
+            } else {
+                logIsl.info("push discovery package via: {}-{} id:{} OF-xid:{}", srcSwitch.getId(),
+                        port.getPortNumber(), packetId, entry.getKey().getXid());
+                sent.put(port, packetId);
+            }
+        }
+        return sent;
+    }
+
     private static LLDPTLV switchTimestampTlv(byte type) {
         byte[] timestampArray = ByteBuffer
                 .allocate(ROUND_TRIP_LATENCY_TIMESTAMP_SIZE / 8 + LLDP_TLV_OPTIONAL_HEADER_SIZE_IN_BYTES)
@@ -173,6 +173,10 @@ public class Session implements AutoCloseable {
         }
     }
 
+    CompletableFuture<Optional<OFMessage>> getClosingBarrier() {
+        return closingBarrier;
+    }
+
     Set<Long> getAllXids() {
         return ImmutableSet.copyOf(requestsByXid.keySet());
     }
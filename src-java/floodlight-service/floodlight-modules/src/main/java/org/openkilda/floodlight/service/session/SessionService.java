@@ -21,26 +21,47 @@ import org.openkilda.floodlight.model.OfInput;
 import org.openkilda.floodlight.service.IService;
 import org.openkilda.floodlight.service.of.IInputTranslator;
 import org.openkilda.floodlight.service.of.InputService;
+import org.openkilda.floodlight.utils.CompletableFutureAdapter;
 import org.openkilda.messaging.MessageContext;
 
 import com.google.common.annotations.VisibleForTesting;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.projectfloodlight.openflow.protocol.OFMessage;
 import org.projectfloodlight.openflow.protocol.OFType;
 import org.projectfloodlight.openflow.types.DatapathId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Duration;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
 
 public class SessionService implements IService, IInputTranslator {
     private static final Logger log = LoggerFactory.getLogger(SessionService.class);
 
+    private static final Duration DEFAULT_BARRIER_TIMEOUT = Duration.ofSeconds(10);
+
     private final Map<DatapathId, SwitchSessions> sessionsByDatapath = new ConcurrentHashMap<>();
 
+    private final Duration barrierTimeout;
+
+    private ScheduledExecutorService timer;
+
+    public SessionService() {
+        this(DEFAULT_BARRIER_TIMEOUT);
+    }
+
+    @VisibleForTesting
+    SessionService(Duration barrierTimeout) {
+        this.barrierTimeout = barrierTimeout;
+    }
+
     public Session open(IOFSwitch sw) {
         return open(new MessageContext(), sw);
     }
@@ -58,12 +79,32 @@ public class SessionService implements IService, IInputTranslator {
         return group.open(sw, context);
     }
 
+    /**
+     * Send barrier request to the switch, concurrent calls for the same switch share one barrier request.
+     *
+     * <p>The barrier is sent only after the completion of the previous one, so all OF messages written to the switch
+     * before the call are processed by the switch when the returned future is completed. The future is failed if the
+     * switch doesn't reply in time or gets disconnected.
+     */
+    public CompletableFuture<Optional<OFMessage>> barrier(MessageContext context, IOFSwitch sw) {
+        SwitchSessions group = sessionsByDatapath.get(sw.getId());
+        if (group == null) {
+            // switch activation is in progress, so there is no sessions group yet
+            return new CompletableFutureAdapter<>(context, sw.writeRequest(sw.getOFFactory().barrierRequest()))
+                    .thenApply(reply -> Optional.<OFMessage>of(reply));
+        }
+
+        return group.barrier(sw, context);
+    }
+
     @Override
     public void setup(FloodlightModuleContext moduleContext) {
         InputService inputService = moduleContext.getServiceImpl(InputService.class);
         inputService.addTranslator(OFType.ERROR, this);
         inputService.addTranslator(OFType.BARRIER_REPLY, this);
 
+        timer = moduleContext.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+
         new SwitchEventsTranslator(this, moduleContext.getServiceImpl(IOFSwitchService.class));
     }
 
@@ -97,7 +138,7 @@ public class SessionService implements IService, IInputTranslator {
      * <p>Called from main FL thread, that why we can avoid `synchronization` here.
      */
     void switchActivate(DatapathId dpId) {
-        SwitchSessions group = new SwitchSessions();
+        SwitchSessions group = new SwitchSessions(dpId, barrierTimeout, timer);
         SwitchSessions previous;
         previous = sessionsByDatapath.put(dpId, group);
 
@@ -15,21 +15,85 @@
 
 package org.openkilda.floodlight.service.session;
 
+import org.openkilda.floodlight.error.SessionBarrierTimeoutException;
+import org.openkilda.floodlight.error.SessionConnectionLostException;
 import org.openkilda.messaging.MessageContext;
 
 import net.floodlightcontroller.core.IOFSwitch;
 import org.projectfloodlight.openflow.protocol.OFMessage;
+import org.projectfloodlight.openflow.types.DatapathId;
 
+import java.time.Duration;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 class SwitchSessions {
+    private final DatapathId dpId;
+    private final long barrierTimeoutNanos;
+    private final ScheduledExecutorService timer;
+
     private final Map<Long, Session> sessionsByXid = new HashMap<>();
 
+    private final Object barrierLock = new Object();
+    private CompletableFuture<Optional<OFMessage>> barrierInProgress;
+    private long barrierSendTime;
+    private CompletableFuture<Optional<OFMessage>> nextBarrier;
+    private boolean disconnected = false;
+
+    SwitchSessions(DatapathId dpId, Duration barrierTimeout, ScheduledExecutorService timer) {
+        this.dpId = dpId;
+        this.barrierTimeoutNanos = barrierTimeout.toNanos();
+        this.timer = timer;
+    }
+
     Session open(IOFSwitch sw, MessageContext context) {
         return new Session(this, sw, context);
     }
 
+    /**
+     * Send barrier request or join the pending one.
+     *
+     * <p>While a barrier is in progress, new callers can't use it (their messages can be written after it), so they
+     * share the next barrier, which is sent when the current one is completed. A barrier without a reply for longer
+     * than the barrier timeout is failed by the next caller, and the waiting callers share a new barrier request.
+     * Besides that each caller has its own timeout, so it is not left waiting for the shared barrier when there is
+     * no next caller to fail it.
+     */
+    CompletableFuture<Optional<OFMessage>> barrier(IOFSwitch sw, MessageContext context) {
+        CompletableFuture<Optional<OFMessage>> future;
+        CompletableFuture<Optional<OFMessage>> expired;
+        synchronized (barrierLock) {
+            if (disconnected) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(new SessionConnectionLostException(dpId));
+                return future;
+            }
+            if (barrierInProgress != null && System.nanoTime() - barrierSendTime < barrierTimeoutNanos) {
+                if (nextBarrier == null) {
+                    nextBarrier = new CompletableFuture<>();
+                }
+                return withTimeout(nextBarrier);
+            }
+
+            expired = barrierInProgress;
+            future = nextBarrier != null ? nextBarrier : new CompletableFuture<>();
+            nextBarrier = null;
+            barrierInProgress = future;
+            barrierSendTime = System.nanoTime();
+        }
+
+        if (expired != null) {
+            expired.completeExceptionally(new SessionBarrierTimeoutException(dpId));
+        }
+        sendBarrier(sw, context, future);
+        return withTimeout(future);
+    }
+
     void handleResponse(OFMessage message) {
         Session session;
         synchronized (sessionsByXid) {
@@ -42,6 +106,23 @@ class SwitchSessions {
     }
 
     void disconnect() {
+        CompletableFuture<Optional<OFMessage>> pending;
+        CompletableFuture<Optional<OFMessage>> next;
+        synchronized (barrierLock) {
+            disconnected = true;
+            pending = barrierInProgress;
+            next = nextBarrier;
+            barrierInProgress = null;
+            nextBarrier = null;
+        }
+        SessionConnectionLostException error = new SessionConnectionLostException(dpId);
+        if (pending != null) {
+            pending.completeExceptionally(error);
+        }
+        if (next != null) {
+            next.completeExceptionally(error);
+        }
+
         sessionsByXid.values()
                 // Session can be listed multiple time into sessionsByXid map
                 // so .disconnect() will be called multiple times. Session.disconnect
@@ -57,6 +138,51 @@ class SwitchSessions {
         }
     }
 
+    private void sendBarrier(IOFSwitch sw, MessageContext context, CompletableFuture<Optional<OFMessage>> future) {
+        Session session = open(sw, context);
+        session.close();
+        session.getClosingBarrier().whenComplete((response, error) -> {
+            // has no effect if the barrier is already failed by timeout or disconnect
+            if (error == null) {
+                future.complete(response);
+            } else {
+                future.completeExceptionally(error);
+            }
+
+            CompletableFuture<Optional<OFMessage>> next;
+            synchronized (barrierLock) {
+                if (barrierInProgress != future) {
+                    // replaced by a new barrier after the timeout, or the switch is disconnected
+                    return;
+                }
+                next = nextBarrier;
+                nextBarrier = null;
+                barrierInProgress = next;
+                barrierSendTime = System.nanoTime();
+            }
+
+            if (next != null) {
+                sendBarrier(sw, context, next);
+            }
+        });
+    }
+
+    private CompletableFuture<Optional<OFMessage>> withTimeout(CompletableFuture<Optional<OFMessage>> barrier) {
+        CompletableFuture<Optional<OFMessage>> future = new CompletableFuture<>();
+        ScheduledFuture<?> timeout = timer.schedule(
+                () -> future.completeExceptionally(new SessionBarrierTimeoutException(dpId)),
+                barrierTimeoutNanos, TimeUnit.NANOSECONDS);
+        barrier.whenComplete((response, error) -> {
+            timeout.cancel(false);
+            if (error == null) {
+                future.complete(response);
+            } else {
+                future.completeExceptionally(error);
+            }
+        });
+        return future;
+    }
+
     private void unbindSession(Session session) {
         synchronized (sessionsByXid) {
             for (long xid : session.getAllXids()) {
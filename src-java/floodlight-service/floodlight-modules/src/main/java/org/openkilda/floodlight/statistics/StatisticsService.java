@@ -17,6 +17,7 @@ package org.openkilda.floodlight.statistics;
 
 import static java.lang.String.format;
 
+import org.openkilda.floodlight.config.provider.FloodlightModuleConfigurationProvider;
 import org.openkilda.floodlight.converter.OfFlowStatsMapper;
 import org.openkilda.floodlight.converter.OfMeterStatsMapper;
 import org.openkilda.floodlight.converter.OfPortStatsMapper;
@@ -29,6 +30,10 @@ import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsData;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.SwitchStatsPollLatencyData;
 import org.openkilda.messaging.info.stats.SwitchTableStatsData;
 import org.openkilda.messaging.info.stats.TableStatsEntry;
 import org.openkilda.model.SwitchId;
@@ -47,8 +52,11 @@ import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.apache.commons.collections4.CollectionUtils;
 import org.apache.commons.lang3.math.NumberUtils;
 import org.projectfloodlight.openflow.protocol.OFFactory;
+import org.projectfloodlight.openflow.protocol.OFFlowStatsReply;
 import org.projectfloodlight.openflow.protocol.OFFlowStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFMeterStatsReply;
 import org.projectfloodlight.openflow.protocol.OFMeterStatsRequest;
+import org.projectfloodlight.openflow.protocol.OFPortStatsReply;
 import org.projectfloodlight.openflow.protocol.OFPortStatsRequest;
 import org.projectfloodlight.openflow.protocol.OFStatsReply;
 import org.projectfloodlight.openflow.protocol.OFTableStatsReply;
@@ -62,14 +70,24 @@ import org.slf4j.LoggerFactory;
 
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
  * This service performs periodic port/flow/meter config statistics collection and pushes it to Kafka.
+ * <p/>
+ * Requests to different switches are spread over the polling interval (each switch has its own stable offset), so
+ * replies do not come all at once. Optionally only changed port/flow/meter entries are sent (see
+ * {@link StatsDeltaFilter}). Time spent by the switch to answer stats requests is reported to the stats topology.
  */
 public class StatisticsService implements IStatisticsService, IFloodlightModule {
     private static final Logger logger = LoggerFactory.getLogger(StatisticsService.class);
@@ -77,6 +95,10 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
     private IOFSwitchService switchService;
     private IKafkaProducerService producerService;
+    private ScheduledExecutorService scheduler;
+    private StatisticsServiceConfig config;
+    private StatsDeltaFilter deltaFilter;
+    private final Map<DatapathId, ScheduledFuture<?>> scheduledPolls = new ConcurrentHashMap<>();
     private String statisticsTopic;
     private String region;
 
@@ -104,6 +126,13 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
     public void init(FloodlightModuleContext context) {
         switchService = context.getServiceImpl(IOFSwitchService.class);
         producerService = context.getServiceImpl(IKafkaProducerService.class);
+        scheduler = context.getServiceImpl(IThreadPoolService.class).getScheduledExecutor();
+
+        config = FloodlightModuleConfigurationProvider.of(context, this)
+                .getConfiguration(StatisticsServiceConfig.class);
+        if (config.isDeltaOnlyEnabled()) {
+            deltaFilter = new StatsDeltaFilter(config.getFullRefreshPolls());
+        }
     }
 
     @Override
@@ -127,39 +156,83 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         statisticsTopic = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getStatsTopic();
         region = context.getServiceImpl(KafkaUtilityService.class).getKafkaChannel().getRegion();
 
-        switchService.getAllSwitchMap().values()
-                .stream()
-                .filter(it -> !excludeSwitches.contains(it.getId()))
-                .forEach(iofSwitch -> {
-                    try {
-                        gatherPortStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
-                    }
+        long spreadMillis = 0;
+        if (config.isPollSpreadEnabled()) {
+            spreadMillis = (long) (TimeUnit.SECONDS.toMillis(config.getInterval()) * config.getPollSpreadRatio());
+        }
+        for (IOFSwitch iofSwitch : switchService.getAllSwitchMap().values()) {
+            if (!excludeSwitches.contains(iofSwitch.getId())) {
+                schedulePoll(iofSwitch.getId(), spreadMillis);
+            }
+        }
+    }
 
-                    try {
-                        gatherFlowStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
-                    }
+    private void schedulePoll(DatapathId dpId, long spreadMillis) {
+        if (spreadMillis <= 0) {
+            pollSwitch(dpId);
+            return;
+        }
 
+        ScheduledFuture<?> pending = scheduledPolls.get(dpId);
+        if (pending != null && !pending.isDone()) {
+            logger.warn("Skip stats request for switch {}, the previous one is not executed yet", dpId);
+            return;
+        }
+        long delay = getPollOffset(dpId, spreadMillis);
+        scheduledPolls.put(dpId, scheduler.schedule(() -> pollSwitch(dpId), delay, TimeUnit.MILLISECONDS));
+    }
 
-                    try {
-                        gatherMeterStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
-                    }
+    /**
+     * Offset of the switch polls from the start of the polling interval. It does not change between polls, so the
+     * switch is polled with the same interval as the stats are requested.
+     */
+    private static long getPollOffset(DatapathId dpId, long spreadMillis) {
+        long hash = dpId.getLong() * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(hash ^ (hash >>> 32), spreadMillis);
+    }
 
-                    try {
-                        gatherTableStats(iofSwitch);
-                    } catch (Exception e) {
-                        logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
-                    }
-                });
+    private void pollSwitch(DatapathId dpId) {
+        SwitchId switchId = new SwitchId(dpId.getLong());
+        IOFSwitch iofSwitch = switchService.getSwitch(dpId);
+        if (iofSwitch == null) {
+            logger.debug("Skip stats request for switch {}, it is disconnected", dpId);
+            if (deltaFilter != null) {
+                deltaFilter.forget(switchId);
+            }
+            return;
+        }
+
+        SwitchPoll poll = new SwitchPoll(switchId, deltaFilter == null || deltaFilter.startPoll(switchId));
+        try {
+            gatherPortStats(iofSwitch, poll);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for ports on switch %s.", iofSwitch.getId()), e);
+        }
+
+        try {
+            gatherFlowStats(iofSwitch, poll);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for flows on switch %s.", iofSwitch.getId()), e);
+        }
+
+
+        try {
+            gatherMeterStats(iofSwitch, poll);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for meters on switch %s.", iofSwitch.getId()), e);
+        }
+
+        try {
+            gatherTableStats(iofSwitch, poll);
+        } catch (Exception e) {
+            logger.error(format("Failed to gather stats for tables on switch %s.", iofSwitch.getId()), e);
+        }
+
+        poll.allRequestsSent();
     }
 
     @NewCorrelationContextRequired
-    private void gatherPortStats(IOFSwitch iofSwitch) {
+    private void gatherPortStats(IOFSwitch iofSwitch, SwitchPoll poll) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -170,12 +243,13 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
         logger.info("Getting port stats for switch={} OF-xid:{}", iofSwitch.getId(), portStatsRequest.getXid());
 
-        Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest), new RequestCallback<>(
-                data -> OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId), switchId, "port"));
+        RequestCallback<OFPortStatsReply> callback = new RequestCallback<>(
+                data -> poll.filter(OfPortStatsMapper.INSTANCE.toPostStatsData(data, switchId)), poll, "port");
+        Futures.addCallback(iofSwitch.writeStatsRequest(portStatsRequest), callback);
     }
 
     @NewCorrelationContextRequired
-    private void gatherFlowStats(IOFSwitch iofSwitch) {
+    private void gatherFlowStats(IOFSwitch iofSwitch, SwitchPoll poll) {
         OFFactory factory = iofSwitch.getOFFactory();
         final SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -188,13 +262,14 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
             // skip flow stats for OF 1.5 protocol version
             logger.info("Getting flow stats for switch={} OF-xid:{}", iofSwitch.getId(), flowStatsRequest.getXid());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), new RequestCallback<>(
-                    data -> OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId), switchId, "flow"));
+            RequestCallback<OFFlowStatsReply> callback = new RequestCallback<>(
+                    data -> poll.filter(OfFlowStatsMapper.INSTANCE.toFlowStatsData(data, switchId)), poll, "flow");
+            Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
         }
     }
 
     @NewCorrelationContextRequired
-    private void gatherTableStats(IOFSwitch iofSwitch) {
+    private void gatherTableStats(IOFSwitch iofSwitch, SwitchPoll poll) {
         final SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
         OFFactory factory = iofSwitch.getOFFactory();
 
@@ -220,13 +295,13 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
                         .build();
             };
 
-            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, switchId, "table");
+            RequestCallback<OFTableStatsReply> callback = new RequestCallback<>(converter, poll, "table");
             Futures.addCallback(iofSwitch.writeStatsRequest(flowStatsRequest), callback);
         }
     }
 
     @NewCorrelationContextRequired
-    private void gatherMeterStats(IOFSwitch iofSwitch) {
+    private void gatherMeterStats(IOFSwitch iofSwitch, SwitchPoll poll) {
         OFFactory factory = iofSwitch.getOFFactory();
         SwitchId switchId = new SwitchId(iofSwitch.getId().getLong());
 
@@ -239,33 +314,115 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
 
             logger.info("Getting meter stats for switch={} OF-xid:{}", iofSwitch.getId(), meterStatsRequest.getXid());
 
-            Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest),
-                    new RequestCallback<>(
-                            data -> OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId), switchId, "meter"));
+            RequestCallback<OFMeterStatsReply> callback = new RequestCallback<>(
+                    data -> poll.filter(OfMeterStatsMapper.INSTANCE.toMeterStatsData(data, switchId)), poll, "meter");
+            Futures.addCallback(iofSwitch.writeStatsRequest(meterStatsRequest), callback);
+        }
+    }
+
+    private void send(InfoData data, String correlationId) {
+        InfoMessage infoMessage = new InfoMessage(data, System.currentTimeMillis(), correlationId,
+                Destination.WFM_STATS, region);
+        producerService.sendMessageAndTrack(statisticsTopic, infoMessage);
+    }
+
+    /**
+     * Stats requests of one poll of the switch. Collects reply latencies and sends them when all replies are received
+     * (or failed).
+     */
+    private class SwitchPoll {
+        private final SwitchId switchId;
+        private final boolean fullRefresh;
+        private final AtomicInteger pending = new AtomicInteger(1);
+        private final Map<String, Long> latencies = new ConcurrentHashMap<>();
+
+        SwitchPoll(SwitchId switchId, boolean fullRefresh) {
+            this.switchId = switchId;
+            this.fullRefresh = fullRefresh;
+        }
+
+        PortStatsData filter(PortStatsData data) {
+            if (deltaFilter == null) {
+                return data;
+            }
+            PortStatsData changed = deltaFilter.filter(data, fullRefresh);
+            return changed.getStats().isEmpty() ? null : changed;
+        }
+
+        FlowStatsData filter(FlowStatsData data) {
+            if (deltaFilter == null) {
+                return data;
+            }
+            FlowStatsData changed = deltaFilter.filter(data, fullRefresh);
+            return changed.getStats().isEmpty() ? null : changed;
+        }
+
+        MeterStatsData filter(MeterStatsData data) {
+            if (deltaFilter == null) {
+                return data;
+            }
+            MeterStatsData changed = deltaFilter.filter(data, fullRefresh);
+            return changed.getStats().isEmpty() ? null : changed;
+        }
+
+        void requestSent() {
+            pending.incrementAndGet();
+        }
+
+        void responseReceived(String type, long latencyNanos) {
+            latencies.put(type, TimeUnit.NANOSECONDS.toMillis(latencyNanos));
+            complete();
+        }
+
+        void responseFailed() {
+            complete();
+        }
+
+        void allRequestsSent() {
+            complete();
+        }
+
+        private void complete() {
+            if (pending.decrementAndGet() == 0 && !latencies.isEmpty()) {
+                send(SwitchStatsPollLatencyData.builder()
+                        .switchId(switchId)
+                        .latencies(new HashMap<>(latencies))
+                        .build(), CorrelationContext.getId());
+            }
         }
     }
 
     private class RequestCallback<T extends OFStatsReply> implements FutureCallback<List<T>> {
         private Function<List<T>, InfoData> transform;
-        private final SwitchId switchId;
+        private final SwitchPoll poll;
         private final String type;
         private final String correlationId;
+        private final long requestTime;
 
-        RequestCallback(Function<List<T>, InfoData> transform, SwitchId switchId, String type) {
+        RequestCallback(Function<List<T>, InfoData> transform, SwitchPoll poll, String type) {
             this.transform = transform;
-            this.switchId = switchId;
+            this.poll = poll;
             this.type = type;
             this.correlationId = CorrelationContext.getId();
+            this.requestTime = System.nanoTime();
+            poll.requestSent();
         }
 
         @Override
         public void onSuccess(List<T> data) {
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
-                logger.info("Receive switch {} stats response(s) from {}", type, switchId);
-                InfoMessage infoMessage = new InfoMessage(transform.apply(data),
-                        System.currentTimeMillis(), correlationId, Destination.WFM_STATS, region);
-                producerService.sendMessageAndTrack(statisticsTopic, infoMessage);
+                long latency = System.nanoTime() - requestTime;
+                logger.info("Receive switch {} stats response(s) from {}", type, poll.switchId);
+                try {
+                    // null means there are no changed entries (delta-only mode)
+                    InfoData payload = transform.apply(data);
+                    if (payload != null) {
+                        send(payload, correlationId);
+                    }
+                } finally {
+                    poll.responseReceived(type, latency);
+                }
             }
         }
 
@@ -273,7 +430,8 @@ public class StatisticsService implements IStatisticsService, IFloodlightModule
         public void onFailure(Throwable throwable) {
             // Restore the correlation context used for the request.
             try (CorrelationContextClosable closable = CorrelationContext.create(correlationId)) {
-                logger.error("Exception reading {} stats from {}", type, switchId, throwable);
+                poll.responseFailed();
+                logger.error("Exception reading {} stats from {}", type, poll.switchId, throwable);
             }
         }
     }
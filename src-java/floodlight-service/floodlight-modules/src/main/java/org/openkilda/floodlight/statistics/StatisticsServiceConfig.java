@@ -0,0 +1,56 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import com.sabre.oss.conf4j.annotation.Configuration;
+import com.sabre.oss.conf4j.annotation.Default;
+import com.sabre.oss.conf4j.annotation.Description;
+import com.sabre.oss.conf4j.annotation.Key;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+@Configuration
+public interface StatisticsServiceConfig {
+    @Key("interval")
+    @Default("60")
+    @Min(1)
+    @Description("Interval (in seconds) between stats requests from the stats topology")
+    int getInterval();
+
+    @Key("poll-spread-enabled")
+    @Default("true")
+    @Description("Spread stats requests of different switches over the polling interval")
+    boolean isPollSpreadEnabled();
+
+    @Key("poll-spread-ratio")
+    @Default("0.8")
+    @Min(0)
+    @Max(1)
+    @Description("Part of the polling interval used to spread stats requests of different switches")
+    double getPollSpreadRatio();
+
+    @Key("delta-only-enabled")
+    @Default("false")
+    @Description("Send only port, flow and meter stats entries which counters were changed since the last poll")
+    boolean isDeltaOnlyEnabled();
+
+    @Key("full-refresh-polls")
+    @Default("10")
+    @Min(1)
+    @Description("Send all stats entries on each N-th poll of the switch, when delta-only mode is enabled")
+    int getFullRefreshPolls();
+}
@@ -0,0 +1,154 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.MeterStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.model.SwitchId;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Drops port, flow and meter stats entries which counters were not changed since the previous poll of the switch.
+ * Each N-th poll of the switch is a full refresh, all entries are passed through on it.
+ * <p/>
+ * Counters of an entry are compared by their sum. Switch counters only grow (or are reset), so the sum changes
+ * whenever any of the counters changes.
+ */
+public class StatsDeltaFilter {
+    private final int fullRefreshPolls;
+    private final Map<SwitchId, SwitchCounters> switches = new ConcurrentHashMap<>();
+
+    public StatsDeltaFilter(int fullRefreshPolls) {
+        if (fullRefreshPolls < 1) {
+            throw new IllegalArgumentException(String.format("Invalid full refresh polls %d", fullRefreshPolls));
+        }
+        this.fullRefreshPolls = fullRefreshPolls;
+    }
+
+    /**
+     * Register the next poll of the switch and return true if it is the full refresh one.
+     */
+    public boolean startPoll(SwitchId switchId) {
+        SwitchCounters counters = switches.computeIfAbsent(switchId, ignore -> new SwitchCounters());
+        return counters.polls.getAndIncrement() % fullRefreshPolls == 0;
+    }
+
+    public void forget(SwitchId switchId) {
+        switches.remove(switchId);
+    }
+
+    /**
+     * Return port stats with changed entries only, unless it is the full refresh.
+     */
+    public PortStatsData filter(PortStatsData data, boolean fullRefresh) {
+        SwitchCounters counters = getCounters(data.getSwitchId());
+        Map<Object, Long> current = new HashMap<>();
+        List<PortStatsEntry> entries = filter(data.getStats(), counters.ports, current, fullRefresh,
+                PortStatsEntry::getPortNo, StatsDeltaFilter::sumCounters);
+        counters.ports = current;
+        return new PortStatsData(data.getSwitchId(), entries);
+    }
+
+    /**
+     * Return flow stats with changed entries only, unless it is the full refresh.
+     */
+    public FlowStatsData filter(FlowStatsData data, boolean fullRefresh) {
+        SwitchCounters counters = getCounters(data.getSwitchId());
+        Map<Object, Long> current = new HashMap<>();
+        List<FlowStatsEntry> entries = filter(data.getStats(), counters.flows, current, fullRefresh,
+                FlowKey::new, entry -> entry.getPacketCount() + entry.getByteCount());
+        counters.flows = current;
+        return new FlowStatsData(data.getSwitchId(), entries);
+    }
+
+    /**
+     * Return meter stats with changed entries only, unless it is the full refresh.
+     */
+    public MeterStatsData filter(MeterStatsData data, boolean fullRefresh) {
+        SwitchCounters counters = getCounters(data.getSwitchId());
+        Map<Object, Long> current = new HashMap<>();
+        List<MeterStatsEntry> entries = filter(data.getStats(), counters.meters, current, fullRefresh,
+                MeterStatsEntry::getMeterId, entry -> entry.getPacketsInCount() + entry.getByteInCount());
+        counters.meters = current;
+        return new MeterStatsData(data.getSwitchId(), entries);
+    }
+
+    private <E> List<E> filter(List<E> entries, Map<Object, Long> previous, Map<Object, Long> current,
+                               boolean fullRefresh, Function<E, Object> keyFunction,
+                               ToLongFunction<E> countersFunction) {
+        List<E> result = new ArrayList<>(fullRefresh ? entries.size() : 0);
+        for (E entry : entries) {
+            Object key = keyFunction.apply(entry);
+            long sum = countersFunction.applyAsLong(entry);
+            current.put(key, sum);
+
+            Long previousSum = previous.get(key);
+            if (fullRefresh || previousSum == null || previousSum != sum) {
+                result.add(entry);
+            }
+        }
+        return result;
+    }
+
+    private SwitchCounters getCounters(SwitchId switchId) {
+        return switches.computeIfAbsent(switchId, ignore -> new SwitchCounters());
+    }
+
+    private static long sumCounters(PortStatsEntry entry) {
+        return entry.getRxPackets() + entry.getTxPackets() + entry.getRxBytes() + entry.getTxBytes()
+                + entry.getRxDropped() + entry.getTxDropped() + entry.getRxErrors() + entry.getTxErrors()
+                + entry.getRxFrameErr() + entry.getRxOverErr() + entry.getRxCrcErr() + entry.getCollisions();
+    }
+
+    /**
+     * Counters of the previous poll. Stats of different types are handled by different threads, but one type of one
+     * switch is not handled concurrently, because polls are much less frequent than stats replies.
+     */
+    private static class SwitchCounters {
+        private final AtomicInteger polls = new AtomicInteger();
+        private volatile Map<Object, Long> ports = new HashMap<>();
+        private volatile Map<Object, Long> flows = new HashMap<>();
+        private volatile Map<Object, Long> meters = new HashMap<>();
+    }
+
+    @Value
+    @AllArgsConstructor
+    private static class FlowKey {
+        int tableId;
+        long cookie;
+        int inPort;
+        int outPort;
+
+        FlowKey(FlowStatsEntry entry) {
+            this(entry.getTableId(), entry.getCookie(), entry.getInPort(), entry.getOutPort());
+        }
+    }
+}
@@ -82,10 +82,12 @@ import org.openkilda.floodlight.switchmanager.factory.SwitchFlowFactory;
 import org.openkilda.floodlight.switchmanager.factory.SwitchFlowTuple;
 import org.openkilda.floodlight.switchmanager.factory.generator.SwitchFlowGenerator;
 import org.openkilda.floodlight.switchmanager.web.SwitchManagerWebRoutable;
+import org.openkilda.floodlight.utils.CompletableFutureAdapter;
 import org.openkilda.floodlight.utils.CorrelationContext;
 import org.openkilda.floodlight.utils.NewCorrelationContextRequired;
 import org.openkilda.floodlight.utils.metadata.RoutingMetadata;
 import org.openkilda.messaging.Destination;
+import org.openkilda.messaging.MessageContext;
 import org.openkilda.messaging.command.flow.RuleType;
 import org.openkilda.messaging.command.switches.ConnectModeRequest;
 import org.openkilda.messaging.command.switches.DeleteRulesCriteria;
@@ -120,7 +122,6 @@ import net.floodlightcontroller.restserver.IRestApiService;
 import net.floodlightcontroller.util.FlowModUtils;
 import org.apache.commons.collections4.CollectionUtils;
 import org.projectfloodlight.openflow.protocol.OFActionType;
-import org.projectfloodlight.openflow.protocol.OFBarrierReply;
 import org.projectfloodlight.openflow.protocol.OFBarrierRequest;
 import org.projectfloodlight.openflow.protocol.OFBucket;
 import org.projectfloodlight.openflow.protocol.OFErrorMsg;
@@ -2017,24 +2018,18 @@ public class SwitchManager implements IFloodlightModule, IFloodlightService, ISw
         return builder.setTableId(TableId.ALL).build();
     }
 
-    private OFBarrierReply sendBarrierRequest(IOFSwitch sw) {
-        OFFactory ofFactory = sw.getOFFactory();
-        OFBarrierRequest barrierRequest = ofFactory.buildBarrierRequest().build();
-
-        OFBarrierReply result = null;
-        try {
-            ListenableFuture<OFBarrierReply> future = sw.writeRequest(barrierRequest);
-            result = future.get(10, TimeUnit.SECONDS);
-        } catch (ExecutionException | TimeoutException e) {
-            logger.error("Could not get a barrier reply for {}.", sw.getId(), e);
-        } catch (InterruptedException e) {
-            logger.error("Could not get a barrier reply for {}.", sw.getId(), e);
-            Thread.currentThread().interrupt();
-        }
-        return result;
+    private void sendBarrierRequest(IOFSwitch sw) {
+        // The switch processes the messages written after the barrier only when the previous ones are done, so
+        // the order is kept without waiting for the reply. The command lane of the switch waits for it instead.
+        OFBarrierRequest barrierRequest = sw.getOFFactory().buildBarrierRequest().build();
+        new CompletableFutureAdapter<>(new MessageContext(CorrelationContext.getId()), sw.writeRequest(barrierRequest))
+                .whenComplete((reply, error) -> {
+                    if (error != null) {
+                        logger.error("Could not get a barrier reply for {}.", sw.getId(), error);
+                    }
+                });
     }
 
-
     private List<Long> deleteRulesWithCookie(final DatapathId dpid, Long... cookiesToRemove)
             throws SwitchOperationException {
         DeleteRulesCriteria[] criteria = Stream.of(cookiesToRemove)
@@ -0,0 +1,149 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.kafka;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+public class SwitchExecutionLanesTest {
+    private static final SwitchId SWITCH_A = new SwitchId(1);
+    private static final SwitchId SWITCH_B = new SwitchId(2);
+
+    private final Queue<Runnable> submitted = new LinkedList<>();
+    private final SwitchExecutionLanes lanes = new SwitchExecutionLanes(submitted::add, 2);
+
+    @Test
+    public void shouldExecuteTasksOfOneSwitchInOrder() {
+        List<Integer> executed = new ArrayList<>();
+        lanes.execute(SWITCH_A, record(executed, 1));
+        lanes.execute(SWITCH_A, record(executed, 2));
+        lanes.execute(SWITCH_A, record(executed, 3));
+
+        // the next task of the lane is submitted when the previous one is completed
+        assertEquals(1, submitted.size());
+        runSubmitted();
+
+        assertEquals(Arrays.asList(1, 2, 3), executed);
+    }
+
+    @Test
+    public void shouldExecuteTasksOfDifferentSwitchesIndependently() {
+        List<SwitchId> executed = new ArrayList<>();
+        lanes.execute(SWITCH_A, record(executed, SWITCH_A));
+        lanes.execute(SWITCH_B, record(executed, SWITCH_B));
+
+        assertEquals(2, submitted.size());
+        Runnable laneA = submitted.poll();
+        submitted.poll().run();
+        assertEquals(Arrays.asList(SWITCH_B), executed);
+
+        laneA.run();
+        assertEquals(Arrays.asList(SWITCH_B, SWITCH_A), executed);
+    }
+
+    @Test
+    public void shouldStartNextTaskOnCompletionOfPreviousOne() {
+        List<Integer> executed = new ArrayList<>();
+        CompletableFuture<?> barrier = new CompletableFuture<>();
+        lanes.execute(SWITCH_A, () -> {
+            executed.add(1);
+            return barrier;
+        });
+        lanes.execute(SWITCH_A, record(executed, 2));
+        lanes.execute(SWITCH_B, record(executed, 10));
+
+        runSubmitted();
+        // the executor is not held by the pending task, other lanes go on
+        assertEquals(Arrays.asList(1, 10), executed);
+
+        barrier.complete(null);
+        runSubmitted();
+        assertEquals(Arrays.asList(1, 10, 2), executed);
+    }
+
+    @Test
+    public void shouldRestartLaneAfterItIsDrained() {
+        List<Integer> executed = new ArrayList<>();
+        lanes.execute(SWITCH_A, record(executed, 1));
+        runSubmitted();
+
+        lanes.execute(SWITCH_A, record(executed, 2));
+        assertEquals(1, submitted.size());
+        runSubmitted();
+
+        assertEquals(Arrays.asList(1, 2), executed);
+    }
+
+    @Test
+    public void shouldContinueLaneAfterTaskFailure() {
+        List<Integer> executed = new ArrayList<>();
+        lanes.execute(SWITCH_A, () -> {
+            throw new IllegalStateException("test");
+        });
+        CompletableFuture<?> failedBarrier = new CompletableFuture<>();
+        failedBarrier.completeExceptionally(new IllegalStateException("test"));
+        lanes.execute(SWITCH_A, () -> failedBarrier);
+        lanes.execute(SWITCH_A, record(executed, 3));
+        runSubmitted();
+
+        assertEquals(Arrays.asList(3), executed);
+    }
+
+    @Test
+    public void shouldRejectSubmissionIntoFullLane() {
+        List<Integer> executed = new ArrayList<>();
+        assertTrue(lanes.execute(SWITCH_A, record(executed, 1)));
+        assertTrue(lanes.execute(SWITCH_A, record(executed, 2)));
+        assertTrue(lanes.execute(SWITCH_A, record(executed, 3)));
+        // the lane holds 2 pending tasks
+        assertFalse(lanes.execute(SWITCH_A, record(executed, 4)));
+
+        // other lanes are not affected
+        assertTrue(lanes.execute(SWITCH_B, record(executed, 10)));
+        runSubmitted();
+        assertEquals(Arrays.asList(1, 10, 2, 3), executed);
+
+        assertTrue(lanes.execute(SWITCH_A, record(executed, 5)));
+        runSubmitted();
+        assertEquals(Arrays.asList(1, 10, 2, 3, 5), executed);
+    }
+
+    private <T> Supplier<CompletableFuture<?>> record(List<T> executed, T value) {
+        return () -> {
+            executed.add(value);
+            return CompletableFuture.completedFuture(null);
+        };
+    }
+
+    private void runSubmitted() {
+        while (!submitted.isEmpty()) {
+            submitted.poll().run();
+        }
+    }
+}
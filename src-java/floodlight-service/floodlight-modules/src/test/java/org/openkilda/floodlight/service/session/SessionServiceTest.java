@@ -15,11 +15,14 @@
 
 package org.openkilda.floodlight.service.session;
 
+import static org.easymock.EasyMock.anyLong;
 import static org.easymock.EasyMock.anyObject;
 import static org.easymock.EasyMock.capture;
 import static org.easymock.EasyMock.expect;
 
+import org.openkilda.floodlight.error.SessionBarrierTimeoutException;
 import org.openkilda.floodlight.error.SessionCloseException;
+import org.openkilda.floodlight.error.SessionConnectionLostException;
 import org.openkilda.floodlight.error.SessionErrorResponseException;
 import org.openkilda.floodlight.error.SwitchOperationException;
 import org.openkilda.floodlight.error.SwitchWriteException;
@@ -29,11 +32,13 @@ import org.openkilda.messaging.MessageContext;
 import net.floodlightcontroller.core.IOFSwitch;
 import net.floodlightcontroller.core.internal.IOFSwitchService;
 import net.floodlightcontroller.core.module.FloodlightModuleContext;
+import net.floodlightcontroller.threadpool.IThreadPoolService;
 import org.easymock.Capture;
 import org.easymock.CaptureType;
 import org.easymock.EasyMock;
 import org.easymock.EasyMockSupport;
 import org.easymock.Mock;
+import org.easymock.MockType;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -50,10 +55,13 @@ import org.projectfloodlight.openflow.types.DatapathId;
 import org.projectfloodlight.openflow.types.OFPort;
 import org.projectfloodlight.openflow.types.U64;
 
+import java.time.Duration;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
 import java.util.concurrent.TimeUnit;
 
 public class SessionServiceTest extends EasyMockSupport {
@@ -64,6 +72,7 @@ public class SessionServiceTest extends EasyMockSupport {
     private final MessageContext context = new MessageContext();
 
     private final Capture<OFMessage> swWriteMessages = EasyMock.newCapture(CaptureType.ALL);
+    private final Capture<Runnable> barrierTimeouts = EasyMock.newCapture(CaptureType.ALL);
 
     @Mock
     private InputService inputService;
@@ -71,6 +80,15 @@ public class SessionServiceTest extends EasyMockSupport {
     @Mock
     private IOFSwitchService ofSwitchService;
 
+    @Mock
+    private IThreadPoolService threadPoolService;
+
+    @Mock
+    private ScheduledExecutorService timer;
+
+    @Mock(type = MockType.NICE)
+    private ScheduledFuture<?> timeoutFuture;
+
     @Before
     public void setUp() {
         injectMocks(this);
@@ -81,9 +99,16 @@ public class SessionServiceTest extends EasyMockSupport {
 
         ofSwitchService.addOFSwitchListener(anyObject(SwitchEventsTranslator.class));
 
+        // barrier timeouts are triggered by the test
+        expect(threadPoolService.getScheduledExecutor()).andStubReturn(timer);
+        EasyMock.<ScheduledFuture<?>>expect(
+                timer.schedule(capture(barrierTimeouts), anyLong(), anyObject(TimeUnit.class)))
+                .andStubReturn(timeoutFuture);
+
         // fill FL's module context
         moduleContext.addService(InputService.class, inputService);
         moduleContext.addService(IOFSwitchService.class, ofSwitchService);
+        moduleContext.addService(IThreadPoolService.class, threadPoolService);
     }
 
     @After
@@ -259,6 +284,98 @@ public class SessionServiceTest extends EasyMockSupport {
         }
     }
 
+    @Test
+    public void concurrentBarriersShareRequest() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        CompletableFuture<Optional<OFMessage>> first = subject.barrier(context, sw);
+        CompletableFuture<Optional<OFMessage>> second = subject.barrier(context, sw);
+        CompletableFuture<Optional<OFMessage>> third = subject.barrier(context, sw);
+
+        // first barrier is in progress, so other callers must wait for the next one
+        Assert.assertEquals(1, swWriteMessages.getValues().size());
+        Assert.assertSame(second, third);
+
+        completeSessions(sw);
+        Assert.assertTrue(first.isDone());
+        Assert.assertTrue(first.get().isPresent());
+        Assert.assertFalse(second.isDone());
+        Assert.assertEquals(2, swWriteMessages.getValues().size());
+
+        completeSessions(sw);
+        Assert.assertTrue(second.isDone());
+        Assert.assertTrue(second.get().isPresent());
+        Assert.assertEquals(2, swWriteMessages.getValues().size());
+    }
+
+    @Test
+    public void expiredBarrierIsFailedAndReplaced() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        // zero timeout - any barrier in progress is expired for the next caller
+        SwitchSessions group = new SwitchSessions(dpId, Duration.ZERO, timer);
+        CompletableFuture<Optional<OFMessage>> first = group.barrier(sw, context);
+        CompletableFuture<Optional<OFMessage>> second = group.barrier(sw, context);
+
+        Assert.assertEquals(2, swWriteMessages.getValues().size());
+        expectExceptionResponse(first, SessionBarrierTimeoutException.class);
+        Assert.assertFalse(second.isDone());
+
+        // late reply on the expired barrier must not complete the new one
+        OFMessage firstRequest = swWriteMessages.getValues().get(0);
+        group.handleResponse(sw.getOFFactory().buildBarrierReply().setXid(firstRequest.getXid()).build());
+        Assert.assertFalse(second.isDone());
+        Assert.assertEquals(2, swWriteMessages.getValues().size());
+
+        OFMessage secondRequest = swWriteMessages.getValues().get(1);
+        group.handleResponse(sw.getOFFactory().buildBarrierReply().setXid(secondRequest.getXid()).build());
+        Assert.assertTrue(second.isDone());
+        Assert.assertTrue(second.get().isPresent());
+    }
+
+    @Test
+    public void barrierWaiterExpiresWithoutNextCaller() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        CompletableFuture<Optional<OFMessage>> first = subject.barrier(context, sw);
+        CompletableFuture<Optional<OFMessage>> second = subject.barrier(context, sw);
+        Assert.assertEquals(2, barrierTimeouts.getValues().size());
+
+        // the second caller waits for the next barrier, it is not sent until the first one is completed
+        barrierTimeouts.getValues().get(1).run();
+        expectExceptionResponse(second, SessionBarrierTimeoutException.class);
+        Assert.assertFalse(first.isDone());
+
+        completeSessions(sw);
+        Assert.assertTrue(first.isDone());
+        Assert.assertTrue(first.get().isPresent());
+    }
+
+    @Test
+    public void pendingBarriersAreFailedOnDisconnect() throws Exception {
+        IOFSwitch sw = createMock(IOFSwitch.class);
+        setupSwitchMock(sw, dpId);
+        swWriteAlwaysSuccess(sw);
+        doneWithSetUp(sw);
+
+        CompletableFuture<Optional<OFMessage>> first = subject.barrier(context, sw);
+        CompletableFuture<Optional<OFMessage>> second = subject.barrier(context, sw);
+        subject.switchDeactivate(dpId);
+
+        expectExceptionResponse(first, SessionConnectionLostException.class);
+        expectExceptionResponse(second, SessionConnectionLostException.class);
+        Assert.assertEquals(1, swWriteMessages.getValues().size());
+    }
+
     private OFPacketOut makePacketOut(OFFactory ofFactory, int inPort) {
         return ofFactory.buildPacketOut()
                 .setInPort(OFPort.of(inPort))
@@ -0,0 +1,96 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.floodlight.statistics;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.messaging.info.stats.FlowStatsData;
+import org.openkilda.messaging.info.stats.FlowStatsEntry;
+import org.openkilda.messaging.info.stats.MeterStatsData;
+import org.openkilda.messaging.info.stats.MeterStatsEntry;
+import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.model.SwitchId;
+
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class StatsDeltaFilterTest {
+    private static final SwitchId SWITCH_ID = new SwitchId(1);
+
+    @Test
+    public void shouldDoFullRefreshEachNthPoll() {
+        StatsDeltaFilter filter = new StatsDeltaFilter(3);
+
+        assertTrue(filter.startPoll(SWITCH_ID));
+        assertFalse(filter.startPoll(SWITCH_ID));
+        assertFalse(filter.startPoll(SWITCH_ID));
+        assertTrue(filter.startPoll(SWITCH_ID));
+        assertTrue(filter.startPoll(new SwitchId(2)));
+    }
+
+    @Test
+    public void shouldPassChangedFlowEntriesOnly() {
+        StatsDeltaFilter filter = new StatsDeltaFilter(10);
+        FlowStatsEntry first = new FlowStatsEntry(0, 1, 10, 1000, 1, 2);
+        FlowStatsEntry second = new FlowStatsEntry(0, 2, 10, 1000, 1, 2);
+
+        FlowStatsData result = filter.filter(new FlowStatsData(SWITCH_ID, asList(first, second)), false);
+        assertEquals(2, result.getStats().size());
+
+        FlowStatsEntry secondChanged = new FlowStatsEntry(0, 2, 11, 1100, 1, 2);
+        result = filter.filter(new FlowStatsData(SWITCH_ID, asList(first, secondChanged)), false);
+        assertEquals(Collections.singletonList(secondChanged), result.getStats());
+
+        result = filter.filter(new FlowStatsData(SWITCH_ID, asList(first, secondChanged)), false);
+        assertTrue(result.getStats().isEmpty());
+
+        result = filter.filter(new FlowStatsData(SWITCH_ID, asList(first, secondChanged)), true);
+        assertEquals(2, result.getStats().size());
+    }
+
+    @Test
+    public void shouldPassPortEntryWhenAnyCounterChanged() {
+        StatsDeltaFilter filter = new StatsDeltaFilter(10);
+        filter.filter(new PortStatsData(SWITCH_ID, Collections.singletonList(portEntry(1, 0))), false);
+
+        PortStatsData result = filter.filter(
+                new PortStatsData(SWITCH_ID, Collections.singletonList(portEntry(1, 0))), false);
+        assertTrue(result.getStats().isEmpty());
+
+        result = filter.filter(new PortStatsData(SWITCH_ID, Collections.singletonList(portEntry(1, 1))), false);
+        assertEquals(1, result.getStats().size());
+    }
+
+    @Test
+    public void shouldPassReappearedMeterEntry() {
+        StatsDeltaFilter filter = new StatsDeltaFilter(10);
+        MeterStatsEntry meter = new MeterStatsEntry(32, 100, 1);
+        filter.filter(new MeterStatsData(SWITCH_ID, Collections.singletonList(meter)), false);
+        filter.filter(new MeterStatsData(SWITCH_ID, Collections.emptyList()), false);
+
+        MeterStatsData result = filter.filter(new MeterStatsData(SWITCH_ID, Collections.singletonList(meter)), false);
+        assertEquals(Collections.singletonList(meter), result.getStats());
+    }
+
+    private PortStatsEntry portEntry(int port, long rxCrcErr) {
+        return new PortStatsEntry(port, 10, 10, 1000, 1000, 0, 0, 0, 0, 0, 0, rxCrcErr, 0);
+    }
+}
@@ -842,7 +842,7 @@ public class SwitchManagerTest {
     private void runInstallMeterTest(long bandwidth, long burstSize, boolean isCentecSwitch, boolean isNoviFlowSwitch)
             throws Exception {
         expect(ofSwitchService.getActiveSwitch(dpid)).andStubReturn(iofSwitch);
-        expect(iofSwitch.getId()).andReturn(dpid);
+        expect(iofSwitch.getId()).andStubReturn(dpid);
         expect(iofSwitch.getOFFactory()).andStubReturn(ofFactory);
         expect(iofSwitch.getSwitchDescription()).andStubReturn(switchDescription);
         expect(switchDescription.getManufacturerDescription())
@@ -1594,12 +1594,8 @@ public class SwitchManagerTest {
 
     private void mockBarrierRequest() throws InterruptedException, ExecutionException, TimeoutException {
         OFBarrierReply ofBarrierReply = mock(OFBarrierReply.class);
-
-        ListenableFuture<OFBarrierReply> ofBarrierFuture = mock(ListenableFuture.class);
-        expect(ofBarrierFuture.get(anyLong(), anyObject())).andStubReturn(ofBarrierReply);
-        replay(ofBarrierFuture);
-
-        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class))).andStubReturn(ofBarrierFuture);
+        expect(iofSwitch.writeRequest(anyObject(OFBarrierRequest.class)))
+                .andStubReturn(Futures.immediateFuture(ofBarrierReply));
     }
 
     private void mockFlowStatsRequest(Long... cookies)
@@ -20,6 +20,7 @@ import org.openkilda.messaging.AbstractMessage;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.discovery.PortsCommandData;
@@ -91,6 +92,8 @@ public final class RouterUtils {
                 return ((RemoveFlow) commandData).getSwitchId();
             } else if (commandData instanceof DiscoverIslCommandData) {
                 return ((DiscoverIslCommandData) commandData).getSwitchId();
+            } else if (commandData instanceof DiscoverIslBatchCommandData) {
+                return ((DiscoverIslBatchCommandData) commandData).getSwitchId();
             } else if (commandData instanceof PingRequest) {
                 return ((PingRequest) commandData).getPing().getSource().getDatapath();
             } else if (commandData instanceof DiscoverPathCommandData) {
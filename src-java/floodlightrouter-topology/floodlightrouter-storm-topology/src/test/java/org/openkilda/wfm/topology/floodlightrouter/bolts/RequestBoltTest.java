@@ -25,7 +25,9 @@ import static org.mockito.Mockito.verifyZeroInteractions;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.floodlightrouter.Stream;
 import org.openkilda.wfm.topology.floodlightrouter.service.SwitchMapping;
@@ -43,6 +45,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.Map;
@@ -117,6 +120,29 @@ public class RequestBoltTest {
         assertEquals(discoCommand, discoCommandValuesCaptor.getValue().get(1));
     }
 
+    @Test
+    public void verifyBatchDiscoveryCommandRouting() throws Exception {
+        SwitchMapping switchMapping = new SwitchMapping(switchAlpha, REGION_ONE);
+        Tuple notificationTuple = mock(Tuple.class);
+        when(notificationTuple.getValueByField(FIELD_ID_MESSAGE)).thenReturn(switchMapping);
+        when(notificationTuple.getSourceStreamId()).thenReturn(Stream.REGION_NOTIFICATION);
+        subject.handleInput(notificationTuple);
+        CommandMessage discoCommand = new CommandMessage(
+                new DiscoverIslBatchCommandData(switchAlpha, Arrays.asList(
+                        new DiscoverIslPortPacket(1, 1L), new DiscoverIslPortPacket(2, 2L))),
+                3L, "discovery-batch");
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getStringByField(FIELD_ID_KEY)).thenReturn(switchAlpha.toString());
+        when(tuple.getValueByField(FIELD_ID_MESSAGE)).thenReturn(discoCommand);
+        subject.handleInput(tuple);
+        ArgumentCaptor<Values> discoCommandValuesCaptor = ArgumentCaptor.forClass(Values.class);
+        verify(outputCollector).emit(eq(Stream.formatWithRegion(Stream.SPEAKER_DISCO, REGION_ONE)),
+                eq(tuple),
+                discoCommandValuesCaptor.capture());
+
+        assertEquals(discoCommand, discoCommandValuesCaptor.getValue().get(1));
+    }
+
     @Test
     public void verifyConsumerToSpeakerTupleFails() throws Exception {
         SwitchMapping switchMapping = new SwitchMapping(switchBeta, REGION_ONE);
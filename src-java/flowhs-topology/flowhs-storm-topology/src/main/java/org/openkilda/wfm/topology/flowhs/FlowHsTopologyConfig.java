@@ -129,4 +129,12 @@ public interface FlowHsTopologyConfig extends AbstractTopologyConfig {
     @Key("flow.pathswap.speaker.command.retries")
     @Default("3")
     int getPathSwapSpeakerCommandRetries();
+
+    @Key("flow.history.batch.size")
+    @Default("100")
+    int getHistoryBatchSize();
+
+    @Key("flow.history.flush.interval.seconds")
+    @Default("1")
+    int getHistoryFlushIntervalSeconds();
 }
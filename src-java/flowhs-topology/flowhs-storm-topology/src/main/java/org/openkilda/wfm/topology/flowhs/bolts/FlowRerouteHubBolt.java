@@ -36,6 +36,7 @@ import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.cache.RepositoryCache;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
 import org.openkilda.wfm.share.flow.resources.FlowResourcesManager;
@@ -50,10 +51,15 @@ import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier {
 
     private final FlowRerouteConfig config;
@@ -62,6 +68,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
     private final FlowResourcesConfig flowResourcesConfig;
 
     private transient FlowRerouteService service;
+    private transient FlowResourcesManager resourcesManager;
     private String currentKey;
 
     public FlowRerouteHubBolt(FlowRerouteConfig config, PersistenceManager persistenceManager,
@@ -74,6 +81,16 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         this.flowResourcesConfig = flowResourcesConfig;
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric(FlowResourcesManager.METRIC_POOLS_UTILIZATION,
+                (IMetric) resourcesManager::getPoolsUtilization, FlowResourcesManager.METRICS_BUCKET_SIZE_SECONDS);
+        persistenceManager.getRepositoryCache().ifPresent(cache -> context.registerMetric(RepositoryCache.METRIC_NAME,
+                (IMetric) cache::getCounters, FlowResourcesManager.METRICS_BUCKET_SIZE_SECONDS));
+    }
+
     @Override
     protected void init() {
         AvailableNetworkFactory availableNetworkFactory =
@@ -81,7 +98,7 @@ public class FlowRerouteHubBolt extends HubBolt implements FlowRerouteHubCarrier
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
-        FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
+        resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         service = new FlowRerouteService(this, persistenceManager, pathComputer, resourcesManager,
                 config.getTransactionRetriesLimit(), config.getPathAllocationRetriesLimit(),
                 config.getPathAllocationRetryDelay(), config.getSpeakerCommandRetriesLimit());
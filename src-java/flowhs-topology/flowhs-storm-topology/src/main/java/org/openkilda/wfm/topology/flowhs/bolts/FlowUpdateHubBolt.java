@@ -36,6 +36,7 @@ import org.openkilda.pce.PathComputer;
 import org.openkilda.pce.PathComputerConfig;
 import org.openkilda.pce.PathComputerFactory;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.cache.RepositoryCache;
 import org.openkilda.server42.control.messaging.flowrtt.ActivateFlowMonitoringInfoData;
 import org.openkilda.server42.control.messaging.flowrtt.DeactivateFlowMonitoringInfoData;
 import org.openkilda.wfm.error.PipelineException;
@@ -53,10 +54,15 @@ import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
 import lombok.Builder;
 import lombok.Getter;
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
 
     private final FlowUpdateConfig config;
@@ -65,6 +71,7 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
     private final FlowResourcesConfig flowResourcesConfig;
 
     private transient FlowUpdateService service;
+    private transient FlowResourcesManager resourcesManager;
     private String currentKey;
 
     public FlowUpdateHubBolt(FlowUpdateConfig config, PersistenceManager persistenceManager,
@@ -77,6 +84,16 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
         this.flowResourcesConfig = flowResourcesConfig;
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric(FlowResourcesManager.METRIC_POOLS_UTILIZATION,
+                (IMetric) resourcesManager::getPoolsUtilization, FlowResourcesManager.METRICS_BUCKET_SIZE_SECONDS);
+        persistenceManager.getRepositoryCache().ifPresent(cache -> context.registerMetric(RepositoryCache.METRIC_NAME,
+                (IMetric) cache::getCounters, FlowResourcesManager.METRICS_BUCKET_SIZE_SECONDS));
+    }
+
     @Override
     protected void init() {
         AvailableNetworkFactory availableNetworkFactory =
@@ -84,7 +101,7 @@ public class FlowUpdateHubBolt extends HubBolt implements FlowUpdateHubCarrier {
         PathComputer pathComputer =
                 new PathComputerFactory(pathComputerConfig, availableNetworkFactory).getPathComputer();
 
-        FlowResourcesManager resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
+        resourcesManager = new FlowResourcesManager(persistenceManager, flowResourcesConfig);
         service = new FlowUpdateService(this, persistenceManager, pathComputer, resourcesManager,
                 config.getTransactionRetriesLimit(), config.getPathAllocationRetriesLimit(),
                 config.getPathAllocationRetryDelay(), config.getSpeakerCommandRetriesLimit());
@@ -54,6 +54,7 @@ import net.jodah.failsafe.Failsafe;
 import net.jodah.failsafe.FailsafeException;
 import net.jodah.failsafe.RetryPolicy;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -74,6 +75,9 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
     protected final FlowPathBuilder flowPathBuilder;
     protected final FlowOperationsDashboardLogger dashboardLogger;
 
+    // ISL available bandwidth changes of the current allocation, they are passed to the path computer once committed.
+    private final List<Runnable> islAvailableBandwidthUpdates = new ArrayList<>();
+
     public BaseResourceAllocationAction(PersistenceManager persistenceManager, int transactionRetriesLimit,
                                         int pathAllocationRetriesLimit, int pathAllocationRetryDelay,
                                         PathComputer pathComputer, FlowResourcesManager resourcesManager,
@@ -186,9 +190,15 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 .retryOn(RecoverablePersistenceException.class)
                 .withMaxRetries(transactionRetriesLimit);
         try {
-            persistenceManager.getTransactionManager().doInTransaction(txRetryPolicy, () -> allocate(stateMachine));
+            persistenceManager.getTransactionManager().doInTransaction(txRetryPolicy, () -> {
+                islAvailableBandwidthUpdates.clear();
+                allocate(stateMachine);
+            });
+            islAvailableBandwidthUpdates.forEach(Runnable::run);
         } catch (FailsafeException ex) {
             throw ex.getCause();
+        } finally {
+            islAvailableBandwidthUpdates.clear();
         }
     }
 
@@ -264,6 +274,8 @@ public abstract class BaseResourceAllocationAction<T extends FlowPathSwappingFsm
                 usedBandwidth);
         long islAvailableBandwidth =
                 islRepository.updateAvailableBandwidth(srcSwitch, srcPort, dstSwitch, dstPort, usedBandwidth);
+        islAvailableBandwidthUpdates.add(() -> pathComputer.onIslAvailableBandwidthUpdate(
+                srcSwitch, srcPort, dstSwitch, dstPort, islAvailableBandwidth));
         if ((islAvailableBandwidth + allowedOverprovisionedBandwidth) < 0) {
             throw new ResourceAllocationException(format("ISL %s_%d-%s_%d was overprovisioned",
                     srcSwitch, srcPort, dstSwitch, dstPort));
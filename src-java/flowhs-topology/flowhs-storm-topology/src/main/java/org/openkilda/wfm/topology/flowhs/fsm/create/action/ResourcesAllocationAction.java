@@ -67,6 +67,7 @@ import net.jodah.failsafe.RetryPolicy;
 import org.apache.commons.lang3.StringUtils;
 import org.neo4j.driver.v1.exceptions.TransientException;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
@@ -82,6 +83,9 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
     private final FlowPathBuilder flowPathBuilder;
     private final FlowCommandBuilderFactory commandBuilderFactory;
 
+    // ISL available bandwidth changes of the current allocation, they are passed to the path computer once committed.
+    private final List<Runnable> islAvailableBandwidthUpdates = new ArrayList<>();
+
     public ResourcesAllocationAction(PathComputer pathComputer, PersistenceManager persistenceManager,
                                      int transactionRetriesLimit, FlowResourcesManager resourcesManager) {
         super(persistenceManager);
@@ -181,11 +185,13 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
                     .onRetry(e -> log.warn("Retrying transaction for resource allocation finished with exception", e))
                     .onRetriesExceeded(e -> log.warn("TX retry attempts exceed with error", e))
                     .run(() -> persistenceManager.getTransactionManager().doInTransaction(() -> {
+                        islAvailableBandwidthUpdates.clear();
                         allocateMainPath(fsm, flow);
                         if (flow.isAllocateProtectedPath()) {
                             allocateProtectedPath(fsm, flow);
                         }
                     }));
+            islAvailableBandwidthUpdates.forEach(Runnable::run);
         } catch (FailsafeException ex) {
             Throwable cause = ex.getCause();
             if (cause instanceof UnroutableFlowException) {
@@ -199,6 +205,8 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
             }
         } catch (ConstraintViolationException e) {
             throw new FlowAlreadyExistException(format("Failed to save flow with id %s", flow.getFlowId()), e);
+        } finally {
+            islAvailableBandwidthUpdates.clear();
         }
         log.debug("Resources allocated successfully for the flow {}", flow.getFlowId());
     }
@@ -315,6 +323,9 @@ public class ResourcesAllocationAction extends NbTrackableAction<FlowCreateFsm,
         matchedIsl.ifPresent(isl -> {
             isl.setAvailableBandwidth(isl.getMaxBandwidth() - usedBandwidth);
             islRepository.createOrUpdate(isl);
+            long islAvailableBandwidth = isl.getAvailableBandwidth();
+            islAvailableBandwidthUpdates.add(() -> pathComputer.onIslAvailableBandwidthUpdate(
+                    srcSwitch, srcPort, dstSwitch, dstPort, islAvailableBandwidth));
         });
     }
 
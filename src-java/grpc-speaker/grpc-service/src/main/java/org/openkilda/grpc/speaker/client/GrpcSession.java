@@ -60,7 +60,6 @@ import io.grpc.noviflow.ShowPacketInOutStats;
 import io.grpc.noviflow.ShowRemoteLogServer;
 import io.grpc.noviflow.StatusSwitch;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 
 import java.util.List;
 import java.util.Objects;
@@ -75,21 +74,32 @@ import java.util.concurrent.TimeUnit;
 public class GrpcSession {
     private static final int PORT = 50051;
 
-    @Value("${grpc.speaker.session.termination.timeout}")
-    private int sessionTerminationTimeout;
+    private final int sessionTerminationTimeout;
 
     private ManagedChannel channel;
     private NoviFlowGrpcGrpc.NoviFlowGrpcStub stub;
     private String address;
 
-    public GrpcSession(String address) {
+    /**
+     * Opens a channel to the switch.
+     *
+     * @param address the switch address.
+     * @param keepAliveTime the interval of keepalive pings in seconds, keepalive is disabled if it is not positive.
+     * @param sessionTerminationTimeout how long to wait for the channel termination on shutdown in seconds.
+     */
+    public GrpcSession(String address, int keepAliveTime, int sessionTerminationTimeout) {
         if (!InetAddresses.isInetAddress(address) && !InetAddresses.isUriInetAddress(address)) {
             throw new GrpcRequestFailureException(ErrorCode.ERRNO_23.getCode(), ErrorCode.ERRNO_23.getMessage());
         }
         this.address = address;
-        this.channel = ManagedChannelBuilder.forAddress(address, PORT)
-                .usePlaintext()
-                .build();
+        this.sessionTerminationTimeout = sessionTerminationTimeout;
+        ManagedChannelBuilder<?> channelBuilder = ManagedChannelBuilder.forAddress(address, PORT)
+                .usePlaintext();
+        if (keepAliveTime > 0) {
+            channelBuilder.keepAliveTime(keepAliveTime, TimeUnit.SECONDS)
+                    .keepAliveWithoutCalls(true);
+        }
+        this.channel = channelBuilder.build();
         this.stub = NoviFlowGrpcGrpc.newStub(channel);
     }
 
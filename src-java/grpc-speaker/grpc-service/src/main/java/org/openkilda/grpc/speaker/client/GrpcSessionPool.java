@@ -0,0 +1,324 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import org.openkilda.grpc.speaker.exception.GrpcRequestFailureException;
+import org.openkilda.grpc.speaker.model.ErrorCode;
+
+import io.grpc.Status;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+
+/**
+ * Keeps one logged in {@link GrpcSession} per switch and reuses it for all operations on the switch. Operations on the
+ * same switch are limited by {@code maxConcurrentRequests}, the rest wait in the switch queue. The session is logged in
+ * again if the switch reports that the session is expired, and is closed when it is not used for the idle timeout.
+ */
+@Slf4j
+@Component
+public class GrpcSessionPool {
+    private final String user;
+    private final String password;
+    private final int maxConcurrentRequests;
+    private final long idleTimeoutNanos;
+    private final int keepAliveTime;
+    private final int sessionTerminationTimeout;
+
+    private final Map<String, PooledSession> sessions = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService evictionExecutor;
+
+    public GrpcSessionPool(
+            @Value("${grpc.user}") String user,
+            @Value("${grpc.pass}") String password,
+            @Value("${grpc.speaker.session.pool.max.concurrent.requests:4}") int maxConcurrentRequests,
+            @Value("${grpc.speaker.session.pool.idle.timeout:600}") int idleTimeout,
+            @Value("${grpc.speaker.session.keepalive.time:300}") int keepAliveTime,
+            @Value("${grpc.speaker.session.termination.timeout:30}") int sessionTerminationTimeout) {
+        if (maxConcurrentRequests < 1) {
+            throw new IllegalArgumentException(String.format(
+                    "Max concurrent requests per switch must be positive, but was %d", maxConcurrentRequests));
+        }
+        this.user = user;
+        this.password = password;
+        this.maxConcurrentRequests = maxConcurrentRequests;
+        this.idleTimeoutNanos = TimeUnit.SECONDS.toNanos(idleTimeout);
+        this.keepAliveTime = keepAliveTime;
+        this.sessionTerminationTimeout = sessionTerminationTimeout;
+
+        if (idleTimeout > 0) {
+            evictionExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "grpc-session-eviction");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long period = Math.max(1, idleTimeout / 2);
+            evictionExecutor.scheduleWithFixedDelay(this::evictIdleSessions, period, period, TimeUnit.SECONDS);
+        } else {
+            evictionExecutor = null;
+        }
+    }
+
+    /**
+     * Performs the operation over the pooled session with the switch. The session is opened and logged in if needed.
+     *
+     * @param address the switch address.
+     * @param operation the operation to perform, it may send several requests over the session.
+     * @return {@link CompletableFuture} with the operation result.
+     */
+    public <T> CompletableFuture<T> execute(String address, Function<GrpcSession, CompletableFuture<T>> operation) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        while (true) {
+            PooledSession session = sessions.computeIfAbsent(address, this::openSession);
+            if (session.submit(() -> perform(session, operation, result))) {
+                return result;
+            }
+            // The session has just been evicted, so open a new one.
+            sessions.remove(address, session);
+        }
+    }
+
+    /**
+     * Gets metrics of all opened sessions.
+     *
+     * @return metrics by switch address.
+     */
+    public Map<String, GrpcSessionStats> getStats() {
+        return sessions.values().stream()
+                .map(PooledSession::getStats)
+                .collect(Collectors.toMap(GrpcSessionStats::getAddress, Function.identity()));
+    }
+
+    /**
+     * Closes sessions which have no requests in progress and have not been used for the idle timeout.
+     */
+    void evictIdleSessions() {
+        long now = System.nanoTime();
+        for (PooledSession session : sessions.values()) {
+            if (session.closeIfIdle(now - idleTimeoutNanos)) {
+                sessions.remove(session.address, session);
+                log.info("Closing idle gRPC session with switch {}: {}", session.address, session.getStats());
+                session.grpcSession.shutdown();
+            }
+        }
+    }
+
+    /**
+     * Closes all sessions.
+     */
+    @PreDestroy
+    public void close() {
+        if (evictionExecutor != null) {
+            evictionExecutor.shutdownNow();
+        }
+        for (PooledSession session : sessions.values()) {
+            session.grpcSession.shutdown();
+        }
+        sessions.clear();
+    }
+
+    protected GrpcSession createSession(String address) {
+        return new GrpcSession(address, keepAliveTime, sessionTerminationTimeout);
+    }
+
+    private PooledSession openSession(String address) {
+        log.debug("Opening gRPC session with switch {}", address);
+        return new PooledSession(address, createSession(address));
+    }
+
+    private <T> void perform(PooledSession session, Function<GrpcSession, CompletableFuture<T>> operation,
+                             CompletableFuture<T> result) {
+        long start = System.nanoTime();
+        invoke(session, operation, true)
+                .whenComplete((value, error) -> {
+                    session.release(System.nanoTime() - start, error != null);
+                    if (error != null) {
+                        result.completeExceptionally(error);
+                    } else {
+                        result.complete(value);
+                    }
+                });
+    }
+
+    private <T> CompletableFuture<T> invoke(PooledSession session,
+                                            Function<GrpcSession, CompletableFuture<T>> operation,
+                                            boolean retryExpired) {
+        CompletableFuture<?> login = session.login();
+        return login.thenCompose(ignore -> operation.apply(session.grpcSession))
+                .handle((value, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(value);
+                    }
+                    if (isSessionLost(error)) {
+                        session.resetLogin(login);
+                        if (retryExpired && isSessionExpired(error)) {
+                            log.info("gRPC session with switch {} is expired, logging in again", session.address);
+                            return invoke(session, operation, false);
+                        }
+                    }
+                    CompletableFuture<T> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(error);
+                    return failed;
+                })
+                .thenCompose(Function.identity());
+    }
+
+    private static boolean isSessionExpired(Throwable error) {
+        Throwable cause = unwrap(error);
+        if (cause instanceof GrpcRequestFailureException) {
+            Integer code = ((GrpcRequestFailureException) cause).getCode();
+            return code != null && (code == ErrorCode.ERRNO_458.getCode() || code == ErrorCode.ERRNO_459.getCode());
+        }
+        return false;
+    }
+
+    private static boolean isSessionLost(Throwable error) {
+        if (isSessionExpired(error)) {
+            return true;
+        }
+        Status.Code code = Status.fromThrowable(unwrap(error)).getCode();
+        return code == Status.Code.UNAVAILABLE || code == Status.Code.UNAUTHENTICATED;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        Throwable cause = error;
+        while (cause instanceof CompletionException && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    private final class PooledSession {
+        private final String address;
+        private final GrpcSession grpcSession;
+
+        private final Deque<Runnable> pending = new ArrayDeque<>();
+        private int active;
+        private long lastUsed = System.nanoTime();
+        private boolean closed;
+        private CompletableFuture<?> login;
+
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder logins = new LongAdder();
+        private final LongAdder totalLatency = new LongAdder();
+        private final LongAccumulator maxLatency = new LongAccumulator(Math::max, 0);
+
+        private PooledSession(String address, GrpcSession grpcSession) {
+            this.address = address;
+            this.grpcSession = grpcSession;
+        }
+
+        /**
+         * Runs the task if the concurrency limit allows, otherwise puts it into the queue. Returns false if the
+         * session is closed.
+         */
+        boolean submit(Runnable task) {
+            synchronized (this) {
+                if (closed) {
+                    return false;
+                }
+                lastUsed = System.nanoTime();
+                if (active >= maxConcurrentRequests) {
+                    pending.add(task);
+                    return true;
+                }
+                active++;
+            }
+            task.run();
+            return true;
+        }
+
+        void release(long latency, boolean failed) {
+            requests.increment();
+            if (failed) {
+                errors.increment();
+            }
+            totalLatency.add(latency);
+            maxLatency.accumulate(latency);
+
+            Runnable next;
+            synchronized (this) {
+                lastUsed = System.nanoTime();
+                next = pending.poll();
+                if (next == null) {
+                    active--;
+                }
+            }
+            if (next != null) {
+                next.run();
+            }
+        }
+
+        synchronized CompletableFuture<?> login() {
+            if (login == null || login.isCompletedExceptionally()) {
+                logins.increment();
+                login = grpcSession.login(user, password);
+            }
+            return login;
+        }
+
+        synchronized void resetLogin(CompletableFuture<?> expired) {
+            if (login == expired) {
+                login = null;
+            }
+        }
+
+        /**
+         * Marks the session as closed if it has no requests and was last used before the given time. Returns true if
+         * the session has been closed by this call.
+         */
+        synchronized boolean closeIfIdle(long usedBefore) {
+            if (closed || active > 0 || !pending.isEmpty() || lastUsed - usedBefore > 0) {
+                return false;
+            }
+            closed = true;
+            return true;
+        }
+
+        GrpcSessionStats getStats() {
+            int activeRequests;
+            int pendingRequests;
+            synchronized (this) {
+                activeRequests = active;
+                pendingRequests = pending.size();
+            }
+            long requestCount = requests.sum();
+            double averageLatency = requestCount == 0 ? 0 : (double) totalLatency.sum() / requestCount;
+            return new GrpcSessionStats(address, requestCount, errors.sum(), logins.sum(), activeRequests,
+                    pendingRequests, toMillis(averageLatency), toMillis(maxLatency.get()));
+        }
+
+        private double toMillis(double nanos) {
+            return nanos / TimeUnit.MILLISECONDS.toNanos(1);
+        }
+    }
+}
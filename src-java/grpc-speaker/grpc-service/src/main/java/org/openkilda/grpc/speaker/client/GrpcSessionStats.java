@@ -0,0 +1,50 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Value;
+
+/**
+ * Snapshot of the metrics of a pooled gRPC session with a switch. Counters are accumulated since the session was
+ * opened.
+ */
+@Value
+public class GrpcSessionStats {
+    @JsonProperty("address")
+    private String address;
+
+    @JsonProperty("requests")
+    private long requests;
+
+    @JsonProperty("errors")
+    private long errors;
+
+    @JsonProperty("logins")
+    private long logins;
+
+    @JsonProperty("active_requests")
+    private int activeRequests;
+
+    @JsonProperty("pending_requests")
+    private int pendingRequests;
+
+    @JsonProperty("average_latency_ms")
+    private double averageLatencyMs;
+
+    @JsonProperty("max_latency_ms")
+    private double maxLatencyMs;
+}
@@ -15,6 +15,7 @@
 
 package org.openkilda.grpc.speaker.controller;
 
+import org.openkilda.grpc.speaker.client.GrpcSessionStats;
 import org.openkilda.grpc.speaker.model.EnableLogMessagesResponse;
 import org.openkilda.grpc.speaker.model.GrpcDeleteOperationResponse;
 import org.openkilda.grpc.speaker.model.LicenseDto;
@@ -50,6 +51,7 @@ import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 
 @RestController
@@ -184,4 +186,12 @@ public class NoviflowController {
             @PathVariable("switch_address") String switchAddress) {
         return grpcService.getPacketInOutStats(switchAddress);
     }
+
+    @ApiOperation(value = "Get metrics of the pooled gRPC sessions by switch address",
+            response = GrpcSessionStats.class, responseContainer = "Map")
+    @GetMapping(path = "/sessions/stats")
+    @ResponseStatus(HttpStatus.OK)
+    public Map<String, GrpcSessionStats> getSessionStats() {
+        return grpcService.getSessionStats();
+    }
 }
@@ -0,0 +1,172 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.grpc.speaker.client;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.grpc.speaker.exception.GrpcRequestFailureException;
+import org.openkilda.grpc.speaker.model.ErrorCode;
+
+import io.grpc.noviflow.CliReply;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+public class GrpcSessionPoolTest {
+    private static final String ADDRESS = "127.0.0.1";
+    private static final String USER = "user";
+    private static final String PASSWORD = "pass";
+    private static final int MAX_CONCURRENT_REQUESTS = 2;
+
+    private final Map<String, List<GrpcSession>> createdSessions = new HashMap<>();
+    private GrpcSessionPool pool;
+
+    @Before
+    public void setUp() {
+        pool = new GrpcSessionPool(USER, PASSWORD, MAX_CONCURRENT_REQUESTS, 0, 0, 0) {
+            @Override
+            protected GrpcSession createSession(String address) {
+                GrpcSession session = mock(GrpcSession.class);
+                when(session.login(USER, PASSWORD)).thenReturn(loggedIn());
+                createdSessions.computeIfAbsent(address, key -> new ArrayList<>()).add(session);
+                return session;
+            }
+        };
+    }
+
+    @After
+    public void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    public void shouldReuseLoggedInSession() throws Exception {
+        assertEquals("1", pool.execute(ADDRESS, session -> CompletableFuture.completedFuture("1")).get());
+        assertEquals("2", pool.execute(ADDRESS, session -> CompletableFuture.completedFuture("2")).get());
+
+        assertEquals(1, createdSessions.get(ADDRESS).size());
+        GrpcSession session = createdSessions.get(ADDRESS).get(0);
+        verify(session, times(1)).login(USER, PASSWORD);
+
+        GrpcSessionStats stats = pool.getStats().get(ADDRESS);
+        assertEquals(2, stats.getRequests());
+        assertEquals(0, stats.getErrors());
+        assertEquals(1, stats.getLogins());
+    }
+
+    @Test
+    public void shouldLimitConcurrentRequestsPerSwitch() throws Exception {
+        List<CompletableFuture<String>> replies = new ArrayList<>();
+        List<CompletableFuture<String>> results = new ArrayList<>();
+        for (int i = 0; i < MAX_CONCURRENT_REQUESTS + 2; i++) {
+            CompletableFuture<String> reply = new CompletableFuture<>();
+            replies.add(reply);
+            results.add(pool.execute(ADDRESS, session -> reply));
+        }
+
+        GrpcSessionStats stats = pool.getStats().get(ADDRESS);
+        assertEquals(MAX_CONCURRENT_REQUESTS, stats.getActiveRequests());
+        assertEquals(2, stats.getPendingRequests());
+
+        replies.forEach(reply -> reply.complete("done"));
+        for (CompletableFuture<String> result : results) {
+            assertEquals("done", result.get());
+        }
+        stats = pool.getStats().get(ADDRESS);
+        assertEquals(0, stats.getActiveRequests());
+        assertEquals(0, stats.getPendingRequests());
+        assertEquals(MAX_CONCURRENT_REQUESTS + 2, stats.getRequests());
+    }
+
+    @Test
+    public void shouldLoginAgainWhenSessionIsExpired() throws Exception {
+        List<Integer> attempts = new ArrayList<>();
+        CompletableFuture<String> result = pool.execute(ADDRESS, session -> {
+            attempts.add(attempts.size());
+            if (attempts.size() == 1) {
+                return failed(new GrpcRequestFailureException(ErrorCode.ERRNO_459.getCode(),
+                        ErrorCode.ERRNO_459.getMessage()));
+            }
+            return CompletableFuture.completedFuture("done");
+        });
+
+        assertEquals("done", result.get());
+        assertEquals(2, attempts.size());
+        verify(createdSessions.get(ADDRESS).get(0), times(2)).login(USER, PASSWORD);
+        assertEquals(0, pool.getStats().get(ADDRESS).getErrors());
+    }
+
+    @Test
+    public void shouldCountErrorsAndKeepLogin() {
+        CompletableFuture<String> result = pool.execute(ADDRESS, session -> failed(
+                new GrpcRequestFailureException(ErrorCode.ERRNO_13.getCode(), ErrorCode.ERRNO_13.getMessage())));
+
+        assertTrue(result.isCompletedExceptionally());
+        try {
+            result.get();
+        } catch (InterruptedException | ExecutionException e) {
+            assertTrue(e.getCause() instanceof GrpcRequestFailureException);
+        }
+        pool.execute(ADDRESS, session -> CompletableFuture.completedFuture("done"));
+
+        GrpcSessionStats stats = pool.getStats().get(ADDRESS);
+        assertEquals(2, stats.getRequests());
+        assertEquals(1, stats.getErrors());
+        assertEquals(1, stats.getLogins());
+    }
+
+    @Test
+    public void shouldEvictIdleSessions() throws Exception {
+        CompletableFuture<String> reply = new CompletableFuture<>();
+        pool.execute(ADDRESS, session -> reply);
+
+        pool.evictIdleSessions();
+        assertFalse(pool.getStats().isEmpty());
+
+        reply.complete("done");
+        pool.evictIdleSessions();
+        assertTrue(pool.getStats().isEmpty());
+        GrpcSession evicted = createdSessions.get(ADDRESS).get(0);
+        verify(evicted).shutdown();
+
+        assertEquals("done", pool.execute(ADDRESS, session -> CompletableFuture.completedFuture("done")).get());
+        assertEquals(2, createdSessions.get(ADDRESS).size());
+    }
+
+    private static CompletableFuture<List<CliReply>> loggedIn() {
+        return CompletableFuture.completedFuture(Collections.emptyList());
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable error) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(error);
+        return future;
+    }
+}
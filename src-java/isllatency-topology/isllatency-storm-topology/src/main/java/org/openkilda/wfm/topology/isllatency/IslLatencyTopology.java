@@ -93,7 +93,9 @@ public class IslLatencyTopology extends AbstractTopology<IslLatencyTopologyConfi
         IslLatencyBolt islLatencyBolt = new IslLatencyBolt(
                 persistenceManager,
                 topologyConfig.getLatencyUpdateInterval(),
-                topologyConfig.getLatencyUpdateTimeRange());
+                topologyConfig.getLatencyUpdateTimeRange(),
+                topologyConfig.getLatencyBufferSize(),
+                topologyConfig.getLatencyUpdateTickInterval());
         builder.setBolt(ISL_LATENCY_BOLT_ID, islLatencyBolt, topologyConfig.getNewParallelism())
                 .fieldsGrouping(ONE_WAY_MANIPULATION_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS)
                 .fieldsGrouping(CACHE_BOLT_ID, StreamType.LATENCY.toString(), ISL_GROUPING_FIELDS);
@@ -52,6 +52,16 @@ public interface IslLatencyTopologyConfig extends AbstractTopologyConfig {
     @Min(1)
     int getLatencyUpdateTimeRange();
 
+    @Key("latency.buffer.size") // max count of latency records stored for each ISL
+    @Default("512")
+    @Min(1)
+    int getLatencyBufferSize();
+
+    @Key("latency.update.tick.interval") // how often pending latency updates are written into neo4j in seconds
+    @Default("1")
+    @Min(1)
+    int getLatencyUpdateTickInterval();
+
     @Key("latency.discovery.interval.multiplier")
     @Default("3")
     @Min(1)
@@ -25,6 +25,7 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.AbstractTopology;
@@ -33,19 +34,26 @@ import org.openkilda.wfm.topology.isllatency.service.IslLatencyService;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.util.Map;
 
 @Slf4j
 public class IslLatencyBolt extends AbstractBolt {
     private final PersistenceManager persistenceManager;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int latencyBufferSize;
+    private final int tickInterval; // pending latency updates are written into DB once per tick
     private transient IslLatencyService islLatencyService;
 
     public IslLatencyBolt(PersistenceManager persistenceManager, long latencyUpdateInterval,
-                          long latencyUpdateTimeRange) {
+                          long latencyUpdateTimeRange, int latencyBufferSize, int tickInterval) {
         this.persistenceManager = persistenceManager;
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.latencyBufferSize = latencyBufferSize;
+        this.tickInterval = tickInterval;
     }
 
     @Override
@@ -53,11 +61,16 @@ public class IslLatencyBolt extends AbstractBolt {
         TransactionManager transactionManager = persistenceManager.getTransactionManager();
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
         islLatencyService = new IslLatencyService(transactionManager, repositoryFactory,
-                latencyUpdateInterval, latencyUpdateTimeRange);
+                latencyUpdateInterval, latencyUpdateTimeRange, latencyBufferSize);
     }
 
     @Override
     protected void handleInput(Tuple input) throws PipelineException {
+        if (TupleUtils.isTick(input)) {
+            islLatencyService.handleTick();
+            return;
+        }
+
         InfoData data = pullValue(input, LATENCY_DATA_FIELD, InfoData.class);
         long timestamp = getCommandContext().getCreateTime();
 
@@ -71,6 +84,19 @@ public class IslLatencyBolt extends AbstractBolt {
         }
     }
 
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(super.getComponentConfiguration(), tickInterval);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
         declarer.declare(AbstractTopology.fieldMessage);
@@ -0,0 +1,155 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+/**
+ * Fixed-size ring buffer of ISL latency samples. Samples are stored in primitive arrays, so recording of a sample
+ * doesn't create objects. When the buffer is full the oldest sample is overwritten.
+ * <p/>
+ * The mean is maintained as a running sum, min and max are maintained as monotonic queues of sample sequence numbers,
+ * so all of them are updated in amortized constant time per sample and read in constant time.
+ */
+public class LatencyRingBuffer {
+    private final long[] latencies;
+    private final long[] timestamps;
+    private long first; // sequence number of the oldest sample
+    private int size;
+    private long sum;
+
+    private final MonotonicQueue minQueue;
+    private final MonotonicQueue maxQueue;
+
+    public LatencyRingBuffer(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException(String.format("Invalid ring buffer capacity %d", capacity));
+        }
+        latencies = new long[capacity];
+        timestamps = new long[capacity];
+        minQueue = new MonotonicQueue(capacity, true);
+        maxQueue = new MonotonicQueue(capacity, false);
+    }
+
+    /**
+     * Add a sample. If the buffer is full the oldest sample is dropped.
+     */
+    public void add(long latency, long timestamp) {
+        if (size == latencies.length) {
+            removeOldest();
+        }
+        long sequence = first + size;
+        int tail = index(sequence);
+        latencies[tail] = latency;
+        timestamps[tail] = timestamp;
+        size++;
+        sum += latency;
+        minQueue.add(sequence);
+        maxQueue.add(sequence);
+    }
+
+    /**
+     * Remove samples with timestamp less than the given one. Samples are expected to be added in time order.
+     */
+    public void removeOlderThan(long timestamp) {
+        while (size > 0 && timestamps[index(first)] < timestamp) {
+            removeOldest();
+        }
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Get the mean of stored samples or -1 if there are no samples.
+     */
+    public long getMean() {
+        return size == 0 ? -1 : sum / size;
+    }
+
+    /**
+     * Get the minimal stored sample or -1 if there are no samples.
+     */
+    public long getMin() {
+        return size == 0 ? -1 : minQueue.peek();
+    }
+
+    /**
+     * Get the maximal stored sample or -1 if there are no samples.
+     */
+    public long getMax() {
+        return size == 0 ? -1 : maxQueue.peek();
+    }
+
+    private void removeOldest() {
+        sum -= latencies[index(first)];
+        minQueue.remove(first);
+        maxQueue.remove(first);
+        first++;
+        size--;
+    }
+
+    private int index(long sequence) {
+        return (int) (sequence % latencies.length);
+    }
+
+    /**
+     * Sequence numbers of the samples which can become the min (max) after removal of older samples, in the order
+     * of addition. The head of the queue is the current min (max).
+     */
+    private final class MonotonicQueue {
+        private final long[] sequences;
+        private final boolean min;
+        private int head;
+        private int length;
+
+        private MonotonicQueue(int capacity, boolean min) {
+            this.sequences = new long[capacity];
+            this.min = min;
+        }
+
+        private void add(long sequence) {
+            long latency = latencies[index(sequence)];
+            while (length > 0 && !isBetter(latencies[index(sequences[last()])], latency)) {
+                length--;
+            }
+            sequences[(head + length) % sequences.length] = sequence;
+            length++;
+        }
+
+        private void remove(long sequence) {
+            if (length > 0 && sequences[head] == sequence) {
+                head = (head + 1) % sequences.length;
+                length--;
+            }
+        }
+
+        private long peek() {
+            return latencies[index(sequences[head])];
+        }
+
+        private int last() {
+            return (head + length - 1) % sequences.length;
+        }
+
+        private boolean isBetter(long kept, long added) {
+            return min ? kept < added : kept > added;
+        }
+    }
+}
@@ -28,46 +28,63 @@ import org.openkilda.wfm.error.IslNotFoundException;
 import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
+import org.openkilda.wfm.topology.isllatency.model.LatencyRingBuffer;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
+import net.jodah.failsafe.RetryPolicy;
 
 import java.time.Instant;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.Map;
-import java.util.Queue;
+import java.util.Map.Entry;
 import java.util.Set;
+import java.util.TreeMap;
 
 @Slf4j
 public class IslLatencyService {
     public static final String ONE_WAY_LATENCY = "one way";
     public static final String ROUND_TRIP_LATENCY = "round trip";
+    private static final int TRANSACTION_RETRIES_LIMIT = 3;
+
     private TransactionManager transactionManager;
+    private RetryPolicy transactionRetryPolicy;
     private IslRepository islRepository;
     private SwitchRepository switchRepository;
     private final long latencyUpdateInterval; // emit data in DB interval
     private final long latencyUpdateTimeRange; // average latency will be calculated in this time range
+    private final int latencyBufferSize; // max count of latency records stored for each ISL
 
-    private Map<IslKey, Queue<LatencyRecord>> roundTripLatencyStorage;
-    private Map<IslKey, Queue<LatencyRecord>> oneWayLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> roundTripLatencyStorage;
+    private Map<IslKey, LatencyRingBuffer> oneWayLatencyStorage;
     private Map<IslKey, Instant> nextUpdateTimeMap;
     private Set<IslKey> roundTripLatencyIsSet; // Contains ISLs for which round trip latency were stored in DB
 
+    // ISLs which latency must be written into DB on next tick
+    private Set<IslKey> pendingRoundTripUpdates;
+    private Set<IslKey> pendingOneWayUpdates;
+
     public IslLatencyService(TransactionManager transactionManager,
                              RepositoryFactory repositoryFactory, long latencyUpdateInterval,
-                             long latencyUpdateTimeRange) {
+                             long latencyUpdateTimeRange, int latencyBufferSize) {
         this.transactionManager = transactionManager;
+        this.transactionRetryPolicy = transactionManager.makeRetryPolicyBlank()
+                .withMaxRetries(TRANSACTION_RETRIES_LIMIT);
         this.latencyUpdateInterval = latencyUpdateInterval;
         this.latencyUpdateTimeRange = latencyUpdateTimeRange;
+        this.latencyBufferSize = latencyBufferSize;
         islRepository = repositoryFactory.createIslRepository();
         switchRepository = repositoryFactory.createSwitchRepository();
         oneWayLatencyStorage = new HashMap<>();
         roundTripLatencyStorage = new HashMap<>();
         roundTripLatencyIsSet = new HashSet<>();
         nextUpdateTimeMap = new HashMap<>();
+        pendingRoundTripUpdates = new LinkedHashSet<>();
+        pendingOneWayUpdates = new LinkedHashSet<>();
     }
 
     /**
@@ -91,11 +108,11 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data, destination);
 
-        roundTripLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        roundTripLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        roundTripLatencyStorage.computeIfAbsent(islKey, key -> new LatencyRingBuffer(latencyBufferSize))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey) || !roundTripLatencyIsSet.contains(islKey)) {
-            updateRoundTripLatency(data, destination, islKey);
+            pendingRoundTripUpdates.add(islKey);
         }
     }
 
@@ -112,132 +129,114 @@ public class IslLatencyService {
 
         IslKey islKey = new IslKey(data);
 
-        oneWayLatencyStorage.putIfAbsent(islKey, new LinkedList<>());
-        oneWayLatencyStorage.get(islKey).add(new LatencyRecord(data.getLatency(), timestamp));
+        oneWayLatencyStorage.computeIfAbsent(islKey, key -> new LatencyRingBuffer(latencyBufferSize))
+                .add(data.getLatency(), timestamp);
 
         if (isUpdateRequired(islKey)) {
-            updateOneWayLatencyIfNeeded(data, islKey);
+            pendingOneWayUpdates.add(islKey);
         }
     }
 
-    private void updateRoundTripLatency(IslRoundTripLatency data, Endpoint destination, IslKey islKey) {
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-
-        pollExpiredRecords(roundTripRecords);
-        pollExpiredRecords(oneWayLatencyStorage.get(islKey));
-
-        if (roundTripRecords.isEmpty()) {
-            log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
-                    + "There is no valid latency records. Packet Id: {}",
-                    data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                    destination.getDatapath(), destination.getPortNumber(), data.getPacketId());
+    /**
+     * Write latency of all ISLs which have pending updates into DB. All ISLs are updated in one transaction.
+     */
+    public void handleTick() {
+        if (pendingRoundTripUpdates.isEmpty() && pendingOneWayUpdates.isEmpty()) {
+            return;
+        }
+        long oldestTimestamp = Instant.now().minusSeconds(latencyUpdateTimeRange).toEpochMilli();
+        Map<IslKey, Long> latencies = new LinkedHashMap<>();
+        Map<IslKey, String> latencyTypes = new HashMap<>();
+
+        for (IslKey islKey : pendingRoundTripUpdates) {
+            LatencyRingBuffer roundTripRecords = getActualRecords(roundTripLatencyStorage, islKey, oldestTimestamp);
+            getActualRecords(oneWayLatencyStorage, islKey, oldestTimestamp);
+
+            if (roundTripRecords == null || roundTripRecords.isEmpty()) {
+                log.warn("Couldn't update round trip latency for ISL {}. There is no valid latency records.",
+                        islKey);
+                continue;
+            }
+            addLatencyUpdate(latencies, latencyTypes, islKey, roundTripRecords, ROUND_TRIP_LATENCY);
         }
 
-        long averageLatency = calculateAverageLatency(roundTripRecords);
-
-        boolean updated = updateLatencyInDataBase(data, destination, averageLatency);
+        for (IslKey islKey : pendingOneWayUpdates) {
+            if (!pendingRoundTripUpdates.contains(islKey)) {
+                collectOneWayLatencyUpdate(latencies, latencyTypes, islKey, oldestTimestamp);
+            }
+        }
 
-        if (updated) {
-            nextUpdateTimeMap.put(islKey, getNextUpdateTime());
-            roundTripLatencyIsSet.add(islKey);
+        Set<IslKey> updated = Collections.emptySet();
+        if (!latencies.isEmpty()) {
+            try {
+                updated = updateIslLatencies(latencies);
+            } catch (Exception e) {
+                // pending updates are kept, so the latency will be written on the next tick
+                log.error("Unable to update latency of {} ISLs: {}", latencies.size(), e.getMessage(), e);
+                return;
+            }
+        }
+        pendingRoundTripUpdates.clear();
+        pendingOneWayUpdates.clear();
+
+        Instant nextUpdateTime = getNextUpdateTime();
+        for (IslKey islKey : updated) {
+            nextUpdateTimeMap.put(islKey, nextUpdateTime);
+            if (ROUND_TRIP_LATENCY.equals(latencyTypes.get(islKey))) {
+                roundTripLatencyIsSet.add(islKey);
+            } else {
+                roundTripLatencyIsSet.remove(islKey);
+            }
         }
     }
 
-    private void updateOneWayLatencyIfNeeded(IslOneWayLatency data, IslKey islKey) {
-        Queue<LatencyRecord> oneWayRecords = oneWayLatencyStorage.get(islKey);
-        pollExpiredRecords(oneWayRecords);
+    private void collectOneWayLatencyUpdate(
+            Map<IslKey, Long> latencies, Map<IslKey, String> latencyTypes, IslKey islKey, long oldestTimestamp) {
+        LatencyRingBuffer oneWayRecords = getActualRecords(oneWayLatencyStorage, islKey, oldestTimestamp);
 
-        Queue<LatencyRecord> roundTripRecords = roundTripLatencyStorage.get(islKey);
-        pollExpiredRecords(roundTripRecords);
+        LatencyRingBuffer roundTripRecords = getActualRecords(roundTripLatencyStorage, islKey, oldestTimestamp);
         if (roundTripRecords != null && !roundTripRecords.isEmpty()) {
             // next round trip latency packet will update ISL latency
             return;
         }
 
-        IslKey reverseIslKey = islKey.getReverse();
-        Queue<LatencyRecord> reverseRoundTripRecords = roundTripLatencyStorage.get(reverseIslKey);
-        pollExpiredRecords(reverseRoundTripRecords);
+        LatencyRingBuffer reverseRoundTripRecords = getActualRecords(
+                roundTripLatencyStorage, islKey.getReverse(), oldestTimestamp);
 
-        boolean updated;
         if (reverseRoundTripRecords != null && !reverseRoundTripRecords.isEmpty()) {
             // reverse ISL has round trip latency records. We can use them for forward ISL
-            long averageReverseLatency = calculateAverageLatency(reverseRoundTripRecords);
-            updated = updateLatencyInDataBase(data, averageReverseLatency);
-        } else {
+            addLatencyUpdate(latencies, latencyTypes, islKey, reverseRoundTripRecords, ONE_WAY_LATENCY);
+        } else if (oneWayRecords != null && !oneWayRecords.isEmpty()) {
             // There are no round trip latency records for both ISL direction. We have to use one way latency records
-            if (oneWayRecords.isEmpty()) {
-                log.warn("Couldn't update round trip latency {} for ISL {}_{} === {}_{}. "
-                                + "There is no valid latency records. Packet Id: {}",
-                        data.getLatency(), data.getSrcSwitchId(), data.getSrcPortNo(),
-                        data.getDstSwitchId(), data.getDstPortNo(), data.getPacketId());
-                return;
-            }
-
-            long averageOneWayLatency = calculateAverageLatency(oneWayRecords);
-            updated = updateLatencyInDataBase(data, averageOneWayLatency);
-        }
-
-        if (updated) {
-            nextUpdateTimeMap.put(islKey, getNextUpdateTime());
-            roundTripLatencyIsSet.remove(islKey);
+            addLatencyUpdate(latencies, latencyTypes, islKey, oneWayRecords, ONE_WAY_LATENCY);
+        } else {
+            log.warn("Couldn't update one way latency for ISL {}. There is no valid latency records.", islKey);
         }
     }
 
-    private boolean updateLatencyInDataBase(IslOneWayLatency data, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                data.getDstSwitchId(), data.getDstPortNo(), latency, data.getPacketId(), ONE_WAY_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(IslRoundTripLatency data, Endpoint destination, long latency) {
-        return updateLatencyInDataBase(data.getSrcSwitchId(), data.getSrcPortNo(),
-                destination.getDatapath(), destination.getPortNumber(), latency, data.getPacketId(),
-                ROUND_TRIP_LATENCY);
-    }
-
-    private boolean updateLatencyInDataBase(SwitchId srcSwitch, int srcPort, SwitchId dstSwitch, int dstPort,
-                                         long latency, long packetId, String latencyType) {
+    private void addLatencyUpdate(Map<IslKey, Long> latencies, Map<IslKey, String> latencyTypes, IslKey islKey,
+                                  LatencyRingBuffer records, String latencyType) {
+        long latency = records.getMean();
         if (latency < 0) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. Latency must be positive.",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId);
-            return false;
-        }
-
-        try {
-            updateIslLatency(srcSwitch, srcPort, dstSwitch, dstPort, latency);
-            log.debug("Updated {} latency for ISL {}_{} ===( {} ns )===> {}_{}. Packet id:{}",
-                    latencyType, srcSwitch, srcPort, latency, dstSwitch, dstPort, packetId);
-        } catch (SwitchNotFoundException | IslNotFoundException e) {
-            log.warn("Couldn't update {} latency for ISL {}_{} ===> {}_{}. Packet id:{}. {}",
-                    latencyType, srcSwitch, srcPort, dstSwitch, dstPort, packetId, e.getMessage());
-            return false;
-        }
-        return true;
-    }
-
-    @VisibleForTesting
-    void pollExpiredRecords(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue == null) {
+            log.warn("Couldn't update {} latency for ISL {}. Latency must be positive, but average is {}.",
+                    latencyType, islKey, latency);
             return;
         }
-        Instant oldestTimeInRange = Instant.now().minusSeconds(latencyUpdateTimeRange);
-        while (!recordsQueue.isEmpty()
-                && Instant.ofEpochMilli(recordsQueue.peek().getTimestamp()).isBefore(oldestTimeInRange)) {
-            recordsQueue.poll();
+        if (log.isDebugEnabled()) {
+            log.debug("Going to update {} latency for ISL {} to {} ns (min {}, max {}, samples {})",
+                    latencyType, islKey, latency, records.getMin(), records.getMax(), records.size());
         }
+        latencies.put(islKey, latency);
+        latencyTypes.put(islKey, latencyType);
     }
 
-    @VisibleForTesting
-    long calculateAverageLatency(Queue<LatencyRecord> recordsQueue) {
-        if (recordsQueue.isEmpty()) {
-            log.error("Couldn't calculate average latency. Records queue is empty");
-            return -1;
-        }
-
-        long sum = 0;
-        for (LatencyRecord record : recordsQueue) {
-            sum += record.getLatency();
+    private LatencyRingBuffer getActualRecords(
+            Map<IslKey, LatencyRingBuffer> storage, IslKey islKey, long oldestTimestamp) {
+        LatencyRingBuffer records = storage.get(islKey);
+        if (records != null) {
+            records.removeOlderThan(oldestTimestamp);
         }
-        return sum / recordsQueue.size();
+        return records;
     }
 
     @VisibleForTesting
@@ -251,32 +250,57 @@ public class IslLatencyService {
     }
 
     /**
-     * Update latency of isl by source and destination endpoint.
-     *
-     * @param srcSwitchId ID of source switch.
-     * @param srcPort source port.
-     * @param dstSwitchId ID of destination switch.
-     * @param dstPort destination port.
-     * @param latency latency to update
+     * Update latency of ISLs in one transaction. The switches of all ISLs are locked at once in the order of their
+     * ids, so concurrent transactions can't deadlock on them. ISLs which can't be found are skipped.
      *
-     * @throws SwitchNotFoundException if src or dst switch is not found
-     * @throws IslNotFoundException if isl is not found
+     * @param latencies latency to update by ISL
+     * @return ISLs which were updated
      */
     @VisibleForTesting
-    void updateIslLatency(
-            SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort, long latency)
-            throws SwitchNotFoundException, IslNotFoundException {
-        transactionManager.doInTransaction(() -> {
-            Switch srcSwitch = switchRepository.findById(srcSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(srcSwitchId));
-            Switch dstSwitch = switchRepository.findById(dstSwitchId)
-                    .orElseThrow(() -> new SwitchNotFoundException(dstSwitchId));
-
-            switchRepository.lockSwitches(srcSwitch, dstSwitch);
-            Isl isl = islRepository.findByEndpoints(srcSwitchId, srcPort, dstSwitchId, dstPort)
-                    .orElseThrow(() -> new IslNotFoundException(srcSwitchId, srcPort, dstSwitchId, dstPort));
-            isl.setLatency(latency);
-            islRepository.createOrUpdate(isl);
+    Set<IslKey> updateIslLatencies(Map<IslKey, Long> latencies) {
+        return transactionManager.doInTransaction(transactionRetryPolicy, () -> {
+            Map<SwitchId, Switch> switches = new TreeMap<>();
+            for (IslKey islKey : latencies.keySet()) {
+                loadSwitch(switches, islKey.getSrcSwitchId());
+                loadSwitch(switches, islKey.getDstSwitchId());
+            }
+            switchRepository.lockSwitches(switches.values().toArray(new Switch[0]));
+
+            Set<IslKey> updated = new HashSet<>();
+            for (Entry<IslKey, Long> entry : latencies.entrySet()) {
+                IslKey islKey = entry.getKey();
+                try {
+                    updateIslLatency(switches, islKey, entry.getValue());
+                    updated.add(islKey);
+                    log.debug("Updated latency for ISL {} to {} ns", islKey, entry.getValue());
+                } catch (SwitchNotFoundException | IslNotFoundException e) {
+                    log.warn("Couldn't update latency for ISL {}. {}", islKey, e.getMessage());
+                }
+            }
+            return updated;
         });
     }
+
+    private void loadSwitch(Map<SwitchId, Switch> switches, SwitchId switchId) {
+        if (!switches.containsKey(switchId)) {
+            switchRepository.findById(switchId).ifPresent(sw -> switches.put(switchId, sw));
+        }
+    }
+
+    private void updateIslLatency(Map<SwitchId, Switch> switches, IslKey islKey, long latency)
+            throws SwitchNotFoundException, IslNotFoundException {
+        if (!switches.containsKey(islKey.getSrcSwitchId())) {
+            throw new SwitchNotFoundException(islKey.getSrcSwitchId());
+        }
+        if (!switches.containsKey(islKey.getDstSwitchId())) {
+            throw new SwitchNotFoundException(islKey.getDstSwitchId());
+        }
+
+        Isl isl = islRepository.findByEndpoints(
+                islKey.getSrcSwitchId(), islKey.getSrcPort(), islKey.getDstSwitchId(), islKey.getDstPort())
+                .orElseThrow(() -> new IslNotFoundException(islKey.getSrcSwitchId(), islKey.getSrcPort(),
+                        islKey.getDstSwitchId(), islKey.getDstPort()));
+        isl.setLatency(latency);
+        islRepository.createOrUpdate(isl);
+    }
 }
@@ -0,0 +1,96 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.isllatency.model;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class LatencyRingBufferTest {
+    @Test
+    public void calculateStatsTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(10);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i, 1);
+        }
+
+        assertEquals(5, buffer.size());
+        assertEquals(3, buffer.getMean());
+        assertEquals(1, buffer.getMin());
+        assertEquals(5, buffer.getMax());
+    }
+
+    @Test
+    public void emptyBufferStatsTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(10);
+
+        assertTrue(buffer.isEmpty());
+        assertEquals(-1, buffer.getMean());
+        assertEquals(-1, buffer.getMin());
+        assertEquals(-1, buffer.getMax());
+    }
+
+    @Test
+    public void overwriteOldestRecordsTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(3);
+        for (int i = 1; i <= 5; i++) {
+            buffer.add(i * 10, i);
+        }
+
+        assertEquals(3, buffer.size());
+        assertEquals(40, buffer.getMean());
+        assertEquals(30, buffer.getMin());
+        assertEquals(50, buffer.getMax());
+    }
+
+    @Test
+    public void removeOlderThanTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(8);
+        for (int i = 0; i < 10; i++) {
+            buffer.add(i, i * 1000);
+        }
+        assertEquals(8, buffer.size());
+        assertEquals(2, buffer.getMin());
+
+        buffer.removeOlderThan(5000);
+
+        assertEquals(5, buffer.size());
+        assertEquals(7, buffer.getMean());
+        assertEquals(5, buffer.getMin());
+        assertEquals(9, buffer.getMax());
+
+        buffer.removeOlderThan(10000);
+        assertTrue(buffer.isEmpty());
+
+        buffer.add(42, 11000);
+        assertEquals(42, buffer.getMean());
+        assertEquals(42, buffer.getMax());
+    }
+
+    @Test
+    public void slidingMinMaxTest() {
+        LatencyRingBuffer buffer = new LatencyRingBuffer(3);
+        long[] samples = {5, 1, 4, 4, 7, 2, 3, 9};
+        long[] expectedMin = {5, 1, 1, 1, 4, 2, 2, 2};
+        long[] expectedMax = {5, 5, 5, 4, 7, 7, 7, 9};
+        for (int i = 0; i < samples.length; i++) {
+            buffer.add(samples[i], i);
+            assertEquals(expectedMin[i], buffer.getMin());
+            assertEquals(expectedMax[i], buffer.getMax());
+        }
+    }
+}
@@ -18,6 +18,11 @@ package org.openkilda.wfm.topology.isllatency.service;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.info.event.IslOneWayLatency;
 import org.openkilda.messaging.info.event.IslRoundTripLatency;
@@ -26,21 +31,24 @@ import org.openkilda.model.IslStatus;
 import org.openkilda.model.Switch;
 import org.openkilda.model.SwitchId;
 import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.TransactionCallback;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.IslRepository;
 import org.openkilda.persistence.repositories.SwitchRepository;
-import org.openkilda.wfm.error.IslNotFoundException;
-import org.openkilda.wfm.error.SwitchNotFoundException;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.isllatency.model.IslKey;
-import org.openkilda.wfm.topology.isllatency.model.LatencyRecord;
 
+import net.jodah.failsafe.RetryPolicy;
 import org.junit.After;
 import org.junit.Before;
 import org.junit.Test;
 
 import java.time.Instant;
-import java.util.LinkedList;
-import java.util.Queue;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
 
 public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
@@ -53,8 +61,10 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     private static final int NON_EXISTENT_PORT = 555;
     private static final Endpoint FORWARD_DESTINATION = Endpoint.of(SWITCH_ID_2, PORT_2);
     private static final IslKey FORWARD_ISL_KEY = new IslKey(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2);
+    private static final IslKey REVERSE_ISL_KEY = FORWARD_ISL_KEY.getReverse();
     public static final int LATENCY_UPDATE_INTERVAL = 100;
     public static final int LATENCY_UPDATE_TIME_RANGE = 10;
+    public static final int LATENCY_BUFFER_SIZE = 16;
 
 
     private SwitchRepository switchRepository;
@@ -65,7 +75,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void setup() {
         islLatencyService = new IslLatencyService(
                 persistenceManager.getTransactionManager(), persistenceManager.getRepositoryFactory(),
-                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE);
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_BUFFER_SIZE);
         switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
         islRepository = persistenceManager.getRepositoryFactory().createIslRepository();
 
@@ -73,6 +83,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         Switch secondSwitch = createSwitch(SWITCH_ID_2);
 
         createIsl(firstSwitch, PORT_1, secondSwitch, PORT_2, INITIAL_LATENCY);
+        createIsl(secondSwitch, PORT_2, firstSwitch, PORT_1, INITIAL_LATENCY);
     }
 
     @After
@@ -82,24 +93,34 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         switchRepository.forceDelete(SWITCH_ID_2);
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentSrcEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2, 0);
+    @Test
+    public void updateIslLatenciesNonExistentSrcEndpointTest() {
+        IslKey islKey = new IslKey(NON_EXISTENT_SWITCH_ID, PORT_1, SWITCH_ID_2, PORT_2);
+        assertTrue(islLatencyService.updateIslLatencies(Collections.singletonMap(islKey, 0L)).isEmpty());
     }
 
-    @Test(expected = SwitchNotFoundException.class)
-    public void updateIslLatencyNonExistentDstEndpointTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2, 0);
+    @Test
+    public void updateIslLatenciesNonExistentDstEndpointTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, PORT_1, NON_EXISTENT_SWITCH_ID, PORT_2);
+        assertTrue(islLatencyService.updateIslLatencies(Collections.singletonMap(islKey, 0L)).isEmpty());
     }
 
-    @Test(expected = IslNotFoundException.class)
-    public void updateIslLatencyNonExistentIslTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT, 0);
+    @Test
+    public void updateIslLatenciesNonExistentIslTest() {
+        IslKey islKey = new IslKey(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT);
+        assertTrue(islLatencyService.updateIslLatencies(Collections.singletonMap(islKey, 0L)).isEmpty());
     }
 
     @Test
-    public void updateIslLatencyTest() throws IslNotFoundException, SwitchNotFoundException {
-        islLatencyService.updateIslLatency(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2, 1000);
+    public void updateIslLatenciesTest() {
+        Map<IslKey, Long> latencies = new HashMap<>();
+        latencies.put(FORWARD_ISL_KEY, 1000L);
+        latencies.put(new IslKey(SWITCH_ID_1, NON_EXISTENT_PORT, SWITCH_ID_2, NON_EXISTENT_PORT), 2000L);
+
+        Set<IslKey> updated = islLatencyService.updateIslLatencies(latencies);
+
+        // missing ISL must not prevent update of the existing one
+        assertEquals(Collections.singleton(FORWARD_ISL_KEY), updated);
         assertForwardLatency(1000);
     }
 
@@ -107,11 +128,13 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void handleOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(1), System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(1);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(10000), System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(1);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -121,12 +144,14 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(5), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(5);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(50000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(5);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -135,23 +160,27 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     public void handleRoundTripIslLatencyAfterOneWayIslLatencyTest() {
         assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(7), System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(7);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleOneWayIslLatency(createForwardOneWayLatency(70000), System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(7);
 
         // round trip latency will rewrite one way latency
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(8), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(8);
 
         // second latency will be put in cache
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
         islLatencyService.handleRoundTripIslLatency(
                 createForwardRoundTripLatency(80000), FORWARD_DESTINATION, System.currentTimeMillis());
+        islLatencyService.handleTick();
         assertForwardLatency(8);
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -163,6 +192,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         IslRoundTripLatency data = new IslRoundTripLatency(SWITCH_ID_1, PORT_1, 1L, 0L);
         Endpoint destination = Endpoint.of(SWITCH_ID_2, PORT_2);
         islLatencyService.handleRoundTripIslLatency(data, destination, System.currentTimeMillis());
+        islLatencyService.handleTick();
 
         assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
     }
@@ -176,6 +206,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
 
         IslOneWayLatency nonExistent = new IslOneWayLatency(SWITCH_ID_1, fakePort, SWITCH_ID_2, fakePort, 3, PACKET_ID);
         islLatencyService.handleOneWayIslLatency(nonExistent, System.currentTimeMillis());
+        islLatencyService.handleTick();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -190,6 +221,7 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         IslRoundTripLatency nonExistent = new IslRoundTripLatency(SWITCH_ID_1, fakePort, 4, PACKET_ID);
         islLatencyService.handleRoundTripIslLatency(
                 nonExistent, Endpoint.of(SWITCH_ID_2, fakePort), System.currentTimeMillis());
+        islLatencyService.handleTick();
 
         assertTrue(islLatencyService.isUpdateRequired(islKey));
     }
@@ -202,43 +234,73 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
     }
 
     @Test
-    public void calculateAverageLatencyTest() {
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
+    public void handleTickWithoutPendingUpdatesTest() {
+        TransactionManager transactionManager = mockTransactionManager();
+        islLatencyService = new IslLatencyService(transactionManager, persistenceManager.getRepositoryFactory(),
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_BUFFER_SIZE);
 
-        for (int i = 1; i <= 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, 1));
-        }
-        assertEquals(3, islLatencyService.calculateAverageLatency(latencyRecords));
+        islLatencyService.handleTick();
+
+        verify(transactionManager, times(0)).doInTransaction(any(RetryPolicy.class), any(TransactionCallback.class));
     }
 
     @Test
-    public void calculateAverageLatencyEmptyTest() {
-        assertEquals(-1, islLatencyService.calculateAverageLatency(new LinkedList<>()));
+    public void handleTickUpdatesAllIslsInOneTransactionTest() {
+        TransactionManager transactionManager = mockTransactionManager();
+        when(transactionManager.doInTransaction(any(RetryPolicy.class), any(TransactionCallback.class)))
+                .thenAnswer(invocation -> persistenceManager.getTransactionManager().doInTransaction(
+                        (TransactionCallback<?, ?>) invocation.getArgument(1)));
+        islLatencyService = new IslLatencyService(transactionManager, persistenceManager.getRepositoryFactory(),
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_BUFFER_SIZE);
+
+        long timestamp = System.currentTimeMillis();
+        islLatencyService.handleRoundTripIslLatency(createForwardRoundTripLatency(10), FORWARD_DESTINATION, timestamp);
+        islLatencyService.handleRoundTripIslLatency(createForwardRoundTripLatency(20), FORWARD_DESTINATION, timestamp);
+        islLatencyService.handleOneWayIslLatency(
+                new IslOneWayLatency(SWITCH_ID_2, PORT_2, SWITCH_ID_1, PORT_1, 40, PACKET_ID), timestamp);
+
+        // nothing is written until tick
+        assertForwardLatency(INITIAL_LATENCY);
+        assertReverseLatency(INITIAL_LATENCY);
+
+        islLatencyService.handleTick();
+
+        verify(transactionManager, times(1)).doInTransaction(any(RetryPolicy.class), any(TransactionCallback.class));
+        assertForwardLatency(15);
+        // reverse ISL has no round trip records, so forward round trip latency is used for it
+        assertReverseLatency(15);
+        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+        assertFalse(islLatencyService.isUpdateRequired(REVERSE_ISL_KEY));
     }
 
     @Test
-    public void pollExpiredRecordsTest() {
-        Instant time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE * 2);
-        Queue<LatencyRecord> latencyRecords = new LinkedList<>();
-
-        for (int i = 0; i < 5; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
-            time = time.plusSeconds(1);
-        }
-
-        time = Instant.now().minusSeconds(LATENCY_UPDATE_TIME_RANGE - 7);
-        for (int i = 5; i < 10; i++) {
-            latencyRecords.add(new LatencyRecord(i, time.toEpochMilli()));
-            time = time.plusSeconds(1);
-        }
-
-        assertEquals(10, latencyRecords.size());
-        islLatencyService.pollExpiredRecords(latencyRecords);
-        assertEquals(5, latencyRecords.size());
-
-        for (int i = 5; i < 10; i++) {
-            assertEquals(i, latencyRecords.poll().getLatency());
-        }
+    public void handleTickKeepsPendingUpdatesOnFailedTransactionTest() {
+        TransactionManager transactionManager = mockTransactionManager();
+        when(transactionManager.doInTransaction(any(RetryPolicy.class), any(TransactionCallback.class)))
+                .thenThrow(new PersistenceException("test"))
+                .thenAnswer(invocation -> persistenceManager.getTransactionManager().doInTransaction(
+                        (TransactionCallback<?, ?>) invocation.getArgument(1)));
+        islLatencyService = new IslLatencyService(transactionManager, persistenceManager.getRepositoryFactory(),
+                LATENCY_UPDATE_INTERVAL, LATENCY_UPDATE_TIME_RANGE, LATENCY_BUFFER_SIZE);
+
+        islLatencyService.handleRoundTripIslLatency(
+                createForwardRoundTripLatency(30), FORWARD_DESTINATION, System.currentTimeMillis());
+
+        // the failure must not escape the tick
+        islLatencyService.handleTick();
+        assertForwardLatency(INITIAL_LATENCY);
+        assertTrue(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+
+        islLatencyService.handleTick();
+        verify(transactionManager, times(2)).doInTransaction(any(RetryPolicy.class), any(TransactionCallback.class));
+        assertForwardLatency(30);
+        assertFalse(islLatencyService.isUpdateRequired(FORWARD_ISL_KEY));
+    }
+
+    private TransactionManager mockTransactionManager() {
+        TransactionManager transactionManager = mock(TransactionManager.class);
+        when(transactionManager.makeRetryPolicyBlank()).thenReturn(new RetryPolicy());
+        return transactionManager;
     }
 
     private Switch createSwitch(SwitchId switchId) {
@@ -271,4 +333,9 @@ public class IslLatencyServiceTest extends Neo4jBasedTest {
         long actualLatency = islRepository.findByEndpoints(SWITCH_ID_1, PORT_1, SWITCH_ID_2, PORT_2).get().getLatency();
         assertEquals(expectedLatency, actualLatency);
     }
+
+    private void assertReverseLatency(long expectedLatency) {
+        long actualLatency = islRepository.findByEndpoints(SWITCH_ID_2, PORT_2, SWITCH_ID_1, PORT_1).get().getLatency();
+        assertEquals(expectedLatency, actualLatency);
+    }
 }
@@ -26,4 +26,11 @@ public interface KafkaConfig {
     @Key("hosts")
     @NotBlank
     String getHosts();
+
+    /**
+     * Comma separated list of topics (without the environment prefix) whose values are written in the binary format.
+     * Consumers of the listed topics must be able to detect the value format.
+     */
+    @Key("codec.binary.topics")
+    String getBinaryCodecTopics();
 }
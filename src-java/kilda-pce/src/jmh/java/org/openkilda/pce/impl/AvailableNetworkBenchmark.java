@@ -0,0 +1,136 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.impl.TopologyGenerator.TopologyType;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks the preparation of {@link AvailableNetwork} before a path search: building it from ISLs, applying
+ * diversity weights of the flow group paths and reducing parallel links by weight. Each benchmark builds a new network,
+ * so {@link #buildNetwork()} is the baseline to subtract from the others.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AvailableNetworkBenchmark {
+    @Param({"FAT_TREE", "RING", "RANDOM_MESH", "MULTI_POP"})
+    TopologyType topology;
+
+    @Param({"100", "500"})
+    int switchCount;
+
+    @Param({"COST", "LATENCY", "COST_AND_AVAILABLE_BANDWIDTH"})
+    PathComputationStrategy strategy;
+
+    @Param({"8"})
+    int diverseFlowCount;
+
+    private List<Isl> isls;
+    private WeightFunction weightFunction;
+    private final List<List<PathSegment>> diversePaths = new ArrayList<>();
+
+    /**
+     * Generates the topology and the paths of the diversity group.
+     */
+    @Setup
+    public void setUp() {
+        isls = TopologyGenerator.generate(topology, switchCount, 42);
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider().getConfiguration(
+                PathComputerConfig.class);
+        weightFunction = new InMemoryPathComputer(null, null, config).getWeightFunctionByStrategy(strategy);
+
+        AvailableNetwork network = buildNetwork();
+        network.reduceByWeight(weightFunction);
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(Integer.MAX_VALUE);
+        Random random = new Random(42);
+        while (diversePaths.size() < diverseFlowCount) {
+            SwitchId srcSwitchId = isls.get(random.nextInt(isls.size())).getSrcSwitch().getSwitchId();
+            SwitchId dstSwitchId = isls.get(random.nextInt(isls.size())).getDestSwitch().getSwitchId();
+            if (srcSwitchId.equals(dstSwitchId)) {
+                continue;
+            }
+            try {
+                diversePaths.add(TopologyGenerator.toPathSegments(
+                        pathFinder.findPathInNetwork(network, srcSwitchId, dstSwitchId, weightFunction).getLeft()));
+            } catch (UnroutableFlowException e) {
+                throw new IllegalStateException("Generated topology must be connected", e);
+            }
+        }
+    }
+
+    /**
+     * Builds the network from all generated ISLs.
+     */
+    @Benchmark
+    public AvailableNetwork buildNetwork() {
+        AvailableNetwork network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+        return network;
+    }
+
+    /**
+     * Builds the network and keeps only the best of parallel links.
+     */
+    @Benchmark
+    public AvailableNetwork buildAndReduceByWeight() {
+        AvailableNetwork network = buildNetwork();
+        network.reduceByWeight(weightFunction);
+        return network;
+    }
+
+    /**
+     * Builds the network and applies the diversity weights of the group paths.
+     */
+    @Benchmark
+    public AvailableNetwork buildAndProcessDiversitySegments() {
+        AvailableNetwork network = buildNetwork();
+        diversePaths.forEach(network::processDiversitySegments);
+        return network;
+    }
+
+    /**
+     * Builds the network and applies the POP diversity weights of the group paths.
+     */
+    @Benchmark
+    public AvailableNetwork buildAndProcessDiversitySegmentsWithPop() {
+        AvailableNetwork network = buildNetwork();
+        diversePaths.forEach(network::processDiversitySegmentsWithPop);
+        return network;
+    }
+}
@@ -0,0 +1,161 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.Switch;
+import org.openkilda.pce.AvailableNetworkFactory;
+import org.openkilda.pce.PathComputer;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.exception.RecoverableException;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.TopologyGenerator.TopologyType;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.persistence.repositories.IslRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PathComputer} end to end: building the available network (from the repository or from the
+ * topology snapshot), preparing it and searching paths. The repository is mocked and returns the generated ISLs,
+ * so the database access time is not included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathComputerBenchmark {
+    private static final int FLOW_COUNT = 64;
+
+    @Param({"FAT_TREE", "RANDOM_MESH", "MULTI_POP"})
+    TopologyType topology;
+
+    @Param({"100", "500"})
+    int switchCount;
+
+    @Param({"COST", "LATENCY"})
+    PathComputationStrategy strategy;
+
+    @Param({"BEST_WEIGHT_AND_SHORTEST", "DIJKSTRA"})
+    PathFinderType finder;
+
+    @Param({"false", "true"})
+    boolean snapshotEnabled;
+
+    @Param({"10"})
+    int pathCount;
+
+    private PathComputer pathComputer;
+    private final List<Flow> flows = new ArrayList<>();
+    private int nextFlow;
+
+    /**
+     * Creates the path computer over the mocked repositories and a fixed set of flows between random switches.
+     */
+    @Setup
+    public void setUp() throws RecoverableException {
+        List<Isl> isls = TopologyGenerator.generate(topology, switchCount, 42);
+
+        IslRepository islRepository = mock(IslRepository.class);
+        when(islRepository.findAllActiveByEncapsulationType(any())).thenReturn(isls);
+        when(islRepository.findActiveWithAvailableBandwidth(anyLong(), any())).thenReturn(isls);
+        when(islRepository.findSymmetricActiveWithAvailableBandwidth(anyLong(), any())).thenReturn(isls);
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createIslRepository()).thenReturn(islRepository);
+        when(repositoryFactory.createFlowPathRepository()).thenReturn(mock(FlowPathRepository.class));
+
+        Properties properties = new Properties();
+        properties.setProperty("pce.path.finder", finder.name());
+        properties.setProperty("pce.network.snapshot.enabled", String.valueOf(snapshotEnabled));
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider(properties)
+                .getConfiguration(PathComputerConfig.class);
+        AvailableNetworkFactory availableNetworkFactory = new AvailableNetworkFactory(config, repositoryFactory);
+        if (snapshotEnabled) {
+            availableNetworkFactory.refreshTopologySnapshot();
+        }
+        pathComputer = new PathComputerFactory(config, availableNetworkFactory).getPathComputer();
+
+        Random random = new Random(42);
+        while (flows.size() < FLOW_COUNT) {
+            Switch srcSwitch = isls.get(random.nextInt(isls.size())).getSrcSwitch();
+            Switch destSwitch = isls.get(random.nextInt(isls.size())).getDestSwitch();
+            if (srcSwitch.getSwitchId().equals(destSwitch.getSwitchId())) {
+                continue;
+            }
+            flows.add(Flow.builder()
+                    .flowId("flow" + flows.size())
+                    .srcSwitch(srcSwitch)
+                    .destSwitch(destSwitch)
+                    .bandwidth(1000)
+                    .encapsulationType(FlowEncapsulationType.TRANSIT_VLAN)
+                    .pathComputationStrategy(strategy)
+                    .build());
+        }
+    }
+
+    /**
+     * Computes the forward and reverse paths of the next flow.
+     */
+    @Benchmark
+    public void getPath(Blackhole blackhole) throws RecoverableException {
+        try {
+            blackhole.consume(pathComputer.getPath(nextFlow(), Collections.emptyList()));
+        } catch (UnroutableFlowException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    /**
+     * Computes N best paths between the switches of the next flow.
+     */
+    @Benchmark
+    public void getNPaths(Blackhole blackhole) throws RecoverableException, UnroutableFlowException {
+        Flow flow = nextFlow();
+        blackhole.consume(pathComputer.getNPaths(flow.getSrcSwitch().getSwitchId(),
+                flow.getDestSwitch().getSwitchId(), pathCount, flow.getEncapsulationType(), strategy));
+    }
+
+    private Flow nextFlow() {
+        nextFlow = (nextFlow + 1) % flows.size();
+        return flows.get(nextFlow);
+    }
+}
@@ -0,0 +1,154 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.Isl;
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.PathComputerConfig;
+import org.openkilda.pce.PathComputerFactory.PathFinderType;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
+import org.openkilda.pce.impl.TopologyGenerator.TopologyType;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.WeightFunction;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks {@link PathFinder} implementations over the generated topologies for each path computation strategy.
+ * Each invocation takes the next pair of switches from a fixed set of random pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PathFinderBenchmark {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final int PAIR_COUNT = 64;
+
+    @Param({"FAT_TREE", "RING", "RANDOM_MESH", "MULTI_POP"})
+    TopologyType topology;
+
+    @Param({"100", "500"})
+    int switchCount;
+
+    @Param({"COST", "LATENCY", "COST_AND_AVAILABLE_BANDWIDTH", "MAX_LATENCY"})
+    PathComputationStrategy strategy;
+
+    @Param({"BEST_WEIGHT_AND_SHORTEST", "DIJKSTRA"})
+    PathFinderType finder;
+
+    @Param({"10"})
+    int pathCount;
+
+    private AvailableNetwork network;
+    private PathFinder pathFinder;
+    private WeightFunction weightFunction;
+    private final List<SwitchId[]> pairs = new ArrayList<>();
+    private final List<Long> maxWeights = new ArrayList<>();
+    private int nextPair;
+
+    /**
+     * Builds the network and selects routable switch pairs. For MAX_LATENCY the max weight of each pair is 1.5 of the
+     * best weight, so the search has to look for a path which is not the shortest one.
+     */
+    @Setup
+    public void setUp() {
+        List<Isl> isls = TopologyGenerator.generate(topology, switchCount, 42);
+        network = new AvailableNetwork();
+        isls.forEach(network::addLink);
+
+        PathComputerConfig config = new PropertiesBasedConfigurationProvider().getConfiguration(
+                PathComputerConfig.class);
+        weightFunction = new InMemoryPathComputer(null, null, config).getWeightFunctionByStrategy(strategy);
+        network.reduceByWeight(weightFunction);
+
+        pathFinder = finder == PathFinderType.DIJKSTRA
+                ? new DijkstraPathFinder(ALLOWED_DEPTH) : new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        PathFinder referenceFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+
+        Random random = new Random(42);
+        while (pairs.size() < PAIR_COUNT) {
+            Isl src = isls.get(random.nextInt(isls.size()));
+            Isl dst = isls.get(random.nextInt(isls.size()));
+            SwitchId srcSwitchId = src.getSrcSwitch().getSwitchId();
+            SwitchId dstSwitchId = dst.getDestSwitch().getSwitchId();
+            if (srcSwitchId.equals(dstSwitchId)) {
+                continue;
+            }
+            List<Edge> bestPath;
+            try {
+                bestPath = referenceFinder.findPathInNetwork(network, srcSwitchId, dstSwitchId, weightFunction)
+                        .getLeft();
+            } catch (UnroutableFlowException e) {
+                continue;
+            }
+            long bestWeight = bestPath.stream().mapToLong(edge -> weightFunction.apply(edge).toLong()).sum();
+            pairs.add(new SwitchId[]{srcSwitchId, dstSwitchId});
+            maxWeights.add(bestWeight * 3 / 2);
+        }
+    }
+
+    /**
+     * Finds the best path between the next pair of switches.
+     */
+    @Benchmark
+    public void findPathInNetwork(Blackhole blackhole) {
+        int pair = nextPair();
+        SwitchId[] switches = pairs.get(pair);
+        try {
+            if (strategy == PathComputationStrategy.MAX_LATENCY) {
+                blackhole.consume(pathFinder.findPathInNetwork(network, switches[0], switches[1], weightFunction,
+                        maxWeights.get(pair)));
+            } else {
+                blackhole.consume(pathFinder.findPathInNetwork(network, switches[0], switches[1], weightFunction));
+            }
+        } catch (UnroutableFlowException e) {
+            blackhole.consume(e);
+        }
+    }
+
+    /**
+     * Finds N best paths between the next pair of switches.
+     */
+    @Benchmark
+    public void findNPathsBetweenSwitches(Blackhole blackhole) throws UnroutableFlowException {
+        SwitchId[] switches = pairs.get(nextPair());
+        blackhole.consume(pathFinder.findNPathsBetweenSwitches(network, switches[0], switches[1], pathCount,
+                weightFunction));
+    }
+
+    private int nextPair() {
+        nextPair = (nextPair + 1) % pairs.size();
+        return nextPair;
+    }
+}
@@ -0,0 +1,230 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates synthetic network topologies for the benchmarks. All links are bidirectional, link params (cost,
+ * latency, available bandwidth) are random, but reproducible for the same seed.
+ */
+public final class TopologyGenerator {
+    private static final IslConfig ISL_CONFIG = IslConfig.builder()
+            .unstableIslTimeout(Duration.ofSeconds(120))
+            .build();
+    private static final long MAX_BANDWIDTH = 10_000_000;
+
+    private final Random random;
+    private final List<Switch> switches = new ArrayList<>();
+    private final Map<SwitchId, Integer> nextPorts = new HashMap<>();
+    private final Set<String> linkedPairs = new HashSet<>();
+    private final List<Isl> isls = new ArrayList<>();
+
+    private TopologyGenerator(long seed) {
+        this.random = new Random(seed);
+    }
+
+    /**
+     * Generates ISLs of the topology with approximately the given number of switches.
+     */
+    public static List<Isl> generate(TopologyType type, int switchCount, long seed) {
+        TopologyGenerator generator = new TopologyGenerator(seed);
+        switch (type) {
+            case FAT_TREE:
+                generator.buildFatTree(switchCount);
+                break;
+            case RING:
+                generator.buildRing(switchCount);
+                break;
+            case RANDOM_MESH:
+                generator.buildRandomMesh(switchCount, 4);
+                break;
+            case MULTI_POP:
+                generator.buildMultiPop(switchCount);
+                break;
+            default:
+                throw new UnsupportedOperationException(String.format("Unsupported topology type %s", type));
+        }
+        return generator.isls;
+    }
+
+    /**
+     * Converts a found path into flow path segments, so diversity processing can be benchmarked.
+     */
+    public static List<PathSegment> toPathSegments(List<Edge> path) {
+        List<PathSegment> segments = new ArrayList<>();
+        for (Edge edge : path) {
+            segments.add(PathSegment.builder()
+                    .srcSwitch(toSwitch(edge.getSrcSwitch()))
+                    .srcPort(edge.getSrcPort())
+                    .destSwitch(toSwitch(edge.getDestSwitch()))
+                    .destPort(edge.getDestPort())
+                    .latency(edge.getLatency())
+                    .build());
+        }
+        return segments;
+    }
+
+    private static Switch toSwitch(Node node) {
+        return Switch.builder()
+                .switchId(node.getSwitchId())
+                .pop(node.getPop())
+                .build();
+    }
+
+    /**
+     * A k-ary fat-tree: k pods of k/2 edge and k/2 aggregation switches, (k/2)^2 core switches.
+     */
+    private void buildFatTree(int switchCount) {
+        int k = 2;
+        while (5 * k * k / 4 < switchCount) {
+            k += 2;
+        }
+        int half = k / 2;
+
+        List<Switch> core = addSwitches(half * half, "core");
+        for (int pod = 0; pod < k; pod++) {
+            List<Switch> aggregation = addSwitches(half, "pod" + pod);
+            List<Switch> edge = addSwitches(half, "pod" + pod);
+            for (int i = 0; i < half; i++) {
+                for (int j = 0; j < half; j++) {
+                    link(edge.get(i), aggregation.get(j));
+                    link(aggregation.get(i), core.get(i * half + j));
+                }
+            }
+        }
+    }
+
+    private void buildRing(int switchCount) {
+        List<Switch> ring = addSwitches(Math.max(3, switchCount), null);
+        for (int i = 0; i < ring.size(); i++) {
+            link(ring.get(i), ring.get((i + 1) % ring.size()));
+        }
+    }
+
+    /**
+     * A ring (to be connected) with random chords, so the average switch degree is about the given degree.
+     */
+    private void buildRandomMesh(int switchCount, int degree) {
+        List<Switch> mesh = addSwitches(Math.max(3, switchCount), null);
+        addRandomMesh(mesh, degree);
+    }
+
+    /**
+     * Random mesh POPs of 25 switches, POPs are connected into a ring by two links between neighbours.
+     */
+    private void buildMultiPop(int switchCount) {
+        int popSize = 25;
+        int popCount = Math.max(2, switchCount / popSize);
+        List<List<Switch>> pops = new ArrayList<>();
+        for (int pop = 0; pop < popCount; pop++) {
+            List<Switch> popSwitches = addSwitches(popSize, "pop" + pop);
+            addRandomMesh(popSwitches, 3);
+            pops.add(popSwitches);
+        }
+        for (int pop = 0; pop < popCount; pop++) {
+            List<Switch> current = pops.get(pop);
+            List<Switch> next = pops.get((pop + 1) % popCount);
+            link(current.get(0), next.get(1));
+            link(current.get(2), next.get(3));
+        }
+    }
+
+    private void addRandomMesh(List<Switch> mesh, int degree) {
+        for (int i = 0; i < mesh.size(); i++) {
+            link(mesh.get(i), mesh.get((i + 1) % mesh.size()));
+        }
+        int chords = mesh.size() * (degree - 2) / 2;
+        for (int i = 0; i < chords; i++) {
+            link(mesh.get(random.nextInt(mesh.size())), mesh.get(random.nextInt(mesh.size())));
+        }
+    }
+
+    private List<Switch> addSwitches(int count, String pop) {
+        List<Switch> result = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Switch sw = Switch.builder()
+                    .switchId(new SwitchId(switches.size() + 1))
+                    .pop(pop)
+                    .build();
+            switches.add(sw);
+            result.add(sw);
+        }
+        return result;
+    }
+
+    private void link(Switch first, Switch second) {
+        if (first.getSwitchId().equals(second.getSwitchId()) || !linkedPairs.add(getPairKey(first, second))) {
+            return;
+        }
+        int firstPort = allocatePort(first);
+        int secondPort = allocatePort(second);
+        int cost = 1 + random.nextInt(1000);
+        long latency = 1 + random.nextInt(10_000_000);
+        isls.add(buildIsl(first, firstPort, second, secondPort, cost, latency));
+        isls.add(buildIsl(second, secondPort, first, firstPort, cost, latency));
+    }
+
+    private Isl buildIsl(Switch src, int srcPort, Switch dst, int dstPort, int cost, long latency) {
+        Isl isl = Isl.builder()
+                .srcSwitch(src)
+                .srcPort(srcPort)
+                .destSwitch(dst)
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(latency)
+                .maxBandwidth(MAX_BANDWIDTH)
+                .availableBandwidth(1 + (long) (random.nextDouble() * MAX_BANDWIDTH))
+                .status(IslStatus.ACTIVE)
+                .actualStatus(IslStatus.ACTIVE)
+                .build();
+        isl.setIslConfig(ISL_CONFIG);
+        return isl;
+    }
+
+    private int allocatePort(Switch sw) {
+        return nextPorts.merge(sw.getSwitchId(), 1, Integer::sum);
+    }
+
+    private static String getPairKey(Switch first, Switch second) {
+        SwitchId firstId = first.getSwitchId();
+        SwitchId secondId = second.getSwitchId();
+        return firstId.compareTo(secondId) < 0 ? firstId + "-" + secondId : secondId + "-" + firstId;
+    }
+
+    public enum TopologyType {
+        FAT_TREE,
+        RING,
+        RANDOM_MESH,
+        MULTI_POP
+    }
+}
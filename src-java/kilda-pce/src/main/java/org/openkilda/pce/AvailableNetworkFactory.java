@@ -18,8 +18,10 @@ package org.openkilda.pce;
 import org.openkilda.model.Flow;
 import org.openkilda.model.Isl;
 import org.openkilda.model.PathId;
+import org.openkilda.model.SwitchId;
 import org.openkilda.pce.exception.RecoverableException;
 import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.impl.TopologySnapshot;
 import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -27,8 +29,10 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -40,11 +44,14 @@ public class AvailableNetworkFactory {
     private PathComputerConfig config;
     private IslRepository islRepository;
     private FlowPathRepository flowPathRepository;
+    private TopologySnapshot topologySnapshot;
 
     public AvailableNetworkFactory(PathComputerConfig config, RepositoryFactory repositoryFactory) {
         this.config = config;
         this.islRepository = repositoryFactory.createIslRepository();
         this.flowPathRepository = repositoryFactory.createFlowPathRepository();
+        this.topologySnapshot = new TopologySnapshot(islRepository,
+                Duration.ofSeconds(config.getNetworkSnapshotMaxAgeSeconds()));
     }
 
     /**
@@ -57,11 +64,9 @@ public class AvailableNetworkFactory {
     public AvailableNetwork getAvailableNetwork(Flow flow, List<PathId> reusePathsResources)
             throws RecoverableException {
         BuildStrategy buildStrategy = BuildStrategy.from(config.getNetworkStrategy());
-        AvailableNetwork network = new AvailableNetwork();
+        AvailableNetwork network;
         try {
-            // Reads all active links from the database and creates representation of the network.
-            Collection<Isl> links = getAvailableIsls(buildStrategy, flow);
-            links.forEach(network::addLink);
+            network = buildNetwork(buildStrategy, flow);
 
             if (!reusePathsResources.isEmpty() && !flow.isIgnoreBandwidth()) {
                 // ISLs occupied by the flow (take the bandwidth already occupied by the flow into account).
@@ -94,6 +99,68 @@ public class AvailableNetworkFactory {
         return network;
     }
 
+    /**
+     * Whether {@link AvailableNetwork} instances are built from the in-memory {@link TopologySnapshot} instead of
+     * reading the network from the database.
+     */
+    public boolean isTopologySnapshotUsed() {
+        return config.isNetworkSnapshotEnabled();
+    }
+
+    /**
+     * Reloads the {@link TopologySnapshot} from the database.
+     */
+    public void refreshTopologySnapshot() throws RecoverableException {
+        try {
+            topologySnapshot.refresh();
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+    }
+
+    /**
+     * Checks that the links of a path found in the {@link TopologySnapshot} are still active, unchanged and have the
+     * bandwidth required by the flow.
+     *
+     * @param flow                      the flow, for which the path is found.
+     * @param reusePathsResources       reuse resources already allocated by {@param reusePathsResources} paths.
+     * @param pathPair                  the path found in the {@link TopologySnapshot}.
+     */
+    public boolean isTopologySnapshotPathActual(Flow flow, List<PathId> reusePathsResources, PathPair pathPair)
+            throws RecoverableException {
+        try {
+            Collection<Isl> reusedLinks = reusePathsResources.isEmpty() || flow.isIgnoreBandwidth()
+                    ? Collections.emptyList()
+                    : islRepository.findActiveAndOccupiedByFlowPathWithAvailableBandwidth(
+                            reusePathsResources, flow.getBandwidth(), flow.getEncapsulationType());
+            return topologySnapshot.isPathActual(pathPair, flow.getBandwidth(), flow.isIgnoreBandwidth(),
+                    reusedLinks);
+        } catch (PersistenceException e) {
+            throw new RecoverableException("An error from neo4j", e);
+        }
+    }
+
+    /**
+     * Applies a committed change of ISL available bandwidth to the {@link TopologySnapshot}.
+     */
+    public void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        topologySnapshot.updateIslAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort, availableBandwidth);
+    }
+
+    private AvailableNetwork buildNetwork(BuildStrategy buildStrategy, Flow flow) {
+        if (isTopologySnapshotUsed()) {
+            return topologySnapshot.buildAvailableNetwork(flow.getBandwidth(), flow.isIgnoreBandwidth(),
+                    buildStrategy == BuildStrategy.SYMMETRIC_COST, flow.getEncapsulationType());
+        }
+
+        // Reads all active links from the database and creates representation of the network.
+        AvailableNetwork network = new AvailableNetwork();
+        Collection<Isl> links = getAvailableIsls(buildStrategy, flow);
+        links.forEach(network::addLink);
+        return network;
+    }
+
     private Collection<Isl> getAvailableIsls(BuildStrategy buildStrategy, Flow flow) {
         if (buildStrategy == BuildStrategy.COST) {
             Collection<Isl> isls = flow.isIgnoreBandwidth()
@@ -65,4 +65,12 @@ public interface PathComputer {
     List<Path> getNPaths(SwitchId srcSwitch, SwitchId dstSwitch, int count,
                          FlowEncapsulationType flowEncapsulationType, PathComputationStrategy pathComputationStrategy)
             throws RecoverableException, UnroutableFlowException;
+
+    /**
+     * Notifies about ISL available bandwidth change committed by the caller, so cached network representation (if any)
+     * can be updated without reading the whole network.
+     */
+    default void onIslAvailableBandwidthUpdate(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                               long availableBandwidth) {
+    }
 }
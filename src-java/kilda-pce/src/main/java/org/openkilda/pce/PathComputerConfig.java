@@ -44,10 +44,22 @@ public interface PathComputerConfig extends Serializable {
     @Default("100")
     int getDiversitySwitchCost();
 
+    @Key("path.finder")
+    @Default("BEST_WEIGHT_AND_SHORTEST")
+    String getPathFinder();
+
     @Key("network.strategy")
     @Default("COST")
     String getNetworkStrategy();
 
+    @Key("network.snapshot.enabled")
+    @Default("false")
+    boolean isNetworkSnapshotEnabled();
+
+    @Key("network.snapshot.max.age.seconds")
+    @Default("60")
+    int getNetworkSnapshotMaxAgeSeconds();
+
     @Key("isl.cost.when.unstable")
     @Default("10000")
     int getUnstableCostRaise();
@@ -16,6 +16,8 @@
 package org.openkilda.pce;
 
 import org.openkilda.pce.finder.BestWeightAndShortestPathFinder;
+import org.openkilda.pce.finder.DijkstraPathFinder;
+import org.openkilda.pce.finder.PathFinder;
 import org.openkilda.pce.impl.InMemoryPathComputer;
 
 /**
@@ -38,8 +40,38 @@ public class PathComputerFactory {
      * @return {@link PathComputer} instance
      */
     public PathComputer getPathComputer() {
-        return new InMemoryPathComputer(availableNetworkFactory,
-                new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth()),
-                config);
+        return new InMemoryPathComputer(availableNetworkFactory, getPathFinder(), config);
+    }
+
+    private PathFinder getPathFinder() {
+        PathFinderType pathFinderType = config.getPathFinder() != null
+                ? PathFinderType.from(config.getPathFinder()) : PathFinderType.BEST_WEIGHT_AND_SHORTEST;
+        switch (pathFinderType) {
+            case DIJKSTRA:
+                return new DijkstraPathFinder(config.getMaxAllowedDepth());
+            case BEST_WEIGHT_AND_SHORTEST:
+            default:
+                return new BestWeightAndShortestPathFinder(config.getMaxAllowedDepth());
+        }
+    }
+
+    public enum PathFinderType {
+        /**
+         * Breadth first search over the object graph, see {@link BestWeightAndShortestPathFinder}.
+         */
+        BEST_WEIGHT_AND_SHORTEST,
+
+        /**
+         * Heap based Dijkstra search over an array based graph, see {@link DijkstraPathFinder}.
+         */
+        DIJKSTRA;
+
+        private static PathFinderType from(String pathFinder) {
+            try {
+                return valueOf(pathFinder.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException(String.format("PathFinder %s is not supported", pathFinder));
+            }
+        }
     }
 }
@@ -0,0 +1,218 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Array based (compressed sparse row) copy of the part of a network which is reachable from the given switches.
+ * <p/>
+ * Nodes are addressed by int indexes. Outgoing edges of a node occupy a contiguous range of the edge arrays and are
+ * ordered by the destination switch. Edge weights are evaluated by the weight function only once and stored as a
+ * flattened vector per edge, so the search algorithms work with primitive arrays only.
+ */
+final class CompactGraph {
+    private static final Comparator<Edge> EDGE_ORDER = Comparator
+            .comparing((Edge edge) -> edge.getDestSwitch().getSwitchId())
+            .thenComparingInt(Edge::getSrcPort);
+
+    private final Node[] nodes;
+    private final Map<Node, Integer> indexes;
+    private final int[] offsets;
+    private final int[] sources;
+    private final int[] targets;
+    private final Edge[] edges;
+    private final long[] weights;
+    private final int dimension;
+
+    private CompactGraph(List<Node> nodes, Map<Node, Integer> indexes, int[] offsets, List<Edge> edges,
+                         WeightFunction weightFunction) {
+        this.nodes = nodes.toArray(new Node[0]);
+        this.indexes = indexes;
+        this.offsets = offsets;
+        this.edges = edges.toArray(new Edge[0]);
+
+        int edgeCount = this.edges.length;
+        sources = new int[edgeCount];
+        targets = new int[edgeCount];
+        for (int node = 0; node < this.nodes.length; node++) {
+            for (int edge = offsets[node]; edge < offsets[node + 1]; edge++) {
+                sources[edge] = node;
+                targets[edge] = indexes.get(this.edges[edge].getDestSwitch());
+            }
+        }
+
+        PathWeight[] edgeWeights = new PathWeight[edgeCount];
+        int maxSize = 1;
+        for (int edge = 0; edge < edgeCount; edge++) {
+            edgeWeights[edge] = weightFunction.apply(this.edges[edge]);
+            maxSize = Math.max(maxSize, edgeWeights[edge].size());
+        }
+        dimension = maxSize;
+        weights = new long[edgeCount * dimension];
+        for (int edge = 0; edge < edgeCount; edge++) {
+            for (int i = 0; i < dimension; i++) {
+                weights[edge * dimension + i] = edgeWeights[edge].get(i);
+            }
+        }
+    }
+
+    /**
+     * Builds the graph from the nodes reachable from the roots via outgoing links.
+     *
+     * @param weightFunction the function to evaluate edge weights.
+     * @param roots the nodes to start the graph traversal from.
+     * @return a new {@link CompactGraph} instance.
+     */
+    static CompactGraph of(WeightFunction weightFunction, Node... roots) {
+        List<Node> nodes = new ArrayList<>();
+        Map<Node, Integer> indexes = new HashMap<>();
+        for (Node root : roots) {
+            if (indexes.putIfAbsent(root, nodes.size()) == null) {
+                nodes.add(root);
+            }
+        }
+
+        List<Edge> edges = new ArrayList<>();
+        List<Integer> offsets = new ArrayList<>();
+        // The node list grows during the iteration, so it is a breadth first traversal.
+        for (int i = 0; i < nodes.size(); i++) {
+            offsets.add(edges.size());
+            List<Edge> outgoing = new ArrayList<>(nodes.get(i).getOutgoingLinks());
+            outgoing.sort(EDGE_ORDER);
+            for (Edge edge : outgoing) {
+                Node dest = edge.getDestSwitch();
+                if (indexes.putIfAbsent(dest, nodes.size()) == null) {
+                    nodes.add(dest);
+                }
+                edges.add(edge);
+            }
+        }
+        offsets.add(edges.size());
+
+        return new CompactGraph(nodes, indexes, offsets.stream().mapToInt(Integer::intValue).toArray(), edges,
+                weightFunction);
+    }
+
+    int getNodeCount() {
+        return nodes.length;
+    }
+
+    int getEdgeCount() {
+        return edges.length;
+    }
+
+    int getDimension() {
+        return dimension;
+    }
+
+    int indexOf(Node node) {
+        Integer index = indexes.get(node);
+        return index != null ? index : -1;
+    }
+
+    int getFirstEdge(int node) {
+        return offsets[node];
+    }
+
+    int getEdgesEnd(int node) {
+        return offsets[node + 1];
+    }
+
+    int getSource(int edge) {
+        return sources[edge];
+    }
+
+    int getTarget(int edge) {
+        return targets[edge];
+    }
+
+    long getWeight(int edge, int component) {
+        return weights[edge * dimension + component];
+    }
+
+    long getAvailableBandwidth(int edge) {
+        return edges[edge].getAvailableBandwidth();
+    }
+
+    /**
+     * Finds the edge going in the opposite direction through the same ports.
+     *
+     * @return the index of the opposite edge or -1 if there is no such edge.
+     */
+    int getOpposite(int edge) {
+        Edge original = edges[edge];
+        int source = sources[edge];
+        int target = targets[edge];
+        for (int candidate = offsets[target]; candidate < offsets[target + 1]; candidate++) {
+            if (targets[candidate] == source
+                    && edges[candidate].getSrcPort() == original.getDestPort()
+                    && edges[candidate].getDestPort() == original.getSrcPort()) {
+                return candidate;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Compares two paths starting from the same node by the switch ids of the nodes they go through, so ties between
+     * equal weight paths are resolved in the same order as the breadth first search over sorted links does.
+     */
+    int comparePaths(int[] first, int[] second) {
+        int limit = Math.min(first.length, second.length);
+        for (int i = 0; i < limit; i++) {
+            if (first[i] != second[i]) {
+                return compareEdges(first[i], second[i]);
+            }
+        }
+        return Integer.compare(first.length, second.length);
+    }
+
+    /**
+     * Orders edges by target switch id, then by index.
+     */
+    int compareEdges(int first, int second) {
+        int result = nodes[targets[first]].getSwitchId().compareTo(nodes[targets[second]].getSwitchId());
+        return result != 0 ? result : Integer.compare(first, second);
+    }
+
+    PathWeight getPathWeight(int[] path) {
+        long[] sum = new long[dimension];
+        for (int edge : path) {
+            for (int i = 0; i < dimension; i++) {
+                sum[i] += weights[edge * dimension + i];
+            }
+        }
+        return new PathWeight(sum);
+    }
+
+    List<Edge> toEdges(int[] path) {
+        List<Edge> result = new ArrayList<>(path.length);
+        for (int edge : path) {
+            result.add(edges[edge]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,706 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static java.lang.String.format;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.pce.model.WeightFunction;
+
+import com.google.common.collect.Lists;
+import lombok.EqualsAndHashCode;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.tuple.Pair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Path finder which works over an array based copy of the network ({@link CompactGraph}).
+ * <p/>
+ * The best path is found by Dijkstra's algorithm with a binary heap, ties in weight are resolved in favor of the path
+ * with fewer hops and then in favor of the path that goes through lower switch ids. Only if the best path is longer
+ * than the allowed depth, the hop-bounded search (Bellman-Ford over at most allowedDepth layers) is used to find the
+ * best path among the allowed ones.
+ * <p/>
+ * The search for a path closest to the max weight and the search for N best paths (Yen's algorithm) follow the
+ * semantics of {@link BestWeightAndShortestPathFinder}, but don't modify the network: removed nodes and edges are
+ * represented by masks.
+ */
+@Slf4j
+public class DijkstraPathFinder implements PathFinder {
+    private final int allowedDepth;
+
+    /**
+     * Constructs the finder with the specified limit on path depth.
+     *
+     * @param allowedDepth the allowed depth for a potential path.
+     */
+    public DijkstraPathFinder(int allowedDepth) {
+        this.allowedDepth = allowedDepth;
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                          SwitchId startSwitchId, SwitchId endSwitchId,
+                                                          WeightFunction weightFunction)
+            throws UnroutableFlowException {
+        Node start = network.getSwitch(startSwitchId);
+        Node end = network.getSwitch(endSwitchId);
+        checkEndpoints(start, end, startSwitchId, endSwitchId);
+
+        CompactGraph graph = CompactGraph.of(weightFunction, start, end);
+        int[] path = new Search(graph, allowedDepth).find(graph.indexOf(start), graph.indexOf(end));
+        List<Edge> forwardPath = path != null ? graph.toEdges(path) : Collections.emptyList();
+        return buildPathPair(start, end, forwardPath);
+    }
+
+    @Override
+    public Pair<List<Edge>, List<Edge>> findPathInNetwork(AvailableNetwork network,
+                                                          SwitchId startSwitchId, SwitchId endSwitchId,
+                                                          WeightFunction weightFunction, long maxWeight)
+            throws UnroutableFlowException {
+        Node start = network.getSwitch(startSwitchId);
+        Node end = network.getSwitch(endSwitchId);
+        checkEndpoints(start, end, startSwitchId, endSwitchId);
+
+        CompactGraph graph = CompactGraph.of(weightFunction, start, end);
+        int startIndex = graph.indexOf(start);
+        int endIndex = graph.indexOf(end);
+        int[] desiredPath = findDesiredPath(graph, startIndex, endIndex, maxWeight);
+        int[] desiredReversePath = findDesiredPath(graph, endIndex, startIndex, maxWeight);
+
+        List<Edge> forwardPath;
+        if (desiredReversePath != null && (desiredPath == null
+                || graph.getPathWeight(desiredReversePath).compareTo(graph.getPathWeight(desiredPath)) > 0)) {
+            forwardPath = getReversePath(start, end, graph.toEdges(desiredReversePath));
+        } else {
+            forwardPath = desiredPath != null ? graph.toEdges(desiredPath) : Collections.emptyList();
+        }
+        return buildPathPair(start, end, forwardPath);
+    }
+
+    /**
+     * Find N (or less) best paths. To find N paths Yen's algorithm is used.
+     *
+     * @return an list of N (or less) best paths.
+     */
+    @Override
+    public List<List<Edge>> findNPathsBetweenSwitches(
+            AvailableNetwork network, SwitchId startSwitchId, SwitchId endSwitchId, int count,
+            WeightFunction weightFunction) throws UnroutableFlowException {
+        Node start = network.getSwitch(startSwitchId);
+        Node end = network.getSwitch(endSwitchId);
+        checkEndpoints(start, end, startSwitchId, endSwitchId);
+
+        CompactGraph graph = CompactGraph.of(weightFunction, start, end);
+        Search search = new Search(graph, allowedDepth);
+        int endIndex = graph.indexOf(end);
+
+        // Determine the shortest path from the start to the end.
+        List<int[]> bestPaths = new ArrayList<>();
+        int[] shortestPath = search.find(graph.indexOf(start), endIndex);
+        bestPaths.add(shortestPath != null ? shortestPath : new int[0]);
+
+        // Initialize the set to store the potential kth shortest path.
+        Set<CandidatePath> potentialKthShortestPaths = new LinkedHashSet<>();
+        Set<CandidatePath> selectedPaths = new LinkedHashSet<>();
+
+        for (int k = 1; k < count; k++) {
+            int[] bestPath = bestPaths.get(k - 1);
+            for (int i = 0; i < bestPath.length; i++) {
+                // Spur node is retrieved from the previous k-shortest path.
+                int spurNode = graph.getSource(bestPath[i]);
+
+                // Mask the links that are part of the previous shortest paths which share the same root path.
+                for (int[] path : bestPaths) {
+                    if (path.length > i && isSamePrefix(path, bestPath, i)) {
+                        search.blockEdge(path[i]);
+                    }
+                }
+                // Mask the nodes of the root path (without spur node).
+                for (int j = 0; j < i; j++) {
+                    search.blockNode(graph.getSource(bestPath[j]));
+                }
+
+                // Calculate the spur path from the spur node to the end.
+                int[] pathFromSpurNode = search.find(spurNode, endIndex);
+                if (pathFromSpurNode != null) {
+                    // Entire path is made up of the root path and spur path.
+                    int[] totalPath = Arrays.copyOf(bestPath, i + pathFromSpurNode.length);
+                    System.arraycopy(pathFromSpurNode, 0, totalPath, i, pathFromSpurNode.length);
+                    potentialKthShortestPaths.add(new CandidatePath(graph, totalPath));
+                }
+
+                search.clearBlocked();
+            }
+
+            // The lowest weight path becomes the k-shortest path.
+            CandidatePath newBestPath = getBestPotentialKthShortestPath(potentialKthShortestPaths, selectedPaths);
+            if (newBestPath == null) {
+                break;
+            }
+            potentialKthShortestPaths.remove(newBestPath);
+            selectedPaths.add(newBestPath);
+            bestPaths.add(newBestPath.edges);
+        }
+
+        return bestPaths.stream()
+                .map(graph::toEdges)
+                .collect(Collectors.toList());
+    }
+
+    private CandidatePath getBestPotentialKthShortestPath(Set<CandidatePath> potentialKthShortestPaths,
+                                                          Set<CandidatePath> selectedPaths) {
+        CandidatePath bestKthShortestPath = null;
+        for (CandidatePath path : potentialKthShortestPaths) {
+            if (selectedPaths.contains(path)) {
+                continue;
+            }
+            if (bestKthShortestPath == null
+                    || path.minAvailableBandwidth > bestKthShortestPath.minAvailableBandwidth
+                    || (path.minAvailableBandwidth == bestKthShortestPath.minAvailableBandwidth
+                    && path.compareTo(bestKthShortestPath) < 0)) {
+                bestKthShortestPath = path;
+            }
+        }
+        return bestKthShortestPath;
+    }
+
+    private static boolean isSamePrefix(int[] first, int[] second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void checkEndpoints(Node start, Node end, SwitchId startSwitchId, SwitchId endSwitchId)
+            throws UnroutableFlowException {
+        if (start == null || end == null) {
+            throw new UnroutableFlowException(format("Switch %s doesn't have links with enough bandwidth",
+                    start == null ? startSwitchId : endSwitchId));
+        }
+    }
+
+    private Pair<List<Edge>, List<Edge>> buildPathPair(Node start, Node end, List<Edge> forwardPath)
+            throws UnroutableFlowException {
+        if (forwardPath.isEmpty()) {
+            throw new UnroutableFlowException(format("Can't find a path from %s to %s", start, end));
+        }
+
+        List<Edge> reversePath = getReversePath(end, start, forwardPath);
+        if (reversePath.isEmpty()) {
+            throw new UnroutableFlowException(format("Can't find a reverse path from %s to %s. Forward path : %s",
+                    end, start, StringUtils.join(forwardPath, ", ")));
+        }
+
+        return Pair.of(forwardPath, reversePath);
+    }
+
+    /**
+     * Builds the reverse path by swapping the edges of the forward path and checks that the swapped edges exist.
+     */
+    private List<Edge> getReversePath(Node src, Node dst, List<Edge> forwardPath) {
+        List<Edge> reversePath = Lists.reverse(forwardPath).stream()
+                .map(Edge::swap)
+                .collect(Collectors.toList());
+
+        if (src.equals(reversePath.get(0).getSrcSwitch())
+                && dst.equals(reversePath.get(reversePath.size() - 1).getDestSwitch())) {
+            if (reversePath.stream().allMatch(edge -> edge.getSrcSwitch().getOutgoingLinks().contains(edge))) {
+                log.debug("Reverse path is available from {} to {}", src.getSwitchId(), dst.getSwitchId());
+            } else {
+                log.warn(format("Failed to find symmetric reverse path from %s to %s. Forward path: %s",
+                        src.getSwitchId(), dst.getSwitchId(), StringUtils.join(forwardPath, ", ")));
+            }
+        }
+        return reversePath;
+    }
+
+    /**
+     * Finds a path whose weight is less than maxWeight and as close to maxWeight as possible. The traversal order and
+     * pruning rules are the same as in {@link BestWeightAndShortestPathFinder}, the search tree is kept in primitive
+     * arrays.
+     *
+     * @return the edge indexes of the desired path, or null
+     */
+    private int[] findDesiredPath(CompactGraph graph, int start, int end, long maxWeight) {
+        long desiredWeight = Long.MAX_VALUE;
+        int desiredPath = -1;
+
+        SearchTree tree = new SearchTree();
+        int[] visited = new int[graph.getNodeCount()];
+        Arrays.fill(visited, -1);
+
+        tree.add(start, 0, allowedDepth, -1, -1);
+        // The tree entries are appended in the order of discovery, so walking them is a breadth first traversal.
+        for (int current = 0; current < tree.size; current++) {
+            int node = tree.nodes[current];
+            long weight = tree.weights[current];
+
+            // Leave if the path contains this node
+            if (tree.containsNode(tree.parents[current], node)) {
+                continue;
+            }
+
+            // Shift the current weight relative to maxWeight
+            long shiftedCurrentWeight = Math.abs(maxWeight - weight);
+
+            if (node == end) {
+                if (shiftedCurrentWeight < desiredWeight && weight < maxWeight) {
+                    desiredWeight = shiftedCurrentWeight;
+                    desiredPath = current;
+                }
+                continue;
+            }
+
+            // Stop processing if we've gone too far, or over maxWeight
+            if (tree.depths[current] <= 0 || weight >= maxWeight) {
+                continue;
+            }
+
+            // If we've been here before, see if this path is better
+            int prior = visited[node];
+            if (prior >= 0 && shiftedCurrentWeight >= Math.abs(maxWeight - tree.weights[prior])) {
+                continue;
+            }
+            visited[node] = current;
+
+            for (int edge = graph.getFirstEdge(node); edge < graph.getEdgesEnd(node); edge++) {
+                tree.add(graph.getTarget(edge), weight + graph.getWeight(edge, 0), tree.depths[current] - 1,
+                        current, edge);
+            }
+        }
+
+        return desiredPath >= 0 ? tree.getPath(desiredPath) : null;
+    }
+
+    /**
+     * Shortest path search state. The arrays are allocated once per graph and reused by subsequent searches.
+     */
+    private static final class Search {
+        private final CompactGraph graph;
+        private final int allowedDepth;
+        private final int dimension;
+
+        private final long[] distances;
+        private final int[] hops;
+        private final int[] parentEdges;
+        private final boolean[] reached;
+        private final boolean[] settled;
+        private final int[] heap;
+        private final int[] heapPositions;
+        private final long[] candidate;
+        private int heapSize;
+
+        private final boolean[] blockedNodes;
+        private final boolean[] blockedEdges;
+        private final List<Integer> blockedNodeList = new ArrayList<>();
+        private final List<Integer> blockedEdgeList = new ArrayList<>();
+
+        Search(CompactGraph graph, int allowedDepth) {
+            this.graph = graph;
+            this.allowedDepth = allowedDepth;
+            this.dimension = graph.getDimension();
+
+            int nodeCount = graph.getNodeCount();
+            distances = new long[nodeCount * dimension];
+            hops = new int[nodeCount];
+            parentEdges = new int[nodeCount];
+            reached = new boolean[nodeCount];
+            settled = new boolean[nodeCount];
+            heap = new int[nodeCount];
+            heapPositions = new int[nodeCount];
+            candidate = new long[dimension];
+
+            blockedNodes = new boolean[nodeCount];
+            blockedEdges = new boolean[graph.getEdgeCount()];
+        }
+
+        void blockNode(int node) {
+            if (!blockedNodes[node]) {
+                blockedNodes[node] = true;
+                blockedNodeList.add(node);
+            }
+        }
+
+        /**
+         * Masks the edge and the opposite one.
+         */
+        void blockEdge(int edge) {
+            doBlockEdge(edge);
+            int opposite = graph.getOpposite(edge);
+            if (opposite >= 0) {
+                doBlockEdge(opposite);
+            }
+        }
+
+        private void doBlockEdge(int edge) {
+            if (!blockedEdges[edge]) {
+                blockedEdges[edge] = true;
+                blockedEdgeList.add(edge);
+            }
+        }
+
+        void clearBlocked() {
+            blockedNodeList.forEach(node -> blockedNodes[node] = false);
+            blockedNodeList.clear();
+            blockedEdgeList.forEach(edge -> blockedEdges[edge] = false);
+            blockedEdgeList.clear();
+        }
+
+        /**
+         * Finds the best path which is not longer than the allowed depth.
+         *
+         * @return the edge indexes of the path, or null if there is no path.
+         */
+        int[] find(int start, int end) {
+            Arrays.fill(reached, false);
+            Arrays.fill(settled, false);
+            heapSize = 0;
+
+            Arrays.fill(distances, start * dimension, (start + 1) * dimension, 0L);
+            hops[start] = 0;
+            parentEdges[start] = -1;
+            reached[start] = true;
+            push(start);
+
+            while (heapSize > 0) {
+                int node = pop();
+                settled[node] = true;
+                if (node == end) {
+                    break;
+                }
+
+                for (int edge = graph.getFirstEdge(node); edge < graph.getEdgesEnd(node); edge++) {
+                    int target = graph.getTarget(edge);
+                    if (blockedEdges[edge] || blockedNodes[target] || settled[target]) {
+                        continue;
+                    }
+                    for (int i = 0; i < dimension; i++) {
+                        candidate[i] = distances[node * dimension + i] + graph.getWeight(edge, i);
+                    }
+                    int candidateHops = hops[node] + 1;
+                    if (!reached[target] || isBetter(candidate, candidateHops, edge, target)) {
+                        System.arraycopy(candidate, 0, distances, target * dimension, dimension);
+                        hops[target] = candidateHops;
+                        parentEdges[target] = edge;
+                        if (reached[target]) {
+                            siftUp(heapPositions[target]);
+                        } else {
+                            reached[target] = true;
+                            push(target);
+                        }
+                    }
+                }
+            }
+
+            if (!reached[end]) {
+                return null;
+            }
+            if (hops[end] <= allowedDepth) {
+                return tracePath(end, 0);
+            }
+            // The best path is too long, look for the best one among the paths that fit the depth limit.
+            return findHopLimited(start, end);
+        }
+
+        private int[] tracePath(int end, int reserved) {
+            int[] path = new int[hops[end] + reserved];
+            int node = end;
+            for (int i = hops[end] - 1; i >= 0; i--) {
+                path[i] = parentEdges[node];
+                node = graph.getSource(path[i]);
+            }
+            return path;
+        }
+
+        /**
+         * Bellman-Ford over at most allowedDepth layers. Layer h holds the best walks of exactly h hops, the walk to
+         * the end is only replaced by a strictly better one, so a shorter walk wins ties and the result is a simple
+         * path.
+         */
+        private int[] findHopLimited(int start, int end) {
+            int nodeCount = graph.getNodeCount();
+            long[] previousDistances = new long[nodeCount * dimension];
+            long[] currentDistances = new long[nodeCount * dimension];
+            boolean[] previousReached = new boolean[nodeCount];
+            boolean[] currentReached = new boolean[nodeCount];
+            int[] layerParents = new int[(allowedDepth + 1) * nodeCount];
+            long[] bestDistance = new long[dimension];
+            int bestHops = -1;
+
+            previousReached[start] = true;
+            for (int layer = 1; layer <= allowedDepth; layer++) {
+                Arrays.fill(currentReached, false);
+                boolean anyReached = false;
+                for (int node = 0; node < nodeCount; node++) {
+                    if (!previousReached[node] || node == end) {
+                        continue;
+                    }
+                    for (int edge = graph.getFirstEdge(node); edge < graph.getEdgesEnd(node); edge++) {
+                        int target = graph.getTarget(edge);
+                        if (blockedEdges[edge] || blockedNodes[target] || target == start) {
+                            continue;
+                        }
+                        for (int i = 0; i < dimension; i++) {
+                            candidate[i] = previousDistances[node * dimension + i] + graph.getWeight(edge, i);
+                        }
+                        if (!currentReached[target]
+                                || compare(candidate, 0, currentDistances, target * dimension) < 0) {
+                            System.arraycopy(candidate, 0, currentDistances, target * dimension, dimension);
+                            currentReached[target] = true;
+                            layerParents[layer * nodeCount + target] = edge;
+                            anyReached = true;
+                        }
+                    }
+                }
+                if (!anyReached) {
+                    break;
+                }
+                if (currentReached[end]
+                        && (bestHops < 0 || compare(currentDistances, end * dimension, bestDistance, 0) < 0)) {
+                    System.arraycopy(currentDistances, end * dimension, bestDistance, 0, dimension);
+                    bestHops = layer;
+                }
+
+                long[] swapDistances = previousDistances;
+                previousDistances = currentDistances;
+                currentDistances = swapDistances;
+                boolean[] swapReached = previousReached;
+                previousReached = currentReached;
+                currentReached = swapReached;
+            }
+
+            if (bestHops < 0) {
+                return null;
+            }
+            int[] path = new int[bestHops];
+            int node = end;
+            for (int layer = bestHops; layer > 0; layer--) {
+                path[layer - 1] = layerParents[layer * nodeCount + node];
+                node = graph.getSource(path[layer - 1]);
+            }
+            return path;
+        }
+
+        private boolean isBetter(long[] weight, int weightHops, int edge, int node) {
+            int result = compare(weight, 0, distances, node * dimension);
+            if (result == 0) {
+                result = Integer.compare(weightHops, hops[node]);
+            }
+            if (result == 0) {
+                result = compareTiedPaths(edge, node);
+            }
+            return result < 0;
+        }
+
+        /**
+         * Compares the path over the edge with the current path to the node, the same way as
+         * {@link CompactGraph#comparePaths} does, without tracing them. Both paths have the same number of hops, so
+         * they are walked back in parallel up to the first common node, the earliest difference decides.
+         */
+        private int compareTiedPaths(int edge, int node) {
+            int result = 0;
+            int first = edge;
+            int second = parentEdges[node];
+            while (first != second) {
+                int difference = graph.compareEdges(first, second);
+                if (difference != 0) {
+                    result = difference;
+                }
+                int firstSource = graph.getSource(first);
+                int secondSource = graph.getSource(second);
+                if (firstSource == secondSource) {
+                    break;
+                }
+                first = parentEdges[firstSource];
+                second = parentEdges[secondSource];
+            }
+            return result;
+        }
+
+        private int compare(long[] first, int firstOffset, long[] second, int secondOffset) {
+            for (int i = 0; i < dimension; i++) {
+                int result = Long.compare(first[firstOffset + i], second[secondOffset + i]);
+                if (result != 0) {
+                    return result;
+                }
+            }
+            return 0;
+        }
+
+        private boolean isLess(int first, int second) {
+            int result = compare(distances, first * dimension, distances, second * dimension);
+            if (result == 0) {
+                result = Integer.compare(hops[first], hops[second]);
+            }
+            return result != 0 ? result < 0 : first < second;
+        }
+
+        private void push(int node) {
+            heap[heapSize] = node;
+            heapPositions[node] = heapSize;
+            heapSize++;
+            siftUp(heapSize - 1);
+        }
+
+        private int pop() {
+            int top = heap[0];
+            heapSize--;
+            if (heapSize > 0) {
+                heap[0] = heap[heapSize];
+                heapPositions[heap[0]] = 0;
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int position) {
+            int node = heap[position];
+            while (position > 0) {
+                int parent = (position - 1) / 2;
+                if (!isLess(node, heap[parent])) {
+                    break;
+                }
+                heap[position] = heap[parent];
+                heapPositions[heap[position]] = position;
+                position = parent;
+            }
+            heap[position] = node;
+            heapPositions[node] = position;
+        }
+
+        private void siftDown(int position) {
+            int node = heap[position];
+            while (true) {
+                int child = 2 * position + 1;
+                if (child >= heapSize) {
+                    break;
+                }
+                if (child + 1 < heapSize && isLess(heap[child + 1], heap[child])) {
+                    child++;
+                }
+                if (!isLess(heap[child], node)) {
+                    break;
+                }
+                heap[position] = heap[child];
+                heapPositions[heap[position]] = position;
+                position = child;
+            }
+            heap[position] = node;
+            heapPositions[node] = position;
+        }
+    }
+
+    /**
+     * Growable search tree for {@link #findDesiredPath}. Each entry is a path prefix identified by its last node and
+     * the parent entry.
+     */
+    private static final class SearchTree {
+        private int[] nodes = new int[64];
+        private long[] weights = new long[64];
+        private int[] depths = new int[64];
+        private int[] parents = new int[64];
+        private int[] edges = new int[64];
+        private int size;
+
+        void add(int node, long weight, int depth, int parent, int edge) {
+            if (size == nodes.length) {
+                int capacity = size * 2;
+                nodes = Arrays.copyOf(nodes, capacity);
+                weights = Arrays.copyOf(weights, capacity);
+                depths = Arrays.copyOf(depths, capacity);
+                parents = Arrays.copyOf(parents, capacity);
+                edges = Arrays.copyOf(edges, capacity);
+            }
+            nodes[size] = node;
+            weights[size] = weight;
+            depths[size] = depth;
+            parents[size] = parent;
+            edges[size] = edge;
+            size++;
+        }
+
+        boolean containsNode(int entry, int node) {
+            for (int current = entry; current >= 0; current = parents[current]) {
+                if (nodes[current] == node) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        int[] getPath(int entry) {
+            int length = 0;
+            for (int current = entry; parents[current] >= 0; current = parents[current]) {
+                length++;
+            }
+            int[] path = new int[length];
+            int current = entry;
+            for (int i = length - 1; i >= 0; i--) {
+                path[i] = edges[current];
+                current = parents[current];
+            }
+            return path;
+        }
+    }
+
+    @EqualsAndHashCode(of = "edges")
+    private static final class CandidatePath implements Comparable<CandidatePath> {
+        private final CompactGraph graph;
+        private final int[] edges;
+        private final long minAvailableBandwidth;
+        private final long totalWeight;
+
+        CandidatePath(CompactGraph graph, int[] edges) {
+            this.graph = graph;
+            this.edges = edges;
+            long minBandwidth = Long.MAX_VALUE;
+            long weight = 0;
+            for (int edge : edges) {
+                minBandwidth = Math.min(minBandwidth, graph.getAvailableBandwidth(edge));
+                weight += graph.getWeight(edge, 0);
+            }
+            this.minAvailableBandwidth = edges.length > 0 ? minBandwidth : Long.MIN_VALUE;
+            this.totalWeight = edges.length > 0 ? weight : Long.MAX_VALUE;
+        }
+
+        /**
+         * Orders paths by total weight, then by number of hops, then by switch ids.
+         */
+        @Override
+        public int compareTo(CandidatePath other) {
+            int result = Long.compare(totalWeight, other.totalWeight);
+            if (result == 0) {
+                result = Integer.compare(edges.length, other.edges.length);
+            }
+            return result != 0 ? result : graph.comparePaths(edges, other.edges);
+        }
+    }
+}
@@ -36,6 +36,7 @@ import org.openkilda.pce.model.Edge;
 import org.openkilda.pce.model.PathWeight;
 import org.openkilda.pce.model.WeightFunction;
 
+import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.commons.lang3.tuple.Pair;
 
@@ -66,6 +67,24 @@ public class InMemoryPathComputer implements PathComputer {
     @Override
     public PathPair getPath(Flow flow, List<PathId> reusePathsResources)
             throws UnroutableFlowException, RecoverableException {
+        if (!availableNetworkFactory.isTopologySnapshotUsed()) {
+            return getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
+        }
+
+        // The topology snapshot may be outdated, so a failure or a path over changed links gets another try on
+        // the actual network state.
+        try {
+            PathPair pathPair = getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
+            if (availableNetworkFactory.isTopologySnapshotPathActual(flow, reusePathsResources, pathPair)) {
+                return pathPair;
+            }
+            log.info("Path found for flow {} in the topology snapshot goes over outdated links, "
+                    + "reloading the snapshot", flow.getFlowId());
+        } catch (UnroutableFlowException e) {
+            log.info("Failed to find a path for flow {} in the topology snapshot, reloading the snapshot",
+                    flow.getFlowId());
+        }
+        availableNetworkFactory.refreshTopologySnapshot();
         return getPath(availableNetworkFactory.getAvailableNetwork(flow, reusePathsResources), flow);
     }
 
@@ -146,7 +165,15 @@ public class InMemoryPathComputer implements PathComputer {
                 .collect(Collectors.toList());
     }
 
-    private WeightFunction getWeightFunctionByStrategy(PathComputationStrategy strategy) {
+    @Override
+    public void onIslAvailableBandwidthUpdate(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                              long availableBandwidth) {
+        availableNetworkFactory.updateIslAvailableBandwidth(srcSwitchId, srcPort, dstSwitchId, dstPort,
+                availableBandwidth);
+    }
+
+    @VisibleForTesting
+    WeightFunction getWeightFunctionByStrategy(PathComputationStrategy strategy) {
         switch (strategy) {
             case COST:
                 return this::weightByCost;
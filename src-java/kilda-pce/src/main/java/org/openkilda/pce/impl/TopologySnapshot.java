@@ -0,0 +1,290 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathPair;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import lombok.NonNull;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.Collectors;
+
+/**
+ * Long-living in-memory copy of the active network links. The snapshot is loaded from the database once and then kept
+ * up to date by applying the available bandwidth changes committed by the owner, so building an
+ * {@link AvailableNetwork} for a path request doesn't require a full network read.
+ * <p/>
+ * Each stored link is an immutable detached {@link Isl} copy, a delta replaces the stored copy. The
+ * {@link AvailableNetwork} produced by {@link #buildAvailableNetwork} is a private view for one request, so it can be
+ * freely modified by the path computation.
+ * <p/>
+ * The snapshot is reloaded from the database when it becomes older than the configured max age. ISL status and cost
+ * changes are made by other topologies and other workers reserve bandwidth as well, so a path found in the snapshot
+ * must be checked with {@link #isPathActual} before use.
+ */
+@Slf4j
+public class TopologySnapshot {
+    private final IslRepository islRepository;
+    private final Duration maxAge;
+    private final Clock clock;
+
+    private final AtomicLong version = new AtomicLong();
+
+    private volatile Map<LinkKey, Link> links = new ConcurrentHashMap<>();
+    private volatile Instant loadedAt;
+
+    public TopologySnapshot(IslRepository islRepository, Duration maxAge) {
+        this(islRepository, maxAge, Clock.systemUTC());
+    }
+
+    TopologySnapshot(IslRepository islRepository, Duration maxAge, Clock clock) {
+        this.islRepository = islRepository;
+        this.maxAge = maxAge;
+        this.clock = clock;
+    }
+
+    /**
+     * Builds a new {@link AvailableNetwork} from the links of the snapshot that satisfy the requested bandwidth and
+     * encapsulation type.
+     *
+     * @param requiredBandwidth the bandwidth that must be available on a link.
+     * @param ignoreBandwidth whether available bandwidth should be checked or not.
+     * @param symmetric whether the opposite link must satisfy the bandwidth requirement as well.
+     * @param encapsulationType the encapsulation type that must be supported by both link endpoints.
+     * @return a new {@link AvailableNetwork} instance.
+     */
+    public AvailableNetwork buildAvailableNetwork(long requiredBandwidth, boolean ignoreBandwidth, boolean symmetric,
+                                                  FlowEncapsulationType encapsulationType) {
+        Map<LinkKey, Link> current = getActualLinks();
+
+        AvailableNetwork network = new AvailableNetwork();
+        for (Link link : current.values()) {
+            if (!link.getEncapsulationTypes().contains(encapsulationType)) {
+                continue;
+            }
+            if (!ignoreBandwidth) {
+                if (link.getIsl().getAvailableBandwidth() < requiredBandwidth) {
+                    continue;
+                }
+                if (symmetric) {
+                    Link opposite = current.get(link.getKey().reverse());
+                    if (opposite == null || opposite.getIsl().getAvailableBandwidth() < requiredBandwidth) {
+                        continue;
+                    }
+                }
+            }
+            network.addLink(link.getIsl());
+        }
+        return network;
+    }
+
+    /**
+     * Reloads the snapshot from the database.
+     */
+    public synchronized void refresh() {
+        Map<LinkKey, Link> loaded = new HashMap<>();
+        for (FlowEncapsulationType encapsulationType : FlowEncapsulationType.values()) {
+            for (Isl isl : islRepository.findAllActiveByEncapsulationType(encapsulationType)) {
+                LinkKey key = LinkKey.of(isl);
+                Link link = loaded.get(key);
+                if (link == null) {
+                    link = new Link(key, detach(isl), EnumSet.noneOf(FlowEncapsulationType.class));
+                    loaded.put(key, link);
+                }
+                link.getEncapsulationTypes().add(encapsulationType);
+            }
+        }
+
+        links = new ConcurrentHashMap<>(loaded);
+        loadedAt = clock.instant();
+        long newVersion = version.incrementAndGet();
+        log.debug("Topology snapshot has been reloaded: {} links, version {}", loaded.size(), newVersion);
+    }
+
+    /**
+     * Applies a committed change of ISL available bandwidth.
+     */
+    public void updateIslAvailableBandwidth(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort,
+                                            long availableBandwidth) {
+        updateLink(new LinkKey(srcSwitchId, srcPort, dstSwitchId, dstPort),
+                isl -> isl.toBuilder().availableBandwidth(availableBandwidth).build());
+    }
+
+    /**
+     * Checks the links of the path against the database, all of them are read at once. Each link must still be active,
+     * have the same cost and maintenance flag as in the snapshot and the requested bandwidth available.
+     *
+     * @param pathPair the path found in the snapshot.
+     * @param requiredBandwidth the bandwidth that must be available on a link.
+     * @param ignoreBandwidth whether available bandwidth should be checked or not.
+     * @param reusedLinks the links occupied by the paths being replaced, which are known to have enough bandwidth.
+     * @return false if any link of the path is outdated in the snapshot.
+     */
+    public boolean isPathActual(PathPair pathPair, long requiredBandwidth, boolean ignoreBandwidth,
+                                Collection<Isl> reusedLinks) {
+        Set<LinkKey> pathLinks = new HashSet<>();
+        for (Path path : Arrays.asList(pathPair.getForward(), pathPair.getReverse())) {
+            for (Path.Segment segment : path.getSegments()) {
+                pathLinks.add(LinkKey.of(segment));
+            }
+        }
+        if (pathLinks.isEmpty()) {
+            return true;
+        }
+
+        Set<SwitchId> srcSwitchIds = pathLinks.stream()
+                .map(LinkKey::getSrcSwitchId)
+                .collect(Collectors.toSet());
+        Map<LinkKey, Isl> actualLinks = new HashMap<>();
+        for (Isl isl : islRepository.findBySrcSwitches(srcSwitchIds)) {
+            actualLinks.put(LinkKey.of(isl), isl);
+        }
+        Set<LinkKey> reusedLinkKeys = reusedLinks.stream()
+                .map(LinkKey::of)
+                .collect(Collectors.toSet());
+
+        for (LinkKey key : pathLinks) {
+            boolean checkBandwidth = !ignoreBandwidth && !reusedLinkKeys.contains(key);
+            if (!isLinkActual(key, actualLinks.get(key), checkBandwidth, requiredBandwidth)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public long getVersion() {
+        return version.get();
+    }
+
+    public int size() {
+        return links.size();
+    }
+
+    private void updateLink(LinkKey key, UnaryOperator<Isl> update) {
+        Link updated = links.computeIfPresent(key, (k, link) -> {
+            Isl isl = update.apply(link.getIsl());
+            isl.setIslConfig(link.getIsl().getIslConfig());
+            return link.withIsl(isl);
+        });
+        if (updated != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    private boolean isLinkActual(LinkKey key, Isl isl, boolean checkBandwidth, long requiredBandwidth) {
+        Link link = links.get(key);
+        if (link == null || isl == null) {
+            log.debug("Link {} of the topology snapshot doesn't exist anymore", key);
+            return false;
+        }
+        Isl stored = link.getIsl();
+        if (isl.getStatus() != IslStatus.ACTIVE || isl.getCost() != stored.getCost()
+                || isl.isUnderMaintenance() != stored.isUnderMaintenance()) {
+            log.debug("Link {} of the topology snapshot is outdated: status {}, cost {}", key, isl.getStatus(),
+                    isl.getCost());
+            return false;
+        }
+        if (checkBandwidth && isl.getAvailableBandwidth() < requiredBandwidth) {
+            log.debug("Link {} of the topology snapshot has not enough available bandwidth: {}", key,
+                    isl.getAvailableBandwidth());
+            return false;
+        }
+        return true;
+    }
+
+    private Map<LinkKey, Link> getActualLinks() {
+        Instant loaded = loadedAt;
+        if (loaded == null || loaded.plus(maxAge).isBefore(clock.instant())) {
+            refresh();
+        }
+        return links;
+    }
+
+    /**
+     * Makes an ISL copy, which is not bound to the persistence session.
+     */
+    private static Isl detach(Isl isl) {
+        Isl copy = isl.toBuilder()
+                .srcSwitch(detach(isl.getSrcSwitch()))
+                .destSwitch(detach(isl.getDestSwitch()))
+                .build();
+        copy.setIslConfig(isl.getIslConfig());
+        return copy;
+    }
+
+    private static Switch detach(Switch sw) {
+        return Switch.builder()
+                .switchId(sw.getSwitchId())
+                .pop(sw.getPop())
+                .build();
+    }
+
+    @Value
+    private static class Link {
+        LinkKey key;
+        Isl isl;
+        Set<FlowEncapsulationType> encapsulationTypes;
+
+        Link withIsl(Isl isl) {
+            return new Link(key, isl, encapsulationTypes);
+        }
+    }
+
+    @Value
+    private static class LinkKey {
+        @NonNull
+        SwitchId srcSwitchId;
+        int srcPort;
+        @NonNull
+        SwitchId dstSwitchId;
+        int dstPort;
+
+        static LinkKey of(Isl isl) {
+            return new LinkKey(isl.getSrcSwitch().getSwitchId(), isl.getSrcPort(),
+                    isl.getDestSwitch().getSwitchId(), isl.getDestPort());
+        }
+
+        static LinkKey of(Path.Segment segment) {
+            return new LinkKey(segment.getSrcSwitchId(), segment.getSrcPort(),
+                    segment.getDestSwitchId(), segment.getDestPort());
+        }
+
+        LinkKey reverse() {
+            return new LinkKey(dstSwitchId, dstPort, srcSwitchId, srcPort);
+        }
+    }
+}
@@ -62,6 +62,23 @@ public class PathWeight implements Comparable<PathWeight> {
         return params.size() > 0 ? params.get(0) : 0;
     }
 
+    /**
+     * Number of params in the weight vector.
+     * @return vector size.
+     */
+    public int size() {
+        return params.size();
+    }
+
+    /**
+     * Get a single param of the weight vector.
+     * @param index param position.
+     * @return param value or 0 if vector doesn't have such param.
+     */
+    public long get(int index) {
+        return index < params.size() ? params.get(index) : 0;
+    }
+
     @Override
     public int compareTo(PathWeight o) {
         int firstSize = params.size();
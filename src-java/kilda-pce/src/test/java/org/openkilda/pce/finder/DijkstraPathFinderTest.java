@@ -0,0 +1,352 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.finder;
+
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.exception.UnroutableFlowException;
+import org.openkilda.pce.impl.AvailableNetwork;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.PathWeight;
+import org.openkilda.pce.model.WeightFunction;
+
+import com.google.common.collect.Lists;
+import org.apache.commons.lang3.tuple.Pair;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+
+public class DijkstraPathFinderTest {
+    private static final int ALLOWED_DEPTH = 35;
+    private static final WeightFunction WEIGHT_FUNCTION = edge -> new PathWeight(edge.getCost());
+
+    private static final SwitchId SWITCH_ID_1 = new SwitchId("00:00:00:00:00:00:00:01");
+    private static final SwitchId SWITCH_ID_2 = new SwitchId("00:00:00:00:00:00:00:02");
+    private static final SwitchId SWITCH_ID_3 = new SwitchId("00:00:00:00:00:00:00:03");
+    private static final SwitchId SWITCH_ID_4 = new SwitchId("00:00:00:00:00:00:00:04");
+    private static final SwitchId SWITCH_ID_5 = new SwitchId("00:00:00:00:00:00:00:05");
+    private static final SwitchId SWITCH_ID_6 = new SwitchId("00:00:00:00:00:00:00:06");
+
+    @Test
+    public void shouldChooseExpensiveOverTooDeep() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(2);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4), getInvolvedSwitches(pairPath.getLeft()));
+        assertEquals(Arrays.asList(SWITCH_ID_4, SWITCH_ID_2, SWITCH_ID_1), getInvolvedSwitches(pairPath.getRight()));
+    }
+
+    @Test
+    public void shouldChooseDeeperOverExpensive() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(4);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_3, SWITCH_ID_5, SWITCH_ID_4),
+                getInvolvedSwitches(pairPath.getLeft()));
+        assertEquals(Arrays.asList(SWITCH_ID_4, SWITCH_ID_5, SWITCH_ID_3, SWITCH_ID_2, SWITCH_ID_1),
+                getInvolvedSwitches(pairPath.getRight()));
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailWhenPathIsLongerThenAllowedDepth() throws UnroutableFlowException {
+        AvailableNetwork network = buildLongAndExpensivePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(1);
+        pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_4, WEIGHT_FUNCTION);
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void failToFindASwitch() throws UnroutableFlowException {
+        AvailableNetwork network = buildThreePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_6, WEIGHT_FUNCTION);
+    }
+
+    @Test
+    public void shouldPreferFewerHopsWhenWeightIsEqual() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_6, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_5, 2, 1, 150);
+        addBidirectionalLink(network, SWITCH_ID_5, SWITCH_ID_6, 2, 2, 150);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_6, WEIGHT_FUNCTION);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_5, SWITCH_ID_6), getInvolvedSwitches(pairPath.getLeft()));
+    }
+
+    @Test
+    public void shouldPreferLowerSwitchIdsWhenWeightAndDepthAreEqual() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_4, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_6, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 2, 1, 150);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_6, 2, 2, 50);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_6, WEIGHT_FUNCTION);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_6), getInvolvedSwitches(pairPath.getLeft()));
+    }
+
+    @Test
+    public void shouldResolveTieByEarliestDifferentSwitch() throws UnroutableFlowException {
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_6, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_5, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_5, SWITCH_ID_6, 2, 2, 100);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_6, WEIGHT_FUNCTION);
+
+        assertEquals(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_5, SWITCH_ID_6),
+                getInvolvedSwitches(pairPath.getLeft()));
+    }
+
+    @Test
+    public void shouldReturnThePathClosestToMaxWeight() throws UnroutableFlowException {
+        //given 3 paths that cost: 198, 200, 201
+        AvailableNetwork network = buildThreePathsNetwork();
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 201);
+        List<SwitchId> forwardSwitches = getInvolvedSwitches(pairPath.getLeft());
+        assertThat(forwardSwitches, equalTo(Arrays.asList(SWITCH_ID_1, SWITCH_ID_3, SWITCH_ID_5)));
+        assertThat(getInvolvedSwitches(pairPath.getRight()), equalTo(Lists.reverse(forwardSwitches)));
+
+        pairPath = pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 200);
+        assertThat(getInvolvedSwitches(pairPath.getLeft()),
+                equalTo(Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_5)));
+    }
+
+    @Test(expected = UnroutableFlowException.class)
+    public void shouldFailIfNoPathLessThanMaxWeight() throws UnroutableFlowException {
+        AvailableNetwork network = buildThreePathsNetwork();
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_5, WEIGHT_FUNCTION, 198);
+    }
+
+    @Test
+    public void maxWeightStratAccountsForBothLinkDirections() throws UnroutableFlowException {
+        //given 2 paths with costs: path1 forward 100, path1 reverse 102, path2 forward 101, path2 reverse 100
+        AvailableNetwork network = new AvailableNetwork();
+        addLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_1, 1, 1, 102);
+        addLink(network, SWITCH_ID_1, SWITCH_ID_2, 2, 2, 101);
+        addLink(network, SWITCH_ID_2, SWITCH_ID_1, 2, 2, 100);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        Pair<List<Edge>, List<Edge>> pairPath =
+                pathFinder.findPathInNetwork(network, SWITCH_ID_1, SWITCH_ID_2, WEIGHT_FUNCTION, 103);
+
+        assertThat(pairPath.getLeft().get(0).getSrcPort(), equalTo(1));
+        assertThat(pairPath.getRight().get(0).getSrcPort(), equalTo(1));
+    }
+
+    @Test
+    public void shouldFindSameWeightAsBestWeightAndShortestPathFinder() throws UnroutableFlowException {
+        AvailableNetwork network = buildMeshNetwork();
+        List<SwitchId> switches = Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_3, SWITCH_ID_4, SWITCH_ID_5,
+                SWITCH_ID_6);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        BestWeightAndShortestPathFinder referenceFinder = new BestWeightAndShortestPathFinder(ALLOWED_DEPTH);
+        for (SwitchId src : switches) {
+            for (SwitchId dst : switches) {
+                if (src.equals(dst)) {
+                    continue;
+                }
+                List<Edge> path = pathFinder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION).getLeft();
+                List<Edge> referencePath =
+                        referenceFinder.findPathInNetwork(network, src, dst, WEIGHT_FUNCTION).getLeft();
+                assertEquals(getTotalWeight(referencePath), getTotalWeight(path));
+            }
+        }
+    }
+
+    @Test
+    public void shouldFindNPathsOrderedByWeight() throws UnroutableFlowException {
+        AvailableNetwork network = buildMeshNetwork();
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+
+        List<List<Edge>> paths =
+                pathFinder.findNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_6, 3, WEIGHT_FUNCTION);
+        assertEquals(Arrays.asList(
+                Arrays.asList(SWITCH_ID_1, SWITCH_ID_4, SWITCH_ID_3, SWITCH_ID_6),
+                Arrays.asList(SWITCH_ID_1, SWITCH_ID_4, SWITCH_ID_5, SWITCH_ID_6),
+                Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_4, SWITCH_ID_3, SWITCH_ID_6)),
+                convertPaths(paths));
+
+        paths = pathFinder.findNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_6, 500, WEIGHT_FUNCTION);
+        assertEquals(13, paths.size());
+        assertEquals(paths.size(), new HashSet<>(convertPaths(paths)).size());
+        for (int i = 1; i < paths.size(); i++) {
+            assertTrue(getTotalWeight(paths.get(i - 1)) <= getTotalWeight(paths.get(i)));
+        }
+    }
+
+    @Test
+    public void shouldNotModifyNetworkWhenFindNPaths() throws UnroutableFlowException {
+        AvailableNetwork network = buildMeshNetwork();
+        List<Integer> linksBefore = getOutgoingLinkCounts(network);
+
+        DijkstraPathFinder pathFinder = new DijkstraPathFinder(ALLOWED_DEPTH);
+        pathFinder.findNPathsBetweenSwitches(network, SWITCH_ID_1, SWITCH_ID_6, 500, WEIGHT_FUNCTION);
+
+        assertEquals(linksBefore, getOutgoingLinkCounts(network));
+    }
+
+    private AvailableNetwork buildLongAndExpensivePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *   SW1---SW2~~~SW4
+         *          |     |
+         *         SW3---SW5
+         *
+         *   SW2 - SW4 is expensive by cost.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 4, 10000);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 5, 6, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 7, 8, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 9, 10, 100);
+        return network;
+    }
+
+    private AvailableNetwork buildThreePathsNetwork() {
+        /*
+         *   Topology:
+         *
+         *       2
+         *     /   \
+         *    1--3--5
+         *     \   /
+         *       4
+         *
+         *   1-2-5 costs 198, 1-3-5 costs 200, 1-4-5 costs 201.
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_5, 2, 1, 98);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_3, 2, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 2, 2, 100);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_4, 3, 1, 100);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 2, 3, 101);
+        return network;
+    }
+
+    private AvailableNetwork buildMeshNetwork() {
+        /*
+         *   Topology:
+         *
+         *   1--2--3
+         *    \ | /|\
+         *     \|/ | \
+         *      4--5--6
+         */
+        AvailableNetwork network = new AvailableNetwork();
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_2, 1, 1, 3);
+        addBidirectionalLink(network, SWITCH_ID_1, SWITCH_ID_4, 2, 1, 2);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_3, 2, 1, 4);
+        addBidirectionalLink(network, SWITCH_ID_2, SWITCH_ID_4, 3, 2, 1);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_4, 2, 3, 2);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_5, 3, 1, 2);
+        addBidirectionalLink(network, SWITCH_ID_3, SWITCH_ID_6, 4, 1, 1);
+        addBidirectionalLink(network, SWITCH_ID_4, SWITCH_ID_5, 4, 2, 3);
+        addBidirectionalLink(network, SWITCH_ID_5, SWITCH_ID_6, 3, 2, 2);
+        return network;
+    }
+
+    private void addBidirectionalLink(AvailableNetwork network, SwitchId firstSwitch, SwitchId secondSwitch,
+                                      int srcPort, int dstPort, int cost) {
+        addLink(network, firstSwitch, secondSwitch, srcPort, dstPort, cost);
+        addLink(network, secondSwitch, firstSwitch, dstPort, srcPort, cost);
+    }
+
+    private void addLink(AvailableNetwork network, SwitchId srcDpid, SwitchId dstDpid, int srcPort, int dstPort,
+                         int cost) {
+        Isl isl = Isl.builder()
+                .srcSwitch(Switch.builder().switchId(srcDpid).build())
+                .destSwitch(Switch.builder().switchId(dstDpid).build())
+                .srcPort(srcPort)
+                .destPort(dstPort)
+                .cost(cost)
+                .latency(1)
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofSeconds(120)).build());
+        network.addLink(isl);
+    }
+
+    private long getTotalWeight(List<Edge> path) {
+        return path.stream().map(WEIGHT_FUNCTION).mapToLong(PathWeight::toLong).sum();
+    }
+
+    private List<Integer> getOutgoingLinkCounts(AvailableNetwork network) {
+        List<Integer> counts = new ArrayList<>();
+        for (SwitchId switchId : Arrays.asList(SWITCH_ID_1, SWITCH_ID_2, SWITCH_ID_3, SWITCH_ID_4, SWITCH_ID_5,
+                SWITCH_ID_6)) {
+            counts.add(network.getSwitch(switchId).getOutgoingLinks().size());
+        }
+        return counts;
+    }
+
+    private List<List<SwitchId>> convertPaths(List<List<Edge>> paths) {
+        List<List<SwitchId>> convertedPaths = new ArrayList<>();
+        for (List<Edge> path : paths) {
+            convertedPaths.add(getInvolvedSwitches(path));
+        }
+        return convertedPaths;
+    }
+
+    private List<SwitchId> getInvolvedSwitches(List<Edge> path) {
+        List<SwitchId> switches = new ArrayList<>();
+        for (Edge edge : path) {
+            switches.add(edge.getSrcSwitch().getSwitchId());
+        }
+        switches.add(path.get(path.size() - 1).getDestSwitch().getSwitchId());
+        return switches;
+    }
+}
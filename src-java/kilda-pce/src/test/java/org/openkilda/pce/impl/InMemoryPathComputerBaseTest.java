@@ -48,6 +48,7 @@ import org.openkilda.persistence.Neo4jConfig;
 import org.openkilda.persistence.NetworkConfig;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.cache.RepositoryCacheConfig;
 import org.openkilda.persistence.repositories.FlowPathRepository;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.IslRepository;
@@ -69,11 +70,13 @@ import org.neo4j.ogm.testutil.TestServer;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Properties;
 import java.util.UUID;
 
 public class InMemoryPathComputerBaseTest {
 
     static TestServer testServer;
+    static PersistenceManager persistenceManager;
     static TransactionManager txManager;
     static SwitchRepository switchRepository;
     static SwitchPropertiesRepository switchPropertiesRepository;
@@ -93,7 +96,7 @@ public class InMemoryPathComputerBaseTest {
     public static void setUpOnce() {
         testServer = new TestServer(true, true, 5);
 
-        PersistenceManager persistenceManager = PersistenceProvider.getInstance().createPersistenceManager(
+        persistenceManager = PersistenceProvider.getInstance().createPersistenceManager(
                 new ConfigurationProvider() { //NOSONAR
                     @SuppressWarnings("unchecked")
                     @Override
@@ -132,6 +135,9 @@ public class InMemoryPathComputerBaseTest {
                                     return 7200;
                                 }
                             };
+                        } else if (configurationType.equals(RepositoryCacheConfig.class)) {
+                            return (T) new PropertiesBasedConfigurationProvider().getConfiguration(
+                                    RepositoryCacheConfig.class);
                         } else {
                             throw new UnsupportedOperationException("Unsupported configurationType "
                                     + configurationType);
@@ -319,6 +325,66 @@ public class InMemoryPathComputerBaseTest {
         pathComputer.getPath(flow, flow.getFlowPathIds());
     }
 
+    /**
+     * Checks that a path over an ISL, which failed after the topology snapshot was loaded, is not returned.
+     */
+    @Test
+    public void shouldNotRouteOverIslFailedAfterSnapshotLoad() throws RecoverableException, UnroutableFlowException {
+        // 1 - 2 - 4
+        //   + 3 +
+        // path 1>2>4 is cheaper
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "00:", 1);
+
+        PathComputer pathComputer = createTopologySnapshotPathComputer();
+        Flow flow = new TestFlowBuilder()
+                .srcSwitch(getSwitchById("00:01"))
+                .destSwitch(getSwitchById("00:04"))
+                .bandwidth(10)
+                .build();
+
+        PathPair first = pathComputer.getPath(flow);
+        assertEquals(new SwitchId("00:02"), first.getForward().getSegments().get(0).getDestSwitchId());
+
+        Isl failed = islRepository.findByEndpoints(new SwitchId("00:01"), 5, new SwitchId("00:02"), 5)
+                .orElseThrow(() -> new AssertionError("ISL not found"));
+        failed.setStatus(IslStatus.INACTIVE);
+        islRepository.createOrUpdate(failed);
+
+        PathPair second = pathComputer.getPath(flow);
+        assertEquals(new SwitchId("00:03"), second.getForward().getSegments().get(0).getDestSwitchId());
+    }
+
+    /**
+     * Checks that a path over an ISL, which bandwidth was taken by another worker after the topology snapshot was
+     * loaded, is not returned.
+     */
+    @Test
+    public void shouldNotRouteOverIslWithBandwidthTakenAfterSnapshotLoad()
+            throws RecoverableException, UnroutableFlowException {
+        // 1 - 2 - 4
+        //   + 3 +
+        // path 1>2>4 is cheaper
+        createDiamond(IslStatus.ACTIVE, IslStatus.ACTIVE, 10, 20, "00:", 1);
+
+        PathComputer pathComputer = createTopologySnapshotPathComputer();
+        Flow flow = new TestFlowBuilder()
+                .srcSwitch(getSwitchById("00:01"))
+                .destSwitch(getSwitchById("00:04"))
+                .bandwidth(10)
+                .build();
+
+        PathPair first = pathComputer.getPath(flow);
+        assertEquals(new SwitchId("00:02"), first.getForward().getSegments().get(0).getDestSwitchId());
+
+        Isl occupied = islRepository.findByEndpoints(new SwitchId("00:01"), 5, new SwitchId("00:02"), 5)
+                .orElseThrow(() -> new AssertionError("ISL not found"));
+        occupied.setAvailableBandwidth(5);
+        islRepository.createOrUpdate(occupied);
+
+        PathPair second = pathComputer.getPath(flow);
+        assertEquals(new SwitchId("00:03"), second.getForward().getSegments().get(0).getDestSwitchId());
+    }
+
     /**
      * Special case: flow with MAX_LATENCY strategy and 'max-latency' set to 0 should pick path with least latency.
      */
@@ -382,6 +448,16 @@ public class InMemoryPathComputerBaseTest {
                         segment.getSrcPort(), segment.getDestPort()));
     }
 
+    private PathComputer createTopologySnapshotPathComputer() {
+        Properties properties = new Properties();
+        properties.setProperty("pce.network.snapshot.enabled", "true");
+        PathComputerConfig snapshotConfig = new PropertiesBasedConfigurationProvider(properties)
+                .getConfiguration(PathComputerConfig.class);
+        return new PathComputerFactory(snapshotConfig,
+                new AvailableNetworkFactory(snapshotConfig, persistenceManager.getRepositoryFactory()))
+                .getPathComputer();
+    }
+
     private void createLinearTopoWithFlowSegments(int cost, String switchStart, int startIndex, long linkBw,
                                                   String flowId, long flowBandwidth) {
         // A - B - C
@@ -0,0 +1,262 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.pce.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.Isl;
+import org.openkilda.model.IslConfig;
+import org.openkilda.model.IslStatus;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.pce.Path;
+import org.openkilda.pce.PathPair;
+import org.openkilda.pce.model.Edge;
+import org.openkilda.pce.model.Node;
+import org.openkilda.persistence.repositories.IslRepository;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+
+public class TopologySnapshotTest {
+    private static final SwitchId SWITCH_ID_A = new SwitchId(1);
+    private static final SwitchId SWITCH_ID_B = new SwitchId(2);
+    private static final SwitchId SWITCH_ID_C = new SwitchId(3);
+    private static final Switch SWITCH_A = Switch.builder().switchId(SWITCH_ID_A).build();
+    private static final Switch SWITCH_B = Switch.builder().switchId(SWITCH_ID_B).build();
+    private static final Switch SWITCH_C = Switch.builder().switchId(SWITCH_ID_C).build();
+    private static final Duration MAX_AGE = Duration.ofSeconds(60);
+
+    @Mock
+    private IslRepository islRepository;
+    @Mock
+    private Clock clock;
+
+    private TopologySnapshot snapshot;
+
+    @Before
+    public void setup() {
+        MockitoAnnotations.initMocks(this);
+
+        when(clock.instant()).thenReturn(Instant.EPOCH);
+        when(islRepository.findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN))
+                .thenReturn(Lists.newArrayList(
+                        getIsl(SWITCH_A, 1, SWITCH_B, 2, 1000),
+                        getIsl(SWITCH_B, 2, SWITCH_A, 1, 100),
+                        getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000),
+                        getIsl(SWITCH_C, 4, SWITCH_B, 3, 1000)));
+        when(islRepository.findAllActiveByEncapsulationType(FlowEncapsulationType.VXLAN))
+                .thenReturn(Lists.newArrayList(
+                        getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000),
+                        getIsl(SWITCH_C, 4, SWITCH_B, 3, 1000)));
+
+        snapshot = new TopologySnapshot(islRepository, MAX_AGE, clock);
+    }
+
+    @Test
+    public void shouldLoadSnapshotOnlyOnce() {
+        snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.TRANSIT_VLAN);
+        snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.VXLAN);
+
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.VXLAN);
+        assertEquals(4, snapshot.size());
+    }
+
+    @Test
+    public void shouldReloadOutdatedSnapshot() {
+        snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.TRANSIT_VLAN);
+        when(clock.instant()).thenReturn(Instant.EPOCH.plus(MAX_AGE).plusSeconds(1));
+        snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.TRANSIT_VLAN);
+
+        verify(islRepository, times(2)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldFilterByEncapsulationType() {
+        AvailableNetwork network = snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.VXLAN);
+
+        assertNull(network.getSwitch(SWITCH_ID_A));
+        assertEquals(1, network.getSwitch(SWITCH_ID_B).getOutgoingLinks().size());
+        assertEquals(1, network.getSwitch(SWITCH_ID_C).getOutgoingLinks().size());
+    }
+
+    @Test
+    public void shouldFilterByBandwidth() {
+        AvailableNetwork network = snapshot.buildAvailableNetwork(500, false, false,
+                FlowEncapsulationType.TRANSIT_VLAN);
+
+        assertEquals(1, network.getSwitch(SWITCH_ID_A).getOutgoingLinks().size());
+        assertEquals(1, network.getSwitch(SWITCH_ID_B).getOutgoingLinks().size());
+        assertEquals(SWITCH_ID_C,
+                network.getSwitch(SWITCH_ID_B).getOutgoingLinks().iterator().next().getDestSwitch().getSwitchId());
+    }
+
+    @Test
+    public void shouldFilterByBandwidthSymmetrically() {
+        AvailableNetwork network = snapshot.buildAvailableNetwork(500, false, true,
+                FlowEncapsulationType.TRANSIT_VLAN);
+
+        assertNull(network.getSwitch(SWITCH_ID_A));
+        assertEquals(1, network.getSwitch(SWITCH_ID_B).getOutgoingLinks().size());
+        assertEquals(1, network.getSwitch(SWITCH_ID_C).getOutgoingLinks().size());
+    }
+
+    @Test
+    public void shouldApplyAvailableBandwidthDelta() {
+        snapshot.refresh();
+        long version = snapshot.getVersion();
+
+        snapshot.updateIslAvailableBandwidth(SWITCH_ID_A, 1, SWITCH_ID_B, 2, 10);
+
+        assertTrue(snapshot.getVersion() > version);
+        AvailableNetwork network = snapshot.buildAvailableNetwork(500, false, false,
+                FlowEncapsulationType.TRANSIT_VLAN);
+        assertNull(network.getSwitch(SWITCH_ID_A));
+        verify(islRepository, times(1)).findAllActiveByEncapsulationType(FlowEncapsulationType.TRANSIT_VLAN);
+    }
+
+    @Test
+    public void shouldProvideIndependentNetworkViews() {
+        AvailableNetwork first = snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.TRANSIT_VLAN);
+        first.getSwitch(SWITCH_ID_B).getOutgoingLinks().forEach(Edge::increaseDiversityGroupUseCounter);
+        first.getSwitch(SWITCH_ID_B).increaseDiversityGroupUseCounter();
+
+        AvailableNetwork second = snapshot.buildAvailableNetwork(0, true, false, FlowEncapsulationType.TRANSIT_VLAN);
+        Node node = second.getSwitch(SWITCH_ID_B);
+        assertNotNull(node);
+        assertEquals(0, node.getDiversityGroupUseCounter());
+        node.getOutgoingLinks().forEach(edge -> assertEquals(0, edge.getDiversityGroupUseCounter()));
+    }
+
+    @Test
+    public void shouldIgnoreDeltaForUnknownIsl() {
+        snapshot.refresh();
+        long version = snapshot.getVersion();
+
+        snapshot.updateIslAvailableBandwidth(SWITCH_ID_A, 7, SWITCH_ID_C, 8, 10);
+
+        assertEquals(version, snapshot.getVersion());
+        assertEquals(4, snapshot.size());
+    }
+
+    @Test
+    public void shouldAcceptPathOverActualLinks() {
+        snapshot.refresh();
+        when(islRepository.findBySrcSwitches(any())).thenReturn(Lists.newArrayList(
+                getIsl(SWITCH_B, 2, SWITCH_A, 1, 100),
+                getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000),
+                getIsl(SWITCH_C, 4, SWITCH_B, 3, 1000)));
+
+        assertTrue(snapshot.isPathActual(getPathPair(), 500, false, Collections.emptyList()));
+        verify(islRepository, times(1)).findBySrcSwitches(Sets.newHashSet(SWITCH_ID_B, SWITCH_ID_C));
+    }
+
+    @Test
+    public void shouldRejectPathOverFailedLink() {
+        snapshot.refresh();
+        Isl failed = getIsl(SWITCH_C, 4, SWITCH_B, 3, 1000);
+        failed.setStatus(IslStatus.INACTIVE);
+        when(islRepository.findBySrcSwitches(any())).thenReturn(Lists.newArrayList(
+                getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000), failed));
+
+        assertFalse(snapshot.isPathActual(getPathPair(), 0, true, Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldRejectPathOverRecostedOrRemovedLink() {
+        snapshot.refresh();
+        Isl recosted = getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000);
+        recosted.setCost(1000);
+        when(islRepository.findBySrcSwitches(any())).thenReturn(Lists.newArrayList(recosted));
+
+        assertFalse(snapshot.isPathActual(getPathPair(), 0, true, Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldRejectPathOverLinkWithBandwidthTakenByOthers() {
+        snapshot.refresh();
+        when(islRepository.findBySrcSwitches(any())).thenReturn(Lists.newArrayList(
+                getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000),
+                getIsl(SWITCH_C, 4, SWITCH_B, 3, 100)));
+
+        assertFalse(snapshot.isPathActual(getPathPair(), 500, false, Collections.emptyList()));
+        assertTrue(snapshot.isPathActual(getPathPair(), 500, true, Collections.emptyList()));
+    }
+
+    @Test
+    public void shouldAcceptPathOverReusedLinkWithoutBandwidth() {
+        snapshot.refresh();
+        Isl reused = getIsl(SWITCH_C, 4, SWITCH_B, 3, 100);
+        when(islRepository.findBySrcSwitches(any())).thenReturn(Lists.newArrayList(
+                getIsl(SWITCH_B, 3, SWITCH_C, 4, 1000), reused));
+
+        assertTrue(snapshot.isPathActual(getPathPair(), 500, false, Collections.singletonList(reused)));
+    }
+
+    private static PathPair getPathPair() {
+        return PathPair.builder()
+                .forward(getPath(SWITCH_ID_B, 3, SWITCH_ID_C, 4))
+                .reverse(getPath(SWITCH_ID_C, 4, SWITCH_ID_B, 3))
+                .build();
+    }
+
+    private static Path getPath(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
+        return Path.builder()
+                .srcSwitchId(srcSwitchId)
+                .destSwitchId(dstSwitchId)
+                .segments(Collections.singletonList(Path.Segment.builder()
+                        .srcSwitchId(srcSwitchId)
+                        .srcPort(srcPort)
+                        .destSwitchId(dstSwitchId)
+                        .destPort(dstPort)
+                        .build()))
+                .build();
+    }
+
+    private static Isl getIsl(Switch srcSwitch, int srcPort, Switch dstSwitch, int dstPort, long availableBandwidth) {
+        Isl isl = Isl.builder()
+                .srcSwitch(srcSwitch)
+                .srcPort(srcPort)
+                .destSwitch(dstSwitch)
+                .destPort(dstPort)
+                .cost(10)
+                .latency(33L)
+                .availableBandwidth(availableBandwidth)
+                .status(IslStatus.ACTIVE)
+                .build();
+        isl.setIslConfig(IslConfig.builder().unstableIslTimeout(Duration.ofSeconds(15)).build());
+        return isl;
+    }
+}
@@ -15,9 +15,11 @@
 
 package org.openkilda.persistence;
 
+import org.openkilda.persistence.cache.RepositoryCache;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 
 import java.io.Serializable;
+import java.util.Optional;
 
 /**
  * Manager of persistence context and related APIs.
@@ -28,4 +30,11 @@ public interface PersistenceManager extends Serializable {
     TransactionManager getTransactionManager();
 
     RepositoryFactory getRepositoryFactory();
+
+    /**
+     * Gets the cache used by the repositories of {@link #getRepositoryFactory()}, if caching is enabled.
+     */
+    default Optional<RepositoryCache> getRepositoryCache() {
+        return Optional.empty();
+    }
 }
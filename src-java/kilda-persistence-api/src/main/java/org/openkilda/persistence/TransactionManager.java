@@ -48,4 +48,16 @@ public interface TransactionManager {
             throws E;
 
     RetryPolicy makeRetryPolicyBlank();
+
+    /**
+     * Whether the current thread has an active transaction.
+     */
+    boolean isTxOpen();
+
+    /**
+     * Registers an action to be run if the current transaction gets rolled back, e.g. to revert an in-memory state
+     * changed along with the transaction. The action is dropped once the transaction is committed, and ignored if there
+     * is no active transaction.
+     */
+    void runOnRollback(Runnable action);
 }
@@ -0,0 +1,77 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+
+import lombok.experimental.Delegate;
+
+import java.util.Optional;
+
+/**
+ * {@link KildaConfigurationRepository} decorator which serves {@link #get()} from {@link RepositoryCache} outside
+ * of transactions.
+ */
+class CachingKildaConfigurationRepository implements KildaConfigurationRepository {
+    @Delegate(excludes = CachedOperations.class)
+    private final KildaConfigurationRepository delegate;
+    private final RepositoryCache cache;
+    private final TransactionManager transactionManager;
+
+    CachingKildaConfigurationRepository(KildaConfigurationRepository delegate, RepositoryCache cache,
+                                        TransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public KildaConfiguration get() {
+        if (transactionManager.isTxOpen()) {
+            return delegate.get();
+        }
+        return cache.kildaConfiguration.get(RepositoryCache.KILDA_CONFIGURATION_KEY,
+                () -> Optional.ofNullable(delegate.get())).orElse(null);
+    }
+
+    @Override
+    public void createOrUpdate(KildaConfiguration entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            cache.invalidateKildaConfiguration();
+        }
+    }
+
+    @Override
+    public void delete(KildaConfiguration entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            cache.invalidateKildaConfiguration();
+        }
+    }
+
+    private interface CachedOperations {
+        KildaConfiguration get();
+
+        void createOrUpdate(KildaConfiguration entity);
+
+        void delete(KildaConfiguration entity);
+    }
+}
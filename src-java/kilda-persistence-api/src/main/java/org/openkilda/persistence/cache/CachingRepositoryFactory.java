@@ -0,0 +1,74 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+import org.openkilda.persistence.repositories.RepositoryFactory;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.Getter;
+import lombok.experimental.Delegate;
+
+/**
+ * {@link RepositoryFactory} decorator which wraps the repositories of frequently read entities (switches, switch
+ * properties and kilda configuration) into caching ones. Other repositories are created by the delegate as is.
+ * Flows are not cached: they are modified and saved by the flow operations, so a shared flow entity would leak
+ * uncommitted changes to other readers.
+ * <p/>
+ * Cached entities are shared between callers, so they must be treated as read-only. Lookups made inside a transaction
+ * are not cached and go to the delegate.
+ */
+public class CachingRepositoryFactory implements RepositoryFactory {
+    @Delegate(excludes = CachedRepositories.class)
+    private final RepositoryFactory delegate;
+    @Getter
+    private final RepositoryCache cache;
+    private final TransactionManager transactionManager;
+
+    public CachingRepositoryFactory(RepositoryFactory delegate, RepositoryCache cache,
+                                    TransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public SwitchRepository createSwitchRepository() {
+        return new CachingSwitchRepository(delegate.createSwitchRepository(), cache, transactionManager);
+    }
+
+    @Override
+    public KildaConfigurationRepository createKildaConfigurationRepository() {
+        return new CachingKildaConfigurationRepository(delegate.createKildaConfigurationRepository(), cache,
+                transactionManager);
+    }
+
+    @Override
+    public SwitchPropertiesRepository createSwitchPropertiesRepository() {
+        return new CachingSwitchPropertiesRepository(delegate.createSwitchPropertiesRepository(), cache,
+                transactionManager);
+    }
+
+    private interface CachedRepositories {
+        SwitchRepository createSwitchRepository();
+
+        KildaConfigurationRepository createKildaConfigurationRepository();
+
+        SwitchPropertiesRepository createSwitchPropertiesRepository();
+    }
+}
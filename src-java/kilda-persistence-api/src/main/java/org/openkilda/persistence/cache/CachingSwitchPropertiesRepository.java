@@ -0,0 +1,85 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.SwitchPropertiesRepository;
+
+import lombok.experimental.Delegate;
+
+import java.util.Optional;
+
+/**
+ * {@link SwitchPropertiesRepository} decorator which serves {@link #findBySwitchId(SwitchId)} from
+ * {@link RepositoryCache} outside of transactions.
+ */
+class CachingSwitchPropertiesRepository implements SwitchPropertiesRepository {
+    @Delegate(excludes = CachedOperations.class)
+    private final SwitchPropertiesRepository delegate;
+    private final RepositoryCache cache;
+    private final TransactionManager transactionManager;
+
+    CachingSwitchPropertiesRepository(SwitchPropertiesRepository delegate, RepositoryCache cache,
+                                      TransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public Optional<SwitchProperties> findBySwitchId(SwitchId switchId) {
+        if (transactionManager.isTxOpen()) {
+            return delegate.findBySwitchId(switchId);
+        }
+        return cache.switchProperties.get(switchId, () -> delegate.findBySwitchId(switchId));
+    }
+
+    @Override
+    public void createOrUpdate(SwitchProperties entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    @Override
+    public void delete(SwitchProperties entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            invalidate(entity);
+        }
+    }
+
+    private void invalidate(SwitchProperties entity) {
+        if (entity.getSwitchObj() != null) {
+            cache.switchProperties.invalidate(entity.getSwitchObj().getSwitchId());
+        } else {
+            cache.switchProperties.invalidateAll();
+        }
+    }
+
+    private interface CachedOperations {
+        Optional<SwitchProperties> findBySwitchId(SwitchId switchId);
+
+        void createOrUpdate(SwitchProperties entity);
+
+        void delete(SwitchProperties entity);
+    }
+}
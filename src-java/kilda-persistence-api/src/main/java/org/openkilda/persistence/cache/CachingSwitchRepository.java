@@ -0,0 +1,88 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import lombok.experimental.Delegate;
+
+import java.util.Optional;
+
+/**
+ * {@link SwitchRepository} decorator which serves {@link #findById(SwitchId)} from {@link RepositoryCache} outside
+ * of transactions.
+ */
+class CachingSwitchRepository implements SwitchRepository {
+    @Delegate(excludes = CachedOperations.class)
+    private final SwitchRepository delegate;
+    private final RepositoryCache cache;
+    private final TransactionManager transactionManager;
+
+    CachingSwitchRepository(SwitchRepository delegate, RepositoryCache cache,
+                            TransactionManager transactionManager) {
+        this.delegate = delegate;
+        this.cache = cache;
+        this.transactionManager = transactionManager;
+    }
+
+    @Override
+    public Optional<Switch> findById(SwitchId switchId) {
+        if (transactionManager.isTxOpen()) {
+            return delegate.findById(switchId);
+        }
+        return cache.switches.get(switchId, () -> delegate.findById(switchId));
+    }
+
+    @Override
+    public void createOrUpdate(Switch entity) {
+        try {
+            delegate.createOrUpdate(entity);
+        } finally {
+            cache.invalidateSwitch(entity.getSwitchId());
+        }
+    }
+
+    @Override
+    public void delete(Switch entity) {
+        try {
+            delegate.delete(entity);
+        } finally {
+            cache.invalidateSwitch(entity.getSwitchId());
+        }
+    }
+
+    @Override
+    public void forceDelete(SwitchId switchId) {
+        try {
+            delegate.forceDelete(switchId);
+        } finally {
+            cache.invalidateSwitch(switchId);
+        }
+    }
+
+    private interface CachedOperations {
+        Optional<Switch> findById(SwitchId switchId);
+
+        void createOrUpdate(Switch entity);
+
+        void delete(Switch entity);
+
+        void forceDelete(SwitchId switchId);
+    }
+}
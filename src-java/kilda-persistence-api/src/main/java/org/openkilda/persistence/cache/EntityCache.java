@@ -0,0 +1,82 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import com.google.common.base.Ticker;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * A bounded cache of one entity type. Absent entities are not cached, so an entity created elsewhere is visible
+ * on the next lookup.
+ * <p/>
+ * A loaded entity is not cached if any invalidation happened during the load, as the loaded state may be already
+ * outdated.
+ */
+class EntityCache<K, V> {
+    private final Cache<K, V> cache;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    EntityCache(Duration ttl, long maxSize, Ticker ticker) {
+        this.cache = ttl.isZero() ? null : CacheBuilder.newBuilder()
+                .expireAfterWrite(ttl.toMillis(), TimeUnit.MILLISECONDS)
+                .maximumSize(maxSize)
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    Optional<V> get(K key, Supplier<Optional<V>> loader) {
+        if (cache == null) {
+            return loader.get();
+        }
+        V cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        long invalidationsBefore = invalidations.get();
+        Optional<V> loaded = loader.get();
+        if (loaded.isPresent() && invalidations.get() == invalidationsBefore) {
+            cache.put(key, loaded.get());
+        }
+        return loaded;
+    }
+
+    void invalidate(K key) {
+        if (cache != null) {
+            invalidations.incrementAndGet();
+            cache.invalidate(key);
+        }
+    }
+
+    void invalidateAll() {
+        if (cache != null) {
+            invalidations.incrementAndGet();
+            cache.invalidateAll();
+        }
+    }
+
+    CacheStats getStats() {
+        return cache != null ? cache.stats() : new CacheStats(0, 0, 0, 0, 0, 0);
+    }
+}
@@ -0,0 +1,94 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.SwitchProperties;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.base.Ticker;
+import com.google.common.cache.CacheStats;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Caches of rarely changed entities used by the repositories of {@link CachingRepositoryFactory}. An entry is
+ * dropped when its TTL expires and on writes (even failed ones) made through the caching repositories. Writes made
+ * by other components become visible once the TTL expires.
+ * <p/>
+ * A cache belongs to a single {@link org.openkilda.persistence.PersistenceManager} instance, i.e. to a single bolt,
+ * so cached entities are never shared between threads. They are still shared between the callers of the bolt and
+ * must be treated as read-only.
+ */
+public class RepositoryCache {
+    public static final String METRIC_NAME = "persistence.cache";
+
+    static final String KILDA_CONFIGURATION_KEY = "kilda-configuration";
+
+    final EntityCache<SwitchId, Switch> switches;
+    final EntityCache<SwitchId, SwitchProperties> switchProperties;
+    final EntityCache<String, KildaConfiguration> kildaConfiguration;
+
+    public RepositoryCache(RepositoryCacheConfig config) {
+        this(config, Ticker.systemTicker());
+    }
+
+    @VisibleForTesting
+    RepositoryCache(RepositoryCacheConfig config, Ticker ticker) {
+        switches = new EntityCache<>(Duration.ofSeconds(config.getSwitchTtlSeconds()),
+                config.getSwitchMaxSize(), ticker);
+        switchProperties = new EntityCache<>(Duration.ofSeconds(config.getSwitchPropertiesTtlSeconds()),
+                config.getSwitchPropertiesMaxSize(), ticker);
+        kildaConfiguration = new EntityCache<>(Duration.ofSeconds(config.getKildaConfigurationTtlSeconds()), 1,
+                ticker);
+    }
+
+    void invalidateSwitch(SwitchId switchId) {
+        switches.invalidate(switchId);
+        switchProperties.invalidate(switchId);
+    }
+
+    void invalidateKildaConfiguration() {
+        kildaConfiguration.invalidate(KILDA_CONFIGURATION_KEY);
+    }
+
+    /**
+     * Gets hit / miss statistics of the caches by the entity name.
+     */
+    public Map<String, CacheStats> getStats() {
+        Map<String, CacheStats> stats = new LinkedHashMap<>();
+        stats.put("switch", switches.getStats());
+        stats.put("switch-properties", switchProperties.getStats());
+        stats.put(KILDA_CONFIGURATION_KEY, kildaConfiguration.getStats());
+        return stats;
+    }
+
+    /**
+     * Gets the hit and miss counters of the caches as a metric value, e.g. "switch.hit" -> 10.
+     */
+    public Map<String, Long> getCounters() {
+        Map<String, Long> counters = new LinkedHashMap<>();
+        getStats().forEach((entity, stats) -> {
+            counters.put(entity + ".hit", stats.hitCount());
+            counters.put(entity + ".miss", stats.missCount());
+        });
+        return counters;
+    }
+}
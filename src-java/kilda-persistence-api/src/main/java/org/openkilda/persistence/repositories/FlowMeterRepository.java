@@ -20,6 +20,7 @@ import org.openkilda.model.MeterId;
 import org.openkilda.model.PathId;
 import org.openkilda.model.SwitchId;
 
+import java.util.Collection;
 import java.util.Optional;
 
 public interface FlowMeterRepository extends Repository<FlowMeter> {
@@ -32,6 +33,17 @@ public interface FlowMeterRepository extends Repository<FlowMeter> {
      */
     Optional<FlowMeter> findByPathId(PathId pathId);
 
+    /**
+     * Find the meter installed on the switch.
+     *
+     * @param switchId the switch where the meter is applied on.
+     * @param meterId the meter id.
+     * @return the meter or {@link Optional#empty()} if the meter id is not assigned.
+     */
+    Optional<FlowMeter> findById(SwitchId switchId, MeterId meterId);
+
+    Collection<FlowMeter> findBySwitchId(SwitchId switchId);
+
     /**
      * Find a meter id which is not assigned to any flow.
      * Use the provided {@code minMeterId} as the first candidate.
@@ -31,6 +31,8 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Optional<FlowPath> findById(PathId pathId, FetchStrategy fetchStrategy);
 
+    Collection<FlowPath> findByIds(Set<PathId> pathIds);
+
     Optional<FlowPath> findByFlowIdAndCookie(String flowId, Cookie flowCookie);
 
     Collection<FlowPath> findByFlowId(String flowId);
@@ -84,9 +86,28 @@ public interface FlowPathRepository extends Repository<FlowPath> {
 
     Collection<FlowPath> findBySegmentEndpoint(SwitchId switchId, int port);
 
+    /**
+     * Finds versions of the actual (primary and protected) flow paths which start, end or have a segment on the switch.
+     * The version of a path changes once the path or its flow is updated.
+     *
+     * @param switchId the switch
+     * @return collection of path versions
+     */
+    Collection<String> findActualPathVersionsBySwitch(SwitchId switchId);
+
     long getUsedBandwidthBetweenEndpoints(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
 
+    /**
+     * Locks the switches of the paths and their segments. As the segments are changed under this lock only, the flow
+     * path revision of the locked switches is increased as well.
+     */
     void lockInvolvedSwitches(FlowPath... flowPaths);
 
+    /**
+     * Gets the flow path revision of the switch. The revision changes with each creation or removal of a path segment
+     * that starts or ends on the switch, so paths going through the switch can be cached until it changes.
+     */
+    long getFlowPathRevision(SwitchId switchId);
+
     void updateStatus(PathId pathId, FlowPathStatus pathStatus);
 }
@@ -34,6 +34,14 @@ public interface FlowRepository extends Repository<Flow> {
      */
     Collection<Flow> findAll();
 
+    /**
+     * Fetches a page of flows ordered by flow ID. The page starts right after the given flow ID, or from the first
+     * flow if it's null, so the ID of the last flow of a page is the cursor of the next page.
+     * <p/>
+     * IMPORTANT: the method doesn't complete the flow and flow path entities with related path segments!
+     */
+    Collection<Flow> findPage(String afterFlowId, int limit);
+
     boolean exists(String flowId);
 
     Optional<Flow> findById(String flowId);
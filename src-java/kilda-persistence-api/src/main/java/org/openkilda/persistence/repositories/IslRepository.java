@@ -35,6 +35,13 @@ public interface IslRepository extends Repository<Isl> {
 
     Collection<Isl> findByDestSwitch(SwitchId switchId);
 
+    /**
+     * Finds ISLs which start on any of the switches.
+     *
+     * @param switchIds source switch ids.
+     */
+    Collection<Isl> findBySrcSwitches(Collection<SwitchId> switchIds);
+
     Optional<Isl> findByEndpoints(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort);
 
     /**
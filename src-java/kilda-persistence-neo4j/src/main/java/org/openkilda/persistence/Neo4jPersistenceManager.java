@@ -15,6 +15,9 @@
 
 package org.openkilda.persistence;
 
+import org.openkilda.persistence.cache.CachingRepositoryFactory;
+import org.openkilda.persistence.cache.RepositoryCache;
+import org.openkilda.persistence.cache.RepositoryCacheConfig;
 import org.openkilda.persistence.converters.ConnectedDeviceTypeConverter;
 import org.openkilda.persistence.converters.CookieConverter;
 import org.openkilda.persistence.converters.ExclusionCookieConverter;
@@ -40,6 +43,7 @@ import org.neo4j.ogm.config.Configuration.Builder;
 import org.neo4j.ogm.session.SessionFactory;
 
 import java.util.Arrays;
+import java.util.Optional;
 
 /**
  * Neo4j OGM implementation of {@link PersistenceManager}.
@@ -47,12 +51,20 @@ import java.util.Arrays;
 public class Neo4jPersistenceManager implements PersistenceManager {
     private final Neo4jConfig neo4jConfig;
     private final NetworkConfig networkConfig;
+    private final RepositoryCacheConfig repositoryCacheConfig;
 
     private transient volatile Neo4jTransactionManager neo4jTransactionManager;
+    private transient volatile RepositoryCache repositoryCache;
 
     public Neo4jPersistenceManager(Neo4jConfig neo4jConfig, NetworkConfig networkConfig) {
+        this(neo4jConfig, networkConfig, null);
+    }
+
+    public Neo4jPersistenceManager(Neo4jConfig neo4jConfig, NetworkConfig networkConfig,
+                                   RepositoryCacheConfig repositoryCacheConfig) {
         this.neo4jConfig = neo4jConfig;
         this.networkConfig = networkConfig;
+        this.repositoryCacheConfig = repositoryCacheConfig;
     }
 
     @Override
@@ -62,7 +74,31 @@ public class Neo4jPersistenceManager implements PersistenceManager {
 
     @Override
     public RepositoryFactory getRepositoryFactory() {
-        return new Neo4jRepositoryFactory(getNeo4jTransactionManager(), getTransactionManager(), networkConfig);
+        RepositoryFactory repositoryFactory = new Neo4jRepositoryFactory(getNeo4jTransactionManager(),
+                getTransactionManager(), networkConfig);
+        return getRepositoryCache()
+                .<RepositoryFactory>map(cache -> new CachingRepositoryFactory(repositoryFactory, cache,
+                        getTransactionManager()))
+                .orElse(repositoryFactory);
+    }
+
+    /**
+     * Gets the repository cache of this manager. Each deserialized copy of the manager (e.g. in each bolt) has its own
+     * cache, so cached entities are not shared between threads.
+     */
+    @Override
+    public Optional<RepositoryCache> getRepositoryCache() {
+        if (repositoryCacheConfig == null || !repositoryCacheConfig.isEnabled()) {
+            return Optional.empty();
+        }
+        if (repositoryCache == null) {
+            synchronized (this) {
+                if (repositoryCache == null) {
+                    repositoryCache = new RepositoryCache(repositoryCacheConfig);
+                }
+            }
+        }
+        return Optional.of(repositoryCache);
     }
 
     private Neo4jTransactionManager getNeo4jTransactionManager() {
@@ -29,6 +29,8 @@ import org.neo4j.ogm.session.SessionFactory;
 import org.neo4j.ogm.transaction.Transaction;
 import org.neo4j.ogm.transaction.Transaction.Status;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.Callable;
 import java.util.concurrent.TimeUnit;
@@ -39,6 +41,7 @@ import java.util.concurrent.TimeUnit;
 @Slf4j
 final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionFactory {
     private static final ThreadLocal<Session> SESSION_HOLDER = new ThreadLocal<>();
+    private static final ThreadLocal<List<Runnable>> ROLLBACK_ACTIONS = ThreadLocal.withInitial(ArrayList::new);
 
     private final SessionFactory sessionFactory;
     private final RetryPolicy retryPolicyBlank;
@@ -92,6 +95,18 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
         return new RetryPolicy(retryPolicyBlank);
     }
 
+    @Override
+    public boolean isTxOpen() {
+        return SESSION_HOLDER.get() != null;
+    }
+
+    @Override
+    public void runOnRollback(Runnable action) {
+        if (isTxOpen()) {
+            ROLLBACK_ACTIONS.get().add(action);
+        }
+    }
+
     private <T> T execute(RetryPolicy retryPolicy, Callable<T> action) {
         return Failsafe.with(retryPolicy)
                 .onRetry(e -> log.warn("Retrying Neo4j transaction finished with exception", e))
@@ -156,6 +171,7 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.COMMITTED || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                ROLLBACK_ACTIONS.remove();
             }
         }
     }
@@ -185,6 +201,19 @@ final class Neo4jTransactionManager implements TransactionManager, Neo4jSessionF
             if (transaction.status() == Status.ROLLEDBACK || transaction.status() == Status.CLOSED) {
                 // Release the session associated with the transaction and the current thread.
                 SESSION_HOLDER.remove();
+                runRollbackActions();
+            }
+        }
+    }
+
+    private void runRollbackActions() {
+        List<Runnable> actions = ROLLBACK_ACTIONS.get();
+        ROLLBACK_ACTIONS.remove();
+        for (Runnable action : actions) {
+            try {
+                action.run();
+            } catch (Exception ex) {
+                log.error("Unable to perform rollback action", ex);
             }
         }
     }
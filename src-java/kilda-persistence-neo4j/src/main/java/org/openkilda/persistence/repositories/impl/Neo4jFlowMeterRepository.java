@@ -28,6 +28,7 @@ import org.openkilda.persistence.repositories.FlowMeterRepository;
 import com.google.common.collect.ImmutableMap;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
+import org.neo4j.ogm.cypher.Filters;
 
 import java.util.Collection;
 import java.util.Map;
@@ -38,6 +39,8 @@ import java.util.Optional;
  */
 public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter> implements FlowMeterRepository {
     static final String PATH_ID_PROPERTY_NAME = "path_id";
+    static final String SWITCH_ID_PROPERTY_NAME = "switch_id";
+    static final String METER_ID_PROPERTY_NAME = "meter_id";
 
     public Neo4jFlowMeterRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
@@ -54,6 +57,25 @@ public class Neo4jFlowMeterRepository extends Neo4jGenericRepository<FlowMeter>
         return meters.isEmpty() ? Optional.empty() : Optional.of(meters.iterator().next());
     }
 
+    @Override
+    public Optional<FlowMeter> findById(SwitchId switchId, MeterId meterId) {
+        Filters filters = new Filter(SWITCH_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId)
+                .and(new Filter(METER_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, meterId));
+
+        Collection<FlowMeter> meters = loadAll(filters);
+        if (meters.size() > 1) {
+            throw new PersistenceException(format("Found more that 1 Meter entity by %s on switch %s",
+                    meterId, switchId));
+        }
+        return meters.isEmpty() ? Optional.empty() : Optional.of(meters.iterator().next());
+    }
+
+    @Override
+    public Collection<FlowMeter> findBySwitchId(SwitchId switchId) {
+        Filter switchIdFilter = new Filter(SWITCH_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId);
+        return loadAll(switchIdFilter);
+    }
+
     @Override
     public Optional<MeterId> findUnassignedMeterId(SwitchId switchId, MeterId minMeterId, MeterId maxMeterId) {
         Map<String, Object> parameters = ImmutableMap.of(
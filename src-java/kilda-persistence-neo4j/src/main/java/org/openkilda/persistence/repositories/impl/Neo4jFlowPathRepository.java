@@ -92,6 +92,22 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         return Optional.of(flowPaths.iterator().next());
     }
 
+    @Override
+    public Collection<FlowPath> findByIds(Set<PathId> pathIds) {
+        if (pathIds.isEmpty()) {
+            return emptyList();
+        }
+
+        Set<String> graphPathIds = pathIds.stream()
+                .map(pathIdConverter::toGraphProperty)
+                .collect(Collectors.toSet());
+        Filter pathIdsFilter = new Filter(PATH_ID_PROPERTY_NAME,
+                new InOperatorWithNoConverterComparison(graphPathIds));
+        pathIdsFilter.setPropertyConverter(null);
+
+        return loadAll(pathIdsFilter);
+    }
+
     @Override
     public Optional<FlowPath> findByFlowIdAndCookie(String flowId, Cookie cookie) {
         Filter flowIdFilter = new Filter(FLOW_ID_PROPERTY_NAME, ComparisonOperator.EQUALS, flowId);
@@ -343,6 +359,26 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
         return loadAll(pathIdsFilter);
     }
 
+    @Override
+    public Collection<String> findActualPathVersionsBySwitch(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        String actualPathCondition = "WHERE fp.path_id IN [f.forward_path_id, f.reverse_path_id, "
+                + "f.protected_forward_path_id, f.protected_reverse_path_id] ";
+        String pathVersion = "RETURN fp.path_id + '|' + coalesce(fp.time_create, '') "
+                + "+ '|' + coalesce(fp.time_modify, '') + '|' + coalesce(f.time_modify, '') as version";
+        return new HashSet<>(queryForStrings(
+                "MATCH (sw:switch {name: $switch_id})-[:source|destination]-(fp:flow_path)-[:owns]-(f:flow) "
+                        + actualPathCondition
+                        + pathVersion
+                        + " UNION "
+                        + "MATCH (sw:switch {name: $switch_id})-[:source|destination]-(ps:path_segment)"
+                        + "-[:owns]-(fp:flow_path)-[:owns]-(f:flow) "
+                        + actualPathCondition
+                        + pathVersion, parameters, "version"));
+    }
+
     @Override
     public void createOrUpdate(FlowPath flowPath) {
         // The flow path must reference a managed flow to avoid creation of duplicated flow.
@@ -442,7 +478,7 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
 
     @Override
     public void lockInvolvedSwitches(FlowPath... flowPaths) {
-        lockSwitches(Arrays.stream(flowPaths)
+        Set<SwitchId> switchIds = Arrays.stream(flowPaths)
                 .filter(Objects::nonNull)
                 .flatMap(path -> {
                     Set<SwitchId> switchesToLock = findSegmentSwitchesByPathId(path.getPathId());
@@ -453,7 +489,33 @@ public class Neo4jFlowPathRepository extends Neo4jGenericRepository<FlowPath> im
                         switchesToLock.add(segment.getDestSwitch().getSwitchId());
                     });
                     return switchesToLock.stream();
-                }));
+                })
+                .collect(Collectors.toSet());
+        lockSwitches(switchIds.stream());
+        increaseFlowPathRevision(switchIds);
+    }
+
+    private void increaseFlowPathRevision(Set<SwitchId> switchIds) {
+        if (switchIds.isEmpty()) {
+            return;
+        }
+
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_ids", switchIds.stream()
+                        .map(switchIdConverter::toGraphProperty)
+                        .collect(Collectors.toList()));
+        getSession().query("MATCH (sw:switch) WHERE sw.name IN $switch_ids "
+                + "SET sw.flow_path_revision = coalesce(sw.flow_path_revision, 0) + 1", parameters);
+    }
+
+    @Override
+    public long getFlowPathRevision(SwitchId switchId) {
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_id", switchIdConverter.toGraphProperty(switchId));
+
+        return queryForLong("MATCH (sw:switch {name: $switch_id}) "
+                + "RETURN coalesce(sw.flow_path_revision, 0) as revision", parameters, "revision")
+                .orElse(0L);
     }
 
     private Set<SwitchId> findSegmentSwitchesByPathId(PathId pathId) {
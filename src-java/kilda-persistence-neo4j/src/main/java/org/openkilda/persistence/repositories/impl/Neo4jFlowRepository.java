@@ -39,6 +39,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.cypher.query.SortOrder;
 import org.neo4j.ogm.session.Neo4jSession;
 import org.neo4j.ogm.session.Session;
 import org.neo4j.ogm.typeconversion.InstantStringConverter;
@@ -94,6 +95,15 @@ public class Neo4jFlowRepository extends Neo4jGenericRepository<Flow> implements
         return loadAll(EMPTY_FILTERS, FetchStrategy.DIRECT_RELATIONS);
     }
 
+    @Override
+    public Collection<Flow> findPage(String afterFlowId, int limit) {
+        Filters filters = EMPTY_FILTERS;
+        if (afterFlowId != null) {
+            filters = new Filters(new Filter(FLOW_ID_PROPERTY_NAME, ComparisonOperator.GREATER_THAN, afterFlowId));
+        }
+        return loadPage(filters, new SortOrder(FLOW_ID_PROPERTY_NAME), limit, FetchStrategy.DIRECT_RELATIONS);
+    }
+
     @Override
     public long countFlows() {
         return getSession().countEntitiesOfType(getEntityType());
@@ -34,6 +34,7 @@ import org.neo4j.driver.v1.exceptions.TransientException;
 import org.neo4j.ogm.cypher.ComparisonOperator;
 import org.neo4j.ogm.cypher.Filter;
 import org.neo4j.ogm.cypher.Filters;
+import org.neo4j.ogm.cypher.query.Pagination;
 import org.neo4j.ogm.cypher.query.SortOrder;
 import org.neo4j.ogm.exception.CypherException;
 import org.neo4j.ogm.exception.core.MappingException;
@@ -168,6 +169,18 @@ abstract class Neo4jGenericRepository<T> implements Repository<T> {
         }
     }
 
+    protected Collection<T> loadPage(Filters filters, SortOrder sortOrder, int limit, FetchStrategy fetchStrategy) {
+        try {
+            return getSession().loadAll(getEntityType(), filters, sortOrder, new Pagination(0, limit),
+                    getDepthLoadEntity(fetchStrategy));
+        } catch (MappingException ex) {
+            log.error("OGM mapping exception", ex.getCause());
+            throw new PersistenceException("Unable to load " + getEntityType(), ex);
+        } catch (TransientException ex) {
+            throw new RecoverablePersistenceException("Unable to load " + getEntityType(), ex);
+        }
+    }
+
     protected Filter createSrcSwitchFilter(SwitchId switchId) {
         Filter srcSwitchFilter = new Filter(SWITCH_NAME_PROPERTY_NAME, ComparisonOperator.EQUALS, switchId.toString());
         srcSwitchFilter.setNestedPath(new Filter.NestedPathSegment(SRC_SWITCH_FIELD, Switch.class));
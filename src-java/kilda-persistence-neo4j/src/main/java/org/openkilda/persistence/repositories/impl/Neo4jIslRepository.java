@@ -41,6 +41,7 @@ import org.neo4j.ogm.model.Result;
 import org.neo4j.ogm.session.Neo4jSession;
 
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -109,6 +110,24 @@ public class Neo4jIslRepository extends Neo4jGenericRepository<Isl> implements I
         return addIslConfigToIsl(loadAll(destSwitchFilter));
     }
 
+    @Override
+    public Collection<Isl> findBySrcSwitches(Collection<SwitchId> switchIds) {
+        if (switchIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        Map<String, Object> parameters = ImmutableMap.of(
+                "switch_ids", switchIds.stream()
+                        .map(switchIdConverter::toGraphProperty)
+                        .collect(Collectors.toList()));
+
+        String query = "MATCH (src:switch)-[link:isl]->(dst:switch) "
+                + "WHERE src.name IN $switch_ids "
+                + "RETURN src, link, dst";
+
+        return addIslConfigToIsl(Lists.newArrayList(getSession().query(getEntityType(), query, parameters)));
+    }
+
     @Override
     public Optional<Isl> findByEndpoints(SwitchId srcSwitchId, int srcPort, SwitchId dstSwitchId, int dstPort) {
         Filter srcSwitchFilter = createSrcSwitchFilter(srcSwitchId);
@@ -15,9 +15,12 @@
 
 package org.openkilda.persistence.repositories.impl;
 
+import static java.lang.String.format;
+
 import org.openkilda.model.PathId;
 import org.openkilda.model.Vxlan;
 import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.exceptions.PersistenceException;
 import org.openkilda.persistence.repositories.VxlanRepository;
 
 import com.google.common.collect.ImmutableMap;
@@ -33,6 +36,7 @@ import java.util.Optional;
  */
 public class Neo4jVxlanRepository extends Neo4jGenericRepository<Vxlan> implements VxlanRepository {
     static final String PATH_ID_PROPERTY_NAME = "path_id";
+    static final String VNI_PROPERTY_NAME = "vni";
 
     public Neo4jVxlanRepository(Neo4jSessionFactory sessionFactory, TransactionManager transactionManager) {
         super(sessionFactory, transactionManager);
@@ -49,6 +53,16 @@ public class Neo4jVxlanRepository extends Neo4jGenericRepository<Vxlan> implemen
         return result;
     }
 
+    @Override
+    public Optional<Vxlan> findByVni(int vni) {
+        Filter vniFilter = new Filter(VNI_PROPERTY_NAME, ComparisonOperator.EQUALS, vni);
+        Collection<Vxlan> vxlans = loadAll(vniFilter);
+        if (vxlans.size() > 1) {
+            throw new PersistenceException(format("Found more than 1 Vxlan entity for VNI '%s'", vni));
+        }
+        return vxlans.isEmpty() ? Optional.empty() : Optional.of(vxlans.iterator().next());
+    }
+
     @Override
     public Optional<Integer> findUnassignedVxlan(int minVni, int maxVni) {
         Map<String, Object> parameters = ImmutableMap.of(
@@ -20,6 +20,7 @@ import org.openkilda.persistence.Neo4jConfig;
 import org.openkilda.persistence.Neo4jPersistenceManager;
 import org.openkilda.persistence.NetworkConfig;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.cache.RepositoryCacheConfig;
 
 /**
  * Neo4j OGM implementation of the service provider for persistence manager(s).
@@ -29,6 +30,8 @@ public class Neo4jPersistenceProvider implements PersistenceProvider {
     public PersistenceManager createPersistenceManager(ConfigurationProvider configurationProvider) {
         Neo4jConfig neo4jConfig = configurationProvider.getConfiguration(Neo4jConfig.class);
         NetworkConfig networkConfig = configurationProvider.getConfiguration(NetworkConfig.class);
-        return new Neo4jPersistenceManager(neo4jConfig, networkConfig);
+        RepositoryCacheConfig repositoryCacheConfig = configurationProvider.getConfiguration(
+                RepositoryCacheConfig.class);
+        return new Neo4jPersistenceManager(neo4jConfig, networkConfig, repositoryCacheConfig);
     }
 }
@@ -0,0 +1,173 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.persistence.cache;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
+import org.openkilda.model.FlowEncapsulationType;
+import org.openkilda.model.KildaConfiguration;
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.Neo4jPersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.KildaConfigurationRepository;
+import org.openkilda.persistence.repositories.SwitchRepository;
+
+import com.google.common.cache.CacheStats;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Optional;
+import java.util.Properties;
+
+public class CachingRepositoryFactoryTest extends Neo4jBasedTest {
+    static final SwitchId TEST_SWITCH_ID_A = new SwitchId(1);
+
+    private TransactionManager transactionManager;
+    private RepositoryCache cache;
+    private SwitchRepository switchRepository;
+    private KildaConfigurationRepository kildaConfigurationRepository;
+
+    @Before
+    public void setUp() {
+        Properties properties = new Properties();
+        properties.setProperty("persistence.cache.enabled", "true");
+        RepositoryCacheConfig config = new PropertiesBasedConfigurationProvider(
+                properties).getConfiguration(RepositoryCacheConfig.class);
+        cache = new RepositoryCache(config);
+
+        transactionManager = persistenceManager.getTransactionManager();
+        CachingRepositoryFactory repositoryFactory = new CachingRepositoryFactory(repositoryFactorySpy, cache,
+                transactionManager);
+        switchRepository = repositoryFactory.createSwitchRepository();
+        kildaConfigurationRepository = repositoryFactory.createKildaConfigurationRepository();
+    }
+
+    @Test
+    public void shouldServeSwitchFromCache() {
+        switchRepository.createOrUpdate(buildTestSwitch(TEST_SWITCH_ID_A.toLong()));
+
+        Switch first = switchRepository.findById(TEST_SWITCH_ID_A).get();
+        Switch second = switchRepository.findById(TEST_SWITCH_ID_A).get();
+
+        assertSame(first, second);
+        CacheStats stats = cache.getStats().get("switch");
+        assertEquals(1, stats.hitCount());
+        assertEquals(1, stats.missCount());
+    }
+
+    @Test
+    public void shouldExposeCountersAsMetric() {
+        switchRepository.createOrUpdate(buildTestSwitch(TEST_SWITCH_ID_A.toLong()));
+
+        switchRepository.findById(TEST_SWITCH_ID_A);
+        switchRepository.findById(TEST_SWITCH_ID_A);
+        switchRepository.findById(TEST_SWITCH_ID_A);
+
+        assertEquals(Long.valueOf(2), cache.getCounters().get("switch.hit"));
+        assertEquals(Long.valueOf(1), cache.getCounters().get("switch.miss"));
+    }
+
+    @Test
+    public void shouldKeepCachePerPersistenceManager() {
+        Properties properties = new Properties();
+        properties.setProperty("persistence.cache.enabled", "true");
+        RepositoryCacheConfig config = new PropertiesBasedConfigurationProvider(
+                properties).getConfiguration(RepositoryCacheConfig.class);
+        Neo4jPersistenceManager first = new Neo4jPersistenceManager(null, null, config);
+        Neo4jPersistenceManager second = new Neo4jPersistenceManager(null, null, config);
+
+        assertSame(first.getRepositoryCache().get(), first.getRepositoryCache().get());
+        assertNotSame(first.getRepositoryCache().get(), second.getRepositoryCache().get());
+        assertFalse(persistenceManager.getRepositoryCache().isPresent());
+    }
+
+    @Test
+    public void shouldInvalidateSwitchOnWrite() {
+        switchRepository.createOrUpdate(buildTestSwitch(TEST_SWITCH_ID_A.toLong()));
+        Switch cached = switchRepository.findById(TEST_SWITCH_ID_A).get();
+
+        switchRepository.createOrUpdate(cached);
+
+        assertNotSame(cached, switchRepository.findById(TEST_SWITCH_ID_A).get());
+    }
+
+    @Test
+    public void shouldBypassCacheInTransaction() {
+        switchRepository.createOrUpdate(buildTestSwitch(TEST_SWITCH_ID_A.toLong()));
+
+        Switch first = transactionManager.doInTransaction(() -> switchRepository.findById(TEST_SWITCH_ID_A).get());
+        Switch second = transactionManager.doInTransaction(() -> switchRepository.findById(TEST_SWITCH_ID_A).get());
+
+        assertNotSame(first, second);
+
+        CacheStats stats = cache.getStats().get("switch");
+        assertEquals(0, stats.requestCount());
+    }
+
+    @Test
+    public void shouldNotCacheAbsentSwitch() {
+        assertFalse(switchRepository.findById(TEST_SWITCH_ID_A).isPresent());
+
+        repositoryFactorySpy.createSwitchRepository().createOrUpdate(buildTestSwitch(TEST_SWITCH_ID_A.toLong()));
+
+        assertTrue(switchRepository.findById(TEST_SWITCH_ID_A).isPresent());
+    }
+
+    @Test
+    public void shouldCacheAndInvalidateKildaConfiguration() {
+        KildaConfiguration first = kildaConfigurationRepository.get();
+        assertSame(first, kildaConfigurationRepository.get());
+
+        kildaConfigurationRepository.createOrUpdate(KildaConfiguration.builder()
+                .flowEncapsulationType(FlowEncapsulationType.VXLAN)
+                .build());
+
+        assertEquals(FlowEncapsulationType.VXLAN, kildaConfigurationRepository.get().getFlowEncapsulationType());
+    }
+
+    @Test
+    public void shouldInvalidateSwitchOnFailedWrite() {
+        Switch sw = buildTestSwitch(TEST_SWITCH_ID_A.toLong());
+        SwitchRepository delegate = mock(SwitchRepository.class);
+        when(delegate.findById(TEST_SWITCH_ID_A)).thenReturn(Optional.of(sw));
+        doThrow(new IllegalStateException("test")).when(delegate).createOrUpdate(sw);
+        SwitchRepository repository = new CachingSwitchRepository(delegate, cache, transactionManager);
+
+        repository.findById(TEST_SWITCH_ID_A);
+        try {
+            repository.createOrUpdate(sw);
+            fail();
+        } catch (IllegalStateException e) {
+            // the entity may be modified by the caller, so it must not be served from the cache anymore
+        }
+        repository.findById(TEST_SWITCH_ID_A);
+
+        verify(delegate, times(2)).findById(TEST_SWITCH_ID_A);
+    }
+}
@@ -17,6 +17,7 @@ package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.FlowMeter;
 import org.openkilda.model.MeterId;
@@ -82,6 +83,28 @@ public class Neo4jFlowMeterRepositoryTest extends Neo4jBasedTest {
         assertFalse(meters.isPresent());
     }
 
+    @Test
+    public void shouldFindFlowMeterBySwitchAndMeterId() {
+        flowMeterRepository.createOrUpdate(createFlowMeter(1, new PathId(TEST_PATH_ID)));
+        flowMeterRepository.createOrUpdate(createFlowMeter(2, new PathId(TEST_PATH_ID + "_2")));
+
+        Optional<FlowMeter> foundMeter = flowMeterRepository.findById(theSwitch.getSwitchId(), new MeterId(2));
+        assertTrue(foundMeter.isPresent());
+        assertEquals(TEST_PATH_ID + "_2", foundMeter.get().getPathId().getId());
+
+        assertFalse(flowMeterRepository.findById(theSwitch.getSwitchId(), new MeterId(3)).isPresent());
+        assertFalse(flowMeterRepository.findById(buildTestSwitch(2).getSwitchId(), new MeterId(1)).isPresent());
+    }
+
+    @Test
+    public void shouldFindFlowMetersBySwitch() {
+        flowMeterRepository.createOrUpdate(createFlowMeter(1, new PathId(TEST_PATH_ID)));
+        flowMeterRepository.createOrUpdate(createFlowMeter(2, new PathId(TEST_PATH_ID + "_2")));
+
+        assertEquals(2, flowMeterRepository.findBySwitchId(theSwitch.getSwitchId()).size());
+        assertTrue(flowMeterRepository.findBySwitchId(buildTestSwitch(2).getSwitchId()).isEmpty());
+    }
+
     @Test
     public void shouldDeleteFlowMeter() {
         FlowMeter meter = createFlowMeter();
@@ -345,6 +345,27 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertThat(foundPaths, hasSize(1));
     }
 
+    @Test
+    public void shouldFindActualPathVersionsBySwitch() {
+        FlowPath flowPath = buildTestFlowPathWithIntermediate(switchC, 100);
+        flowPathRepository.createOrUpdate(flowPath);
+        FlowPath stalePath = buildFlowPath(flow, "_stale", 2, 2, switchA, switchB);
+        flowPathRepository.createOrUpdate(stalePath);
+
+        Collection<String> versions = flowPathRepository.findActualPathVersionsBySwitch(switchC.getSwitchId());
+        assertThat(versions, hasSize(1));
+        assertTrue(versions.iterator().next().startsWith(flowPath.getPathId().getId()));
+        assertEquals(versions, flowPathRepository.findActualPathVersionsBySwitch(switchA.getSwitchId()));
+
+        flow.setForwardPath(stalePath);
+        flowRepository.createOrUpdate(flow);
+
+        Collection<String> updatedVersions = flowPathRepository.findActualPathVersionsBySwitch(switchA.getSwitchId());
+        assertThat(updatedVersions, hasSize(1));
+        assertTrue(updatedVersions.iterator().next().startsWith(stalePath.getPathId().getId()));
+        assertThat(flowPathRepository.findActualPathVersionsBySwitch(switchC.getSwitchId()), hasSize(0));
+    }
+
     @Test
     public void shouldFindInactivePathBySegmentSwitch() {
         Flow activeFlow = Flow.builder()
@@ -428,6 +449,47 @@ public class Neo4jFlowPathRepositoryTest extends Neo4jBasedTest {
         assertTrue(pathIds.contains(flowB.getReversePathId()));
     }
 
+    @Test
+    public void shouldFindPathsByIds() {
+        Flow flowA = buildTestProtectedFlow(TEST_FLOW_ID_1, switchA, PORT_1, VLAN_1, switchB, PORT_2, VLAN_2);
+        flowRepository.createOrUpdate(flowA);
+        Flow flowB = buildTestFlow(TEST_FLOW_ID_2, switchA, PORT_1, VLAN_2, switchB, PORT_2, 0);
+        flowRepository.createOrUpdate(flowB);
+
+        Collection<FlowPath> flowPaths = flowPathRepository.findByIds(
+                Sets.newHashSet(flowA.getForwardPathId(), flowB.getReversePathId(), new PathId("unknown")));
+        Collection<PathId> pathIds = flowPaths.stream().map(FlowPath::getPathId).collect(Collectors.toList());
+        assertEquals(2, pathIds.size());
+        assertTrue(pathIds.contains(flowA.getForwardPathId()));
+        assertTrue(pathIds.contains(flowB.getReversePathId()));
+        assertEquals(1, flowPaths.iterator().next().getSegments().size());
+    }
+
+    @Test
+    public void shouldIncreaseFlowPathRevisionOfSegmentSwitches() {
+        long initialRevisionA = flowPathRepository.getFlowPathRevision(TEST_SWITCH_A_ID);
+        long initialRevisionC = flowPathRepository.getFlowPathRevision(TEST_SWITCH_C_ID);
+
+        Flow flowA = buildTestFlow(TEST_FLOW_ID_1, switchA, PORT_1, VLAN_1, switchB, PORT_2, VLAN_2);
+        flowRepository.createOrUpdate(flowA);
+
+        long createdRevisionA = flowPathRepository.getFlowPathRevision(TEST_SWITCH_A_ID);
+        assertTrue(createdRevisionA > initialRevisionA);
+        assertEquals(initialRevisionC, flowPathRepository.getFlowPathRevision(TEST_SWITCH_C_ID));
+
+        switchA.setDescription("updated");
+        switchRepository.createOrUpdate(switchA);
+        assertEquals(createdRevisionA, flowPathRepository.getFlowPathRevision(TEST_SWITCH_A_ID));
+
+        flowRepository.delete(flowA);
+        assertTrue(flowPathRepository.getFlowPathRevision(TEST_SWITCH_A_ID) > createdRevisionA);
+    }
+
+    @Test
+    public void shouldReturnZeroFlowPathRevisionForUnknownSwitch() {
+        assertEquals(0, flowPathRepository.getFlowPathRevision(new SwitchId(42)));
+    }
+
     private FlowPath buildTestFlowPath() {
         FlowPath flowPath = buildFlowPath(flow, "_path", 1, 1, switchA, switchB);
 
@@ -47,6 +47,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
@@ -107,6 +108,25 @@ public class Neo4jFlowRepositoryTest extends Neo4jBasedTest {
         assertEquals(switchB.getSwitchId(), foundFlow.getDestSwitch().getSwitchId());
     }
 
+    @Test
+    public void shouldFindFlowsPageByPage() {
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_3, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID, switchA, switchB));
+        flowRepository.createOrUpdate(buildTestFlow(TEST_FLOW_ID_2, switchA, switchB));
+
+        List<Flow> firstPage = new ArrayList<>(flowRepository.findPage(null, 2));
+        assertEquals(2, firstPage.size());
+        assertEquals(TEST_FLOW_ID, firstPage.get(0).getFlowId());
+        assertEquals(TEST_FLOW_ID_2, firstPage.get(1).getFlowId());
+        assertNotNull(firstPage.get(0).getForwardPath());
+
+        List<Flow> secondPage = new ArrayList<>(flowRepository.findPage(TEST_FLOW_ID_2, 2));
+        assertEquals(1, secondPage.size());
+        assertEquals(TEST_FLOW_ID_3, secondPage.get(0).getFlowId());
+
+        assertTrue(flowRepository.findPage(TEST_FLOW_ID_3, 2).isEmpty());
+    }
+
     @Test
     public void shouldFindByIdWithEndpoints() {
         Flow firstFlow = buildTestFlow(TEST_FLOW_ID, switchA, switchB);
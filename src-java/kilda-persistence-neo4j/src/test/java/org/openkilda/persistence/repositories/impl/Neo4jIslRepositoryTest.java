@@ -181,6 +181,31 @@ public class Neo4jIslRepositoryTest extends Neo4jBasedTest {
         assertEquals(switchB.getSwitchId(), foundIsl.getDestSwitch().getSwitchId());
     }
 
+    @Test
+    public void shouldFindIslBySrcSwitches() {
+        Isl forwardIsl = new Isl();
+        forwardIsl.setSrcSwitch(switchA);
+        forwardIsl.setSrcPort(111);
+        forwardIsl.setDestSwitch(switchB);
+        forwardIsl.setDestPort(112);
+        islRepository.createOrUpdate(forwardIsl);
+
+        Isl reverseIsl = new Isl();
+        reverseIsl.setSrcSwitch(switchB);
+        reverseIsl.setSrcPort(112);
+        reverseIsl.setDestSwitch(switchA);
+        reverseIsl.setDestPort(111);
+        islRepository.createOrUpdate(reverseIsl);
+
+        List<Isl> foundIsls = Lists.newArrayList(
+                islRepository.findBySrcSwitches(Collections.singletonList(TEST_SWITCH_A_ID)));
+        assertEquals(1, foundIsls.size());
+        assertEquals(switchA.getSwitchId(), foundIsls.get(0).getSrcSwitch().getSwitchId());
+        assertEquals(111, foundIsls.get(0).getSrcPort());
+
+        assertEquals(2, islRepository.findBySrcSwitches(Lists.newArrayList(TEST_SWITCH_A_ID, TEST_SWITCH_B_ID)).size());
+    }
+
     @Test
     public void shouldSkipInactiveIsl() {
         Isl isl = new Isl();
@@ -16,6 +16,8 @@
 package org.openkilda.persistence.repositories.impl;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 import org.openkilda.model.PathId;
 import org.openkilda.model.Vxlan;
@@ -26,6 +28,7 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 
 import java.util.Collection;
+import java.util.Optional;
 
 public class Neo4jVxlanRepositoryTest extends Neo4jBasedTest {
     static final String TEST_FLOW_ID = "test_flow";
@@ -55,6 +58,21 @@ public class Neo4jVxlanRepositoryTest extends Neo4jBasedTest {
         assertEquals(TEST_FLOW_ID, foundVxlan.getFlowId());
     }
 
+    @Test
+    public void shouldFindVxlanByVni() {
+        Vxlan vxlan = Vxlan.builder()
+                .vni(MIN_VNI)
+                .pathId(new PathId(TEST_FLOW_ID + "_path"))
+                .flowId(TEST_FLOW_ID)
+                .build();
+        vxlanRepository.createOrUpdate(vxlan);
+
+        Optional<Vxlan> foundVxlan = vxlanRepository.findByVni(MIN_VNI);
+        assertTrue(foundVxlan.isPresent());
+        assertEquals(TEST_FLOW_ID, foundVxlan.get().getFlowId());
+        assertFalse(vxlanRepository.findByVni(MAX_VNI).isPresent());
+    }
+
     @Test
     public void shouldDeleteVxlan() {
         Vxlan vxlan = Vxlan.builder()
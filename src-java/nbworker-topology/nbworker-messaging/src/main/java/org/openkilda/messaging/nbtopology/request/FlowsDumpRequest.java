@@ -15,13 +15,32 @@
 
 package org.openkilda.messaging.nbtopology.request;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import lombok.EqualsAndHashCode;
 import lombok.Value;
 
 /**
- * Dump flow northbound request.
+ * Dump flow northbound request. If the limit is specified, only one page of flows ordered by flow ID is dumped, the
+ * page starts right after the given flow ID (or from the first flow if it is not specified).
  */
 @Value
 @EqualsAndHashCode(callSuper = false)
 public class FlowsDumpRequest extends FlowsBaseRequest {
+    @JsonProperty("after_flow_id")
+    String afterFlowId;
+
+    @JsonProperty("limit")
+    Integer limit;
+
+    public FlowsDumpRequest() {
+        this(null, null);
+    }
+
+    @JsonCreator
+    public FlowsDumpRequest(@JsonProperty("after_flow_id") String afterFlowId,
+                            @JsonProperty("limit") Integer limit) {
+        this.afterFlowId = afterFlowId;
+        this.limit = limit;
+    }
 }
@@ -98,7 +98,7 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
         } else if (request instanceof FlowReadRequest) {
             result = processFlowReadRequest((FlowReadRequest) request);
         } else if (request instanceof FlowsDumpRequest) {
-            result = processFlowsDumpRequest();
+            result = processFlowsDumpRequest((FlowsDumpRequest) request);
         } else {
             unhandledInput(tuple);
         }
@@ -242,9 +242,16 @@ public class FlowOperationsBolt extends PersistenceOperationsBolt {
         }
     }
 
-    private List<FlowResponse> processFlowsDumpRequest() {
+    private List<FlowResponse> processFlowsDumpRequest(FlowsDumpRequest request) {
+        if (request.getLimit() != null && request.getLimit() <= 0) {
+            throw new MessageException(ErrorType.DATA_INVALID, "Limit must be positive", "Invalid flow dump request");
+        }
+
         try {
-            return flowOperationsService.getAllFlows().stream()
+            Collection<Flow> flows = request.getLimit() == null
+                    ? flowOperationsService.getAllFlows()
+                    : flowOperationsService.getFlowsPage(request.getAfterFlowId(), request.getLimit());
+            return flows.stream()
                     .map(FlowMapper.INSTANCE::map)
                     .map(FlowResponse::new)
                     .collect(Collectors.toList());
@@ -75,6 +75,7 @@ public class FlowOperationsService {
 
     private static final int MAX_TRANSACTION_RETRY_COUNT = 3;
     private static final int RETRY_DELAY = 100;
+    private static final int DUMP_PAGE_SIZE = 500;
 
     private TransactionManager transactionManager;
     private IslRepository islRepository;
@@ -128,11 +129,28 @@ public class FlowOperationsService {
     }
 
     /**
-     * Get flows.
+     * Get flows. Flows are read by pages, so each query stays bounded regardless of the number of flows.
      */
     public Collection<Flow> getAllFlows() {
+        List<Flow> result = new ArrayList<>();
+        String afterFlowId = null;
+        Collection<Flow> page;
+        do {
+            page = getFlowsPage(afterFlowId, DUMP_PAGE_SIZE);
+            result.addAll(page);
+            if (!page.isEmpty()) {
+                afterFlowId = result.get(result.size() - 1).getFlowId();
+            }
+        } while (page.size() == DUMP_PAGE_SIZE);
+        return result;
+    }
+
+    /**
+     * Get a page of flows ordered by flow ID, the page starts right after the given flow ID.
+     */
+    public Collection<Flow> getFlowsPage(String afterFlowId, int limit) {
         return (Collection<Flow>) getReadOperationFailsafe().get(() ->
-                transactionManager.doInTransaction(() -> flowRepository.findAll())
+                transactionManager.doInTransaction(() -> flowRepository.findPage(afterFlowId, limit))
         );
     }
 
@@ -412,6 +412,20 @@ public class FlowOperationsServiceTest extends Neo4jBasedTest {
         assertFlows(flowOperationsService.getFlowsForEndpoint(SWITCH_ID_2, 2), FLOW_ID_1, FLOW_ID_2);
     }
 
+    @Test
+    public void shouldDumpFlowsByPages() {
+        Switch switchA = createSwitch(SWITCH_ID_1);
+        Switch switchB = createSwitch(SWITCH_ID_2);
+        createFlow(FLOW_ID_1, switchA, 1, switchB, 2, FORWARD_PATH_1, REVERSE_PATH_1, null);
+        createFlow(FLOW_ID_2, switchA, 3, switchB, 4, FORWARD_PATH_2, REVERSE_PATH_2, null);
+        createFlow(FLOW_ID_3, switchA, 5, switchB, 6, FORWARD_PATH_3, REVERSE_PATH_3, null);
+
+        assertFlows(flowOperationsService.getFlowsPage(null, 2), FLOW_ID_1, FLOW_ID_2);
+        assertFlows(flowOperationsService.getFlowsPage(FLOW_ID_2, 2), FLOW_ID_3);
+        assertFlows(flowOperationsService.getFlowsPage(FLOW_ID_3, 2));
+        assertFlows(flowOperationsService.getAllFlows(), FLOW_ID_1, FLOW_ID_2, FLOW_ID_3);
+    }
+
     private void assertFlows(Collection<Flow> actualFlows, String... expectedFlowIds) {
         assertEquals(expectedFlowIds.length, actualFlows.size());
         assertEquals(new HashSet<>(Arrays.asList(expectedFlowIds)),
@@ -227,9 +227,10 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
 
     private void watcher(TopologyBuilder topology, int scaleFactor) {
         WatcherHandler bolt = new WatcherHandler(options);
-        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH,
-                WatchListHandler.FIELD_ID_PORT_NUMBER);
-        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH, SpeakerRouter.FIELD_ID_PORT_NUMBER);
+        // all endpoints of a switch are handled by one watcher, so discovery requests and confirmations are batched
+        // per switch
+        Fields watchListGrouping = new Fields(WatchListHandler.FIELD_ID_DATAPATH);
+        Fields speakerGrouping = new Fields(SpeakerRouter.FIELD_ID_DATAPATH);
         topology.setBolt(WatcherHandler.BOLT_ID, bolt, scaleFactor)
                 .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(WatchListHandler.BOLT_ID, watchListGrouping)
@@ -290,6 +291,7 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
         IslHandler bolt = new IslHandler(persistenceManager, options);
         Fields islGrouping = new Fields(UniIslHandler.FIELD_ID_ISL_SOURCE, UniIslHandler.FIELD_ID_ISL_DEST);
         topology.setBolt(IslHandler.BOLT_ID, bolt, scaleFactor)
+                .allGrouping(CoordinatorSpout.ID)
                 .fieldsGrouping(UniIslHandler.BOLT_ID, islGrouping)
                 .fieldsGrouping(SpeakerRouter.BOLT_ID, SpeakerRouter.STREAM_ISL_ID, islGrouping)
                 .directGrouping(SpeakerRulesWorker.BOLT_ID, SpeakerRulesWorker.STREAM_HUB_ID);
@@ -359,7 +361,8 @@ public class NetworkTopology extends AbstractTopology<NetworkTopologyConfig> {
     }
 
     private void historyBolt(TopologyBuilder topology, int scaleFactor) {
-        HistoryHandler bolt = new HistoryHandler(persistenceManager);
+        HistoryHandler bolt = new HistoryHandler(persistenceManager, topologyConfig.getHistoryBatchSize(),
+                topologyConfig.getHistoryFlushIntervalSeconds());
         topology.setBolt(ComponentId.HISTORY_HANDLER.toString(), bolt, scaleFactor)
                 .shuffleGrouping(PortHandler.BOLT_ID, PortHandler.STREAM_HISTORY_ID);
     }
@@ -128,6 +128,22 @@ public interface NetworkTopologyConfig extends AbstractTopologyConfig {
     @Default("60")
     int getPortAntiFlapStatsDumpingInterval();
 
+    @Key("network.history.batch.size")
+    @Default("100")
+    int getHistoryBatchSize();
+
+    @Key("network.history.flush.interval.seconds")
+    @Default("1")
+    int getHistoryFlushIntervalSeconds();
+
+    @Key("network.isl.bulk.write.enabled")
+    @Default("true")
+    boolean isIslBulkWriteEnabled();
+
+    @Key("network.isl.bulk.write.interval.millis")
+    @Default("200")
+    int getIslBulkWriteIntervalMillis();
+
     @Configuration
     @Key("discovery")
     interface DiscoveryConfig {
@@ -0,0 +1,154 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.network.controller.isl;
+
+import org.openkilda.model.Switch;
+import org.openkilda.model.SwitchId;
+import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionManager;
+import org.openkilda.persistence.repositories.SwitchRepository;
+import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.topology.network.model.NetworkOptions;
+
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import net.jodah.failsafe.RetryPolicy;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects ISL write requests of {@link IslFsm}s and writes them all in one transaction. Several requests of the
+ * same ISL are coalesced into one write of its latest state, so link props and bandwidth are evaluated once per ISL.
+ * The switches of all ISLs are loaded once and locked together in ascending order of switch ID.
+ */
+@Slf4j
+public class IslBulkWriter {
+    private final Clock clock;
+    private final SwitchRepository switchRepository;
+    private final TransactionManager transactionManager;
+    private final RetryPolicy transactionRetryPolicy;
+
+    private final Map<IslReference, PendingWrite> pending = new LinkedHashMap<>();
+
+    public IslBulkWriter(Clock clock, PersistenceManager persistenceManager, NetworkOptions options) {
+        this.clock = clock;
+        switchRepository = persistenceManager.getRepositoryFactory().createSwitchRepository();
+        transactionManager = persistenceManager.getTransactionManager();
+        transactionRetryPolicy = transactionManager.makeRetryPolicyBlank()
+                .withMaxDuration(options.getDbRepeatMaxDurationSeconds(), TimeUnit.SECONDS);
+    }
+
+    /**
+     * Schedule the write of the ISL. The {@code onWrite} actions (if any) replace the actions scheduled by a previous
+     * transition of the same ISL: that transition is overwritten by the newer one and is never stored.
+     */
+    void schedule(IslFsm fsm, Runnable onWrite) {
+        PendingWrite entry = pending.computeIfAbsent(fsm.getReference(), key -> new PendingWrite(fsm));
+        if (onWrite != null) {
+            entry.setOnWrite(onWrite);
+        }
+    }
+
+    /**
+     * Write all pending ISLs and run their post-write actions. If the bulk transaction fails, ISLs are written one
+     * per transaction, so one broken ISL does not block the others. Actions of ISLs that were not written (failed or
+     * skipped) are dropped.
+     */
+    public void flush() {
+        if (pending.isEmpty()) {
+            return;
+        }
+
+        List<PendingWrite> batch = new ArrayList<>(pending.values());
+        pending.clear();
+
+        Instant timeNow = clock.instant();
+        List<PendingWrite> written;
+        try {
+            written = transactionManager.doInTransaction(transactionRetryPolicy, () -> write(batch, timeNow));
+        } catch (Exception e) {
+            log.error("Unable to write {} ISLs in one transaction, write them one by one: {}",
+                    batch.size(), e.getMessage(), e);
+            written = writeOneByOne(batch, timeNow);
+        }
+
+        log.debug("Write {} ISLs in bulk", written.size());
+        for (PendingWrite entry : written) {
+            if (entry.getOnWrite() == null) {
+                continue;
+            }
+            try {
+                entry.getOnWrite().run();
+            } catch (Exception e) {
+                log.error("Unable to complete write of ISL {}: {}", entry.getFsm().getReference(), e.getMessage(), e);
+            }
+        }
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private List<PendingWrite> writeOneByOne(List<PendingWrite> batch, Instant timeNow) {
+        List<PendingWrite> written = new ArrayList<>();
+        for (PendingWrite entry : batch) {
+            try {
+                written.addAll(transactionManager.doInTransaction(transactionRetryPolicy,
+                        () -> write(Collections.singletonList(entry), timeNow)));
+            } catch (Exception e) {
+                log.error("Unable to write ISL {}: {}", entry.getFsm().getReference(), e.getMessage(), e);
+            }
+        }
+        return written;
+    }
+
+    private List<PendingWrite> write(Collection<PendingWrite> batch, Instant timeNow) {
+        Map<SwitchId, Switch> switches = new HashMap<>();
+        for (PendingWrite entry : batch) {
+            entry.getFsm().loadSwitches(switches);
+        }
+        switchRepository.lockSwitches(switches.values().toArray(new Switch[0]));
+
+        List<PendingWrite> written = new ArrayList<>();
+        for (PendingWrite entry : batch) {
+            if (entry.getFsm().write(switches, timeNow)) {
+                written.add(entry);
+            }
+        }
+        return written;
+    }
+
+    @Getter
+    private static class PendingWrite {
+        private final IslFsm fsm;
+        @Setter
+        private Runnable onWrite;
+
+        PendingWrite(IslFsm fsm) {
+            this.fsm = fsm;
+        }
+    }
+}
@@ -66,7 +66,9 @@ import java.time.Clock;
 import java.time.Instant;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.TimeUnit;
@@ -78,7 +80,9 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
 
     private final IslReference reference;
     private final BfdManager bfdManager;
+    private final IslBulkWriter bulkWriter;
 
+    private boolean operational;
     private IslStatus effectiveStatus = IslStatus.INACTIVE;
     private IslDownReason downReason;
     private long islRulesAttempts;
@@ -100,17 +104,19 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     private final RetryPolicy transactionRetryPolicy;
 
     public static IslFsmFactory factory(Clock clock, PersistenceManager persistenceManager,
-                                        NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder) {
-        return new IslFsmFactory(clock, persistenceManager, dashboardLoggerBuilder);
+                                        NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder,
+                                        IslBulkWriter bulkWriter) {
+        return new IslFsmFactory(clock, persistenceManager, dashboardLoggerBuilder, bulkWriter);
     }
 
     public IslFsm(Clock clock, PersistenceManager persistenceManager, NetworkTopologyDashboardLogger dashboardLogger,
-                  BfdManager bfdManager, NetworkOptions options, IslReference reference) {
+                  BfdManager bfdManager, IslBulkWriter bulkWriter, NetworkOptions options, IslReference reference) {
         this.clock = clock;
         this.options = options;
 
         this.reference = reference;
         this.bfdManager = bfdManager;
+        this.bulkWriter = bulkWriter;
 
         this.dashboardLogger = dashboardLogger;
 
@@ -138,6 +144,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
                 new DiscoveryBfdMonitor(reference),
                 new DiscoveryRoundTripMonitor(reference, clock, options),
                 new DiscoveryPollMonitor(reference));
+        operational = true;
 
         transactionManager.doInTransaction(() -> {
             loadPersistentData(reference.getSource(), reference.getDest());
@@ -152,6 +159,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     }
 
     public void operationalExit(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
+        operational = false;
         bfdManager.disable(context.getOutput());
     }
 
@@ -169,7 +177,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     }
 
     public void flushAction(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
-        flushTransaction();
+        flushTransaction(context);
     }
 
     public void removeAttempt(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
@@ -222,27 +230,27 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
     public void usableEnter(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
         dashboardLogger.onIslUp(reference);
 
-        flushTransaction();
-        sendBfdEnable(context.getOutput());
-
-        triggerDownFlowReroute(context);
+        flushTransaction(context, () -> {
+            sendBfdEnable(context.getOutput());
+            triggerDownFlowReroute(context);
+        });
     }
 
     public void inactiveEnter(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
         dashboardLogger.onIslDown(reference);
-        flushTransaction();
-
-        sendIslStatusUpdateNotification(context, IslStatus.INACTIVE);
-        triggerAffectedFlowReroute(context);
+        flushTransaction(context, () -> {
+            sendIslStatusUpdateNotification(context, IslStatus.INACTIVE);
+            triggerAffectedFlowReroute(context);
+        });
     }
 
     public void movedEnter(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
         dashboardLogger.onIslMoved(reference);
-        flushTransaction();
-
         bfdManager.disable(context.getOutput());
-        sendIslStatusUpdateNotification(context, IslStatus.MOVED);
-        triggerAffectedFlowReroute(context);
+        flushTransaction(context, () -> {
+            sendIslStatusUpdateNotification(context, IslStatus.MOVED);
+            triggerAffectedFlowReroute(context);
+        });
     }
 
     public void cleanUpResourcesEnter(IslFsmState from, IslFsmState to, IslFsmEvent event, IslFsmContext context) {
@@ -389,14 +397,33 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         }
     }
 
-    private void flushTransaction() {
-        transactionManager.doInTransaction(transactionRetryPolicy, () -> flush(clock.instant()));
+    private void flushTransaction(IslFsmContext context) {
+        flushTransaction(context, null);
     }
 
-    private void flush(Instant timeNow) {
-        Socket socket = prepareSocket();
-        flush(socket.getSource(), socket.getDest(), timeNow);
-        flush(socket.getDest(), socket.getSource(), timeNow);
+    /**
+     * Write the ISL state and run {@code onWrite} actions if the ISL is written. In bulk write mode both are postponed
+     * until the next {@link IslBulkWriter#flush()}, so actions depending on the stored ISL state (reroutes, status
+     * notifications) must be passed as {@code onWrite}. Postponed actions keep the command context of the current
+     * input, and the actions of a newer transition replace the not yet written ones.
+     */
+    private void flushTransaction(IslFsmContext context, Runnable onWrite) {
+        if (options.isIslBulkWriteEnabled()) {
+            bulkWriter.schedule(this, onWrite == null ? null : context.getOutput().keepCommandContext(onWrite));
+            return;
+        }
+
+        boolean isWritten = transactionManager.doInTransaction(transactionRetryPolicy, () -> flush(clock.instant()));
+        if (isWritten && onWrite != null) {
+            onWrite.run();
+        }
+    }
+
+    private boolean flush(Instant timeNow) {
+        Map<SwitchId, Switch> switches = new HashMap<>();
+        loadSwitches(switches);
+        switchRepository.lockSwitches(switches.values().toArray(new Switch[0]));
+        return write(switches, timeNow);
     }
 
     private void flush(Anchor source, Anchor dest, Instant timeNow) {
@@ -426,6 +453,37 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         islRepository.createOrUpdate(link);
     }
 
+    /**
+     * Load (create if missing) both ISL switches into the {@code switches} map, already loaded switches are reused.
+     */
+    void loadSwitches(Map<SwitchId, Switch> switches) {
+        for (Endpoint endpoint : new Endpoint[]{reference.getSource(), reference.getDest()}) {
+            switches.computeIfAbsent(endpoint.getDatapath(), this::loadSwitchCreateIfMissing);
+        }
+    }
+
+    /**
+     * Write both ISL directions, switches must be loaded by {@link #loadSwitches(Map)} and locked by the caller.
+     *
+     * @return false if the write is skipped because the ISL is not operational anymore
+     */
+    boolean write(Map<SwitchId, Switch> switches, Instant timeNow) {
+        if (!operational) {
+            log.info("Skip write of ISL {} - it is not operational anymore", reference);
+            return false;
+        }
+
+        Anchor source = new Anchor(reference.getSource(), switches.get(reference.getSource().getDatapath()));
+        Anchor dest = new Anchor(reference.getDest(), switches.get(reference.getDest().getDatapath()));
+        flush(source, dest, timeNow);
+        flush(dest, source, timeNow);
+        return true;
+    }
+
+    IslReference getReference() {
+        return reference;
+    }
+
     private boolean evaluateStatus() {
         IslStatus become = null;
         IslDownReason reason = null;
@@ -476,14 +534,6 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
                 || isPerIslBfdToggleEnabled(reference.getDest(), reference.getSource());
     }
 
-    private Socket prepareSocket() {
-        Anchor source = loadSwitchCreateIfMissing(reference.getSource());
-        Anchor dest = loadSwitchCreateIfMissing(reference.getDest());
-        switchRepository.lockSwitches(source.getSw(), dest.getSw());
-
-        return new Socket(source, dest);
-    }
-
     private Isl createIsl(Anchor source, Anchor dest, Instant timeNow) {
         final Endpoint sourceEndpoint = source.getEndpoint();
         final Endpoint destEndpoint = dest.getEndpoint();
@@ -502,14 +552,12 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         return link;
     }
 
-    private Anchor loadSwitchCreateIfMissing(Endpoint endpoint) {
-        final SwitchId datapath = endpoint.getDatapath();
-        Switch sw = switchRepository.findById(datapath)
+    private Switch loadSwitchCreateIfMissing(SwitchId datapath) {
+        return switchRepository.findById(datapath)
                 .orElseGet(() -> {
                     log.error("Switch {} is missing in DB, create empty switch record", datapath);
                     return createSwitch(datapath);
                 });
-        return new Anchor(endpoint, sw);
     }
 
     private Switch createSwitch(SwitchId datapath) {
@@ -655,32 +703,28 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
         Switch sw;
     }
 
-    @Value
-    private static class Socket {
-        Anchor source;
-        Anchor dest;
-    }
-
     public static class IslFsmFactory {
         private final Clock clock;
 
         private final NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder;
 
         private final PersistenceManager persistenceManager;
+        private final IslBulkWriter bulkWriter;
         private final StateMachineBuilder<IslFsm, IslFsmState, IslFsmEvent, IslFsmContext> builder;
 
         IslFsmFactory(Clock clock, PersistenceManager persistenceManager,
-                      NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder) {
+                      NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder, IslBulkWriter bulkWriter) {
             this.clock = clock;
 
             this.persistenceManager = persistenceManager;
             this.dashboardLoggerBuilder = dashboardLoggerBuilder;
+            this.bulkWriter = bulkWriter;
 
             builder = StateMachineBuilderFactory.create(
                     IslFsm.class, IslFsmState.class, IslFsmEvent.class, IslFsmContext.class,
                     // extra parameters
                     Clock.class, PersistenceManager.class, NetworkTopologyDashboardLogger.class, BfdManager.class,
-                    NetworkOptions.class, IslReference.class);
+                    IslBulkWriter.class, NetworkOptions.class, IslReference.class);
 
             // OPERATIONAL
             builder.defineSequentialStatesOn(
@@ -788,7 +832,7 @@ public final class IslFsm extends AbstractBaseFsm<IslFsm, IslFsmState, IslFsmEve
                 BfdManager bfdManager, NetworkOptions options, IslReference reference, IslFsmContext context) {
             IslFsm fsm = builder.newStateMachine(
                     IslFsmState.OPERATIONAL, clock, persistenceManager, dashboardLoggerBuilder.build(log), bfdManager,
-                    options, reference);
+                    bulkWriter, options, reference);
             fsm.start(context);
             return fsm;
         }
@@ -56,6 +56,10 @@ public class NetworkOptions implements Serializable {
 
     private long antiFlapStatsDumpingInterval;
 
+    private boolean islBulkWriteEnabled;
+
+    private long islBulkWriteInterval;
+
     public NetworkOptions(NetworkTopologyConfig topologyConfig) {
         discoveryInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getDiscoveryInterval());
         discoveryRoundTripStatusInterval = TimeUnit.SECONDS.toNanos(
@@ -78,5 +82,8 @@ public class NetworkOptions implements Serializable {
         countSynchronizationAttempts = topologyConfig.getCountSynchronizationAttempts();
         antiFlapStatsDumpingInterval = TimeUnit.SECONDS.toNanos(topologyConfig.getPortAntiFlapStatsDumpingInterval());
         rulesSynchronizationAttempts = topologyConfig.getRulesSynchronizationAttempts();
+
+        islBulkWriteEnabled = topologyConfig.isIslBulkWriteEnabled();
+        islBulkWriteInterval = TimeUnit.MILLISECONDS.toNanos(topologyConfig.getIslBulkWriteIntervalMillis());
     }
 }
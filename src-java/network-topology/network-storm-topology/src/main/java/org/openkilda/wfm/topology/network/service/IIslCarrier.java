@@ -32,4 +32,10 @@ public interface IIslCarrier {
     void islDefaultRulesInstall(Endpoint source, Endpoint destination);
 
     void islDefaultRulesDelete(Endpoint source, Endpoint destination);
+
+    /**
+     * Bind the command context of the current input to the action, so the action can be run later, e.g. after the
+     * bulk write of ISLs, and still report its output in the context of the input that caused it.
+     */
+    Runnable keepCommandContext(Runnable action);
 }
@@ -27,6 +27,7 @@ import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
 import org.openkilda.wfm.share.utils.FsmExecutor;
 import org.openkilda.wfm.topology.network.NetworkTopologyDashboardLogger;
+import org.openkilda.wfm.topology.network.controller.isl.IslBulkWriter;
 import org.openkilda.wfm.topology.network.controller.isl.IslFsm;
 import org.openkilda.wfm.topology.network.controller.isl.IslFsm.IslFsmContext;
 import org.openkilda.wfm.topology.network.controller.isl.IslFsm.IslFsmEvent;
@@ -42,6 +43,8 @@ import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
 import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -51,6 +54,10 @@ public class NetworkIslService {
     private final Map<IslReference, IslController> controller = new HashMap<>();
     private final FsmExecutor<IslFsm, IslFsmState, IslFsmEvent, IslFsmContext> controllerExecutor;
 
+    private final IslBulkWriter bulkWriter;
+    private final Clock clock;
+    private Instant lastBulkWrite = Instant.MIN;
+
     private final IIslCarrier carrier;
     private final NetworkOptions options;
 
@@ -63,11 +70,26 @@ public class NetworkIslService {
                       NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder, Clock clock) {
         this.carrier = carrier;
         this.options = options;
+        this.clock = clock;
 
-        controllerFactory = IslFsm.factory(clock, persistenceManager, dashboardLoggerBuilder);
+        bulkWriter = new IslBulkWriter(clock, persistenceManager, options);
+        controllerFactory = IslFsm.factory(clock, persistenceManager, dashboardLoggerBuilder, bulkWriter);
         controllerExecutor = controllerFactory.produceExecutor();
     }
 
+    /**
+     * Write ISL changes collected since the previous bulk write, if the bulk write interval has passed.
+     */
+    public void tick() {
+        Instant now = clock.instant();
+        if (bulkWriter.getPendingCount() == 0
+                || now.isBefore(lastBulkWrite.plus(Duration.ofNanos(options.getIslBulkWriteInterval())))) {
+            return;
+        }
+        lastBulkWrite = now;
+        bulkWriter.flush();
+    }
+
     /**
      * Create ISL handler and use "history" data to initialize it's state.
      */
@@ -16,23 +16,25 @@
 package org.openkilda.wfm.topology.network.service;
 
 import org.openkilda.wfm.share.model.Endpoint;
+import org.openkilda.wfm.share.utils.TimingWheel;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
 import java.util.HashSet;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class NetworkWatchListService {
+    private static final long TIMER_TICK_NS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int TIMER_BUCKETS_COUNT = 256;
+
     private final IWatchListCarrier carrier;
     private final long tickPeriod;
 
     private Set<Endpoint> endpoints = new HashSet<>();
-    private SortedMap<Long, Set<Endpoint>> timeouts = new TreeMap<>();
-
+    private TimingWheel<Endpoint> timeouts = new TimingWheel<>(TIMER_TICK_NS, TIMER_BUCKETS_COUNT);
 
     public NetworkWatchListService(IWatchListCarrier carrier, long tickPeriod) {
         this.carrier = carrier;
@@ -45,7 +47,7 @@ public class NetworkWatchListService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Endpoint>> getTimeouts() {
+    TimingWheel<Endpoint> getTimeouts() {
         return timeouts;
     }
 
@@ -53,9 +55,7 @@ public class NetworkWatchListService {
     void addWatch(Endpoint endpoint, long currentTime) {
         if (endpoints.add(endpoint)) {
             carrier.discoveryRequest(endpoint, currentTime);
-            long key = currentTime + tickPeriod;
-            timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                    .add(endpoint);
+            timeouts.schedule(endpoint, currentTime + tickPeriod);
         }
     }
 
@@ -71,28 +71,17 @@ public class NetworkWatchListService {
         log.debug("Watch-list service receive REMOVE-WATCH request for {}", endpoint);
         carrier.watchRemoved(endpoint);
         endpoints.remove(endpoint);
+        timeouts.cancel(endpoint);
     }
 
     /**
      * Consume timer tick.
      */
     public void tick(long tickTime) {
-        SortedMap<Long, Set<Endpoint>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            HashSet<Endpoint> renew = new HashSet<>();
-            for (Set<Endpoint> e : range.values()) {
-                for (Endpoint ee : e) {
-                    if (endpoints.contains(ee)) {
-                        carrier.discoveryRequest(ee, tickTime);
-                        renew.add(ee);
-                    }
-                }
-            }
-            range.clear();
-            if (!renew.isEmpty()) {
-                long key = tickTime + tickPeriod;
-                timeouts.computeIfAbsent(key, mappingFunction -> new HashSet<>())
-                        .addAll(renew);
+        for (Endpoint endpoint : timeouts.advance(tickTime)) {
+            if (endpoints.contains(endpoint)) {
+                carrier.discoveryRequest(endpoint, tickTime);
+                timeouts.schedule(endpoint, tickTime + tickPeriod);
             }
         }
     }
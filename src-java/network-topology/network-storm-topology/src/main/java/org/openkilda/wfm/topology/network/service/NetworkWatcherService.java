@@ -15,10 +15,13 @@
 
 package org.openkilda.wfm.topology.network.service;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.messaging.info.event.IslInfoData;
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
+import org.openkilda.wfm.share.utils.TimingWheel;
 import org.openkilda.wfm.topology.network.model.RoundTripStatus;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -28,15 +31,20 @@ import lombok.extern.slf4j.Slf4j;
 import java.time.Clock;
 import java.time.Duration;
 import java.time.Instant;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 
 @Slf4j
 public class NetworkWatcherService {
+    private static final long TIMER_TICK_NS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final int TIMER_BUCKETS_COUNT = 256;
+
     private final Clock clock;
     private final Clock roundTripNotificationClock;
     private Instant lastRoundTripNotification;
@@ -50,10 +58,12 @@ public class NetworkWatcherService {
     private Set<Packet> roundTripPackets = new HashSet<>();
 
     private Set<Packet> confirmedPackets = new HashSet<>();
-    private SortedMap<Long, Set<Packet>> timeouts = new TreeMap<>();
+    private TimingWheel<Packet> timeouts = new TimingWheel<>(TIMER_TICK_NS, TIMER_BUCKETS_COUNT);
 
     private Map<Endpoint, Instant> lastSeenRoundTrip = new HashMap<>();
 
+    private Map<SwitchId, List<DiscoverIslPortPacket>> discoveryBatches = new LinkedHashMap<>();
+
     public NetworkWatcherService(
             IWatcherCarrier carrier, Duration roundTripNotificationPeriod, long awaitTime, Integer taskId) {
         this(Clock.systemUTC(), carrier, roundTripNotificationPeriod, awaitTime, taskId);
@@ -84,12 +94,11 @@ public class NetworkWatcherService {
         discoveryPackets.add(packet);
         roundTripPackets.add(packet);
 
-        timeouts.computeIfAbsent(currentTime + awaitTime, key -> new HashSet<>())
-                .add(packet);
+        timeouts.schedule(packet, currentTime + awaitTime);
 
-        DiscoverIslCommandData discoveryRequest = new DiscoverIslCommandData(
-                endpoint.getDatapath(), endpoint.getPortNumber(), packetNo);
-        carrier.sendDiscovery(discoveryRequest);
+        // discovery requests are sent on the next tick, one request per switch
+        discoveryBatches.computeIfAbsent(endpoint.getDatapath(), key -> new ArrayList<>())
+                .add(new DiscoverIslPortPacket(endpoint.getPortNumber(), packetNo));
 
         packetNo += 1;
     }
@@ -103,8 +112,17 @@ public class NetworkWatcherService {
         discoveryPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
         roundTripPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
         confirmedPackets.removeIf(packet -> packet.endpoint.equals(endpoint));
+        timeouts.cancelIf(packet -> packet.endpoint.equals(endpoint));
 
         lastSeenRoundTrip.remove(endpoint);
+
+        List<DiscoverIslPortPacket> batch = discoveryBatches.get(endpoint.getDatapath());
+        if (batch != null) {
+            batch.removeIf(entry -> entry.getPortNumber() == endpoint.getPortNumber());
+            if (batch.isEmpty()) {
+                discoveryBatches.remove(endpoint.getDatapath());
+            }
+        }
     }
 
     public void tick() {
@@ -112,19 +130,23 @@ public class NetworkWatcherService {
     }
 
     void tick(long tickTime) {
+        flushDiscoveryBatches();
         tickDiscovery(tickTime);
         tickRoundTrip();
     }
 
+    private void flushDiscoveryBatches() {
+        for (Map.Entry<SwitchId, List<DiscoverIslPortPacket>> entry : discoveryBatches.entrySet()) {
+            log.debug("Watcher service send discovery batch for {} with {} packets task:{}",
+                      entry.getKey(), entry.getValue().size(), taskId);
+            carrier.sendDiscovery(new DiscoverIslBatchCommandData(entry.getKey(), entry.getValue()));
+        }
+        discoveryBatches.clear();
+    }
+
     private void tickDiscovery(long tickTime) {
-        SortedMap<Long, Set<Packet>> range = timeouts.subMap(0L, tickTime + 1);
-        if (!range.isEmpty()) {
-            for (Set<Packet> e : range.values()) {
-                for (Packet ee : e) {
-                    timeoutAction(ee);
-                }
-            }
-            range.clear();
+        for (Packet packet : timeouts.advance(tickTime)) {
+            timeoutAction(packet);
         }
     }
 
@@ -154,6 +176,15 @@ public class NetworkWatcherService {
         }
     }
 
+    /**
+     * Consume SEND-confirmation for the discovery batch.
+     */
+    public void confirmation(SwitchId datapath, List<DiscoverIslPortPacket> packets) {
+        for (DiscoverIslPortPacket entry : packets) {
+            confirmation(Endpoint.of(datapath, entry.getPortNumber()), entry.getPacketId());
+        }
+    }
+
     /**
      * Consume discovery event.
      */
@@ -230,10 +261,15 @@ public class NetworkWatcherService {
     }
 
     @VisibleForTesting
-    SortedMap<Long, Set<Packet>> getTimeouts() {
+    TimingWheel<Packet> getTimeouts() {
         return timeouts;
     }
 
+    @VisibleForTesting
+    Map<SwitchId, List<DiscoverIslPortPacket>> getDiscoveryBatches() {
+        return discoveryBatches;
+    }
+
     @Value(staticConstructor = "of")
     public static class Packet {
         private final Endpoint endpoint;
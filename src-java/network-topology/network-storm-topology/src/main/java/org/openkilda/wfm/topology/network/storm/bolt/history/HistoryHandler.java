@@ -19,36 +19,95 @@ import static org.openkilda.wfm.topology.utils.KafkaRecordTranslator.FIELD_ID_PA
 
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.share.history.model.PortHistoryData;
-import org.openkilda.wfm.share.history.service.HistoryService;
+import org.openkilda.wfm.share.history.service.HistoryBatchWriter;
+import org.openkilda.wfm.share.history.service.HistoryBatchWriterCarrier;
 import org.openkilda.wfm.topology.network.storm.bolt.history.command.HistoryCommand;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+
+import java.util.Map;
 
 @Slf4j
-public class HistoryHandler extends AbstractBolt {
+public class HistoryHandler extends AbstractBolt implements HistoryBatchWriterCarrier<Tuple> {
     private final PersistenceManager persistenceManager;
-    private transient HistoryService historyService;
+    private final int batchSize;
+    private final int flushIntervalSeconds;
+    private transient HistoryBatchWriter<Tuple> historyWriter;
+    private transient boolean currentTupleBuffered;
 
-    public HistoryHandler(PersistenceManager persistenceManager) {
+    public HistoryHandler(PersistenceManager persistenceManager, int batchSize, int flushIntervalSeconds) {
         this.persistenceManager = persistenceManager;
+        this.batchSize = batchSize;
+        this.flushIntervalSeconds = flushIntervalSeconds;
     }
 
     @Override
     protected void init() {
-        this.historyService = new HistoryService(persistenceManager);
+        this.historyWriter = new HistoryBatchWriter<>(persistenceManager, this, batchSize);
     }
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
+        if (TupleUtils.isTick(input)) {
+            historyWriter.flush();
+            return;
+        }
+
         HistoryCommand command = pullValue(input, FIELD_ID_PAYLOAD, HistoryCommand.class);
         command.apply(this);
     }
 
     public void savePortStatusChangedEvent(PortHistoryData data) {
-        historyService.store(data);
+        currentTupleBuffered = true;
+        historyWriter.add(data, getCurrentTuple());
+    }
+
+    @Override
+    public void onRecordWritten(Tuple anchor) {
+        super.ack(anchor);
+    }
+
+    @Override
+    public void onRecordFailed(Tuple anchor) {
+        // the history record is lost, replay of the source tuple would repeat the whole operation
+        log.warn("Drop history record of tuple id {}", anchor.getMessageId());
+        super.ack(anchor);
+    }
+
+    @Override
+    protected void ack(Tuple input) {
+        // buffered tuples are acked by the history writer
+        if (currentTupleBuffered) {
+            currentTupleBuffered = false;
+        } else {
+            super.ack(input);
+        }
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public void cleanup() {
+        if (historyWriter != null) {
+            historyWriter.flush();
+        }
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(
+                super.getComponentConfiguration(), flushIntervalSeconds);
     }
 
     @Override
@@ -25,8 +25,10 @@ import org.openkilda.model.Isl;
 import org.openkilda.model.IslDownReason;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
 import org.openkilda.wfm.share.bolt.KafkaEncoder;
+import org.openkilda.wfm.share.hubandspoke.CoordinatorSpout;
 import org.openkilda.wfm.share.hubandspoke.TaskIdBasedKeyFactory;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.share.model.IslReference;
@@ -90,7 +92,9 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
     @Override
     protected void handleInput(Tuple input) throws Exception {
         String source = input.getSourceComponent();
-        if (UniIslHandler.BOLT_ID.equals(source)) {
+        if (CoordinatorSpout.ID.equals(source)) {
+            handleTimerTick();
+        } else if (UniIslHandler.BOLT_ID.equals(source)) {
             handleUniIslCommand(input);
         } else if (SpeakerRouter.BOLT_ID.equals(source)) {
             handleSpeakerInput(input);
@@ -101,6 +105,10 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
         }
     }
 
+    private void handleTimerTick() {
+        service.tick();
+    }
+
     private void handleUniIslCommand(Tuple input) throws PipelineException {
         IslCommand command = pullValue(input, UniIslHandler.FIELD_ID_COMMAND, IslCommand.class);
         command.apply(this);
@@ -164,6 +172,20 @@ public class IslHandler extends AbstractBolt implements IIslCarrier {
                 new SpeakerRulesIslRemoveCommand(keyFactory.next(), source, destination)));
     }
 
+    @Override
+    public Runnable keepCommandContext(Runnable action) {
+        CommandContext context = getCommandContext();
+        return () -> {
+            CommandContext current = getCommandContext();
+            setCommandContext(context);
+            try {
+                action.run();
+            } finally {
+                setCommandContext(current);
+            }
+        };
+    }
+
     private Values makeSpeakerRulesTuple(SpeakerRulesWorkerCommand command) {
         return new Values(command.getKey(), command, getCommandContext());
     }
@@ -19,6 +19,7 @@ import org.openkilda.messaging.Message;
 import org.openkilda.messaging.floodlight.response.BfdSessionResponse;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.discovery.DiscoPacketBatchSendingConfirmation;
 import org.openkilda.messaging.info.discovery.DiscoPacketSendingConfirmation;
 import org.openkilda.messaging.info.discovery.NetworkDumpSwitchData;
 import org.openkilda.messaging.info.event.DeactivateIslInfoData;
@@ -54,6 +55,7 @@ import org.openkilda.wfm.topology.network.storm.bolt.sw.command.SwitchPortEventC
 import org.openkilda.wfm.topology.network.storm.bolt.sw.command.SwitchRemoveEventCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.sw.command.SwitchUnmanagedEventCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherCommand;
+import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherSpeakerBatchSendConfirmationCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherSpeakerDiscoveryCommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherSpeakerRoundTripDiscovery;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.command.WatcherSpeakerSendConfirmationCommand;
@@ -127,6 +129,9 @@ public class SpeakerRouter extends AbstractBolt {
         } else if (payload instanceof DiscoPacketSendingConfirmation) {
             emit(STREAM_WATCHER_ID, input, makeWatcherTuple(
                     input, new WatcherSpeakerSendConfirmationCommand((DiscoPacketSendingConfirmation) payload)));
+        } else if (payload instanceof DiscoPacketBatchSendingConfirmation) {
+            emit(STREAM_WATCHER_ID, input, makeWatcherTuple(input, new WatcherSpeakerBatchSendConfirmationCommand(
+                    (DiscoPacketBatchSendingConfirmation) payload)));
         } else if (payload instanceof IslRoundTripLatency) {
             emit(STREAM_WATCHER_ID, input, makeWatcherTuple(
                     input, new WatcherSpeakerRoundTripDiscovery((IslRoundTripLatency) payload)));
@@ -179,7 +184,8 @@ public class SpeakerRouter extends AbstractBolt {
 
     private Values makeWatcherTuple(Tuple input, WatcherCommand command) throws PipelineException {
         Endpoint endpoint = command.getEndpoint();
-        return new Values(endpoint.getDatapath(), endpoint.getPortNumber(), command, pullContext(input));
+        Integer portNumber = endpoint != null ? endpoint.getPortNumber() : null;
+        return new Values(command.getDatapath(), portNumber, command, pullContext(input));
     }
 
     private Values makeIslTuple(Tuple input, IslCommand command) throws PipelineException {
@@ -16,7 +16,8 @@
 package org.openkilda.wfm.topology.network.storm.bolt.watcher;
 
 import org.openkilda.messaging.command.CommandData;
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.AbstractBolt;
@@ -46,6 +47,7 @@ import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
 import java.time.Duration;
+import java.util.List;
 
 public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
     public static final String BOLT_ID = ComponentId.WATCHER.toString();
@@ -136,7 +138,7 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
     }
 
     @Override
-    public void sendDiscovery(DiscoverIslCommandData discoveryRequest) {
+    public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
         SwitchId switchId = discoveryRequest.getSwitchId();
         emit(STREAM_SPEAKER_ID, getCurrentTuple(), makeSpeakerTuple(switchId.toString(), discoveryRequest));
     }
@@ -167,6 +169,10 @@ public class WatcherHandler extends AbstractBolt implements IWatcherCarrier {
         service.confirmation(endpoint, packetId);
     }
 
+    public void processConfirmation(SwitchId datapath, List<DiscoverIslPortPacket> packets) {
+        service.confirmation(datapath, packets);
+    }
+
     public void processAddWatch(Endpoint endpoint) {
         service.addWatch(endpoint);
     }
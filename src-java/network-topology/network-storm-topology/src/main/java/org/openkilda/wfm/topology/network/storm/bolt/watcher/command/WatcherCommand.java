@@ -15,6 +15,7 @@
 
 package org.openkilda.wfm.topology.network.storm.bolt.watcher.command;
 
+import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.share.model.Endpoint;
 import org.openkilda.wfm.topology.network.storm.ICommand;
 import org.openkilda.wfm.topology.network.storm.bolt.watcher.WatcherHandler;
@@ -22,10 +23,22 @@ import org.openkilda.wfm.topology.network.storm.bolt.watcher.WatcherHandler;
 import lombok.Getter;
 
 public abstract class WatcherCommand implements ICommand<WatcherHandler> {
+    @Getter
+    private final SwitchId datapath;
+
     @Getter
     private final Endpoint endpoint;
 
     public WatcherCommand(Endpoint endpoint) {
+        this.datapath = endpoint.getDatapath();
         this.endpoint = endpoint;
     }
+
+    /**
+     * Command related to several endpoints of one switch, it has no {@code endpoint}.
+     */
+    public WatcherCommand(SwitchId datapath) {
+        this.datapath = datapath;
+        this.endpoint = null;
+    }
 }
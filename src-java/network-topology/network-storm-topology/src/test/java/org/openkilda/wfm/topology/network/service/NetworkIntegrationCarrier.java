@@ -255,4 +255,9 @@ public class NetworkIntegrationCarrier
     public void islDefaultRulesDelete(Endpoint source, Endpoint destination) {
         // Real implementation emit event into external component, i.e.it is outside scope of this integration test.
     }
+
+    @Override
+    public Runnable keepCommandContext(Runnable action) {
+        return action;
+    }
 }
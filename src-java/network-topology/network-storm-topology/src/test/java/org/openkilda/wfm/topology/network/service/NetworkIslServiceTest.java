@@ -46,6 +46,7 @@ import org.openkilda.model.SwitchStatus;
 import org.openkilda.persistence.EmbeddedNeo4jDatabase;
 import org.openkilda.persistence.Neo4jConfig;
 import org.openkilda.persistence.PersistenceManager;
+import org.openkilda.persistence.TransactionCallback;
 import org.openkilda.persistence.TransactionCallbackWithoutResult;
 import org.openkilda.persistence.TransactionManager;
 import org.openkilda.persistence.repositories.FeatureTogglesRepository;
@@ -165,12 +166,11 @@ public class NetworkIslServiceTest {
         }).when(transactionManager).doInTransaction(Mockito.any(TransactionCallbackWithoutResult.class));
         doAnswer(invocation -> {
             RetryPolicy retryPolicy = invocation.getArgument(0);
-            TransactionCallbackWithoutResult<?> tr = invocation.getArgument(1);
-            Failsafe.with(retryPolicy)
-                    .run(tr::doInTransaction);
-            return null;
+            TransactionCallback<?, ?> tr = invocation.getArgument(1);
+            return Failsafe.with(retryPolicy)
+                    .get(tr::doInTransaction);
         }).when(transactionManager)
-                .doInTransaction(Mockito.any(RetryPolicy.class), Mockito.any(TransactionCallbackWithoutResult.class));
+                .doInTransaction(Mockito.any(RetryPolicy.class), Mockito.any(TransactionCallback.class));
 
         NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder = mock(
                 NetworkTopologyDashboardLogger.Builder.class);
@@ -381,6 +381,70 @@ public class NetworkIslServiceTest {
                                 && Objects.equals(endpointAlpha1.getPortNumber(), link.getSrcPort())));
     }
 
+    @Test
+    public void bulkWriteDelaysIslWriteAndNotificationsUntilTick() {
+        setupIslStorageStub();
+        setupBulkWriteService();
+
+        IslReference reference = prepareActiveIsl();
+        verify(islRepository, never()).createOrUpdate(any(Isl.class));
+
+        // all writes of both ISL directions are coalesced into one transaction
+        service.tick();
+        verify(islRepository, times(2)).createOrUpdate(any(Isl.class));
+        verify(transactionManager).doInTransaction(any(RetryPolicy.class), any(TransactionCallback.class));
+        Assert.assertEquals(IslStatus.ACTIVE, lookupIsl(endpointAlpha1, endpointBeta2).getStatus());
+
+        service.islDown(endpointAlpha1, reference, IslDownReason.PORT_DOWN);
+        service.tick();
+        verify(carrier, never()).islStatusUpdateNotification(any(IslStatusUpdateNotification.class));
+        verify(carrier, never()).triggerReroute(any(RerouteAffectedFlows.class));
+        Assert.assertEquals(IslStatus.ACTIVE, lookupIsl(endpointAlpha1, endpointBeta2).getStatus());
+
+        // bulk write interval is over
+        clock.adjust(Duration.ofSeconds(1));
+        service.tick();
+        Assert.assertEquals(IslStatus.INACTIVE, lookupIsl(endpointAlpha1, endpointBeta2).getStatus());
+        Assert.assertEquals(IslStatus.INACTIVE, lookupIsl(endpointBeta2, endpointAlpha1).getStatus());
+        verify(carrier).islStatusUpdateNotification(any(IslStatusUpdateNotification.class));
+        verify(carrier).triggerReroute(any(RerouteAffectedFlows.class));
+    }
+
+    @Test
+    public void bulkWriteDropsActionsOfOverwrittenTransition() {
+        setupIslStorageStub();
+        setupBulkWriteService();
+
+        IslReference reference = prepareActiveIsl();
+        service.tick();
+        clock.adjust(Duration.ofSeconds(1));
+
+        // the ISL is back before the write of its down state, so the down state is never stored
+        service.islDown(endpointAlpha1, reference, IslDownReason.PORT_DOWN);
+        service.islUp(endpointAlpha1, reference, new IslDataHolder(100, 1, 100));
+        service.tick();
+
+        Assert.assertEquals(IslStatus.ACTIVE, lookupIsl(endpointAlpha1, endpointBeta2).getStatus());
+        verify(carrier, never()).islStatusUpdateNotification(any(IslStatusUpdateNotification.class));
+        verify(carrier, never()).triggerReroute(any(RerouteAffectedFlows.class));
+        // postponed actions are bound to the context of the input which caused them
+        verify(carrier, atLeast(2)).keepCommandContext(any(Runnable.class));
+    }
+
+    private void setupBulkWriteService() {
+        NetworkOptions bulkOptions = NetworkOptions.builder()
+                .dbRepeatMaxDurationSeconds(30)
+                .discoveryTimeout(TimeUnit.SECONDS.toNanos(3))
+                .islBulkWriteEnabled(true)
+                .islBulkWriteInterval(TimeUnit.SECONDS.toNanos(1))
+                .build();
+        NetworkTopologyDashboardLogger.Builder dashboardLoggerBuilder = mock(
+                NetworkTopologyDashboardLogger.Builder.class);
+        when(dashboardLoggerBuilder.build(any())).thenReturn(dashboardLogger);
+        when(carrier.keepCommandContext(any(Runnable.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        service = new NetworkIslService(carrier, persistenceManager, bulkOptions, dashboardLoggerBuilder, clock);
+    }
+
     private void prepareAndPerformDelete(IslStatus initialStatus, boolean multiTable) {
         Isl islAlphaBeta = makeIsl(endpointAlpha1, endpointBeta2, multiTable)
                 .actualStatus(initialStatus)
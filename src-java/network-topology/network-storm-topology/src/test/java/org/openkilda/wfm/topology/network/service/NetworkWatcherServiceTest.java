@@ -27,7 +27,8 @@ import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
 import org.openkilda.model.SwitchId;
@@ -45,6 +46,8 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
 
 @RunWith(MockitoJUnitRunner.class)
 public class NetworkWatcherServiceTest {
@@ -69,9 +72,17 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
+        assertThat(w.getTimeouts().size(), is(5));
+        verify(carrier, never()).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+
+        w.tick(3);
 
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier).sendDiscovery(eq(new DiscoverIslBatchCommandData(new SwitchId(1), Arrays.asList(
+                new DiscoverIslPortPacket(1, 0), new DiscoverIslPortPacket(2, 1)))));
+        verify(carrier).sendDiscovery(eq(new DiscoverIslBatchCommandData(new SwitchId(2), Arrays.asList(
+                new DiscoverIslPortPacket(1, 2), new DiscoverIslPortPacket(1, 3), new DiscoverIslPortPacket(2, 4)))));
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+        assertThat(w.getDiscoveryBatches().size(), is(0));
     }
 
     @Test
@@ -82,8 +93,9 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 1), 3);
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 4);
         w.addWatch(Endpoint.of(new SwitchId(3), 1), 5);
+        w.tick(5);
 
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, times(3)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 2), 1);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -100,6 +112,7 @@ public class NetworkWatcherServiceTest {
 
         assertThat(w.getConfirmedPackets().size(), is(1));
         assertThat(w.getDiscoveryPackets().size(), is(2));
+        assertThat(w.getTimeouts().size(), is(3));
 
         w.tick(100);
         assertThat(w.getTimeouts().size(), is(0));
@@ -115,8 +128,9 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getTimeouts().size(), is(5));
+        w.tick(3);
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -144,8 +158,9 @@ public class NetworkWatcherServiceTest {
         w.addWatch(Endpoint.of(new SwitchId(2), 2), 3);
 
         assertThat(w.getConfirmedPackets().size(), is(0));
-        assertThat(w.getTimeouts().size(), is(3));
-        verify(carrier, times(5)).sendDiscovery(any(DiscoverIslCommandData.class));
+        assertThat(w.getTimeouts().size(), is(5));
+        w.tick(3);
+        verify(carrier, times(2)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         w.confirmation(Endpoint.of(new SwitchId(1), 1), 0);
         w.confirmation(Endpoint.of(new SwitchId(2), 1), 2);
@@ -172,6 +187,31 @@ public class NetworkWatcherServiceTest {
         assertThat(w.getTimeouts().size(), is(0));
     }
 
+    @Test
+    public void batchConfirmation() {
+        SwitchId alpha = new SwitchId(1);
+        NetworkWatcherService w = makeService();
+        w.addWatch(Endpoint.of(alpha, 1), 1);
+        w.addWatch(Endpoint.of(alpha, 2), 1);
+        w.addWatch(Endpoint.of(alpha, 3), 1);
+        w.removeWatch(Endpoint.of(alpha, 3));
+        w.tick(1);
+
+        List<DiscoverIslPortPacket> packets = Arrays.asList(
+                new DiscoverIslPortPacket(1, 0), new DiscoverIslPortPacket(2, 1));
+        verify(carrier).sendDiscovery(eq(new DiscoverIslBatchCommandData(alpha, packets)));
+
+        w.confirmation(alpha, packets);
+        assertThat(w.getConfirmedPackets().size(), is(2));
+        assertThat(w.getDiscoveryPackets().size(), is(0));
+
+        w.tick(100);
+
+        verify(carrier).discoveryFailed(eq(Endpoint.of(alpha, 1)), eq(0L), anyLong());
+        verify(carrier).discoveryFailed(eq(Endpoint.of(alpha, 2)), eq(1L), anyLong());
+        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
+    }
+
     @Test
     public void discoveryBeforeConfirmation() {
         final int awaitTime = 10;
@@ -180,8 +220,9 @@ public class NetworkWatcherServiceTest {
 
         NetworkWatcherService w = makeService(awaitTime);
         w.addWatch(Endpoint.of(source.getSwitchId(), source.getPortNo()), 1);
+        w.tick(1);
 
-        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslCommandData.class));
+        verify(carrier, times(1)).sendDiscovery(any(DiscoverIslBatchCommandData.class));
 
         IslInfoData islAlphaBeta = IslInfoData.builder().source(source).destination(destination).packetId(0L).build();
 
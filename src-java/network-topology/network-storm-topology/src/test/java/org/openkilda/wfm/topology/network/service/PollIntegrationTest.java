@@ -20,7 +20,8 @@ import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.reset;
 import static org.mockito.Mockito.verify;
 
-import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.messaging.info.event.IslChangeType;
 import org.openkilda.messaging.info.event.IslInfoData;
 import org.openkilda.messaging.info.event.PathNode;
@@ -58,21 +59,20 @@ public class PollIntegrationTest {
 
         NetworkIntegrationCarrier integrationCarrier = new NetworkIntegrationCarrier() {
             @Override
-            public void sendDiscovery(DiscoverIslCommandData discoveryRequest) {
+            public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
                 // Emulate response from FL
                 watcherCarrier.sendDiscovery(discoveryRequest);
-                IslInfoData response = IslInfoData.builder().latency(latency)
-                        .source(new PathNode(discoveryRequest.getSwitchId(),
-                                discoveryRequest.getPortNumber(), 0))
-                        .destination(new PathNode(new SwitchId(10), 10, 0))
-                        .state(IslChangeType.DISCOVERED)
-                        .speed(speed).underMaintenance(false)
-                        .packetId(discoveryRequest.getPacketId())
-                        .build();
-
-                watcherService.confirmation(Endpoint.of(discoveryRequest.getSwitchId(),
-                        discoveryRequest.getPortNumber()), discoveryRequest.getPacketId());
-                watcherService.discovery(response);
+                watcherService.confirmation(discoveryRequest.getSwitchId(), discoveryRequest.getPackets());
+                for (DiscoverIslPortPacket entry : discoveryRequest.getPackets()) {
+                    IslInfoData response = IslInfoData.builder().latency(latency)
+                            .source(new PathNode(discoveryRequest.getSwitchId(), entry.getPortNumber(), 0))
+                            .destination(new PathNode(new SwitchId(10), 10, 0))
+                            .state(IslChangeType.DISCOVERED)
+                            .speed(speed).underMaintenance(false)
+                            .packetId(entry.getPacketId())
+                            .build();
+                    watcherService.discovery(response);
+                }
             }
         };
 
@@ -90,14 +90,16 @@ public class PollIntegrationTest {
         // should produce discovery request
         Endpoint endpoint = Endpoint.of(new SwitchId(1), 1);
         watchListService.addWatch(endpoint, 1);
+        watcherService.tick(1);
 
-        ArgumentCaptor<DiscoverIslCommandData> discoveryRequestCatcher = ArgumentCaptor.forClass(
-                DiscoverIslCommandData.class);
+        ArgumentCaptor<DiscoverIslBatchCommandData> discoveryRequestCatcher = ArgumentCaptor.forClass(
+                DiscoverIslBatchCommandData.class);
         verify(watcherCarrier).sendDiscovery(discoveryRequestCatcher.capture());
 
-        DiscoverIslCommandData request = discoveryRequestCatcher.getValue();
+        DiscoverIslBatchCommandData request = discoveryRequestCatcher.getValue();
         Assert.assertEquals(endpoint.getDatapath(), request.getSwitchId());
-        Assert.assertEquals(endpoint.getPortNumber(), request.getPortNumber());
+        Assert.assertEquals(1, request.getPackets().size());
+        Assert.assertEquals(endpoint.getPortNumber(), request.getPackets().get(0).getPortNumber());
 
         IslInfoData expectedDiscoveryEvent = IslInfoData.builder().latency(latency)
                 .source(new PathNode(new SwitchId(1), 1, 0))
@@ -115,10 +117,8 @@ public class PollIntegrationTest {
     public void failed() {
         NetworkIntegrationCarrier integrationCarrier = new NetworkIntegrationCarrier() {
             @Override
-            public void sendDiscovery(DiscoverIslCommandData discoveryRequest) {
-                watcherService.confirmation(
-                        Endpoint.of(discoveryRequest.getSwitchId(), discoveryRequest.getPortNumber()),
-                        discoveryRequest.getPacketId());
+            public void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest) {
+                watcherService.confirmation(discoveryRequest.getSwitchId(), discoveryRequest.getPackets());
             }
         };
 
@@ -181,7 +181,7 @@ public class PollIntegrationTest {
             // send round-trip-status notification into ISL handler (outside discovery poll system)
         }
 
-        public abstract void sendDiscovery(DiscoverIslCommandData discoveryRequest);
+        public abstract void sendDiscovery(DiscoverIslBatchCommandData discoveryRequest);
 
         @Override
         public void clearDiscovery(Endpoint endpoint) {
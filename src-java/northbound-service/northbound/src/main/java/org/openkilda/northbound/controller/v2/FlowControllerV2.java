@@ -17,6 +17,7 @@ package org.openkilda.northbound.controller.v2;
 
 import org.openkilda.messaging.Utils;
 import org.openkilda.messaging.error.ErrorType;
+import org.openkilda.messaging.error.MessageError;
 import org.openkilda.messaging.error.MessageException;
 import org.openkilda.messaging.payload.flow.FlowIdStatusPayload;
 import org.openkilda.northbound.controller.BaseController;
@@ -27,11 +28,16 @@ import org.openkilda.northbound.dto.v2.flows.FlowRerouteResponseV2;
 import org.openkilda.northbound.dto.v2.flows.FlowResponseV2;
 import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import org.openkilda.northbound.service.FlowService;
+import org.openkilda.northbound.utils.RequestCorrelationId;
 
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -40,21 +46,32 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/v2/flows")
 public class FlowControllerV2 extends BaseController {
+    private static final Logger logger = LoggerFactory.getLogger(FlowControllerV2.class);
+
+    private static final String NDJSON_MEDIA_TYPE = "application/x-ndjson";
 
     @Autowired
     private FlowService flowService;
 
+    @Value("${web.request.flows.stream.timeout}")
+    private long flowsStreamTimeout;
+
     @ApiOperation(value = "Creates new flow", response = FlowResponseV2.class)
     @PostMapping
     @ResponseStatus(HttpStatus.OK)
@@ -106,15 +123,59 @@ public class FlowControllerV2 extends BaseController {
     }
 
     /**
-     * Dumps all flows. Dumps all flows with specific status if specified.
+     * Dumps all flows, or one page of flows ordered by flow id if the limit is specified.
      *
+     * @param afterFlowId the page starts right after this flow id
+     * @param limit the max number of flows in the page
      * @return list of flow
      */
-    @ApiOperation(value = "Dumps all flows", response = FlowResponseV2.class, responseContainer = "List")
+    @ApiOperation(value = "Dumps all flows or a page of flows", response = FlowResponseV2.class,
+            responseContainer = "List")
     @GetMapping
     @ResponseStatus(HttpStatus.OK)
-    public CompletableFuture<List<FlowResponseV2>> getFlows() {
-        return flowService.getAllFlowsV2();
+    public CompletableFuture<List<FlowResponseV2>> getFlows(
+            @ApiParam(value = "The page starts right after this flow id. Use the id of the last flow of the "
+                    + "previous page to get the next one.")
+            @RequestParam(value = "after_flow_id", required = false) String afterFlowId,
+            @ApiParam(value = "Max number of flows in the page. All flows are dumped if it is not specified.")
+            @RequestParam(value = "limit", required = false) Integer limit) {
+        if (limit == null) {
+            return flowService.getAllFlowsV2();
+        }
+        if (limit <= 0) {
+            String message = String.format("Invalid 'limit' value %d. It must be positive.", limit);
+            throw new MessageException(ErrorType.DATA_INVALID, message, "Invalid 'limit' value");
+        }
+        return flowService.getFlowsPageV2(afterFlowId, limit);
+    }
+
+    /**
+     * Streams all flows as newline delimited JSON. Flows are written to the response page by page as soon as each
+     * page is received, so the whole dump is never kept in memory. If the stream fails or times out after it was
+     * started, the last line is an error object instead of a flow.
+     *
+     * @return the response emitter
+     */
+    @ApiOperation(value = "Streams all flows as newline delimited JSON", response = FlowResponseV2.class,
+            responseContainer = "List", notes = "A failed stream is terminated by an error object line.")
+    @GetMapping(params = "format=ndjson", produces = NDJSON_MEDIA_TYPE)
+    public ResponseBodyEmitter streamFlows() {
+        // the whole stream can last longer than a regular async request, each page request has its own timeout
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(flowsStreamTimeout);
+        String correlationId = RequestCorrelationId.getId();
+        emitter.onTimeout(() -> sendStreamError(emitter, new MessageException(correlationId,
+                System.currentTimeMillis(), ErrorType.OPERATION_TIMED_OUT, "Flows stream timed out",
+                String.format("The stream is not completed in %d ms", flowsStreamTimeout))));
+
+        flowService.streamAllFlowsV2(flow -> sendFlow(emitter, flow))
+                .whenComplete((result, error) -> {
+                    if (error == null) {
+                        emitter.complete();
+                    } else {
+                        sendStreamError(emitter, unwrapStreamError(correlationId, error));
+                    }
+                });
+        return emitter;
     }
 
     /**
@@ -184,4 +245,37 @@ public class FlowControllerV2 extends BaseController {
         }
         return Optional.empty();
     }
+
+    private MessageException unwrapStreamError(String correlationId, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof MessageException) {
+            return (MessageException) cause;
+        }
+        return new MessageException(correlationId, System.currentTimeMillis(), ErrorType.INTERNAL_ERROR,
+                "Flows stream failed", cause.toString());
+    }
+
+    private void sendStreamError(ResponseBodyEmitter emitter, MessageException exception) {
+        logger.error("Flows stream is terminated: {}", exception.getMessage(), exception);
+        MessageError error = new MessageError(exception.getCorrelationId(), exception.getTimestamp(),
+                exception.getErrorType().toString(), exception.getMessage(), exception.getErrorDescription());
+        try {
+            // the response status is already sent, so the error is reported in-band
+            emitter.send(error, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+            emitter.complete();
+        } catch (IOException | IllegalStateException e) {
+            logger.warn("Unable to report the flows stream error: {}", e.getMessage());
+            emitter.completeWithError(exception);
+        }
+    }
+
+    private void sendFlow(ResponseBodyEmitter emitter, FlowResponseV2 flow) {
+        try {
+            emitter.send(flow, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
@@ -38,6 +38,7 @@ import org.openkilda.northbound.dto.v2.flows.SwapFlowEndpointPayload;
 import java.time.Instant;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 /**
  * FlowService is for operations on flows, primarily against the Flow Topology.
@@ -139,6 +140,23 @@ public interface FlowService {
      */
     CompletableFuture<List<FlowResponseV2>> getAllFlowsV2();
 
+    /**
+     * Gets a page of flows ordered by flow id.
+     *
+     * @param afterFlowId the page starts right after this flow id, or from the first flow if it is null
+     * @param limit the max number of flows in the page
+     * @return the page of flows, the id of the last flow is the cursor of the next page
+     */
+    CompletableFuture<List<FlowResponseV2>> getFlowsPageV2(String afterFlowId, int limit);
+
+    /**
+     * Passes all flows to the consumer page by page, as soon as each page is received.
+     *
+     * @param consumer the consumer of flows
+     * @return the future completed when all flows are passed to the consumer
+     */
+    CompletableFuture<Void> streamAllFlowsV2(Consumer<FlowResponseV2> consumer);
+
     /**
      * Deletes all flows. Primarily this is a combination of getAllFlows and deleteFlow.
      * This should be called with care ..
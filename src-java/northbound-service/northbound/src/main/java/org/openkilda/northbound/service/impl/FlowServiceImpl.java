@@ -87,8 +87,10 @@ import org.springframework.stereotype.Service;
 
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
@@ -102,6 +104,8 @@ public class FlowServiceImpl implements FlowService {
      */
     private static final Logger logger = LoggerFactory.getLogger(FlowServiceImpl.class);
 
+    private static final int FLOWS_STREAM_PAGE_SIZE = 500;
+
     /**
      * The kafka topic for the new flow topology.
      */
@@ -349,9 +353,48 @@ public class FlowServiceImpl implements FlowService {
      */
     @Override
     public CompletableFuture<List<FlowResponseV2>> getAllFlowsV2() {
-        final String correlationId = RequestCorrelationId.getId();
         logger.debug("Get flows request processing");
-        FlowsDumpRequest data = new FlowsDumpRequest();
+        return dumpFlowsV2(RequestCorrelationId.getId(), null, null);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<List<FlowResponseV2>> getFlowsPageV2(String afterFlowId, int limit) {
+        logger.debug("Get flows page request processing: after flow {}, limit {}", afterFlowId, limit);
+        return dumpFlowsV2(RequestCorrelationId.getId(), afterFlowId, limit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public CompletableFuture<Void> streamAllFlowsV2(Consumer<FlowResponseV2> consumer) {
+        logger.debug("Stream flows request processing");
+        return streamFlowsV2(RequestCorrelationId.getId(), null, 0, consumer);
+    }
+
+    private CompletableFuture<Void> streamFlowsV2(String correlationId, String afterFlowId, int pageNumber,
+                                                  Consumer<FlowResponseV2> consumer) {
+        String pageCorrelationId = idFactory.produceChained(format("page-%d", pageNumber), correlationId);
+        return dumpFlowsV2(pageCorrelationId, afterFlowId, FLOWS_STREAM_PAGE_SIZE)
+                .thenCompose(page -> {
+                    page.forEach(consumer);
+                    if (page.size() < FLOWS_STREAM_PAGE_SIZE) {
+                        return CompletableFuture.<Void>completedFuture(null);
+                    }
+                    String lastFlowId = page.stream()
+                            .map(FlowResponseV2::getFlowId)
+                            .max(Comparator.naturalOrder())
+                            .orElse(afterFlowId);
+                    return streamFlowsV2(correlationId, lastFlowId, pageNumber + 1, consumer);
+                });
+    }
+
+    private CompletableFuture<List<FlowResponseV2>> dumpFlowsV2(String correlationId, String afterFlowId,
+                                                                Integer limit) {
+        FlowsDumpRequest data = new FlowsDumpRequest(afterFlowId, limit);
         CommandMessage request = new CommandMessage(data, System.currentTimeMillis(), correlationId, Destination.WFM);
 
         return messagingChannel.sendAndGetChunked(nbworkerTopic, request)
@@ -18,6 +18,7 @@ package org.openkilda.northbound.service.impl;
 import static org.junit.Assert.assertEquals;
 import static org.mockito.Mockito.mock;
 
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.flow.FlowResponse;
 import org.openkilda.messaging.info.flow.SwapFlowResponse;
 import org.openkilda.messaging.model.FlowDto;
@@ -47,6 +48,10 @@ import org.springframework.context.annotation.PropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.web.client.RestTemplate;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 @RunWith(SpringRunner.class)
 public class FlowServiceTest {
 
@@ -109,6 +114,35 @@ public class FlowServiceTest {
         assertEquals(firstEndpoint, result.getSecondFlow().getDestination());
     }
 
+    @Test
+    public void streamAllFlowsByPages() throws Exception {
+        String correlationId = "stream-flows";
+        RequestCorrelationId.create(correlationId);
+
+        List<InfoData> firstPage = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            firstPage.add(makeFlowResponse(String.format("flow-%03d", i)));
+        }
+        messageExchanger.mockChunkedResponse("page-0 : " + correlationId, firstPage);
+        messageExchanger.mockChunkedResponse("page-1 : " + correlationId,
+                Collections.singletonList(makeFlowResponse("flow-500")));
+
+        List<String> streamed = new ArrayList<>();
+        flowService.streamAllFlowsV2(flow -> streamed.add(flow.getFlowId())).get();
+
+        assertEquals(501, streamed.size());
+        assertEquals("flow-000", streamed.get(0));
+        assertEquals("flow-500", streamed.get(500));
+    }
+
+    private FlowResponse makeFlowResponse(String flowId) {
+        return new FlowResponse(FlowDto.builder()
+                .flowId(flowId).bandwidth(10000).state(FlowState.UP)
+                .sourceSwitch(new SwitchId("ff:00")).sourcePort(1).sourceVlan(1)
+                .destinationSwitch(new SwitchId("ff:01")).destinationPort(2).destinationVlan(2)
+                .build());
+    }
+
     @TestConfiguration
     @Import(KafkaConfig.class)
     @ComponentScan({
@@ -22,20 +22,17 @@ import org.openkilda.wfm.topology.AbstractTopology;
 import org.openkilda.wfm.topology.opentsdb.OpenTsdbTopologyConfig.OpenTsdbConfig;
 import org.openkilda.wfm.topology.opentsdb.bolts.DatapointParseBolt;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
+import org.openkilda.wfm.topology.opentsdb.bolts.OpenTsdbWriterBolt;
 import org.openkilda.wfm.topology.utils.InfoDataTranslator;
 
 import com.google.common.annotations.VisibleForTesting;
 import org.apache.storm.generated.StormTopology;
 import org.apache.storm.kafka.spout.KafkaSpout;
 import org.apache.storm.kafka.spout.KafkaSpoutConfig;
-import org.apache.storm.opentsdb.bolt.OpenTsdbBolt;
-import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
 import org.apache.storm.opentsdb.client.OpenTsdbClient;
 import org.apache.storm.topology.TopologyBuilder;
 import org.apache.storm.tuple.Fields;
 
-import java.util.Collections;
-
 /**
  * Apache Storm topology for sending metrics into Open TSDB.
  */
@@ -61,12 +58,14 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
 
         OpenTsdbConfig openTsdbConfig = topologyConfig.getOpenTsdbConfig();
 
-        tb.setBolt(OTSDB_PARSE_BOLT_ID, new DatapointParseBolt(), openTsdbConfig.getDatapointParseBoltExecutors())
+        // the parse bolt splits datapoints into a partition per filter bolt task
+        DatapointParseBolt parseBolt = new DatapointParseBolt(openTsdbConfig.getFilterBoltExecutors());
+        tb.setBolt(OTSDB_PARSE_BOLT_ID, parseBolt, openTsdbConfig.getDatapointParseBoltExecutors())
                 .setNumTasks(openTsdbConfig.getDatapointParseBoltWorkers())
                 .shuffleGrouping(OTSDB_SPOUT_ID);
 
         tb.setBolt(OTSDB_FILTER_BOLT_ID, new OpenTSDBFilterBolt(), openTsdbConfig.getFilterBoltExecutors())
-                .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields("hash"));
+                .fieldsGrouping(OTSDB_PARSE_BOLT_ID, new Fields(DatapointParseBolt.FIELD_ID_HASH));
 
         OpenTsdbClient.Builder tsdbBuilder = OpenTsdbClient
                 .newBuilder(openTsdbConfig.getHosts())
@@ -75,9 +74,8 @@ public class OpenTsdbTopology extends AbstractTopology<OpenTsdbTopologyConfig> {
             tsdbBuilder.enableChunkedEncoding();
         }
 
-        OpenTsdbBolt openTsdbBolt = new OpenTsdbBolt(tsdbBuilder,
-                Collections.singletonList(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER));
-        openTsdbBolt.withBatchSize(openTsdbConfig.getBatchSize()).withFlushInterval(openTsdbConfig.getFlushInterval());
+        OpenTsdbWriterBolt openTsdbBolt = new OpenTsdbWriterBolt(tsdbBuilder,
+                openTsdbConfig.getBatchSize(), openTsdbConfig.getFlushInterval());
         tb.setBolt(OTSDB_BOLT_ID, openTsdbBolt, openTsdbConfig.getBoltExecutors())
                 .setNumTasks(openTsdbConfig.getBoltWorkers())
                 .shuffleGrouping(OTSDB_FILTER_BOLT_ID);
@@ -16,6 +16,7 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.topology.utils.MessageKafkaTranslator;
 
@@ -25,18 +26,31 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
+/**
+ * Splits incoming datapoints between {@link OpenTSDBFilterBolt} tasks. Datapoints are distributed by hash of the metric
+ * and tags into {@code partitions} partitions, the partition number is emitted in the "hash" field, so all datapoints
+ * of the same time series reach the same filter task. A {@link DatapointBatch} is split into a batch per partition.
+ */
 public class DatapointParseBolt extends BaseRichBolt {
+    public static final String FIELD_ID_HASH = "hash";
+    public static final String FIELD_ID_DATAPOINT = "datapoint";
+
     private static final Logger LOGGER = LoggerFactory.getLogger(DatapointParseBolt.class);
+
+    private final int partitions;
+
     private transient OutputCollector collector;
 
+    public DatapointParseBolt(int partitions) {
+        this.partitions = partitions;
+    }
+
     @Override
     public void prepare(Map map, TopologyContext topologyContext, OutputCollector collector) {
         this.collector = collector;
@@ -49,9 +63,9 @@ public class DatapointParseBolt extends BaseRichBolt {
         try {
             if (data instanceof Datapoint) {
                 Datapoint datapoint = (Datapoint) data;
-                List<Object> stream = Stream.of(datapoint.simpleHashCode(), datapoint)
-                        .collect(Collectors.toList());
-                collector.emit(stream);
+                collector.emit(new Values(getPartition(datapoint.simpleHashCode()), datapoint));
+            } else if (data instanceof DatapointBatch) {
+                emitBatch((DatapointBatch) data);
             } else {
                 LOGGER.error("Unhandled input tuple from {} with data {}", getClass().getName(), data);
             }
@@ -62,8 +76,34 @@ public class DatapointParseBolt extends BaseRichBolt {
         }
     }
 
+    private void emitBatch(DatapointBatch batch) {
+        if (partitions == 1) {
+            collector.emit(new Values(0, batch));
+            return;
+        }
+
+        DatapointBatch.Builder[] builders = new DatapointBatch.Builder[partitions];
+        for (int i = 0; i < batch.size(); i++) {
+            int partition = getPartition(batch.simpleHashCode(i));
+            if (builders[partition] == null) {
+                builders[partition] = DatapointBatch.builder();
+            }
+            builders[partition].add(batch, i);
+        }
+
+        for (int partition = 0; partition < partitions; partition++) {
+            if (builders[partition] != null) {
+                collector.emit(new Values(partition, builders[partition].build()));
+            }
+        }
+    }
+
+    private int getPartition(int hash) {
+        return Math.floorMod(hash, partitions);
+    }
+
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(new Fields("hash", "datapoint"));
+        declarer.declare(new Fields(FIELD_ID_HASH, FIELD_ID_DATAPOINT));
     }
 }
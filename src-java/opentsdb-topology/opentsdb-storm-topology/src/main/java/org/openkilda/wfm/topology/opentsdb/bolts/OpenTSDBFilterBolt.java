@@ -16,41 +16,35 @@
 package org.openkilda.wfm.topology.opentsdb.bolts;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 
+import lombok.AllArgsConstructor;
 import lombok.Value;
 import org.apache.storm.Config;
 import org.apache.storm.Constants;
-import org.apache.storm.opentsdb.bolt.TupleOpenTsdbDatapointMapper;
 import org.apache.storm.task.OutputCollector;
 import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.topology.base.BaseRichBolt;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.HashMap;
-import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 
 public class OpenTSDBFilterBolt extends BaseRichBolt {
+    public static final String FIELD_ID_DATAPOINTS = "datapoints";
 
     private static final Logger LOGGER = LoggerFactory.getLogger(OpenTSDBFilterBolt.class);
     private static final long MUTE_IF_NO_UPDATES_SECS = TimeUnit.MINUTES.toSeconds(10);
     private static final long MUTE_IF_NO_UPDATES_MILLIS = TimeUnit.SECONDS.toMillis(MUTE_IF_NO_UPDATES_SECS);
 
-    private static final Fields DECLARED_FIELDS =
-            new Fields(TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getMetricField(),
-                    TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTimestampField(),
-                    TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getValueField(),
-                    TupleOpenTsdbDatapointMapper.DEFAULT_MAPPER.getTagsField());
-
-    private Map<DatapointKey, Datapoint> storage = new HashMap<>();
+    private Map<DatapointKey, LastDatapoint> storage = new HashMap<>();
     private OutputCollector collector;
 
     @Override
@@ -72,7 +66,7 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
         if (isTickTuple(tuple)) {
             // opentsdb using current epoch time (date +%s) in seconds
             long now  = System.currentTimeMillis();
-            storage.entrySet().removeIf(entry ->  now - entry.getValue().getTime() > MUTE_IF_NO_UPDATES_MILLIS);
+            storage.entrySet().removeIf(entry ->  now - entry.getValue().time > MUTE_IF_NO_UPDATES_MILLIS);
 
             if (LOGGER.isTraceEnabled()) {
                 LOGGER.trace("storage after clean tulpe: {}", storage.toString());
@@ -82,58 +76,68 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
             return;
         }
         
-        if (!tuple.contains("datapoint")) { //TODO: Should make sure tuple comes from correct bolt, ie not TickTuple
+        if (!tuple.contains(DatapointParseBolt.FIELD_ID_DATAPOINT)) {
+            //TODO: Should make sure tuple comes from correct bolt, ie not TickTuple
             collector.ack(tuple);
             return;
         }
 
-        Datapoint datapoint = (Datapoint) tuple.getValueByField("datapoint");
-
-        if (isUpdateRequired(datapoint)) {
-            addDatapoint(datapoint);
-
-            List<Object> stream = Stream.of(datapoint.getMetric(), datapoint.getTime(), datapoint.getValue(),
-                    datapoint.getTags()).collect(Collectors.toList());
+        DatapointBatch batch = toBatch(tuple.getValueByField(DatapointParseBolt.FIELD_ID_DATAPOINT));
+        DatapointBatch.Builder filtered = DatapointBatch.builder();
+        for (int i = 0; i < batch.size(); i++) {
+            if (isUpdateRequired(batch, i)) {
+                filtered.add(batch, i);
+            } else if (LOGGER.isDebugEnabled()) {
+                LOGGER.debug("skip datapoint: {} {} {}", batch.getMetric(i), batch.getTags(i), batch.getValue(i));
+            }
+        }
 
-            LOGGER.debug("emit datapoint: {}", stream);
-            collector.emit(stream);
-        } else {
-            LOGGER.debug("skip datapoint: {}", datapoint);
+        if (!filtered.isEmpty()) {
+            LOGGER.debug("emit {} of {} datapoints", filtered.size(), batch.size());
+            collector.emit(new Values(filtered.build()));
         }
         collector.ack(tuple);
     }
 
     @Override
     public void declareOutputFields(OutputFieldsDeclarer declarer) {
-        declarer.declare(DECLARED_FIELDS);
+        declarer.declare(new Fields(FIELD_ID_DATAPOINTS));
     }
 
-    private void addDatapoint(Datapoint datapoint) {
-        LOGGER.debug("adding datapoint: {}", datapoint);
-        LOGGER.debug("storage.size: {}", storage.size());
-        storage.put(new DatapointKey(datapoint.getMetric(), datapoint.getTags()), datapoint);
-        if (LOGGER.isTraceEnabled()) {
-            LOGGER.trace("addDatapoint storage: {}", storage.toString());
+    private DatapointBatch toBatch(Object payload) {
+        if (payload instanceof DatapointBatch) {
+            return (DatapointBatch) payload;
         }
+        Datapoint datapoint = (Datapoint) payload;
+        return DatapointBatch.builder()
+                .add(datapoint.getMetric(), datapoint.getTime(), datapoint.getTags(), datapoint.getValue())
+                .build();
     }
 
-    private boolean isUpdateRequired(Datapoint datapoint) {
-        boolean update = true;
-        Datapoint prevDatapoint = storage.get(new DatapointKey(datapoint.getMetric(), datapoint.getTags()));
+    /**
+     * Checks whether the datapoint must be sent and remembers it if so.
+     */
+    private boolean isUpdateRequired(DatapointBatch batch, int index) {
+        DatapointKey key = new DatapointKey(batch.getMetric(index), batch.getTags(index));
+        long time = batch.getTime(index);
+        Number value = batch.getValue(index);
+
+        LastDatapoint prevDatapoint = storage.get(key);
+        if (prevDatapoint == null) {
+            storage.put(key, new LastDatapoint(time, value));
+            return true;
+        }
 
-        if (prevDatapoint != null) {
-            if (LOGGER.isTraceEnabled()) {
-                LOGGER.trace("prev: {} cur: {} equals: {} time_delta: {}",
-                        prevDatapoint,
-                        datapoint,
-                        prevDatapoint.getValue().equals(datapoint.getValue()),
-                        datapoint.getTime() - prevDatapoint.getTime()
-                );
-            }
-            update = !prevDatapoint.getValue().equals(datapoint.getValue())
-                    || datapoint.getTime() - prevDatapoint.getTime() >= MUTE_IF_NO_UPDATES_MILLIS;
+        if (LOGGER.isTraceEnabled()) {
+            LOGGER.trace("key: {} prev: {} cur: {} equals: {} time_delta: {}",
+                    key, prevDatapoint.value, value, prevDatapoint.value.equals(value), time - prevDatapoint.time);
         }
-        return update;
+        if (!prevDatapoint.value.equals(value) || time - prevDatapoint.time >= MUTE_IF_NO_UPDATES_MILLIS) {
+            prevDatapoint.time = time;
+            prevDatapoint.value = value;
+            return true;
+        }
+        return false;
     }
     
     private boolean isTickTuple(Tuple tuple) {
@@ -151,4 +155,12 @@ public class OpenTSDBFilterBolt extends BaseRichBolt {
 
         private Map<String, String> tags;
     }
+
+    @AllArgsConstructor
+    private static class LastDatapoint {
+
+        private long time;
+
+        private Number value;
+    }
 }
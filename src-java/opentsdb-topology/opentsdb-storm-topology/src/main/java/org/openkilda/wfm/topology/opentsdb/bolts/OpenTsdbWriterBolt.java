@@ -0,0 +1,126 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.opentsdb.bolts;
+
+import org.openkilda.messaging.info.DatapointBatch;
+
+import org.apache.storm.opentsdb.OpenTsdbMetricDatapoint;
+import org.apache.storm.opentsdb.client.ClientResponse;
+import org.apache.storm.opentsdb.client.OpenTsdbClient;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.topology.base.BaseRichBolt;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.utils.TupleUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes {@link DatapointBatch}es produced by {@link OpenTSDBFilterBolt} into OpenTSDB. Datapoints are accumulated
+ * until there are at least {@code batchSize} of them or the flush interval is over, then written by one request.
+ * Input tuples are acked (or failed if the request fails) after the write.
+ */
+public class OpenTsdbWriterBolt extends BaseRichBolt {
+    private static final Logger LOGGER = LoggerFactory.getLogger(OpenTsdbWriterBolt.class);
+
+    private final OpenTsdbClient.Builder clientBuilder;
+    private final int batchSize;
+    private final int flushIntervalSecs;
+
+    private transient OpenTsdbClient client;
+    private transient OutputCollector collector;
+    private transient List<Tuple> pendingTuples;
+    private transient List<OpenTsdbMetricDatapoint> pendingDatapoints;
+
+    public OpenTsdbWriterBolt(OpenTsdbClient.Builder clientBuilder, int batchSize, int flushIntervalSecs) {
+        this.clientBuilder = clientBuilder;
+        this.batchSize = batchSize;
+        this.flushIntervalSecs = flushIntervalSecs;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        this.collector = collector;
+        client = clientBuilder.build();
+        pendingTuples = new ArrayList<>();
+        pendingDatapoints = new ArrayList<>(batchSize);
+    }
+
+    @Override
+    public void execute(Tuple tuple) {
+        if (TupleUtils.isTick(tuple)) {
+            collector.ack(tuple);
+            flush();
+            return;
+        }
+
+        DatapointBatch batch = (DatapointBatch) tuple.getValueByField(OpenTSDBFilterBolt.FIELD_ID_DATAPOINTS);
+        for (int i = 0; i < batch.size(); i++) {
+            pendingDatapoints.add(new OpenTsdbMetricDatapoint(
+                    batch.getMetric(i), batch.getTags(i), batch.getTime(i), batch.getValue(i)));
+        }
+        pendingTuples.add(tuple);
+
+        if (pendingDatapoints.size() >= batchSize) {
+            flush();
+        }
+    }
+
+    private void flush() {
+        if (pendingTuples.isEmpty()) {
+            return;
+        }
+
+        LOGGER.debug("Write {} datapoints of {} tuples", pendingDatapoints.size(), pendingTuples.size());
+        try {
+            ClientResponse.Details details = client.writeMetricPoints(pendingDatapoints);
+            if (details != null && details.getFailed() > 0) {
+                LOGGER.error("Failed to write {} of {} datapoints: {}",
+                        details.getFailed(), pendingDatapoints.size(), details.getErrors());
+            }
+            pendingTuples.forEach(collector::ack);
+        } catch (Exception e) {
+            LOGGER.error("Failed to write {} datapoints", pendingDatapoints.size(), e);
+            collector.reportError(e);
+            pendingTuples.forEach(collector::fail);
+        } finally {
+            pendingTuples.clear();
+            pendingDatapoints.clear();
+        }
+    }
+
+    @Override
+    public void cleanup() {
+        if (client != null) {
+            client.cleanup();
+        }
+    }
+
+    @Override
+    public void declareOutputFields(OutputFieldsDeclarer declarer) {
+        // no output
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(super.getComponentConfiguration(), flushIntervalSecs);
+    }
+}
@@ -15,9 +15,11 @@
 
 package org.openkilda.wfm.topology.opentsdb;
 
+import static org.junit.Assert.assertTrue;
 import static org.mockserver.integration.ClientAndServer.startClientAndServer;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.wfm.StableAbstractStormTest;
 
 import org.apache.storm.Testing;
@@ -33,8 +35,10 @@ import org.mockserver.model.HttpRequest;
 import org.mockserver.model.HttpResponse;
 import org.mockserver.verify.VerificationTimes;
 
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Map;
+import java.util.stream.Collectors;
 
 public class OpenTsdbTopologyTest extends StableAbstractStormTest {
     private static final long timestamp = System.currentTimeMillis();
@@ -122,4 +126,33 @@ public class OpenTsdbTopologyTest extends StableAbstractStormTest {
         //verify that request is sent to OpenTSDB server once
         mockServer.verify(REQUEST, VerificationTimes.exactly(2));
     }
+
+    @Test
+    public void shouldSendAllDatapointsOfBatch() throws Exception {
+        DatapointBatch batch = DatapointBatch.builder()
+                .add("metric", timestamp, Collections.singletonMap("key", "a"), 1)
+                .add("metric", timestamp, Collections.singletonMap("key", "b"), 2)
+                .add("metric", timestamp, Collections.singletonMap("key", "c"), 3)
+                .build();
+
+        MockedSources sources = new MockedSources();
+
+        Testing.withTrackedCluster(clusterParam, (cluster) -> {
+            OpenTsdbTopology topology = new OpenTsdbTopology(makeLaunchEnvironment());
+
+            sources.addMockData(OpenTsdbTopology.OTSDB_SPOUT_ID, new Values(null, batch));
+            completeTopologyParam.setMockedSources(sources);
+
+            StormTopology stormTopology = topology.createTopology();
+
+            Testing.completeTopology(cluster, stormTopology, completeTopologyParam);
+        });
+        //verify that all datapoints of the batch are sent, the batch can be split between filter bolts
+        String body = Arrays.stream(mockServer.retrieveRecordedRequests(REQUEST))
+                .map(HttpRequest::getBodyAsString)
+                .collect(Collectors.joining());
+        assertTrue(body.contains("\"key\":\"a\""));
+        assertTrue(body.contains("\"key\":\"b\""));
+        assertTrue(body.contains("\"key\":\"c\""));
+    }
 }
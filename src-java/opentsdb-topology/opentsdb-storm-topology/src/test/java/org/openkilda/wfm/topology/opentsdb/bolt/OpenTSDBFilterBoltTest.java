@@ -32,6 +32,7 @@ import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.wfm.topology.opentsdb.bolts.OpenTSDBFilterBolt;
 
@@ -49,7 +50,6 @@ import org.mockito.junit.MockitoJUnitRunner;
 
 import java.util.Collections;
 import java.util.List;
-import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -89,11 +89,41 @@ public class OpenTSDBFilterBoltTest {
         verify(outputCollector).ack(any(Tuple.class));
         List<Object> captured = argumentCaptor.getValue();
         assertNotNull(captured);
-        assertThat(captured.size(), is(4));
-        assertEquals(METRIC, captured.get(0));
-        assertEquals(TIMESTAMP, captured.get(1));
-        assertEquals(VALUE, captured.get(2));
-        assertTrue(((Map) captured.get(3)).isEmpty());
+        assertThat(captured.size(), is(1));
+        DatapointBatch batch = (DatapointBatch) captured.get(0);
+        assertThat(batch.size(), is(1));
+        assertEquals(METRIC, batch.getMetric(0));
+        assertEquals(TIMESTAMP, batch.getTime(0));
+        assertEquals(VALUE.longValue(), batch.getValue(0));
+        assertTrue(batch.getTags(0).isEmpty());
+    }
+
+    @Test
+    public void shouldEmitOnlyUpdatedDatapointsOfBatch() throws Exception {
+        target.prepare(Collections.emptyMap(), null, outputCollector);
+        when(tuple.contains(eq("datapoint"))).thenReturn(true);
+
+        DatapointBatch first = DatapointBatch.builder()
+                .add("1", TIMESTAMP, singletonMap("key", "a"), VALUE)
+                .add("2", TIMESTAMP, singletonMap("key", "a"), VALUE)
+                .build();
+        when(tuple.getValueByField(eq("datapoint"))).thenReturn(first);
+        target.execute(tuple);
+
+        DatapointBatch second = DatapointBatch.builder()
+                .add("1", TIMESTAMP + 1, singletonMap("key", "a"), VALUE)
+                .add("2", TIMESTAMP + 1, singletonMap("key", "a"), VALUE + 1)
+                .add("3", TIMESTAMP + 1, singletonMap("key", "a"), VALUE)
+                .build();
+        when(tuple.getValueByField(eq("datapoint"))).thenReturn(second);
+        target.execute(tuple);
+
+        verify(outputCollector, times(2)).emit(argumentCaptor.capture());
+        verify(outputCollector, times(2)).ack(any(Tuple.class));
+        DatapointBatch emitted = (DatapointBatch) argumentCaptor.getAllValues().get(1).get(0);
+        assertThat(emitted.size(), is(2));
+        assertEquals("2", emitted.getMetric(0));
+        assertEquals("3", emitted.getMetric(1));
     }
 
     @Test
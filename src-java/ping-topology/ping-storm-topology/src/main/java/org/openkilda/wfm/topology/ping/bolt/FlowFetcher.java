@@ -20,6 +20,7 @@ import org.openkilda.messaging.command.flow.FlowPingRequest;
 import org.openkilda.messaging.command.flow.PeriodicPingCommand;
 import org.openkilda.messaging.info.flow.FlowPingResponse;
 import org.openkilda.model.Flow;
+import org.openkilda.model.FlowPath;
 import org.openkilda.model.FlowTransitEncapsulation;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
@@ -31,17 +32,19 @@ import org.openkilda.wfm.topology.ping.model.PingContext;
 import org.openkilda.wfm.topology.ping.model.PingContext.Kinds;
 
 import lombok.AllArgsConstructor;
-import lombok.EqualsAndHashCode;
 import lombok.Value;
+import org.apache.storm.metric.api.IMetric;
 import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
-import java.util.HashSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
-import java.util.Set;
 import java.util.concurrent.TimeUnit;
 
 public class FlowFetcher extends Abstract {
@@ -60,13 +63,19 @@ public class FlowFetcher extends Abstract {
             FIELD_ID_ON_DEMAND_RESPONSE, FIELD_ID_CONTEXT);
     public static final String STREAM_ON_DEMAND_RESPONSE_ID = "on_demand_response";
 
+    public static final String METRIC_INDEX_SIZE = "ping.index.size";
+    public static final String METRIC_INDEX_REFRESH_LATENCY = "ping.index.refresh.latency.ms";
+
+    private static final int METRICS_BUCKET_SIZE_SECONDS = 60;
+
     private final PersistenceManager persistenceManager;
     private final FlowResourcesConfig flowResourcesConfig;
     private transient FlowResourcesManager flowResourcesManager;
     private transient FlowRepository flowRepository;
-    private Set<FlowWithTransitEncapsulation> flowsSet;
+    private Map<String, FlowWithTransitEncapsulation> pingTargets = new HashMap<>();
     private long periodicPingCacheExpiryInterval;
     private long lastPeriodicPingCacheRefresh;
+    private long lastRefreshLatency;
 
     public FlowFetcher(PersistenceManager persistenceManager, FlowResourcesConfig flowResourcesConfig,
                        long periodicPingCacheExpiryInterval) {
@@ -75,6 +84,15 @@ public class FlowFetcher extends Abstract {
         this.periodicPingCacheExpiryInterval = TimeUnit.SECONDS.toMillis(periodicPingCacheExpiryInterval);
     }
 
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric(METRIC_INDEX_SIZE, (IMetric) () -> pingTargets.size(), METRICS_BUCKET_SIZE_SECONDS);
+        context.registerMetric(METRIC_INDEX_REFRESH_LATENCY, (IMetric) () -> lastRefreshLatency,
+                METRICS_BUCKET_SIZE_SECONDS);
+    }
+
     @Override
     protected void handleInput(Tuple input) throws Exception {
         String component = input.getSourceComponent();
@@ -93,42 +111,66 @@ public class FlowFetcher extends Abstract {
         }
     }
 
+    /**
+     * Flow create/update/reroute/path swap/delete operations notify about the flow changes, so the ping target of the
+     * flow is replaced (re-read from the DB) or removed. The rest of the index is not touched. A replaced or removed
+     * target is expired, unless it still uses the same paths.
+     */
     private void updatePeriodicPingHeap(Tuple input) throws PipelineException {
         PeriodicPingCommand periodicPingCommand = pullPeriodicPingRequest(input);
+        String flowId = periodicPingCommand.getFlowId();
+        Optional<FlowWithTransitEncapsulation> target = Optional.empty();
         if (periodicPingCommand.isEnable()) {
-            persistenceManager.getTransactionManager().doInTransaction(() ->
-                    flowRepository.findById(periodicPingCommand.getFlowId())
-                            .flatMap(this::getFlowWithTransitEncapsulation)
-                            .ifPresent(flowsSet::add));
+            target = persistenceManager.getTransactionManager().doInTransaction(
+                    () -> flowRepository.findById(flowId)
+                            .flatMap(this::getFlowWithTransitEncapsulation));
+        }
+
+        FlowWithTransitEncapsulation previous;
+        if (target.isPresent()) {
+            previous = pingTargets.put(flowId, target.get());
         } else {
-            flowsSet.removeIf(flowWithTransitEncapsulation ->
-                    flowWithTransitEncapsulation.getFlow().getFlowId().equals(periodicPingCommand.getFlowId()));
+            previous = pingTargets.remove(flowId);
+        }
+        if (previous != null && isExpired(previous, target.orElse(null))) {
+            emitCacheExpire(input, pullContext(input), previous);
         }
     }
 
+    /**
+     * Reconcile the ping targets index with the DB, to fix up missed or reordered flow change notifications.
+     */
     private void refreshHeap(Tuple input, boolean emitCacheExpiry) throws PipelineException {
-        log.debug("Handle periodic ping request");
-        Set<FlowWithTransitEncapsulation> flowsWithTransitEncapsulation = new HashSet<>();
+        log.debug("Refresh periodic ping targets index");
+        final long startTime = System.nanoTime();
+        Map<String, FlowWithTransitEncapsulation> flowsWithTransitEncapsulation = new HashMap<>();
         persistenceManager.getTransactionManager().doInTransaction(() ->
                 flowRepository.findWithPeriodicPingsEnabled()
                         .forEach(flow -> getFlowWithTransitEncapsulation(flow)
-                                .ifPresent(flowsWithTransitEncapsulation::add)));
+                                .ifPresent(entry -> flowsWithTransitEncapsulation.put(flow.getFlowId(), entry))));
         if (emitCacheExpiry) {
             final CommandContext commandContext = pullContext(input);
             emitCacheExpire(input, commandContext, flowsWithTransitEncapsulation);
         }
-        flowsSet = flowsWithTransitEncapsulation;
+        pingTargets = flowsWithTransitEncapsulation;
         lastPeriodicPingCacheRefresh = System.currentTimeMillis();
+        lastRefreshLatency = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        log.debug("Periodic ping targets index refreshed in {} ms, {} targets",
+                lastRefreshLatency, pingTargets.size());
     }
 
-    private void handlePeriodicRequest(Tuple input) throws PipelineException {
-        log.debug("Handle periodic ping request");
-
+    private void refreshHeapIfExpired(Tuple input) throws PipelineException {
         if (lastPeriodicPingCacheRefresh + periodicPingCacheExpiryInterval < System.currentTimeMillis()) {
             refreshHeap(input, true);
         }
+    }
+
+    private void handlePeriodicRequest(Tuple input) throws PipelineException {
+        log.debug("Handle periodic ping request");
+
+        refreshHeapIfExpired(input);
         final CommandContext commandContext = pullContext(input);
-        for (FlowWithTransitEncapsulation flow : flowsSet) {
+        for (FlowWithTransitEncapsulation flow : pingTargets.values()) {
             PingContext pingContext = PingContext.builder()
                     .kind(Kinds.PERIODIC)
                     .flow(flow.getFlow())
@@ -143,6 +185,13 @@ public class FlowFetcher extends Abstract {
         log.debug("Handle on demand ping request");
         FlowPingRequest request = pullOnDemandRequest(input);
 
+        refreshHeapIfExpired(input);
+        FlowWithTransitEncapsulation target = pingTargets.get(request.getFlowId());
+        if (target != null) {
+            emitOnDemandPing(input, request, target.getFlow(), target.getTransitEncapsulation());
+            return;
+        }
+
         Optional<Flow> optionalFlow = flowRepository.findById(request.getFlowId());
 
         if (optionalFlow.isPresent()) {
@@ -151,13 +200,7 @@ public class FlowFetcher extends Abstract {
             if (!flow.isOneSwitchFlow()) {
                 Optional<FlowTransitEncapsulation> transitEncapsulation = getTransitEncapsulation(flow);
                 if (transitEncapsulation.isPresent()) {
-                    PingContext pingContext = PingContext.builder()
-                            .kind(Kinds.ON_DEMAND)
-                            .flow(flow)
-                            .transitEncapsulation(transitEncapsulation.get())
-                            .timeout(request.getTimeout())
-                            .build();
-                    emit(input, pingContext, pullContext(input));
+                    emitOnDemandPing(input, request, flow, transitEncapsulation.get());
                 } else {
                     emitOnDemandResponse(input, request, String.format(
                             "Encapsulation resource not found for flow %s", request.getFlowId()));
@@ -172,6 +215,17 @@ public class FlowFetcher extends Abstract {
         }
     }
 
+    private void emitOnDemandPing(Tuple input, FlowPingRequest request, Flow flow,
+                                  FlowTransitEncapsulation transitEncapsulation) throws PipelineException {
+        PingContext pingContext = PingContext.builder()
+                .kind(Kinds.ON_DEMAND)
+                .flow(flow)
+                .transitEncapsulation(transitEncapsulation)
+                .timeout(request.getTimeout())
+                .build();
+        emit(input, pingContext, pullContext(input));
+    }
+
     private Optional<FlowWithTransitEncapsulation> getFlowWithTransitEncapsulation(Flow flow) {
         if (!flow.isOneSwitchFlow()) {
             return getTransitEncapsulation(flow)
@@ -200,13 +254,34 @@ public class FlowFetcher extends Abstract {
         getOutput().emit(STREAM_ON_DEMAND_RESPONSE_ID, input, output);
     }
 
-    private void emitCacheExpire(Tuple input, CommandContext commandContext, Set<FlowWithTransitEncapsulation> flows) {
-        OutputCollector collector = getOutput();
-        flowsSet.removeAll(flows);
-        for (FlowWithTransitEncapsulation flow : flowsSet) {
-            Values output = new Values(flow.getFlow(), commandContext);
-            collector.emit(STREAM_EXPIRE_CACHE_ID, input, output);
+    private void emitCacheExpire(Tuple input, CommandContext commandContext,
+                                 Map<String, FlowWithTransitEncapsulation> flows) {
+        for (Map.Entry<String, FlowWithTransitEncapsulation> entry : pingTargets.entrySet()) {
+            if (isExpired(entry.getValue(), flows.get(entry.getKey()))) {
+                emitCacheExpire(input, commandContext, entry.getValue());
+            }
+        }
+    }
+
+    private void emitCacheExpire(Tuple input, CommandContext commandContext, FlowWithTransitEncapsulation target) {
+        Values output = new Values(target.getFlow(), commandContext);
+        getOutput().emit(STREAM_EXPIRE_CACHE_ID, input, output);
+    }
+
+    private boolean isExpired(FlowWithTransitEncapsulation target, FlowWithTransitEncapsulation replacement) {
+        if (replacement == null) {
+            return true;
+        }
+        return !isSamePath(target.getFlow().getForwardPath(), replacement.getFlow().getForwardPath())
+                || !isSamePath(target.getFlow().getReversePath(), replacement.getFlow().getReversePath());
+    }
+
+    private static boolean isSamePath(FlowPath path, FlowPath replacement) {
+        if (path == null || replacement == null) {
+            return path == replacement;
         }
+        return Objects.equals(path.getPathId(), replacement.getPathId())
+                && Objects.equals(path.getCookie(), replacement.getCookie());
     }
 
     private FlowPingRequest pullOnDemandRequest(Tuple input) throws PipelineException {
@@ -237,7 +312,6 @@ public class FlowFetcher extends Abstract {
 
     @Value
     @AllArgsConstructor
-    @EqualsAndHashCode(exclude = {"transitEncapsulation"})
     private static class FlowWithTransitEncapsulation {
         Flow flow;
         FlowTransitEncapsulation transitEncapsulation;
@@ -0,0 +1,203 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.ping.bolt;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.openkilda.messaging.command.flow.FlowPingRequest;
+import org.openkilda.messaging.command.flow.PeriodicPingCommand;
+import org.openkilda.messaging.info.flow.FlowPingResponse;
+import org.openkilda.model.Flow;
+import org.openkilda.model.FlowEndpoint;
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.FlowPathDirection;
+import org.openkilda.model.SwitchId;
+import org.openkilda.model.cookie.FlowSegmentCookie;
+import org.openkilda.persistence.Neo4jBasedTest;
+import org.openkilda.persistence.repositories.FlowPathRepository;
+import org.openkilda.wfm.CommandContext;
+import org.openkilda.wfm.share.flow.resources.FlowResourcesConfig;
+import org.openkilda.wfm.topology.ping.model.PingContext;
+
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
+import org.apache.storm.tuple.Tuple;
+import org.apache.storm.tuple.Values;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class FlowFetcherTest extends Neo4jBasedTest {
+    private static final long CACHE_EXPIRY_INTERVAL = 3600;
+
+    private final FlowEndpoint source = new FlowEndpoint(new SwitchId(1), 1, 101);
+    private final FlowEndpoint dest = new FlowEndpoint(new SwitchId(2), 2, 102);
+
+    private final OutputCollector output = mock(OutputCollector.class);
+    private FlowFetcher subject;
+
+    @Before
+    public void setUp() {
+        dummyFactory.getFlowDefaults().setPeriodicPings(true);
+    }
+
+    @After
+    public void tearDown() {
+        dummyFactory.getFlowDefaults().setPeriodicPings(false);
+    }
+
+    @Test
+    public void shouldPingIndexedFlowsOnTick() throws Exception {
+        Flow flow = dummyFactory.makeFlow(source, dest);
+        dummyFactory.getFlowDefaults().setPeriodicPings(false);
+        dummyFactory.makeFlow(source, dest);
+        prepareSubject();
+
+        Tuple tick = makeTickTuple();
+        subject.handleInput(tick);
+
+        List<PingContext> pings = capturePings(tick);
+        assertEquals(1, pings.size());
+        assertEquals(flow.getFlowId(), pings.get(0).getFlowId());
+    }
+
+    @Test
+    public void shouldAddFlowToIndexOnPeriodicPingUpdate() throws Exception {
+        prepareSubject();
+        Flow flow = dummyFactory.makeFlow(source, dest);
+        subject.handleInput(makePeriodicPingUpdateTuple(flow.getFlowId(), true));
+
+        Tuple tick = makeTickTuple();
+        subject.handleInput(tick);
+
+        List<PingContext> pings = capturePings(tick);
+        assertEquals(1, pings.size());
+        assertEquals(flow.getFlowId(), pings.get(0).getFlowId());
+        verify(output, never()).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), any(Values.class));
+    }
+
+    @Test
+    public void shouldServeOnDemandPingFromIndexOrRepository() throws Exception {
+        Flow indexed = dummyFactory.makeFlow(source, dest);
+        dummyFactory.getFlowDefaults().setPeriodicPings(false);
+        Flow notIndexed = dummyFactory.makeFlow(source, dest);
+        prepareSubject();
+
+        for (Flow flow : new Flow[]{indexed, notIndexed}) {
+            Tuple request = makeOnDemandTuple(flow.getFlowId());
+            subject.handleInput(request);
+
+            List<PingContext> pings = capturePings(request);
+            assertEquals(1, pings.size());
+            assertEquals(flow.getFlowId(), pings.get(0).getFlowId());
+            assertEquals(PingContext.Kinds.ON_DEMAND, pings.get(0).getKind());
+        }
+
+        Tuple request = makeOnDemandTuple("missing");
+        subject.handleInput(request);
+
+        ArgumentCaptor<Values> captor = ArgumentCaptor.forClass(Values.class);
+        verify(output).emit(eq(FlowFetcher.STREAM_ON_DEMAND_RESPONSE_ID), eq(request), captor.capture());
+        FlowPingResponse response = (FlowPingResponse) captor.getValue().get(0);
+        assertEquals("missing", response.getFlowId());
+    }
+
+    @Test
+    public void shouldExpireReplacedTargetOnlyIfItsPathsChanged() throws Exception {
+        Flow flow = dummyFactory.makeFlow(source, dest);
+        FlowSegmentCookie originCookie = flow.getForwardPath().getCookie();
+        prepareSubject();
+
+        Tuple update = makePeriodicPingUpdateTuple(flow.getFlowId(), true);
+        subject.handleInput(update);
+        verify(output, never()).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), any(Tuple.class), any(Values.class));
+
+        FlowPathRepository flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
+        persistenceManager.getTransactionManager().doInTransaction(() -> {
+            FlowPath path = flowPathRepository.findById(flow.getForwardPathId()).get();
+            path.setCookie(new FlowSegmentCookie(FlowPathDirection.FORWARD, originCookie.getFlowEffectiveId() + 1));
+            flowPathRepository.createOrUpdate(path);
+        });
+        update = makePeriodicPingUpdateTuple(flow.getFlowId(), true);
+        subject.handleInput(update);
+        assertEquals(originCookie, captureExpiredFlow(update).getForwardPath().getCookie());
+
+        update = makePeriodicPingUpdateTuple(flow.getFlowId(), false);
+        subject.handleInput(update);
+        assertEquals(flow.getFlowId(), captureExpiredFlow(update).getFlowId());
+
+        Tuple tick = makeTickTuple();
+        subject.handleInput(tick);
+        assertEquals(0, capturePings(tick).size());
+    }
+
+    private void prepareSubject() {
+        FlowResourcesConfig flowResourcesConfig = configurationProvider.getConfiguration(FlowResourcesConfig.class);
+        subject = new FlowFetcher(persistenceManager, flowResourcesConfig, CACHE_EXPIRY_INTERVAL);
+        subject.prepare(Collections.emptyMap(), mock(TopologyContext.class), output);
+        reset(output);
+    }
+
+    private List<PingContext> capturePings(Tuple input) {
+        ArgumentCaptor<Values> captor = ArgumentCaptor.forClass(Values.class);
+        verify(output, atLeast(0)).emit(eq(input), captor.capture());
+        return captor.getAllValues().stream()
+                .map(values -> (PingContext) values.get(1))
+                .collect(Collectors.toList());
+    }
+
+    private Flow captureExpiredFlow(Tuple input) {
+        ArgumentCaptor<Values> captor = ArgumentCaptor.forClass(Values.class);
+        verify(output).emit(eq(FlowFetcher.STREAM_EXPIRE_CACHE_ID), eq(input), captor.capture());
+        return (Flow) captor.getValue().get(0);
+    }
+
+    private Tuple makeTickTuple() {
+        return makeTuple(TickDeduplicator.BOLT_ID, null, null);
+    }
+
+    private Tuple makeOnDemandTuple(String flowId) {
+        return makeTuple(InputRouter.BOLT_ID, InputRouter.STREAM_ON_DEMAND_REQUEST_ID,
+                new FlowPingRequest(flowId, 1000));
+    }
+
+    private Tuple makePeriodicPingUpdateTuple(String flowId, boolean enable) {
+        return makeTuple(InputRouter.BOLT_ID, InputRouter.STREAM_PERIODIC_PING_UPDATE_REQUEST_ID,
+                new PeriodicPingCommand(flowId, enable));
+    }
+
+    private Tuple makeTuple(String component, String stream, Object request) {
+        Tuple tuple = mock(Tuple.class);
+        when(tuple.getSourceComponent()).thenReturn(component);
+        when(tuple.getSourceStreamId()).thenReturn(stream);
+        when(tuple.getValueByField(InputRouter.FIELD_ID_PING_REQUEST)).thenReturn(request);
+        when(tuple.getValueByField(FlowFetcher.FIELD_ID_CONTEXT)).thenReturn(new CommandContext());
+        return tuple;
+    }
+}
@@ -94,7 +94,7 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
 
     private void rerouteBolt(TopologyBuilder topologyBuilder, int parallelism,
                              PersistenceManager persistenceManager) {
-        RerouteBolt rerouteBolt = new RerouteBolt(persistenceManager);
+        RerouteBolt rerouteBolt = new RerouteBolt(persistenceManager, topologyConfig.isFlowPathIndexEnabled());
         topologyBuilder.setBolt(RerouteBolt.BOLT_ID, rerouteBolt, parallelism)
                 .shuffleGrouping(SPOUT_ID_REROUTE);
     }
@@ -104,7 +104,9 @@ public class RerouteTopology extends AbstractTopology<RerouteTopologyConfig> {
         int rerouteTimeout = (int) TimeUnit.SECONDS.toMillis(topologyConfig.getRerouteTimeoutSeconds());
         FlowRerouteQueueBolt flowRerouteQueueBolt = new FlowRerouteQueueBolt(persistenceManager,
                 topologyConfig.getDefaultFlowPriority(),
-                topologyConfig.getMaxRetry(), rerouteTimeout);
+                topologyConfig.getMaxRetry(), rerouteTimeout,
+                topologyConfig.getRerouteMinInFlight(), topologyConfig.getRerouteMaxInFlight(),
+                topologyConfig.getRerouteTargetLatency());
         topologyBuilder.setBolt(FlowRerouteQueueBolt.BOLT_ID, flowRerouteQueueBolt, parallelism)
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_REROUTE_REQUEST_ID, new Fields(RerouteBolt.FLOW_ID_FIELD))
                 .fieldsGrouping(RerouteBolt.BOLT_ID, STREAM_MANUAL_REROUTE_REQUEST_ID,
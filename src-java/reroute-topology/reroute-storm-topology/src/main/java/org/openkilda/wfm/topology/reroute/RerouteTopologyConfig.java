@@ -42,6 +42,22 @@ public interface RerouteTopologyConfig extends AbstractTopologyConfig {
     @Default("80")
     int getRerouteTimeoutSeconds();
 
+    @Key("reroute.dispatcher.in.flight.min")
+    @Default("10")
+    int getRerouteMinInFlight();
+
+    @Key("reroute.dispatcher.in.flight.max")
+    @Default("100")
+    int getRerouteMaxInFlight();
+
+    @Key("reroute.dispatcher.target.latency.millis")
+    @Default("10000")
+    long getRerouteTargetLatency();
+
+    @Key("reroute.flow.path.index.enabled")
+    @Default("true")
+    boolean isFlowPathIndexEnabled();
+
     default String getKafkaTopoRerouteTopic() {
         return getKafkaTopics().getTopoRerouteTopic();
     }
@@ -31,30 +31,60 @@ import org.openkilda.wfm.share.hubandspoke.CoordinatedBolt;
 import org.openkilda.wfm.topology.reroute.RerouteTopology;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.service.IRerouteQueueCarrier;
+import org.openkilda.wfm.topology.reroute.service.RerouteDispatcher;
 import org.openkilda.wfm.topology.reroute.service.RerouteQueueService;
 
+import org.apache.storm.metric.api.IMetric;
+import org.apache.storm.task.OutputCollector;
+import org.apache.storm.task.TopologyContext;
 import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
 
+import java.util.Map;
+
 public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQueueCarrier {
 
     public static final String BOLT_ID = "reroute-queue-bolt";
     public static final String STREAM_FLOWHS_ID = "flowhs";
     public static final String STREAM_NORTHBOUND_ID = "northbound-stream";
 
+    public static final String METRIC_QUEUE_DEPTH = "reroute.dispatcher.queue.depth";
+    public static final String METRIC_IN_FLIGHT = "reroute.dispatcher.in.flight";
+    public static final String METRIC_IN_FLIGHT_LIMIT = "reroute.dispatcher.in.flight.limit";
+    private static final int METRICS_BUCKET_SIZE_SECONDS = 60;
+
     private final int defaultFlowPriority;
     private final int maxRetry;
+    private final int minInFlight;
+    private final int maxInFlight;
+    private final long targetLatencyMillis;
     private PersistenceManager persistenceManager;
+    private transient RerouteDispatcher dispatcher;
     private transient RerouteQueueService rerouteQueueService;
 
     public FlowRerouteQueueBolt(PersistenceManager persistenceManager,
-                                int defaultFlowPriority, int maxRetry, int rerouteTimeout) {
+                                int defaultFlowPriority, int maxRetry, int rerouteTimeout,
+                                int minInFlight, int maxInFlight, long targetLatencyMillis) {
         super(true, rerouteTimeout);
         this.persistenceManager = persistenceManager;
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
+        this.minInFlight = minInFlight;
+        this.maxInFlight = maxInFlight;
+        this.targetLatencyMillis = targetLatencyMillis;
+    }
+
+    @Override
+    public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
+        super.prepare(stormConf, context, collector);
+
+        context.registerMetric(METRIC_QUEUE_DEPTH, (IMetric) dispatcher::getQueueSize, METRICS_BUCKET_SIZE_SECONDS);
+        context.registerMetric(METRIC_IN_FLIGHT, (IMetric) dispatcher::getInFlightCount,
+                METRICS_BUCKET_SIZE_SECONDS);
+        context.registerMetric(METRIC_IN_FLIGHT_LIMIT, (IMetric) dispatcher::getInFlightLimit,
+                METRICS_BUCKET_SIZE_SECONDS);
     }
 
     @Override
@@ -99,7 +129,9 @@ public class FlowRerouteQueueBolt extends CoordinatedBolt implements IRerouteQue
 
     @Override
     protected void init() {
-        rerouteQueueService = new RerouteQueueService(this, persistenceManager, defaultFlowPriority, maxRetry);
+        dispatcher = new RerouteDispatcher(minInFlight, maxInFlight, targetLatencyMillis);
+        rerouteQueueService = new RerouteQueueService(this, persistenceManager, dispatcher,
+                defaultFlowPriority, maxRetry);
     }
 
     @Override
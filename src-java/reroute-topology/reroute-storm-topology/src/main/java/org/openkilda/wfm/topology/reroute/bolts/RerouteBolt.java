@@ -60,11 +60,13 @@ public class RerouteBolt extends AbstractBolt implements MessageSender {
     public static final String STREAM_SWAP_ID = "swap-stream";
 
     private PersistenceManager persistenceManager;
+    private final boolean flowPathIndexEnabled;
     private transient RerouteService rerouteService;
 
 
-    public RerouteBolt(PersistenceManager persistenceManager) {
+    public RerouteBolt(PersistenceManager persistenceManager, boolean flowPathIndexEnabled) {
         this.persistenceManager = persistenceManager;
+        this.flowPathIndexEnabled = flowPathIndexEnabled;
     }
 
     /**
@@ -72,7 +74,7 @@ public class RerouteBolt extends AbstractBolt implements MessageSender {
      */
     @Override
     public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {
-        this.rerouteService = new RerouteService(persistenceManager);
+        this.rerouteService = new RerouteService(persistenceManager, flowPathIndexEnabled);
         super.prepare(stormConf, context, collector);
     }
 
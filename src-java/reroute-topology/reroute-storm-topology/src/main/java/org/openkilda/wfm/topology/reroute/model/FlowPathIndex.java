@@ -0,0 +1,103 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.reroute.model;
+
+import org.openkilda.model.FlowPath;
+import org.openkilda.model.PathId;
+import org.openkilda.model.PathSegment;
+import org.openkilda.model.SwitchId;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Reverse index of flow path segments: switches and their ports to IDs of the paths going through them.
+ * <p/>
+ * The index is filled per switch. Each switch entry keeps the flow path revision of the switch it was loaded at, and
+ * it is valid only while the switch has the same revision in the repository.
+ */
+public class FlowPathIndex {
+    private final Map<SwitchId, SwitchEntry> switches = new HashMap<>();
+
+    /**
+     * Whether the switch is indexed at the given flow path revision.
+     */
+    public boolean isActual(SwitchId switchId, long revision) {
+        SwitchEntry entry = switches.get(switchId);
+        return entry != null && entry.revision == revision;
+    }
+
+    /**
+     * Replace the indexed paths of the switch with the paths going through it at the given flow path revision.
+     */
+    public void put(SwitchId switchId, long revision, Collection<FlowPath> paths) {
+        SwitchEntry entry = new SwitchEntry(revision);
+        for (FlowPath path : paths) {
+            for (PathSegment segment : path.getSegments()) {
+                if (switchId.equals(segment.getSrcSwitch().getSwitchId())) {
+                    entry.add(segment.getSrcPort(), path.getPathId());
+                }
+                if (switchId.equals(segment.getDestSwitch().getSwitchId())) {
+                    entry.add(segment.getDestPort(), path.getPathId());
+                }
+            }
+        }
+        switches.put(switchId, entry);
+    }
+
+    /**
+     * Returns IDs of the paths having a segment which starts or ends on the switch port.
+     */
+    public Set<PathId> findByEndpoint(SwitchId switchId, int port) {
+        SwitchEntry entry = switches.get(switchId);
+        if (entry == null) {
+            return Collections.emptySet();
+        }
+        Set<PathId> result = entry.pathsByPort.get(port);
+        return result == null ? Collections.emptySet() : new HashSet<>(result);
+    }
+
+    /**
+     * Returns IDs of the paths having a segment which starts or ends on the switch.
+     */
+    public Set<PathId> findBySwitch(SwitchId switchId) {
+        SwitchEntry entry = switches.get(switchId);
+        return entry == null ? Collections.emptySet() : new HashSet<>(entry.paths);
+    }
+
+    public int size() {
+        return switches.size();
+    }
+
+    private static class SwitchEntry {
+        private final long revision;
+        private final Set<PathId> paths = new HashSet<>();
+        private final Map<Integer, Set<PathId>> pathsByPort = new HashMap<>();
+
+        SwitchEntry(long revision) {
+            this.revision = revision;
+        }
+
+        void add(int port, PathId pathId) {
+            paths.add(pathId);
+            pathsByPort.computeIfAbsent(port, key -> new HashSet<>()).add(pathId);
+        }
+    }
+}
@@ -0,0 +1,244 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.reroute.service;
+
+import static org.openkilda.model.PathComputationStrategy.COST_AND_AVAILABLE_BANDWIDTH;
+
+import org.openkilda.model.PathComputationStrategy;
+import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
+
+import com.google.common.annotations.VisibleForTesting;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.PriorityQueue;
+
+/**
+ * Admission control for reroute requests sent to flowhs. Not more than the in-flight limit of requests can wait
+ * for a reroute result, the rest of them wait in the priority queue. The limit adapts to flowhs response latency:
+ * it grows by one per limit of fast responses and halves on a slow response or a timeout, but stays within the
+ * configured bounds. The limit is halved at most once per generation of in-flight requests: slow responses on requests
+ * sent before the last decrease are already accounted for, so a burst of them doesn't collapse the limit.
+ */
+@Slf4j
+public class RerouteDispatcher {
+    private static final Comparator<FlowThrottlingData> REQUEST_ORDER =
+            ((Comparator<FlowThrottlingData>) RerouteDispatcher::comparePriority)
+                    .thenComparing(RerouteDispatcher::compareAvailableBandwidth)
+                    .thenComparing(RerouteDispatcher::compareTimeCreate);
+
+    private final Clock clock;
+    private final int minInFlight;
+    private final int maxInFlight;
+    private final long targetLatencyMillis;
+
+    private double inFlightLimit;
+    private long generation = 0;
+    private long sequence = 0;
+
+    private final PriorityQueue<QueuedReroute> queue = new PriorityQueue<>();
+    private final Map<String, InFlightReroute> inFlight = new HashMap<>();
+
+    public RerouteDispatcher(int minInFlight, int maxInFlight, long targetLatencyMillis) {
+        this(Clock.systemUTC(), minInFlight, maxInFlight, targetLatencyMillis);
+    }
+
+    @VisibleForTesting
+    RerouteDispatcher(Clock clock, int minInFlight, int maxInFlight, long targetLatencyMillis) {
+        if (minInFlight < 1 || maxInFlight < minInFlight) {
+            throw new IllegalArgumentException(String.format(
+                    "Invalid reroute in-flight limits: min %d, max %d", minInFlight, maxInFlight));
+        }
+        this.clock = clock;
+        this.minInFlight = minInFlight;
+        this.maxInFlight = maxInFlight;
+        this.targetLatencyMillis = targetLatencyMillis;
+        this.inFlightLimit = maxInFlight;
+    }
+
+    /**
+     * Put reroute request into the queue.
+     */
+    public void submit(String flowId, FlowThrottlingData throttlingData) {
+        queue.add(new QueuedReroute(new Reroute(flowId, throttlingData), sequence++));
+    }
+
+    /**
+     * Take the most important queued request if the in-flight limit allows to send it. The taken request is
+     * registered as in-flight.
+     */
+    public Optional<Reroute> poll() {
+        if (queue.isEmpty() || inFlight.size() >= getInFlightLimit()) {
+            return Optional.empty();
+        }
+        Reroute reroute = queue.poll().getReroute();
+        registerInFlight(reroute.getFlowId(), reroute.getThrottlingData().getCorrelationId());
+        return Optional.of(reroute);
+    }
+
+    /**
+     * Register request sent bypassing the queue.
+     */
+    public void registerInFlight(String flowId, String correlationId) {
+        inFlight.put(correlationId, new InFlightReroute(flowId, clock.instant(), generation));
+    }
+
+    /**
+     * Release in-flight request on reroute result and adapt the limit to the response latency.
+     *
+     * @return flow id of the request if it was in-flight.
+     */
+    public Optional<String> complete(String correlationId) {
+        InFlightReroute reroute = inFlight.remove(correlationId);
+        if (reroute == null) {
+            return Optional.empty();
+        }
+        long latency = clock.millis() - reroute.getSendTime().toEpochMilli();
+        adjustLimit(reroute, latency > targetLatencyMillis);
+        return Optional.of(reroute.getFlowId());
+    }
+
+    /**
+     * Release in-flight request on timeout, the limit is decreased.
+     *
+     * @return flow id of the request if it was in-flight.
+     */
+    public Optional<String> timeout(String correlationId) {
+        InFlightReroute reroute = inFlight.remove(correlationId);
+        if (reroute == null) {
+            return Optional.empty();
+        }
+        adjustLimit(reroute, true);
+        return Optional.of(reroute.getFlowId());
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+
+    public int getInFlightLimit() {
+        return (int) inFlightLimit;
+    }
+
+    private void adjustLimit(InFlightReroute reroute, boolean overloaded) {
+        int current = getInFlightLimit();
+        if (overloaded) {
+            if (reroute.getGeneration() != generation) {
+                // sent before the last decrease, which has already reacted to the overload
+                return;
+            }
+            generation++;
+            inFlightLimit = Math.max(minInFlight, inFlightLimit / 2);
+        } else {
+            inFlightLimit = Math.min(maxInFlight, inFlightLimit + 1 / inFlightLimit);
+        }
+        if (current != getInFlightLimit()) {
+            log.info("Reroute in-flight limit changed from {} to {}", current, getInFlightLimit());
+        }
+    }
+
+    private static int comparePriority(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
+        Integer priorityA = throttlingDataA.getPriority();
+        Integer priorityB = throttlingDataB.getPriority();
+
+        if (priorityA == null) {
+            if (priorityB == null) {
+                return 0;
+            } else {
+                return -1;
+            }
+        }
+        if (priorityB == null) {
+            return 1;
+        }
+
+        return Integer.compare(priorityA, priorityB);
+    }
+
+    private static int compareAvailableBandwidth(FlowThrottlingData throttlingDataA,
+                                                 FlowThrottlingData throttlingDataB) {
+        PathComputationStrategy pathComputationStrategyA = throttlingDataA.getPathComputationStrategy();
+        PathComputationStrategy pathComputationStrategyB = throttlingDataB.getPathComputationStrategy();
+        long bandwidthA = throttlingDataA.getBandwidth();
+        long bandwidthB = throttlingDataB.getBandwidth();
+
+        if (pathComputationStrategyA == COST_AND_AVAILABLE_BANDWIDTH
+                && pathComputationStrategyB == COST_AND_AVAILABLE_BANDWIDTH) {
+            if (bandwidthA != bandwidthB) {
+                return Long.compare(bandwidthB, bandwidthA);
+            }
+        } else {
+            if (pathComputationStrategyA == COST_AND_AVAILABLE_BANDWIDTH) {
+                return 1;
+            }
+            if (pathComputationStrategyB == COST_AND_AVAILABLE_BANDWIDTH) {
+                return -1;
+            }
+        }
+        return 0;
+    }
+
+    private static int compareTimeCreate(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
+        Instant timeCreateA = throttlingDataA.getTimeCreate();
+        Instant timeCreateB = throttlingDataB.getTimeCreate();
+
+        if (timeCreateA != null || timeCreateB != null) {
+            if (timeCreateA == null) {
+                return -1;
+            }
+            if (timeCreateB == null) {
+                return 1;
+            }
+            return timeCreateA.compareTo(timeCreateB);
+        }
+        return 0;
+    }
+
+    @Value
+    public static class Reroute {
+        private final String flowId;
+        private final FlowThrottlingData throttlingData;
+    }
+
+    @Value
+    private static class QueuedReroute implements Comparable<QueuedReroute> {
+        private final Reroute reroute;
+        private final long sequence;
+
+        @Override
+        public int compareTo(QueuedReroute other) {
+            int result = REQUEST_ORDER.compare(reroute.getThrottlingData(), other.reroute.getThrottlingData());
+            return result != 0 ? result : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    @Value
+    private static class InFlightReroute {
+        private final String flowId;
+        private final Instant sendTime;
+        private final long generation;
+    }
+}
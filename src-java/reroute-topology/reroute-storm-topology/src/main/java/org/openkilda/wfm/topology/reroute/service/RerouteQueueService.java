@@ -16,7 +16,6 @@
 package org.openkilda.wfm.topology.reroute.service;
 
 import static java.lang.String.format;
-import static org.openkilda.model.PathComputationStrategy.COST_AND_AVAILABLE_BANDWIDTH;
 
 import org.openkilda.messaging.command.flow.FlowRerouteRequest;
 import org.openkilda.messaging.error.ErrorData;
@@ -26,25 +25,22 @@ import org.openkilda.messaging.info.reroute.error.RerouteError;
 import org.openkilda.messaging.info.reroute.error.RerouteInProgressError;
 import org.openkilda.messaging.info.reroute.error.SpeakerRequestError;
 import org.openkilda.model.Flow;
-import org.openkilda.model.PathComputationStrategy;
 import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.model.RerouteQueue;
+import org.openkilda.wfm.topology.reroute.service.RerouteDispatcher.Reroute;
 
 import com.google.common.annotations.VisibleForTesting;
 import lombok.extern.slf4j.Slf4j;
 
-import java.time.Instant;
-import java.util.Comparator;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Optional;
-import java.util.stream.Collectors;
 
 @Slf4j
 public class RerouteQueueService {
@@ -55,11 +51,13 @@ public class RerouteQueueService {
 
     private Map<String, RerouteQueue> reroutes = new HashMap<>();
     private IRerouteQueueCarrier carrier;
+    private RerouteDispatcher dispatcher;
 
     public RerouteQueueService(IRerouteQueueCarrier carrier, PersistenceManager persistenceManager,
-                               int defaultFlowPriority, int maxRetry) {
+                               RerouteDispatcher dispatcher, int defaultFlowPriority, int maxRetry) {
         this.carrier = carrier;
         flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
+        this.dispatcher = dispatcher;
         this.defaultFlowPriority = defaultFlowPriority;
         this.maxRetry = maxRetry;
     }
@@ -103,8 +101,10 @@ public class RerouteQueueService {
                     description);
             carrier.emitFlowRerouteError(errorData);
         } else {
+            // manual reroute is not queued by the dispatcher, but it takes an in-flight slot
             rerouteQueue.putToInProgress(throttlingData);
-            sendRerouteRequest(flowId, throttlingData);
+            dispatcher.registerInFlight(flowId, throttlingData.getCorrelationId());
+            emitRerouteRequest(flowId, throttlingData);
         }
     }
 
@@ -124,6 +124,7 @@ public class RerouteQueueService {
             return;
         }
         carrier.cancelTimeout(correlationId);
+        dispatcher.complete(correlationId);
 
         if (rerouteResultInfoData.isSuccess()) {
             FlowThrottlingData toSend = rerouteQueue.processPending();
@@ -143,20 +144,14 @@ public class RerouteQueueService {
      * Move reroute requests form throttling to pending/in-progress.
      */
     public void flushThrottling() {
-        Map<String, FlowThrottlingData> requestsToSend = new HashMap<>();
+        List<String> flushed = new ArrayList<>();
         reroutes.forEach((flowId, rerouteQueue) -> rerouteQueue.flushThrottling()
-                .ifPresent(flowThrottlingData -> requestsToSend.put(flowId, flowThrottlingData)));
-        log.info("Send reroute requests for flows {}", requestsToSend.keySet());
-        Comparator<FlowThrottlingData> comparator = ((Comparator<FlowThrottlingData>) this::comparePriority)
-                .thenComparing(this::compareAvailableBandwidth)
-                .thenComparing(this::compareTimeCreate);
-        requestsToSend.entrySet().stream()
-                .sorted(Map.Entry.comparingByValue(comparator))
-                .forEach(es -> {
-                    String flowId = es.getKey();
-                    FlowThrottlingData flowThrottlingData = es.getValue();
-                    sendRerouteRequest(flowId, flowThrottlingData);
-                });
+                .ifPresent(flowThrottlingData -> {
+                    dispatcher.submit(flowId, flowThrottlingData);
+                    flushed.add(flowId);
+                }));
+        log.info("Queue reroute requests for flows {}", flushed);
+        dispatchQueued();
     }
 
     /**
@@ -166,16 +161,15 @@ public class RerouteQueueService {
      */
     public void handleTimeout(String correlationId) {
         log.warn("Reroute request with correlation id {} timed out.", correlationId);
-        List<Entry<String, RerouteQueue>> foundReroutes = reroutes.entrySet().stream()
-                .filter(es -> es.getValue().getInProgress() != null)
-                .filter(es -> correlationId.equals(es.getValue().getInProgress().getCorrelationId()))
-                .collect(Collectors.toList());
-        if (foundReroutes.isEmpty()) {
+        Optional<String> flowId = dispatcher.timeout(correlationId);
+        RerouteQueue rerouteQueue = flowId.map(reroutes::get).orElse(null);
+        if (rerouteQueue == null || rerouteQueue.getInProgress() == null
+                || !correlationId.equals(rerouteQueue.getInProgress().getCorrelationId())) {
             log.warn("No reroute with correlationId {} found. Timeout event skipped.", correlationId);
-        } else if (foundReroutes.size() > 1) {
-            log.error("Found more than one reroute with correlationId {}. Timed out all of them.", correlationId);
+            dispatchQueued();
+        } else {
+            injectRetry(flowId.get(), rerouteQueue);
         }
-        foundReroutes.forEach(entry -> injectRetry(entry.getKey(), entry.getValue()));
     }
 
     private boolean isRetryRequired(String flowId, RerouteError rerouteError) {
@@ -216,10 +210,26 @@ public class RerouteQueueService {
 
     private void sendRerouteRequest(String flowId, FlowThrottlingData throttlingData) {
         if (throttlingData != null) {
-            FlowRerouteRequest request = new FlowRerouteRequest(flowId, throttlingData.isForce(),
-                    throttlingData.isEffectivelyDown(), throttlingData.getAffectedIsl(), throttlingData.getReason());
-            carrier.sendRerouteRequest(throttlingData.getCorrelationId(), request);
+            dispatcher.submit(flowId, throttlingData);
+        }
+        dispatchQueued();
+    }
+
+    private void dispatchQueued() {
+        Optional<Reroute> reroute;
+        while ((reroute = dispatcher.poll()).isPresent()) {
+            emitRerouteRequest(reroute.get().getFlowId(), reroute.get().getThrottlingData());
         }
+        if (dispatcher.getQueueSize() > 0) {
+            log.debug("{} reroute requests wait for in-flight slot ({} of {} are busy)", dispatcher.getQueueSize(),
+                    dispatcher.getInFlightCount(), dispatcher.getInFlightLimit());
+        }
+    }
+
+    private void emitRerouteRequest(String flowId, FlowThrottlingData throttlingData) {
+        FlowRerouteRequest request = new FlowRerouteRequest(flowId, throttlingData.isForce(),
+                throttlingData.isEffectivelyDown(), throttlingData.getAffectedIsl(), throttlingData.getReason());
+        carrier.sendRerouteRequest(throttlingData.getCorrelationId(), request);
     }
 
     private RerouteQueue getRerouteQueue(String flowId) {
@@ -231,59 +241,8 @@ public class RerouteQueueService {
         return reroutes;
     }
 
-    private int comparePriority(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
-        Integer priorityA = throttlingDataA.getPriority();
-        Integer priorityB = throttlingDataB.getPriority();
-
-        if (priorityA == null) {
-            if (priorityB == null) {
-                return 0;
-            } else {
-                return -1;
-            }
-        }
-        if (priorityB == null) {
-            return 1;
-        }
-
-        return Integer.compare(priorityA, priorityB);
-    }
-
-    private int compareAvailableBandwidth(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
-        PathComputationStrategy pathComputationStrategyA = throttlingDataA.getPathComputationStrategy();
-        PathComputationStrategy pathComputationStrategyB = throttlingDataB.getPathComputationStrategy();
-        long bandwidthA = throttlingDataA.getBandwidth();
-        long bandwidthB = throttlingDataB.getBandwidth();
-
-        if (pathComputationStrategyA == COST_AND_AVAILABLE_BANDWIDTH
-                && pathComputationStrategyB == COST_AND_AVAILABLE_BANDWIDTH) {
-            if (bandwidthA != bandwidthB) {
-                return Long.compare(bandwidthB, bandwidthA);
-            }
-        } else {
-            if (pathComputationStrategyA == COST_AND_AVAILABLE_BANDWIDTH) {
-                return 1;
-            }
-            if (pathComputationStrategyB == COST_AND_AVAILABLE_BANDWIDTH) {
-                return -1;
-            }
-        }
-        return 0;
-    }
-
-    private int compareTimeCreate(FlowThrottlingData throttlingDataA, FlowThrottlingData throttlingDataB) {
-        Instant timeCreateA = throttlingDataA.getTimeCreate();
-        Instant timeCreateB = throttlingDataB.getTimeCreate();
-
-        if (timeCreateA != null || timeCreateB != null) {
-            if (timeCreateA == null) {
-                return -1;
-            }
-            if (timeCreateB == null) {
-                return 1;
-            }
-            return timeCreateA.compareTo(timeCreateB);
-        }
-        return 0;
+    @VisibleForTesting
+    RerouteDispatcher getDispatcher() {
+        return dispatcher;
     }
 }
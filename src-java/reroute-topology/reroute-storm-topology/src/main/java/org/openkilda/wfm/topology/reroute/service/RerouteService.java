@@ -42,6 +42,7 @@ import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.PathSegmentRepository;
 import org.openkilda.wfm.share.logger.FlowOperationsDashboardLogger;
 import org.openkilda.wfm.topology.reroute.bolts.MessageSender;
+import org.openkilda.wfm.topology.reroute.model.FlowPathIndex;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData.FlowThrottlingDataBuilder;
 
@@ -69,7 +70,18 @@ public class RerouteService {
     private PathSegmentRepository pathSegmentRepository;
     private TransactionManager transactionManager;
 
+    private final FlowPathIndex flowPathIndex;
+
     public RerouteService(PersistenceManager persistenceManager) {
+        this(persistenceManager, false);
+    }
+
+    /**
+     * Creates the service. With the flow path index enabled the affected paths of a switch are looked up in memory as
+     * long as the flow path revision of the switch stays the same.
+     */
+    public RerouteService(PersistenceManager persistenceManager, boolean flowPathIndexEnabled) {
+        this.flowPathIndex = flowPathIndexEnabled ? new FlowPathIndex() : null;
         this.flowRepository = persistenceManager.getRepositoryFactory().createFlowRepository();
         this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
         this.pathSegmentRepository = persistenceManager.getRepositoryFactory().createPathSegmentRepository();
@@ -282,7 +294,10 @@ public class RerouteService {
      */
     public Collection<FlowPath> getAffectedFlowPaths(SwitchId switchId, int port) {
         log.info("Get affected flow paths by node {}_{}", switchId, port);
-        return flowPathRepository.findBySegmentEndpoint(switchId, port);
+        if (flowPathIndex == null) {
+            return flowPathRepository.findBySegmentEndpoint(switchId, port);
+        }
+        return getIndexedPaths(switchId, index -> index.findByEndpoint(switchId, port));
     }
 
 
@@ -352,11 +367,38 @@ public class RerouteService {
      */
     public Set<Flow> getAffectedInactiveFlowsForRerouting(SwitchId switchId) {
         log.info("Get affected inactive flows for switch {}", switchId);
-        return flowPathRepository.findInactiveBySegmentSwitch(switchId).stream()
+        if (flowPathIndex == null) {
+            return flowPathRepository.findInactiveBySegmentSwitch(switchId).stream()
+                    .map(FlowPath::getFlow)
+                    .collect(toSet());
+        }
+        return getIndexedPaths(switchId, index -> index.findBySwitch(switchId)).stream()
                 .map(FlowPath::getFlow)
+                .filter(flow -> flow.getStatus() == FlowStatus.DOWN || flow.getStatus() == FlowStatus.DEGRADED)
                 .collect(toSet());
     }
 
+    /**
+     * Looks up the paths of the switch in the flow path index. The switch is (re)indexed if its flow path revision
+     * differs from the indexed one. The revision is read before the paths, so a path changed in between only makes
+     * the next lookup reindex the switch again.
+     */
+    private Collection<FlowPath> getIndexedPaths(SwitchId switchId, Function<FlowPathIndex, Set<PathId>> lookup) {
+        long revision = flowPathRepository.getFlowPathRevision(switchId);
+        if (flowPathIndex.isActual(switchId, revision)) {
+            return flowPathRepository.findByIds(lookup.apply(flowPathIndex));
+        }
+
+        Collection<FlowPath> paths = flowPathRepository.findBySegmentSwitch(switchId);
+        flowPathIndex.put(switchId, revision, paths);
+        log.debug("Switch {} is indexed at flow path revision {}: {} paths", switchId, revision, paths.size());
+
+        Set<PathId> pathIds = lookup.apply(flowPathIndex);
+        return paths.stream()
+                .filter(path -> pathIds.contains(path.getPathId()))
+                .collect(Collectors.toList());
+    }
+
     private void updateFlowPathStatus(FlowPath path, FlowPathStatus status) {
         try {
             flowPathRepository.updateStatus(path.getPathId(), status);
@@ -0,0 +1,108 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.reroute.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+import org.openkilda.wfm.share.utils.ManualClock;
+import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
+import org.openkilda.wfm.topology.reroute.service.RerouteDispatcher.Reroute;
+
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.Optional;
+
+public class RerouteDispatcherTest {
+    private final ManualClock clock = new ManualClock();
+
+    @Test
+    public void shouldSendMostImportantRequestsFirst() {
+        RerouteDispatcher dispatcher = new RerouteDispatcher(clock, 1, 2, 1000);
+        dispatcher.submit("low", makeRequest("low", 10, Instant.EPOCH));
+        dispatcher.submit("new", makeRequest("new", 1, Instant.EPOCH.plusSeconds(1)));
+        dispatcher.submit("old", makeRequest("old", 1, Instant.EPOCH));
+
+        assertEquals("old", dispatcher.poll().map(Reroute::getFlowId).orElse(null));
+        assertEquals("new", dispatcher.poll().map(Reroute::getFlowId).orElse(null));
+        assertFalse(dispatcher.poll().isPresent());
+        assertEquals(1, dispatcher.getQueueSize());
+        assertEquals(2, dispatcher.getInFlightCount());
+
+        assertEquals(Optional.of("old"), dispatcher.complete("old"));
+        assertEquals("low", dispatcher.poll().map(Reroute::getFlowId).orElse(null));
+        assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    public void shouldAdaptLimitToResponseLatency() {
+        RerouteDispatcher dispatcher = new RerouteDispatcher(clock, 2, 8, 1000);
+        assertEquals(8, dispatcher.getInFlightLimit());
+
+        dispatcher.registerInFlight("flow", "slow");
+        clock.adjust(Duration.ofSeconds(2));
+        dispatcher.complete("slow");
+        assertEquals(4, dispatcher.getInFlightLimit());
+
+        dispatcher.registerInFlight("flow", "timeout");
+        assertEquals(Optional.of("flow"), dispatcher.timeout("timeout"));
+        assertEquals(2, dispatcher.getInFlightLimit());
+
+        dispatcher.registerInFlight("flow", "timeout");
+        dispatcher.timeout("timeout");
+        assertEquals(2, dispatcher.getInFlightLimit());
+
+        // additive increase - one per limit of fast responses
+        for (int i = 0; i < 4; i++) {
+            dispatcher.registerInFlight("flow", "fast" + i);
+            dispatcher.complete("fast" + i);
+        }
+        assertEquals(3, dispatcher.getInFlightLimit());
+        assertEquals(Optional.empty(), dispatcher.complete("fast0"));
+    }
+
+    @Test
+    public void shouldHalveLimitOncePerInFlightGeneration() {
+        RerouteDispatcher dispatcher = new RerouteDispatcher(clock, 1, 8, 1000);
+        for (int i = 0; i < 4; i++) {
+            dispatcher.registerInFlight("flow" + i, "slow" + i);
+        }
+        clock.adjust(Duration.ofSeconds(2));
+        for (int i = 0; i < 3; i++) {
+            dispatcher.complete("slow" + i);
+        }
+        assertEquals(4, dispatcher.getInFlightLimit());
+
+        // sent after the decrease - belongs to the next generation
+        dispatcher.registerInFlight("flow", "timeout");
+        dispatcher.timeout("slow3");
+        assertEquals(4, dispatcher.getInFlightLimit());
+        dispatcher.timeout("timeout");
+        assertEquals(2, dispatcher.getInFlightLimit());
+    }
+
+    private FlowThrottlingData makeRequest(String correlationId, int priority, Instant timeCreate) {
+        return FlowThrottlingData.builder()
+                .correlationId(correlationId)
+                .priority(priority)
+                .timeCreate(timeCreate)
+                .affectedIsl(Collections.emptySet())
+                .build();
+    }
+}
@@ -24,6 +24,7 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -76,6 +77,7 @@ public class RerouteQueueServiceTest {
     @Mock
     private FlowRepository flowRepository;
 
+    private PersistenceManager persistenceManager;
     private RerouteQueueService rerouteQueueService;
 
     @Before
@@ -88,10 +90,11 @@ public class RerouteQueueServiceTest {
         RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
         when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
 
-        PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        persistenceManager = mock(PersistenceManager.class);
         when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
 
-        rerouteQueueService = new RerouteQueueService(carrier, persistenceManager, 0, 3);
+        rerouteQueueService = new RerouteQueueService(carrier, persistenceManager,
+                new RerouteDispatcher(10, 100, 10000), 0, 3);
     }
 
     @Test
@@ -347,6 +350,33 @@ public class RerouteQueueServiceTest {
         verify(carrier).sendRerouteRequest(any(String.class), eq(getFlowRerouteRequest("third flow", third)));
     }
 
+    @Test
+    public void shouldHoldRequestsOverInFlightLimitUntilResult() {
+        rerouteQueueService = new RerouteQueueService(carrier, persistenceManager,
+                new RerouteDispatcher(1, 1, 10000), 0, 3);
+        FlowThrottlingData first = getFlowThrottlingData(flow, "first").priority(1).build();
+        FlowThrottlingData second = getFlowThrottlingData(flow, "second").priority(2).build();
+        rerouteQueueService.getReroutes().put("second flow", RerouteQueue.builder().throttling(second).build());
+        rerouteQueueService.getReroutes().put("first flow", RerouteQueue.builder().throttling(first).build());
+
+        rerouteQueueService.flushThrottling();
+
+        verify(carrier).sendRerouteRequest(eq("first"), eq(getFlowRerouteRequest("first flow", first)));
+        verify(carrier, never()).sendRerouteRequest(eq("second"), any(FlowRerouteRequest.class));
+        assertEquals(1, rerouteQueueService.getDispatcher().getQueueSize());
+        assertEquals(1, rerouteQueueService.getDispatcher().getInFlightCount());
+
+        RerouteResultInfoData rerouteResultInfoData = RerouteResultInfoData.builder()
+                .flowId("first flow")
+                .success(true)
+                .build();
+        rerouteQueueService.processRerouteResult(rerouteResultInfoData, "first");
+
+        verify(carrier).sendRerouteRequest(eq("second"), eq(getFlowRerouteRequest("second flow", second)));
+        assertEquals(0, rerouteQueueService.getDispatcher().getQueueSize());
+        assertEquals(1, rerouteQueueService.getDispatcher().getInFlightCount());
+    }
+
     @Test
     public void shouldMergeThrottledAndPendingRequestOnFlushWindowEvent() {
         FlowThrottlingData inProgress = FlowThrottlingData.builder()
@@ -407,6 +437,7 @@ public class RerouteQueueServiceTest {
                 .inProgress(inProgress)
                 .build();
         rerouteQueueService.getReroutes().put(FLOW_ID, rerouteQueue);
+        rerouteQueueService.getDispatcher().registerInFlight(FLOW_ID, CORRELATION_ID);
 
         rerouteQueueService.handleTimeout(CORRELATION_ID);
 
@@ -426,6 +457,7 @@ public class RerouteQueueServiceTest {
                 .inProgress(inProgress)
                 .build();
         rerouteQueueService.getReroutes().put(FLOW_ID, rerouteQueue);
+        rerouteQueueService.getDispatcher().registerInFlight(FLOW_ID, CORRELATION_ID);
 
         rerouteQueueService.handleTimeout(CORRELATION_ID);
 
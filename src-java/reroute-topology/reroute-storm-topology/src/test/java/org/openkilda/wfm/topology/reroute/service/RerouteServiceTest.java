@@ -21,10 +21,12 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyZeroInteractions;
@@ -60,6 +62,7 @@ import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.topology.reroute.bolts.MessageSender;
 import org.openkilda.wfm.topology.reroute.model.FlowThrottlingData;
 
+import com.google.common.collect.Sets;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
@@ -70,9 +73,11 @@ import org.mockito.junit.MockitoJUnitRunner;
 import java.time.Instant;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 @RunWith(MockitoJUnitRunner.class)
 public class RerouteServiceTest {
@@ -454,6 +459,69 @@ public class RerouteServiceTest {
         regularFlow.setStatus(FlowStatus.UP);
     }
 
+    @Test
+    public void shouldResolveAffectedFlowPathsFromFlowPathIndex() {
+        FlowPath forwardPath = regularFlow.getForwardPath();
+        FlowPath reversePath = regularFlow.getReversePath();
+        FlowPathRepository pathRepository = mock(FlowPathRepository.class);
+        when(pathRepository.getFlowPathRevision(SWITCH_ID_B)).thenReturn(1L);
+        when(pathRepository.findBySegmentSwitch(SWITCH_ID_B)).thenReturn(Arrays.asList(forwardPath, reversePath));
+        when(pathRepository.findByIds(Sets.newHashSet(forwardPath.getPathId(), reversePath.getPathId())))
+                .thenReturn(Arrays.asList(forwardPath, reversePath));
+        RerouteService rerouteService = new RerouteService(mockPersistenceManager(pathRepository), true);
+
+        assertEquals(2, rerouteService.getAffectedFlowPaths(SWITCH_ID_B, 2).size());
+        assertEquals(2, rerouteService.getAffectedFlowPaths(SWITCH_ID_B, 1).size());
+        assertTrue(rerouteService.getAffectedFlowPaths(SWITCH_ID_B, 3).isEmpty());
+
+        verify(pathRepository, times(1)).findBySegmentSwitch(SWITCH_ID_B);
+        verify(pathRepository, never()).findBySegmentEndpoint(any(), anyInt());
+    }
+
+    @Test
+    public void shouldReindexSwitchOnFlowPathRevisionChange() {
+        FlowPath forwardPath = regularFlow.getForwardPath();
+        FlowPath reversePath = regularFlow.getReversePath();
+        FlowPathRepository pathRepository = mock(FlowPathRepository.class);
+        when(pathRepository.getFlowPathRevision(SWITCH_ID_B)).thenReturn(1L, 2L);
+        when(pathRepository.findBySegmentSwitch(SWITCH_ID_B))
+                .thenReturn(Arrays.asList(forwardPath, reversePath), Collections.singletonList(reversePath));
+        RerouteService rerouteService = new RerouteService(mockPersistenceManager(pathRepository), true);
+
+        assertEquals(2, rerouteService.getAffectedFlowPaths(SWITCH_ID_B, 2).size());
+        Collection<FlowPath> affectedPaths = rerouteService.getAffectedFlowPaths(SWITCH_ID_B, 2);
+
+        assertEquals(Collections.singletonList(reversePath), new ArrayList<>(affectedPaths));
+        verify(pathRepository, times(2)).findBySegmentSwitch(SWITCH_ID_B);
+        verify(pathRepository, never()).findByIds(any());
+    }
+
+    @Test
+    public void shouldResolveAffectedInactiveFlowsFromFlowPathIndex() {
+        FlowPathRepository pathRepository = mock(FlowPathRepository.class);
+        when(pathRepository.getFlowPathRevision(SWITCH_ID_C)).thenReturn(1L);
+        when(pathRepository.findBySegmentSwitch(SWITCH_ID_C)).thenReturn(Arrays.asList(
+                regularFlow.getForwardPath(), regularFlow.getReversePath(),
+                pinnedFlow.getForwardPath(), pinnedFlow.getReversePath()));
+        RerouteService rerouteService = new RerouteService(mockPersistenceManager(pathRepository), true);
+
+        regularFlow.setStatus(FlowStatus.DEGRADED);
+        pinnedFlow.setStatus(FlowStatus.UP);
+        Set<Flow> flows = rerouteService.getAffectedInactiveFlowsForRerouting(SWITCH_ID_C);
+
+        assertEquals(Collections.singleton(regularFlow), flows);
+        verify(pathRepository, never()).findInactiveBySegmentSwitch(any());
+        regularFlow.setStatus(FlowStatus.UP);
+    }
+
+    private PersistenceManager mockPersistenceManager(FlowPathRepository pathRepository) {
+        RepositoryFactory repositoryFactory = mock(RepositoryFactory.class);
+        when(repositoryFactory.createFlowPathRepository()).thenReturn(pathRepository);
+        PersistenceManager persistenceManager = mock(PersistenceManager.class);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        return persistenceManager;
+    }
+
     @Test
     public void processManualRerouteRequest() {
         FlowRepository flowRepository = mock(FlowRepository.class);
@@ -17,7 +17,7 @@
 package org.openkilda.server42.stats.zeromq;
 
 import org.openkilda.messaging.info.InfoMessage;
-import org.openkilda.messaging.info.stats.FlowRttStatsData;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.server42.messaging.FlowDirection;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket;
@@ -32,6 +32,11 @@ import org.zeromq.ZContext;
 import org.zeromq.ZMQ;
 import org.zeromq.ZMQ.Socket;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import javax.annotation.PostConstruct;
 
 
@@ -46,6 +51,9 @@ public class StatsCollector extends Thread {
     @Value("${openkilda.server42.stats.kafka.topic.flowrtt.to_storm}")
     private String toStorm;
 
+    @Value("${openkilda.server42.stats.kafka.batch.size:1000}")
+    private int batchSize;
+
     public StatsCollector(KafkaTemplate<String, Object> template) {
         this.template = template;
     }
@@ -92,23 +100,48 @@ public class StatsCollector extends Thread {
     }
 
 
-    void sendStats(FlowLatencyPacketBucket flowLatencyPacketBucket) throws InvalidProtocolBufferException {
-
-
+    /**
+     * Send packets of the bucket as per flow batches of at most batchSize measurements. Each batch is a single Kafka
+     * record keyed by the flow id, so the measurements of a flow keep their partition and order.
+     */
+    void sendStats(FlowLatencyPacketBucket flowLatencyPacketBucket) {
         long currentTimeMillis = System.currentTimeMillis();
+        Map<String, List<FlowLatencyPacket>> packetsByFlow = new LinkedHashMap<>();
         for (FlowLatencyPacket packet : flowLatencyPacketBucket.getPacketList()) {
-            FlowRttStatsData data = new FlowRttStatsData(
-                    packet.getFlowId(),
-                    FlowDirection.fromBoolean(packet.getDirection()).name().toLowerCase(),
-                    packet.getT0(),
-                    packet.getT1()
-            );
-
-            InfoMessage message = new InfoMessage(data, currentTimeMillis,
-                    String.format("stats42-%s-%d", sessionId, packet.getPacketId()));
-            log.debug("InfoMessage {}", message);
-            template.send(toStorm, packet.getFlowId(), message);
+            packetsByFlow.computeIfAbsent(packet.getFlowId(), key -> new ArrayList<>()).add(packet);
         }
+
+        for (Map.Entry<String, List<FlowLatencyPacket>> entry : packetsByFlow.entrySet()) {
+            FlowRttStatsBatchData.Encoder encoder = FlowRttStatsBatchData.encoder();
+            long firstPacketId = 0;
+            for (FlowLatencyPacket packet : entry.getValue()) {
+                if (encoder.isEmpty()) {
+                    firstPacketId = packet.getPacketId();
+                }
+                encoder.add(
+                        packet.getFlowId(),
+                        FlowDirection.fromBoolean(packet.getDirection()).name().toLowerCase(),
+                        packet.getT0(),
+                        packet.getT1());
+
+                if (encoder.size() >= batchSize) {
+                    send(entry.getKey(), encoder.build(), currentTimeMillis, firstPacketId);
+                    encoder = FlowRttStatsBatchData.encoder();
+                }
+            }
+
+            if (!encoder.isEmpty()) {
+                send(entry.getKey(), encoder.build(), currentTimeMillis, firstPacketId);
+            }
+        }
+    }
+
+    private void send(String flowId, FlowRttStatsBatchData data, long timestamp, long firstPacketId) {
+        InfoMessage message = new InfoMessage(data, timestamp,
+                String.format("stats42-%s-%d", sessionId, firstPacketId));
+        log.debug("Send {} flow RTT measurements of flow {} with correlation id {}", data.getCount(), flowId,
+                message.getCorrelationId());
+        template.send(toStorm, flowId, message);
     }
 
     @PostConstruct
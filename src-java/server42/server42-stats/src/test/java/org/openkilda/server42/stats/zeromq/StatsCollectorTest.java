@@ -17,17 +17,21 @@ package org.openkilda.server42.stats.zeromq;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacket;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket;
 import org.openkilda.server42.stats.messaging.flowrtt.Statistics.FlowLatencyPacketBucket.Builder;
 
+import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -36,9 +40,13 @@ import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 
+import java.util.ArrayList;
+import java.util.List;
+
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = {StatsCollector.class})
-@TestPropertySource("classpath:test.properties")
+@TestPropertySource(locations = "classpath:test.properties",
+        properties = "openkilda.server42.stats.kafka.batch.size=2")
 @MockBean(value = {
         KafkaTemplate.class
 })
@@ -51,6 +59,11 @@ public class StatsCollectorTest {
     @Value("${openkilda.server42.stats.kafka.topic.flowrtt.to_storm}")
     private String toStorm;
 
+    @Before
+    public void resetTemplate() {
+        Mockito.reset(template);
+    }
+
     @Test
     public void sendStatsTest() throws Exception {
         Builder bucketBuilder = FlowLatencyPacketBucket.newBuilder();
@@ -70,12 +83,15 @@ public class StatsCollectorTest {
 
         statsCollector.sendStats(bucketBuilder.build());
 
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
         ArgumentCaptor<InfoMessage> argument = ArgumentCaptor.forClass(InfoMessage.class);
-        verify(template).send(eq(toStorm), eq(packet1.getFlowId()), argument.capture());
+        verify(template, times(2)).send(eq(toStorm), key.capture(), argument.capture());
+        assertThat(key.getAllValues()).containsExactly(packet1.getFlowId(), packet2.getFlowId());
 
-        InfoMessage packet1Message = argument.getValue();
-        FlowRttStatsData statsPacket1 = (FlowRttStatsData) packet1Message.getData();
+        List<FlowRttStatsData> stats = decode(argument.getAllValues());
+        assertThat(stats).hasSize(2);
 
+        FlowRttStatsData statsPacket1 = stats.get(0);
         assertThat(statsPacket1).extracting(
                 FlowRttStatsData::getFlowId,
                 FlowRttStatsData::getT0,
@@ -86,11 +102,7 @@ public class StatsCollectorTest {
                 .extracting(FlowRttStatsData::getDirection)
                 .isEqualTo("forward");
 
-        verify(template).send(eq(toStorm), eq(packet2.getFlowId()), argument.capture());
-
-        InfoMessage packet2Message = argument.getValue();
-        FlowRttStatsData statsPacket2 = (FlowRttStatsData) packet2Message.getData();
-
+        FlowRttStatsData statsPacket2 = stats.get(1);
         assertThat(statsPacket2).extracting(
                 FlowRttStatsData::getFlowId,
                 FlowRttStatsData::getT0,
@@ -101,4 +113,41 @@ public class StatsCollectorTest {
                 .extracting(FlowRttStatsData::getDirection)
                 .isEqualTo("reverse");
     }
+
+    @Test
+    public void splitBucketIntoPerFlowBatchesTest() {
+        Builder bucketBuilder = FlowLatencyPacketBucket.newBuilder();
+        for (int i = 0; i < 4; i++) {
+            bucketBuilder.addPacket(FlowLatencyPacket.newBuilder()
+                    .setFlowId("some-flow-id-" + i % 2)
+                    .setT0(i)
+                    .setT1(i + 1)
+                    .setPacketId(i).build());
+        }
+        bucketBuilder.addPacket(FlowLatencyPacket.newBuilder()
+                .setFlowId("some-flow-id-0")
+                .setT0(4)
+                .setT1(5)
+                .setPacketId(4).build());
+
+        statsCollector.sendStats(bucketBuilder.build());
+
+        ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<InfoMessage> argument = ArgumentCaptor.forClass(InfoMessage.class);
+        verify(template, times(3)).send(eq(toStorm), key.capture(), argument.capture());
+        assertThat(key.getAllValues()).containsExactly("some-flow-id-0", "some-flow-id-0", "some-flow-id-1");
+
+        List<FlowRttStatsData> stats = decode(argument.getAllValues());
+        assertThat(stats).extracting(FlowRttStatsData::getT0)
+                .containsExactly(0L, 2L, 4L, 1L, 3L);
+    }
+
+    private static List<FlowRttStatsData> decode(List<InfoMessage> messages) {
+        List<FlowRttStatsData> result = new ArrayList<>();
+        for (InfoMessage message : messages) {
+            ((FlowRttStatsBatchData) message.getData()).forEach(
+                    (flowId, direction, t0, t1) -> result.add(new FlowRttStatsData(flowId, direction, t0, t1)));
+        }
+        return result;
+    }
 }
@@ -19,7 +19,9 @@ import org.openkilda.messaging.Destination;
 import org.openkilda.messaging.Message;
 import org.openkilda.messaging.command.CommandData;
 import org.openkilda.messaging.command.CommandMessage;
+import org.openkilda.messaging.command.discovery.DiscoverIslBatchCommandData;
 import org.openkilda.messaging.command.discovery.DiscoverIslCommandData;
+import org.openkilda.messaging.command.discovery.DiscoverIslPortPacket;
 import org.openkilda.messaging.command.discovery.DiscoverPathCommandData;
 import org.openkilda.messaging.command.flow.InstallEgressFlow;
 import org.openkilda.messaging.command.flow.InstallIngressFlow;
@@ -54,7 +56,16 @@ public class CommandBolt extends BaseRichBolt {
     }
 
     protected void processCommand(Tuple tuple, CommandMessage command) throws Exception {
-        if (command.getDestination() == Destination.CONTROLLER) {
+        if (command.getDestination() == Destination.CONTROLLER
+                && command.getData() instanceof DiscoverIslBatchCommandData) {
+            // simulated switches discover ISLs port by port
+            DiscoverIslBatchCommandData batch = (DiscoverIslBatchCommandData) command.getData();
+            for (DiscoverIslPortPacket entry : batch.getPackets()) {
+                collector.emit(SimulatorTopology.COMMAND_BOLT_STREAM, tuple, new Values(
+                        batch.getSwitchId(), Commands.DO_DISCOVER_ISL_COMMAND.name(),
+                        new DiscoverIslCommandData(batch.getSwitchId(), entry.getPortNumber(), entry.getPacketId())));
+            }
+        } else if (command.getDestination() == Destination.CONTROLLER) {
             CommandData data = command.getData();
             Commands switchCommand;
             SwitchId sw;
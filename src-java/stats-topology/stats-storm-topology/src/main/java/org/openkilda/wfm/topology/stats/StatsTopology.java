@@ -20,6 +20,7 @@ import static org.openkilda.wfm.topology.stats.StatsComponentType.FLOW_STATS_MET
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_CFG_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.METER_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PACKET_IN_OUT_STATS_METRIC_GEN;
+import static org.openkilda.wfm.topology.stats.StatsComponentType.POLL_LATENCY_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.PORT_STATS_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.SERVER42_STATS_FLOW_RTT_METRIC_GEN;
 import static org.openkilda.wfm.topology.stats.StatsComponentType.SERVER42_STATS_FLOW_RTT_SPOUT;
@@ -54,6 +55,7 @@ import org.openkilda.wfm.topology.stats.metrics.MeterConfigMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.MeterStatsMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.PacketInOutMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.PortMetricGenBolt;
+import org.openkilda.wfm.topology.stats.metrics.StatsPollLatencyMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.SystemRuleMetricGenBolt;
 import org.openkilda.wfm.topology.stats.metrics.TableStatsMetricGenBolt;
 import org.openkilda.wfm.topology.utils.JsonKafkaTranslator;
@@ -128,6 +130,9 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
         builder.setBolt(PACKET_IN_OUT_STATS_METRIC_GEN.name(),
                 new PacketInOutMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
                 .fieldsGrouping(statsOfsBolt, StatsStreamType.PACKET_IN_OUT_STATS.toString(), statsFields);
+        builder.setBolt(POLL_LATENCY_STATS_METRIC_GEN.name(),
+                new StatsPollLatencyMetricGenBolt(topologyConfig.getMetricPrefix()), parallelism)
+                .fieldsGrouping(statsOfsBolt, StatsStreamType.POLL_LATENCY_STATS.toString(), statsFields);
 
         logger.debug("starting flow_stats_metric_gen");
         builder.setBolt(FLOW_STATS_METRIC_GEN.name(),
@@ -164,6 +169,7 @@ public class StatsTopology extends AbstractTopology<StatsTopologyConfig> {
                 .shuffleGrouping(TABLE_STATS_METRIC_GEN.name())
                 .shuffleGrouping(SYSTEM_RULE_STATS_METRIC_GEN.name())
                 .shuffleGrouping(PACKET_IN_OUT_STATS_METRIC_GEN.name())
+                .shuffleGrouping(POLL_LATENCY_STATS_METRIC_GEN.name())
                 .shuffleGrouping(SERVER42_STATS_FLOW_RTT_METRIC_GEN.name());
 
         return builder.createTopology();
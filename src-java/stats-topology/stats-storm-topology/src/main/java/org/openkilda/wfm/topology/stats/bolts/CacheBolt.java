@@ -33,10 +33,11 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.AbstractBolt;
+import org.openkilda.wfm.CommandContext;
 import org.openkilda.wfm.error.PipelineException;
+import org.openkilda.wfm.share.utils.LongObjectHashMap;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.MeasurePoint;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 import org.openkilda.wfm.topology.stats.StatsComponentType;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.Commands;
 import org.openkilda.wfm.topology.stats.bolts.CacheFilterBolt.FieldsNames;
@@ -46,12 +47,16 @@ import org.apache.storm.topology.OutputFieldsDeclarer;
 import org.apache.storm.tuple.Fields;
 import org.apache.storm.tuple.Tuple;
 import org.apache.storm.tuple.Values;
+import org.apache.storm.utils.TupleUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.stream.Stream;
 
 public class CacheBolt extends AbstractBolt {
@@ -67,45 +72,74 @@ public class CacheBolt extends AbstractBolt {
     private static final Logger logger = LoggerFactory.getLogger(
             CacheBolt.class);
 
+    private static final int WARM_UP_TICK_INTERVAL = 1;
+    private static final int WARM_UP_PAGE_SIZE = 500;
+    private static final long WARM_UP_TICK_BUDGET_NANOS = TimeUnit.MILLISECONDS.toNanos(250);
+
     /**
      * Path computation instance.
      */
     private final PersistenceManager persistenceManager;
 
+    private transient FlowRepository flowRepository;
+
     /**
-     * Cookie to flow and meter to flow maps.
+     * Cookie to flow and switch+meter to flow maps. Keys are kept unboxed, the cache is filled with the flows from
+     * the DB page by page on ticks, so the bolt starts to process stats without waiting for the full DB scan.
      */
-    private Map<Long, CacheFlowEntry> cookieToFlow = new HashMap<>();
-    private Map<MeterCacheKey, CacheFlowEntry> switchAndMeterToFlow = new HashMap<>();
+    private transient LongObjectHashMap<CacheFlowEntry> cookieToFlow;
+    private transient Map<SwitchId, LongObjectHashMap<CacheFlowEntry>> switchAndMeterToFlow;
+
+    private transient String warmUpCursor;
+    private transient boolean warmUpCompleted;
 
     public CacheBolt(PersistenceManager persistenceManager) {
         this.persistenceManager = persistenceManager;
     }
 
-    private void initFlowCache(FlowRepository flowRepository) {
+    /**
+     * Load the next pages of flows into the cache until the time budget of the tick is spent. Entries already
+     * created by cache update commands are kept, because they are not older than the loaded ones.
+     */
+    @VisibleForTesting
+    void warmUpFlowCache() {
+        long deadline = System.nanoTime() + WARM_UP_TICK_BUDGET_NANOS;
         try {
-            flowRepository.findAll().stream()
-                    .flatMap(this::extractAllFlowPaths)
-                    .forEach(path -> {
-                        CacheFlowEntry entry = new CacheFlowEntry(
-                                path.getFlow().getFlowId(),
-                                path.getSrcSwitch().getSwitchId().toOtsdFormat(),
-                                path.getDestSwitch().getSwitchId().toOtsdFormat(),
-                                path.getCookie().getValue());
-
-                        cookieToFlow.put(path.getCookie().getValue(), entry);
-                        if (path.getMeterId() != null) {
-                            switchAndMeterToFlow.put(
-                                    new MeterCacheKey(
-                                            path.getSrcSwitch().getSwitchId(), path.getMeterId().getValue()), entry);
-                        } else {
-                            log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
-                        }
-                    });
-            logger.debug("cookieToFlow cache: {}, switchAndMeterToFlow cache: {}", cookieToFlow, switchAndMeterToFlow);
-            logger.info("Stats Cache: Initialized");
+            do {
+                Collection<Flow> page = flowRepository.findPage(warmUpCursor, WARM_UP_PAGE_SIZE);
+                for (Flow flow : page) {
+                    extractAllFlowPaths(flow).forEach(this::warmUpFlowPath);
+                    warmUpCursor = flow.getFlowId();
+                }
+                if (page.size() < WARM_UP_PAGE_SIZE) {
+                    warmUpCompleted = true;
+                    logger.info("Stats Cache: Initialized with {} cookies", cookieToFlow.size());
+                }
+            } while (!warmUpCompleted && System.nanoTime() < deadline);
         } catch (Exception ex) {
-            logger.error("Error on initFlowCache", ex);
+            logger.error("Error on warm up of the flow cache after flow {}, will retry on the next tick",
+                    warmUpCursor, ex);
+        }
+    }
+
+    private void warmUpFlowPath(FlowPath path) {
+        long cookie = path.getCookie().getValue();
+        CacheFlowEntry entry = new CacheFlowEntry(
+                path.getFlow().getFlowId(),
+                path.getSrcSwitch().getSwitchId().toOtsdFormat(),
+                path.getDestSwitch().getSwitchId().toOtsdFormat(),
+                cookie);
+
+        if (!cookieToFlow.containsKey(cookie)) {
+            cookieToFlow.put(cookie, entry);
+        }
+        if (path.getMeterId() != null) {
+            LongObjectHashMap<CacheFlowEntry> meters = getSwitchMeters(path.getSrcSwitch().getSwitchId());
+            if (!meters.containsKey(path.getMeterId().getValue())) {
+                meters.put(path.getMeterId().getValue(), entry);
+            }
+        } else {
+            log.warn("Flow {} has no meter ID", path.getFlow().getFlowId());
         }
     }
 
@@ -128,7 +162,11 @@ public class CacheBolt extends AbstractBolt {
     @Override
     public void init() {
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
-        initFlowCache(repositoryFactory.createFlowRepository());
+        flowRepository = repositoryFactory.createFlowRepository();
+        cookieToFlow = new LongObjectHashMap<>();
+        switchAndMeterToFlow = new HashMap<>();
+        warmUpCursor = null;
+        warmUpCompleted = false;
     }
 
     /**
@@ -136,6 +174,13 @@ public class CacheBolt extends AbstractBolt {
      */
     @Override
     protected void handleInput(Tuple tuple) throws PipelineException {
+        if (TupleUtils.isTick(tuple)) {
+            if (!warmUpCompleted) {
+                warmUpFlowCache();
+            }
+            return;
+        }
+
         StatsComponentType componentId = StatsComponentType.valueOf(tuple.getSourceComponent());
 
         if (componentId == STATS_CACHE_FILTER_BOLT) {
@@ -147,18 +192,16 @@ public class CacheBolt extends AbstractBolt {
 
     private void handleGetDataFromCache(Tuple tuple) throws PipelineException {
         InfoData data = pullValue(tuple, STATS_FIELD, InfoData.class);
-        Map<Long, CacheFlowEntry> cookieDataCache = null;
-        Map<MeterCacheKey, CacheFlowEntry> meterDataCache = null;
+        CacheFlowEntry[] cookieDataCache = null;
+        CacheFlowEntry[] meterDataCache = null;
         String streamId;
 
         if (data instanceof FlowStatsData) {
             streamId = FLOW_STATS.name();
-            cookieDataCache = createCookieToFlowCache((FlowStatsData) data);
-            logger.debug("execute:cookieDataCache: {}", cookieDataCache);
+            cookieDataCache = lookupFlowStatsEntries((FlowStatsData) data);
         } else if (data instanceof MeterStatsData) {
             streamId = METER_STATS.name();
-            meterDataCache = createSwitchAndMeterToFlowCache((MeterStatsData) data);
-            logger.debug("execute:meterDataCache: {}", meterDataCache);
+            meterDataCache = lookupMeterStatsEntries((MeterStatsData) data);
         } else {
             unhandledInput(tuple);
             return;
@@ -177,48 +220,73 @@ public class CacheBolt extends AbstractBolt {
         Commands command = (Commands) tuple.getValueByField(FieldsNames.COMMAND.name());
         MeasurePoint measurePoint = (MeasurePoint) tuple.getValueByField(FieldsNames.MEASURE_POINT.name());
 
+        if (cookie == null) {
+            logger.error("Cache {} command for flow {} has no cookie", command, flow);
+            return;
+        }
+
         switch (command) {
             case UPDATE:
                 updateCookieFlowCache(cookie, flow, switchId, measurePoint);
-                updateSwitchMeterFlowCache(cookie, meterId, flow, switchId);
+                if (meterId != null) {
+                    updateSwitchMeterFlowCache(cookie, meterId, flow, switchId);
+                }
                 break;
             case REMOVE:
                 cookieToFlow.remove(cookie);
-                switchAndMeterToFlow.remove(new MeterCacheKey(switchId, meterId));
+                if (meterId != null) {
+                    getSwitchMeters(switchId).remove(meterId);
+                }
                 break;
             default:
                 logger.error("invalid command");
                 break;
         }
-
-        logger.debug("updated cookieToFlow: {}", cookieToFlow);
     }
 
+    /**
+     * Return cache entries of the flow stats entries, the entry of the cache has the same index as the stats entry
+     * in the data (null if the cookie is not in the cache).
+     */
     @VisibleForTesting
-    Map<Long, CacheFlowEntry> createCookieToFlowCache(FlowStatsData data) {
-        Map<Long, CacheFlowEntry> cache = new HashMap<>();
-
-        for (FlowStatsEntry entry : data.getStats()) {
-            if (cookieToFlow.containsKey(entry.getCookie())) {
-                CacheFlowEntry cacheFlowEntry = cookieToFlow.get(entry.getCookie());
-                cache.put(entry.getCookie(), cacheFlowEntry);
-            }
+    CacheFlowEntry[] lookupFlowStatsEntries(FlowStatsData data) {
+        List<FlowStatsEntry> stats = data.getStats();
+        CacheFlowEntry[] result = new CacheFlowEntry[stats.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = cookieToFlow.get(stats.get(i).getCookie());
         }
-        return cache;
+        return result;
     }
 
+    /**
+     * Return cache entries of the meter stats entries, the entry of the cache has the same index as the stats entry
+     * in the data (null if the meter is not in the cache).
+     */
     @VisibleForTesting
-    Map<MeterCacheKey, CacheFlowEntry> createSwitchAndMeterToFlowCache(MeterStatsData data) {
-        Map<MeterCacheKey, CacheFlowEntry> cache = new HashMap<>();
-
-        for (MeterStatsEntry entry : data.getStats()) {
-            MeterCacheKey key = new MeterCacheKey(data.getSwitchId(), entry.getMeterId());
-            if (switchAndMeterToFlow.containsKey(key)) {
-                CacheFlowEntry cacheEntry = switchAndMeterToFlow.get(key);
-                cache.put(key, cacheEntry);
+    CacheFlowEntry[] lookupMeterStatsEntries(MeterStatsData data) {
+        List<MeterStatsEntry> stats = data.getStats();
+        CacheFlowEntry[] result = new CacheFlowEntry[stats.size()];
+        LongObjectHashMap<CacheFlowEntry> meters = switchAndMeterToFlow.get(data.getSwitchId());
+        if (meters != null) {
+            for (int i = 0; i < result.length; i++) {
+                result[i] = meters.get(stats.get(i).getMeterId());
             }
         }
-        return cache;
+        return result;
+    }
+
+    @Override
+    protected CommandContext setupCommandContext() {
+        if (TupleUtils.isTick(getCurrentTuple())) {
+            return new CommandContext();
+        }
+        return super.setupCommandContext();
+    }
+
+    @Override
+    public Map<String, Object> getComponentConfiguration() {
+        return TupleUtils.putTickFrequencyIntoComponentConfig(
+                super.getComponentConfiguration(), WARM_UP_TICK_INTERVAL);
     }
 
     /**
@@ -231,21 +299,26 @@ public class CacheBolt extends AbstractBolt {
     }
 
     private void updateCookieFlowCache(
-            Long cookie, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
-        CacheFlowEntry current = cookieToFlow.getOrDefault(cookie, new CacheFlowEntry(flowId, cookie));
-        CacheFlowEntry replacement = current.replaceSwitch(switchId.toOtsdFormat(), measurePoint);
-        cookieToFlow.put(cookie, replacement);
-
+            long cookie, String flowId, SwitchId switchId, MeasurePoint measurePoint) {
+        CacheFlowEntry current = cookieToFlow.get(cookie);
+        if (current == null) {
+            current = new CacheFlowEntry(flowId, cookie);
+        }
+        cookieToFlow.put(cookie, current.replaceSwitch(switchId.toOtsdFormat(), measurePoint));
     }
 
-    private void updateSwitchMeterFlowCache(Long cookie, Long meterId, String flowId, SwitchId switchId) {
-        MeterCacheKey key = new MeterCacheKey(switchId, meterId);
-        CacheFlowEntry current = switchAndMeterToFlow.get(key);
+    private void updateSwitchMeterFlowCache(long cookie, long meterId, String flowId, SwitchId switchId) {
+        LongObjectHashMap<CacheFlowEntry> meters = getSwitchMeters(switchId);
+        CacheFlowEntry current = meters.get(meterId);
 
         if (current == null) {
-            switchAndMeterToFlow.put(key, new CacheFlowEntry(flowId, cookie));
+            meters.put(meterId, new CacheFlowEntry(flowId, cookie));
         } else {
-            switchAndMeterToFlow.put(key, current.replaceCookie(cookie));
+            meters.put(meterId, current.replaceCookie(cookie));
         }
     }
+
+    private LongObjectHashMap<CacheFlowEntry> getSwitchMeters(SwitchId switchId) {
+        return switchAndMeterToFlow.computeIfAbsent(switchId, ignore -> new LongObjectHashMap<>());
+    }
 }
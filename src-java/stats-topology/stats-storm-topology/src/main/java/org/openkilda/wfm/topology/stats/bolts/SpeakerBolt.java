@@ -26,6 +26,7 @@ import org.openkilda.messaging.info.stats.FlowStatsEntry;
 import org.openkilda.messaging.info.stats.MeterConfigStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.PortStatsData;
+import org.openkilda.messaging.info.stats.SwitchStatsPollLatencyData;
 import org.openkilda.messaging.info.stats.SwitchTableStatsData;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.topology.stats.StatsStreamType;
@@ -51,6 +52,7 @@ public class SpeakerBolt extends AbstractBolt {
     private static final String SYSTEM_RULES_STATS_STREAM = StatsStreamType.SYSTEM_RULE_STATS.toString();
     private static final String TABLE_STATS_STREAM = StatsStreamType.TABLE_STATS.toString();
     private static final String PACKET_IN_OUT_STATS_STREAM = StatsStreamType.PACKET_IN_OUT_STATS.toString();
+    private static final String POLL_LATENCY_STATS_STREAM = StatsStreamType.POLL_LATENCY_STATS.toString();
 
     @Override
     protected void handleInput(Tuple tuple) throws Exception {
@@ -84,6 +86,9 @@ public class SpeakerBolt extends AbstractBolt {
         } else if (data instanceof GetPacketInOutStatsResponse) {
             logger.debug("Packet in out stats message: {}", infoMessage);
             emitWithContext(PACKET_IN_OUT_STATS_STREAM, tuple, new Values(data));
+        } else if (data instanceof SwitchStatsPollLatencyData) {
+            logger.debug("Stats poll latency message: {}", infoMessage);
+            emitWithContext(POLL_LATENCY_STATS_STREAM, tuple, new Values(data));
         } else {
             //FIXME (ncherevko): we might receive few unexpected messages here, need to fix it and uncomment below line
             //unhandledInput(tuple);
@@ -121,5 +126,6 @@ public class SpeakerBolt extends AbstractBolt {
         outputFieldsDeclarer.declareStream(SYSTEM_RULES_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(TABLE_STATS_STREAM, statsFields);
         outputFieldsDeclarer.declareStream(PACKET_IN_OUT_STATS_STREAM, statsFields);
+        outputFieldsDeclarer.declareStream(POLL_LATENCY_STATS_STREAM, statsFields);
     }
 }
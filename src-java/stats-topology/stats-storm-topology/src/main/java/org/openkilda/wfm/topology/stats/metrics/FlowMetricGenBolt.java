@@ -31,6 +31,7 @@ import org.openkilda.wfm.topology.stats.FlowDirectionHelper.Direction;
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -46,16 +47,17 @@ public class FlowMetricGenBolt extends MetricGenBolt {
 
     @Override
     protected void handleInput(Tuple input) throws Exception {
-        Map<Long, CacheFlowEntry> dataCache = (Map<Long, CacheFlowEntry>) input.getValueByField(COOKIE_CACHE_FIELD);
-        log.debug("dataCache in FlowMetricGenBolt {}", dataCache);
+        // cache entries are aligned with the stats entries
+        CacheFlowEntry[] dataCache = (CacheFlowEntry[]) input.getValueByField(COOKIE_CACHE_FIELD);
 
         FlowStatsData data = (FlowStatsData) input.getValueByField(STATS_FIELD);
         long timestamp = pullContext(input).getCreateTime();
         SwitchId switchId = data.getSwitchId();
 
-        for (FlowStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = dataCache.get(entry.getCookie());
-            emit(entry, timestamp, switchId, flowEntry);
+        List<FlowStatsEntry> stats = data.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            @Nullable CacheFlowEntry flowEntry = dataCache[i];
+            emit(stats.get(i), timestamp, switchId, flowEntry);
         }
     }
 
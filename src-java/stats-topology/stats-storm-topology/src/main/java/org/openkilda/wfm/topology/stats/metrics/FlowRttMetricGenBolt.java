@@ -17,7 +17,9 @@ package org.openkilda.wfm.topology.stats.metrics;
 
 import static org.openkilda.wfm.topology.AbstractTopology.MESSAGE_FIELD;
 
+import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
 
 import com.google.common.annotations.VisibleForTesting;
@@ -38,14 +40,25 @@ public class FlowRttMetricGenBolt extends MetricGenBolt {
     @Override
     protected void handleInput(Tuple input) throws Exception {
         InfoMessage message = (InfoMessage) input.getValueByField(MESSAGE_FIELD);
-        FlowRttStatsData data = (FlowRttStatsData) message.getData();
+        InfoData data = message.getData();
+        if (data instanceof FlowRttStatsBatchData) {
+            ((FlowRttStatsBatchData) data).forEach(this::emitRtt);
+        } else if (data instanceof FlowRttStatsData) {
+            FlowRttStatsData stats = (FlowRttStatsData) data;
+            emitRtt(stats.getFlowId(), stats.getDirection(), stats.getT0(), stats.getT1());
+        } else {
+            unhandledInput(input);
+        }
+    }
+
+    private void emitRtt(String flowId, String direction, long rawT0, long rawT1) {
         Map<String, String> tags = ImmutableMap.of(
-                "direction", data.getDirection(),
-                "flowid", data.getFlowId()
+                "direction", direction,
+                "flowid", flowId
         );
 
-        long t0 = noviflowTimestamp(data.getT0());
-        long t1 = noviflowTimestamp(data.getT1());
+        long t0 = noviflowTimestamp(rawT0);
+        long t1 = noviflowTimestamp(rawT1);
 
         // We decided to use t1 time as a timestamp for Datapoint.
         long timestamp = TimeUnit.NANOSECONDS.toMillis(t1);
@@ -54,7 +67,7 @@ public class FlowRttMetricGenBolt extends MetricGenBolt {
     }
 
     @VisibleForTesting
-    static long noviflowTimestamp(Long v) {
+    static long noviflowTimestamp(long v) {
         long seconds = (v >> 32);
         long nanoseconds = (v & 0xFFFFFFFFL);
         return seconds * TEN_TO_NINE + nanoseconds;
@@ -26,12 +26,12 @@ import org.openkilda.model.SwitchId;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
 import org.openkilda.wfm.topology.stats.FlowCookieException;
 import org.openkilda.wfm.topology.stats.FlowDirectionHelper;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
 import lombok.extern.slf4j.Slf4j;
 import org.apache.storm.tuple.Tuple;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import javax.annotation.Nullable;
 
@@ -50,16 +50,16 @@ public class MeterStatsMetricGenBolt extends MetricGenBolt {
 
         log.debug("Received meter statistics: {}.", data);
 
-        @SuppressWarnings("unchecked")
-        Map<MeterCacheKey, CacheFlowEntry> meterCache =
-                (Map<MeterCacheKey, CacheFlowEntry>) input.getValueByField(METER_CACHE_FIELD);
+        // cache entries are aligned with the stats entries
+        CacheFlowEntry[] meterCache = (CacheFlowEntry[]) input.getValueByField(METER_CACHE_FIELD);
 
         long timestamp = getCommandContext().getCreateTime();
 
         SwitchId switchId = data.getSwitchId();
-        for (MeterStatsEntry entry : data.getStats()) {
-            @Nullable CacheFlowEntry flowEntry = meterCache.get(new MeterCacheKey(switchId, entry.getMeterId()));
-            emit(entry, timestamp, switchId, flowEntry);
+        List<MeterStatsEntry> stats = data.getStats();
+        for (int i = 0; i < stats.size(); i++) {
+            @Nullable CacheFlowEntry flowEntry = meterCache[i];
+            emit(stats.get(i), timestamp, switchId, flowEntry);
         }
     }
 
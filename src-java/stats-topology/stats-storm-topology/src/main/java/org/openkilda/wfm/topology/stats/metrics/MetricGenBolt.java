@@ -16,7 +16,7 @@
 package org.openkilda.wfm.topology.stats.metrics;
 
 import org.openkilda.messaging.Utils;
-import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.wfm.AbstractBolt;
 import org.openkilda.wfm.error.JsonEncodeException;
 import org.openkilda.wfm.share.utils.MetricFormatter;
@@ -24,36 +24,74 @@ import org.openkilda.wfm.topology.AbstractTopology;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
 import org.apache.storm.topology.OutputFieldsDeclarer;
+import org.apache.storm.tuple.Tuple;
 
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+/**
+ * Base class of the stats bolts producing OpenTSDB datapoints. Datapoints produced while handling one input tuple are
+ * collected into {@link DatapointBatch} and emitted as a single tuple (or several ones if there are more than
+ * {@link #MAX_BATCH_SIZE} of them, to keep Kafka messages within reasonable size).
+ */
 public abstract class MetricGenBolt extends AbstractBolt {
+    static final int MAX_BATCH_SIZE = 2000;
 
     private MetricFormatter metricFormatter;
 
+    private transient Map<String, String> formattedMetrics;
+    private transient DatapointBatch.Builder batch;
+
     public MetricGenBolt(String metricPrefix) {
         this.metricFormatter = new MetricFormatter(metricPrefix);
     }
 
-    protected static List<Object> tuple(String metric, long timestamp, Number value, Map<String, String> tag)
-            throws JsonEncodeException {
-        Datapoint datapoint = new Datapoint(metric, timestamp, tag, value);
+    protected static List<Object> tuple(DatapointBatch batch) throws JsonEncodeException {
         String json;
         try {
-            json = Utils.MAPPER.writeValueAsString(datapoint);
+            json = Utils.MAPPER.writeValueAsString(batch);
         } catch (JsonProcessingException e) {
-            throw new JsonEncodeException(datapoint, e);
+            throw new JsonEncodeException(batch, e);
         }
         return Collections.singletonList(json);
     }
 
+    @Override
+    protected void init() {
+        super.init();
+        formattedMetrics = new HashMap<>();
+    }
+
+    @Override
+    protected void dispatch(Tuple input) throws Exception {
+        batch = DatapointBatch.builder();
+        try {
+            super.dispatch(input);
+        } finally {
+            flush();
+            batch = null;
+        }
+    }
+
     void emitMetric(String metric, long timestamp, Number value, Map<String, String> tag) {
+        String name = formattedMetrics.computeIfAbsent(metric, metricFormatter::format);
+        batch.add(name, timestamp, tag, value);
+        if (batch.size() >= MAX_BATCH_SIZE) {
+            flush();
+            batch = DatapointBatch.builder();
+        }
+    }
+
+    private void flush() {
+        if (batch.isEmpty()) {
+            return;
+        }
         try {
-            getOutput().emit(tuple(metricFormatter.format(metric), timestamp, value, tag));
+            getOutput().emit(tuple(batch.build()));
         } catch (JsonEncodeException e) {
-            log.error("Error during serialization of datapoint", e);
+            log.error("Error during serialization of datapoints batch", e);
         }
     }
 
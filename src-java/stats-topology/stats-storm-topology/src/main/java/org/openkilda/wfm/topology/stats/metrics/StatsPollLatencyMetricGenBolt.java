@@ -0,0 +1,46 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.stats.metrics;
+
+import static org.openkilda.wfm.topology.stats.StatsTopology.STATS_FIELD;
+
+import org.openkilda.messaging.info.stats.SwitchStatsPollLatencyData;
+
+import com.google.common.collect.ImmutableMap;
+import org.apache.storm.tuple.Tuple;
+
+import java.util.Map;
+
+public class StatsPollLatencyMetricGenBolt extends MetricGenBolt {
+
+    public StatsPollLatencyMetricGenBolt(String metricPrefix) {
+        super(metricPrefix);
+    }
+
+    @Override
+    protected void handleInput(Tuple input) throws Exception {
+        SwitchStatsPollLatencyData data = pullValue(input, STATS_FIELD, SwitchStatsPollLatencyData.class);
+        long timestamp = getCommandContext().getCreateTime();
+        String switchId = data.getSwitchId().toOtsdFormat();
+
+        for (Map.Entry<String, Long> entry : data.getLatencies().entrySet()) {
+            Map<String, String> tags = ImmutableMap.of(
+                    "switchid", switchId,
+                    "type", entry.getKey());
+            emitMetric("switch.stats.poll.latency", timestamp, entry.getValue(), tags);
+        }
+    }
+}
@@ -29,9 +29,11 @@ import org.openkilda.messaging.command.flow.BaseFlow;
 import org.openkilda.messaging.command.flow.InstallOneSwitchFlow;
 import org.openkilda.messaging.command.flow.RemoveFlow;
 import org.openkilda.messaging.info.Datapoint;
+import org.openkilda.messaging.info.DatapointBatch;
 import org.openkilda.messaging.info.InfoData;
 import org.openkilda.messaging.info.InfoMessage;
 import org.openkilda.messaging.info.grpc.GetPacketInOutStatsResponse;
+import org.openkilda.messaging.info.stats.FlowRttStatsBatchData;
 import org.openkilda.messaging.info.stats.FlowRttStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsData;
 import org.openkilda.messaging.info.stats.FlowStatsEntry;
@@ -41,6 +43,7 @@ import org.openkilda.messaging.info.stats.MeterStatsData;
 import org.openkilda.messaging.info.stats.MeterStatsEntry;
 import org.openkilda.messaging.info.stats.PortStatsData;
 import org.openkilda.messaging.info.stats.PortStatsEntry;
+import org.openkilda.messaging.info.stats.SwitchStatsPollLatencyData;
 import org.openkilda.messaging.info.stats.SwitchTableStatsData;
 import org.openkilda.messaging.info.stats.TableStatsEntry;
 import org.openkilda.messaging.model.grpc.PacketInOutStatsDto;
@@ -67,6 +70,7 @@ import org.openkilda.wfm.topology.TestKafkaConsumer;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
 import org.apache.kafka.clients.consumer.ConsumerRecord;
 import org.apache.storm.Config;
 import org.apache.storm.generated.StormTopology;
@@ -94,7 +98,7 @@ public class StatsTopologyTest extends AbstractStormTest {
 
     private static final long timestamp = System.currentTimeMillis();
     private static final int POLL_TIMEOUT = 1000;
-    private static final String POLL_DATAPOINT_ASSERT_MESSAGE = "Could not poll all %d datapoints, got only %d records";
+    private static final String POLL_DATAPOINT_ASSERT_MESSAGE = "Could not poll all %d datapoints, got only %d";
     private static final String METRIC_PREFIX = "kilda.";
     private static final int ENCAPSULATION_ID = 123;
     private static final UUID TRANSACTION_ID = UUID.randomUUID();
@@ -197,7 +201,7 @@ public class StatsTopologyTest extends AbstractStormTest {
             assertThat(datapoint.getMetric(), startsWith(METRIC_PREFIX + "switch"));
 
             metricsByPort.get(datapoint.getTags().get("port"))
-                    .put(datapoint.getMetric(), datapoint.getValue());
+                    .put(datapoint.getMetric(), datapoint.getValue().intValue());
         });
 
         for (int i = 1; i <= portCount; i++) {
@@ -516,12 +520,39 @@ public class StatsTopologyTest extends AbstractStormTest {
         Datapoint datapoint = datapoints.get(0);
 
         assertEquals(METRIC_PREFIX + "flow.rtt", datapoint.getMetric());
-        assertEquals(1, datapoint.getValue());
+        assertEquals(1L, datapoint.getValue());
         assertEquals("forward", datapoint.getTags().get("direction"));
         assertEquals(flowId, datapoint.getTags().get("flowid"));
         assertEquals(timestamp, datapoint.getTime().longValue());
     }
 
+    @Test
+    public void flowRttBatchTest() throws IOException {
+        long t0 = 123456789_987654321L;
+        FlowRttStatsBatchData batch = FlowRttStatsBatchData.encoder()
+                .add(flowId, "forward", t0, t0 + 1)
+                .add(flowId, "reverse", t0, t0 + 2)
+                .build();
+
+        InfoMessage infoMessage = new InfoMessage(batch, System.currentTimeMillis(), UUID.randomUUID().toString(),
+                Destination.WFM_STATS, null);
+
+        sendMessage(infoMessage, statsTopologyConfig.getServer42StatsFlowRttTopic());
+
+        List<Datapoint> datapoints = pollDatapoints(2);
+
+        assertEquals(2, datapoints.size());
+
+        Map<String, Datapoint> byDirection = datapoints.stream()
+                .collect(Collectors.toMap(entry -> entry.getTags().get("direction"), Function.identity()));
+        assertEquals(1L, byDirection.get("forward").getValue());
+        assertEquals(2L, byDirection.get("reverse").getValue());
+        byDirection.values().forEach(datapoint -> {
+            assertEquals(METRIC_PREFIX + "flow.rtt", datapoint.getMetric());
+            assertEquals(flowId, datapoint.getTags().get("flowid"));
+        });
+    }
+
 
     @Test
     public void tableStatsTest() throws IOException {
@@ -560,6 +591,27 @@ public class StatsTopologyTest extends AbstractStormTest {
     }
 
 
+    @Test
+    public void statsPollLatencyTest() throws IOException {
+        SwitchStatsPollLatencyData latencyData = SwitchStatsPollLatencyData.builder()
+                .switchId(switchId)
+                .latencies(ImmutableMap.of("port", 12L, "flow", 34L))
+                .build();
+
+        sendStatsMessage(latencyData);
+
+        List<Datapoint> datapoints = pollDatapoints(2);
+
+        Map<String, Long> latencies = new HashMap<>();
+        datapoints.forEach(datapoint -> {
+            assertEquals(METRIC_PREFIX + "switch.stats.poll.latency", datapoint.getMetric());
+            assertEquals(switchId.toOtsdFormat(), datapoint.getTags().get("switchid"));
+            assertEquals(timestamp, datapoint.getTime().longValue());
+            latencies.put(datapoint.getTags().get("type"), datapoint.getValue().longValue());
+        });
+        assertEquals(latencyData.getLatencies(), latencies);
+    }
+
     private Flow createFlow(SwitchId switchId, String flowId) {
         RepositoryFactory repositoryFactory = persistenceManager.getRepositoryFactory();
 
@@ -636,7 +688,7 @@ public class StatsTopologyTest extends AbstractStormTest {
     private List<Datapoint> pollDatapoints(int expectedDatapointCount) {
         List<Datapoint> datapoints = new ArrayList<>();
 
-        for (int i = 0; i < expectedDatapointCount; i++) {
+        while (datapoints.size() < expectedDatapointCount) {
             ConsumerRecord<String, String> record = null;
             try {
                 record = otsdbConsumer.pollMessage(POLL_TIMEOUT);
@@ -644,8 +696,8 @@ public class StatsTopologyTest extends AbstractStormTest {
                     throw new AssertionError(String.format(POLL_DATAPOINT_ASSERT_MESSAGE,
                             expectedDatapointCount, datapoints.size()));
                 }
-                Datapoint datapoint = objectMapper.readValue(record.value(), Datapoint.class);
-                datapoints.add(datapoint);
+                DatapointBatch batch = objectMapper.readValue(record.value(), DatapointBatch.class);
+                datapoints.addAll(batch.toDatapoints());
             } catch (InterruptedException e) {
                 throw new AssertionError(String.format(POLL_DATAPOINT_ASSERT_MESSAGE,
                         expectedDatapointCount, datapoints.size()));
@@ -653,6 +705,10 @@ public class StatsTopologyTest extends AbstractStormTest {
                 throw new AssertionError(String.format("Could not parse datapoint object: '%s'", record.value()));
             }
         }
+        if (datapoints.size() > expectedDatapointCount) {
+            throw new AssertionError(String.format(
+                    "Got %d datapoints instead of %d", datapoints.size(), expectedDatapointCount));
+        }
         try {
             // ensure that we received exact expected count of records
             ConsumerRecord<String, String> record = otsdbConsumer.pollMessage(POLL_TIMEOUT);
@@ -16,6 +16,10 @@
 package org.openkilda.wfm.topology.stats.bolts;
 
 import static java.util.Arrays.asList;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.messaging.info.stats.FlowStatsData;
@@ -33,7 +37,6 @@ import org.openkilda.persistence.PersistenceManager;
 import org.openkilda.persistence.repositories.FlowRepository;
 import org.openkilda.persistence.repositories.RepositoryFactory;
 import org.openkilda.wfm.topology.stats.CacheFlowEntry;
-import org.openkilda.wfm.topology.stats.MeterCacheKey;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -41,9 +44,11 @@ import org.junit.runner.RunWith;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Map;
+import java.util.List;
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CacheBoltTest {
@@ -71,64 +76,113 @@ public class CacheBoltTest {
     @Test
     public void cacheBoltInitCookieTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
-        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
-        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
-
-        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
-        cacheBolt.init();
+        CacheBolt cacheBolt = createWarmedUpCacheBolt(flow);
 
-        Map<Long, CacheFlowEntry> srcCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataSrcSwitch());
+        CacheFlowEntry[] srcCache = cacheBolt.lookupFlowStatsEntries(getFlowStatsDataSrcSwitch());
 
-        Assert.assertEquals(2, srcCache.size());
-        assertCookieCache(flow, srcCache, FORWARD_PATH_COOKIE);
-        assertCookieCache(flow, srcCache, PROTECTED_FORWARD_PATH_COOKIE);
+        Assert.assertEquals(2, srcCache.length);
+        assertCacheEntry(flow, srcCache[0], FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache[1], PROTECTED_FORWARD_PATH_COOKIE);
 
-        Map<Long, CacheFlowEntry> dstCache = cacheBolt.createCookieToFlowCache(getFlowStatsDataDstSwitch());
+        CacheFlowEntry[] dstCache = cacheBolt.lookupFlowStatsEntries(getFlowStatsDataDstSwitch());
 
-        Assert.assertEquals(2, dstCache.size());
-        assertCookieCache(flow, dstCache, REVERSE_PATH_COOKIE);
-        assertCookieCache(flow, dstCache, PROTECTED_REVERSE_PATH_COOKIE);
+        Assert.assertEquals(2, dstCache.length);
+        assertCacheEntry(flow, dstCache[0], REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache[1], PROTECTED_REVERSE_PATH_COOKIE);
     }
 
     @Test
     public void cacheBoltInitMeterTest() {
         Flow flow = getFlow();
-        when(flowRepository.findAll()).thenReturn(Collections.singletonList(flow));
-        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
-        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+        CacheBolt cacheBolt = createWarmedUpCacheBolt(flow);
 
-        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
-        cacheBolt.init();
+        CacheFlowEntry[] srcCache = cacheBolt.lookupMeterStatsEntries(getMeterStatsDataSrcSwitch());
 
-        Map<MeterCacheKey, CacheFlowEntry> srcCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataSrcSwitch());
+        Assert.assertEquals(2, srcCache.length);
+        assertCacheEntry(flow, srcCache[0], FORWARD_PATH_COOKIE);
+        assertCacheEntry(flow, srcCache[1], PROTECTED_FORWARD_PATH_COOKIE);
 
-        Assert.assertEquals(2, srcCache.size());
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, FORWARD_METER_ID, FORWARD_PATH_COOKIE);
-        assertMeterCache(flow, SRC_SWITCH_ID, srcCache, PROTECTED_FORWARD_METER_ID, PROTECTED_FORWARD_PATH_COOKIE);
+        CacheFlowEntry[] dstCache = cacheBolt.lookupMeterStatsEntries(getMeterStatsDataDstSwitch());
 
-        Map<MeterCacheKey, CacheFlowEntry> dstCache = cacheBolt.createSwitchAndMeterToFlowCache(
-                getMeterStatsDataDstSwitch());
-        Assert.assertEquals(2, dstCache.size());
+        Assert.assertEquals(2, dstCache.length);
+        assertCacheEntry(flow, dstCache[0], REVERSE_PATH_COOKIE);
+        assertCacheEntry(flow, dstCache[1], PROTECTED_REVERSE_PATH_COOKIE);
+    }
 
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, REVERSE_METER_ID, REVERSE_PATH_COOKIE);
-        assertMeterCache(flow, DST_SWITCH_ID, dstCache, PROTECTED_REVERSE_METER_ID, PROTECTED_REVERSE_PATH_COOKIE);
+    @Test
+    public void cacheBoltReturnsNullForUnknownEntries() {
+        CacheBolt cacheBolt = createWarmedUpCacheBolt(getFlow());
+
+        CacheFlowEntry[] cookieCache = cacheBolt.lookupFlowStatsEntries(new FlowStatsData(SRC_SWITCH_ID, asList(
+                new FlowStatsEntry(0, 100L, 0, 0, 0, 0),
+                new FlowStatsEntry(0, FORWARD_PATH_COOKIE, 0, 0, 0, 0))));
+        Assert.assertNull(cookieCache[0]);
+        Assert.assertEquals(FORWARD_PATH_COOKIE, cookieCache[1].getCookie());
+
+        // meters are unique per switch only
+        CacheFlowEntry[] meterCache = cacheBolt.lookupMeterStatsEntries(new MeterStatsData(SRC_SWITCH_ID, asList(
+                new MeterStatsEntry(REVERSE_METER_ID, 0, 0))));
+        Assert.assertNull(meterCache[0]);
     }
 
-    private void assertCookieCache(Flow flow, Map<Long, CacheFlowEntry> cookieToFlowCache, Long cookie) {
-        CacheFlowEntry entry = cookieToFlowCache.get(cookie);
-        Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
-        Assert.assertEquals(cookie, entry.getCookie());
+    @Test
+    public void cacheBoltWarmsUpByPages() {
+        List<Flow> flows = new ArrayList<>();
+        for (int i = 0; i < 1200; i++) {
+            flows.add(getFlow(String.format("flow-%05d", i), i * 4L + 1, i * 4L + MeterId.MIN_FLOW_METER_ID));
+        }
+        when(flowRepository.findPage(any(), anyInt())).thenAnswer(invocation -> {
+            String after = invocation.getArgument(0);
+            int limit = invocation.getArgument(1);
+            return flows.stream()
+                    .filter(flow -> after == null || flow.getFlowId().compareTo(after) > 0)
+                    .limit(limit)
+                    .collect(Collectors.toList());
+        });
+        CacheBolt cacheBolt = createCacheBolt();
+        cacheBolt.warmUpFlowCache();
+
+        verify(flowRepository, times(3)).findPage(any(), anyInt());
+        CacheFlowEntry[] cache = cacheBolt.lookupFlowStatsEntries(new FlowStatsData(SRC_SWITCH_ID, asList(
+                new FlowStatsEntry(0, 1, 0, 0, 0, 0),
+                new FlowStatsEntry(0, 1199 * 4L + 1, 0, 0, 0, 0))));
+        Assert.assertEquals("flow-00000", cache[0].getFlowId());
+        Assert.assertEquals("flow-01199", cache[1].getFlowId());
+    }
+
+    private CacheBolt createWarmedUpCacheBolt(Flow flow) {
+        when(flowRepository.findPage(any(), anyInt())).thenReturn(Collections.singletonList(flow));
+        CacheBolt cacheBolt = createCacheBolt();
+        cacheBolt.warmUpFlowCache();
+        return cacheBolt;
     }
 
-    private void assertMeterCache(Flow flow, SwitchId switchId, Map<MeterCacheKey, CacheFlowEntry> cache,
-                                  Long meterId, Long cookie) {
-        CacheFlowEntry entry = cache.get(new MeterCacheKey(switchId, meterId));
+    private CacheBolt createCacheBolt() {
+        when(repositoryFactory.createFlowRepository()).thenReturn(flowRepository);
+        when(persistenceManager.getRepositoryFactory()).thenReturn(repositoryFactory);
+
+        CacheBolt cacheBolt = new CacheBolt(persistenceManager);
+        cacheBolt.init();
+        return cacheBolt;
+    }
+
+    private void assertCacheEntry(Flow flow, CacheFlowEntry entry, Long cookie) {
         Assert.assertEquals(flow.getFlowId(), entry.getFlowId());
         Assert.assertEquals(cookie, entry.getCookie());
     }
 
+    private Flow getFlow(String flowId, long cookie, long meterId) {
+        Switch srcSwitch = Switch.builder().switchId(SRC_SWITCH_ID).build();
+        Switch destSwitch = Switch.builder().switchId(DST_SWITCH_ID).build();
+        Flow flow = Flow.builder()
+                .flowId(flowId)
+                .srcSwitch(srcSwitch)
+                .destSwitch(destSwitch)
+                .build();
+        flow.setForwardPath(getPath(flow, srcSwitch, destSwitch, cookie, meterId));
+        return flow;
+    }
+
     private Flow getFlow() {
         Switch srcSwitch = Switch.builder().switchId(SRC_SWITCH_ID).build();
         Switch destSwitch = Switch.builder().switchId(DST_SWITCH_ID).build();
@@ -0,0 +1,46 @@
+/* Copyright 2020 Telstra Open Source
+ *
+ *   Licensed under the Apache License, Version 2.0 (the "License");
+ *   you may not use this file except in compliance with the License.
+ *   You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ *   Unless required by applicable law or agreed to in writing, software
+ *   distributed under the License is distributed on an "AS IS" BASIS,
+ *   WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ *   See the License for the specific language governing permissions and
+ *   limitations under the License.
+ */
+
+package org.openkilda.wfm.topology.switchmanager.model;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Expected flow rules and meters of a switch, built from the actual flow paths going through the switch. Once the flow
+ * path revision of the switch or a version of the paths changes, the entities must be built again.
+ */
+@Data
+public class ExpectedSwitchEntities {
+    private final long flowPathRevision;
+    private final Set<String> actualPathVersions;
+
+    private Set<Long> flowCookies;
+    private Set<Long> server42IngressCookies;
+
+    private List<SimpleMeterEntry> flowMeters;
+    private String flowMetersSwitchDescription;
+
+    public boolean isRulesBuilt() {
+        return flowCookies != null;
+    }
+
+    public boolean isMetersBuilt(String switchDescription) {
+        return flowMeters != null && Objects.equals(flowMetersSwitchDescription, switchDescription);
+    }
+}
@@ -50,6 +50,7 @@ import org.openkilda.wfm.topology.switchmanager.SwitchManagerTopologyConfig;
 import org.openkilda.wfm.topology.switchmanager.error.InconsistentDataException;
 import org.openkilda.wfm.topology.switchmanager.error.SwitchNotFoundException;
 import org.openkilda.wfm.topology.switchmanager.mappers.MeterEntryMapper;
+import org.openkilda.wfm.topology.switchmanager.model.ExpectedSwitchEntities;
 import org.openkilda.wfm.topology.switchmanager.model.SimpleMeterEntry;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateGroupsResult;
 import org.openkilda.wfm.topology.switchmanager.model.ValidateMetersResult;
@@ -63,6 +64,7 @@ import lombok.extern.slf4j.Slf4j;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -79,6 +81,7 @@ public class ValidationServiceImpl implements ValidationService {
     private MirrorGroupRepository mirrorGroupRepository;
     private final long flowMeterMinBurstSizeInKbits;
     private final double flowMeterBurstCoefficient;
+    private final Map<SwitchId, ExpectedSwitchEntities> expectedEntitiesCache = new HashMap<>();
 
     public ValidationServiceImpl(PersistenceManager persistenceManager, SwitchManagerTopologyConfig topologyConfig) {
         this.flowPathRepository = persistenceManager.getRepositoryFactory().createFlowPathRepository();
@@ -95,27 +98,59 @@ public class ValidationServiceImpl implements ValidationService {
                                              List<FlowEntry> expectedDefaultRules) {
         log.debug("Validating rules on switch {}", switchId);
 
-        Set<Long> expectedCookies = getExpectedFlowRules(switchId);
+        ExpectedSwitchEntities expectedEntities = getExpectedEntities(switchId);
+        if (!expectedEntities.isRulesBuilt()) {
+            buildExpectedFlowRules(switchId, expectedEntities);
+        }
+
+        Set<Long> expectedCookies = new HashSet<>(expectedEntities.getFlowCookies());
+        if (isServer42FlowRttEnabled(switchId)) {
+            expectedCookies.addAll(expectedEntities.getServer42IngressCookies());
+        }
         return makeRulesResponse(expectedCookies, presentRules, expectedDefaultRules, switchId);
     }
 
-    private Set<Long> getExpectedServer42IngressCookies(SwitchId switchId, Collection<FlowPath> paths) {
+    /**
+     * Returns the cached expected entities of the switch if neither the flow path revision of the switch nor the
+     * versions of its actual paths are changed, or empty entities to be built otherwise. Switches without actual paths
+     * are not cached, so the entries of removed switches are evicted as well.
+     */
+    private ExpectedSwitchEntities getExpectedEntities(SwitchId switchId) {
+        long flowPathRevision = flowPathRepository.getFlowPathRevision(switchId);
+        Set<String> actualPathVersions = new HashSet<>(flowPathRepository.findActualPathVersionsBySwitch(switchId));
+        if (actualPathVersions.isEmpty()) {
+            expectedEntitiesCache.remove(switchId);
+            return new ExpectedSwitchEntities(flowPathRevision, actualPathVersions);
+        }
+
+        ExpectedSwitchEntities entities = expectedEntitiesCache.get(switchId);
+        if (entities == null || entities.getFlowPathRevision() != flowPathRevision
+                || !entities.getActualPathVersions().equals(actualPathVersions)) {
+            log.debug("Flow paths of switch {} are changed, expected rules and meters will be rebuilt", switchId);
+            entities = new ExpectedSwitchEntities(flowPathRevision, actualPathVersions);
+            expectedEntitiesCache.put(switchId, entities);
+        }
+        return entities;
+    }
+
+    private boolean isServer42FlowRttEnabled(SwitchId switchId) {
         SwitchProperties switchProperties = switchPropertiesRepository.findBySwitchId(switchId)
                 .orElseThrow(() -> new InconsistentDataException(switchId, "switch properties not found"));
 
-        if (switchProperties.isServer42FlowRtt()
-                && featureTogglesRepository.find().map(FeatureToggles::getServer42FlowRtt).orElse(false)) {
-            return paths.stream()
-                    .filter(path -> switchId.equals(path.getSrcSwitch().getSwitchId()))
-                    .filter(path -> !path.isOneSwitchFlow())
-                    .map(FlowPath::getCookie)
-                    .map(FlowSegmentCookie::toBuilder)
-                    .map(builder -> builder.type(CookieType.SERVER_42_INGRESS))
-                    .map(FlowSegmentCookieBuilder::build)
-                    .map(CookieBase::getValue)
-                    .collect(Collectors.toSet());
-        }
-        return new HashSet<>();
+        return switchProperties.isServer42FlowRtt()
+                && featureTogglesRepository.find().map(FeatureToggles::getServer42FlowRtt).orElse(false);
+    }
+
+    private Set<Long> getExpectedServer42IngressCookies(SwitchId switchId, Collection<FlowPath> paths) {
+        return paths.stream()
+                .filter(path -> switchId.equals(path.getSrcSwitch().getSwitchId()))
+                .filter(path -> !path.isOneSwitchFlow())
+                .map(FlowPath::getCookie)
+                .map(FlowSegmentCookie::toBuilder)
+                .map(builder -> builder.type(CookieType.SERVER_42_INGRESS))
+                .map(FlowSegmentCookieBuilder::build)
+                .map(CookieBase::getValue)
+                .collect(Collectors.toSet());
     }
 
     @Override
@@ -201,14 +236,19 @@ public class ValidationServiceImpl implements ValidationService {
     private void validateDefaultRules(List<FlowEntry> presentRules, List<FlowEntry> expectedDefaultRules,
                                       Set<Long> missingRules, Set<Long> properRules, Set<Long> excessRules,
                                       Set<Long> misconfiguredRules) {
-        List<FlowEntry> presentDefaultRules = presentRules.stream()
-                .filter(rule -> Cookie.isDefaultRule(rule.getCookie()))
-                .collect(toList());
+        Map<Long, List<FlowEntry>> presentDefaultRules = new HashMap<>();
+        for (FlowEntry rule : presentRules) {
+            if (Cookie.isDefaultRule(rule.getCookie())) {
+                presentDefaultRules.computeIfAbsent(rule.getCookie(), key -> new ArrayList<>()).add(rule);
+            }
+        }
+        Set<Long> expectedDefaultCookies = expectedDefaultRules.stream()
+                .map(FlowEntry::getCookie)
+                .collect(Collectors.toSet());
 
         expectedDefaultRules.forEach(expectedDefaultRule -> {
-            List<FlowEntry> defaultRule = presentDefaultRules.stream()
-                    .filter(rule -> rule.getCookie() == expectedDefaultRule.getCookie())
-                    .collect(toList());
+            List<FlowEntry> defaultRule = presentDefaultRules.getOrDefault(
+                    expectedDefaultRule.getCookie(), Collections.emptyList());
 
             if (defaultRule.isEmpty()) {
                 missingRules.add(expectedDefaultRule.getCookie());
@@ -227,15 +267,9 @@ public class ValidationServiceImpl implements ValidationService {
             }
         });
 
-        presentDefaultRules.forEach(presentDefaultRule -> {
-            List<FlowEntry> defaultRule = expectedDefaultRules.stream()
-                    .filter(rule -> rule.getCookie() == presentDefaultRule.getCookie())
-                    .collect(toList());
-
-            if (defaultRule.isEmpty()) {
-                excessRules.add(presentDefaultRule.getCookie());
-            }
-        });
+        presentDefaultRules.keySet().stream()
+                .filter(cookie -> !expectedDefaultCookies.contains(cookie))
+                .forEach(excessRules::add);
     }
 
     private static String cookiesIntoLogRepresentation(Collection<Long> rules) {
@@ -255,18 +289,20 @@ public class ValidationServiceImpl implements ValidationService {
                 .map(MeterEntryMapper.INSTANCE::map)
                 .collect(toList());
 
-        Collection<FlowPath> paths = flowPathRepository.findBySrcSwitch(switchId).stream()
-                .filter(flowPath -> flowPath.getFlow().isActualPathId(flowPath.getPathId()))
-                .collect(Collectors.toList());
-
-        if (!paths.isEmpty()) {
-            expectedMeters.addAll(getExpectedFlowMeters(paths));
+        ExpectedSwitchEntities expectedEntities = getExpectedEntities(switchId);
+        if (!expectedEntities.isMetersBuilt(sw.getDescription())) {
+            Collection<FlowPath> paths = flowPathRepository.findBySrcSwitch(switchId).stream()
+                    .filter(flowPath -> flowPath.getFlow().isActualPathId(flowPath.getPathId()))
+                    .collect(Collectors.toList());
+            expectedEntities.setFlowMeters(getExpectedFlowMeters(paths));
+            expectedEntities.setFlowMetersSwitchDescription(sw.getDescription());
         }
+        expectedMeters.addAll(expectedEntities.getFlowMeters());
 
         return comparePresentedAndExpectedMeters(isESwitch, presentMeters, expectedMeters);
     }
 
-    private Set<Long> getExpectedFlowRules(SwitchId switchId) {
+    private void buildExpectedFlowRules(SwitchId switchId, ExpectedSwitchEntities expectedEntities) {
         Set<Long> result = new HashSet<>();
 
         // collect transit segments
@@ -300,8 +336,8 @@ public class ValidationServiceImpl implements ValidationService {
             }
         }
 
-        result.addAll(getExpectedServer42IngressCookies(switchId, affectedPaths));
-        return result;
+        expectedEntities.setFlowCookies(result);
+        expectedEntities.setServer42IngressCookies(getExpectedServer42IngressCookies(switchId, affectedPaths));
     }
 
     private ValidateMetersResult comparePresentedAndExpectedMeters(
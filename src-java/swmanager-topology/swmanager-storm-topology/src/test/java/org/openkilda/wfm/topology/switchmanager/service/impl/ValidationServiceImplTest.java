@@ -24,6 +24,8 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import org.openkilda.config.provider.PropertiesBasedConfigurationProvider;
@@ -146,6 +148,33 @@ public class ValidationServiceImplTest {
         assertEquals(ImmutableSet.of(0x8000000000000004L), new HashSet<>(response.getExcessRules()));
     }
 
+    @Test
+    public void validateRulesReusesExpectedRulesWhileFlowPathsAreNotChanged() throws SwitchNotFoundException {
+        PersistenceManagerBuilder persistenceManagerBuilder = persistenceManager().withSegmentsCookies(2L);
+        ValidationService validationService =
+                new ValidationServiceImpl(persistenceManagerBuilder.build(), topologyConfig);
+        FlowPathRepository flowPathRepository = persistenceManagerBuilder.flowPathRepository;
+        when(flowPathRepository.getFlowPathRevision(SWITCH_ID_A)).thenReturn(1L);
+        when(flowPathRepository.findActualPathVersionsBySwitch(SWITCH_ID_A))
+                .thenReturn(singletonList("path_2|1"));
+
+        validationService.validateRules(SWITCH_ID_A, emptyList(), emptyList());
+        ValidateRulesResult response = validationService.validateRules(SWITCH_ID_A, emptyList(), emptyList());
+        assertEquals(ImmutableList.of(2L), response.getMissingRules());
+        verify(flowPathRepository, times(1)).findBySegmentDestSwitch(SWITCH_ID_A);
+
+        // the path is updated in place
+        when(flowPathRepository.findActualPathVersionsBySwitch(SWITCH_ID_A))
+                .thenReturn(singletonList("path_2|2"));
+        validationService.validateRules(SWITCH_ID_A, emptyList(), emptyList());
+        verify(flowPathRepository, times(2)).findBySegmentDestSwitch(SWITCH_ID_A);
+
+        // a segment of another path is added
+        when(flowPathRepository.getFlowPathRevision(SWITCH_ID_A)).thenReturn(2L);
+        validationService.validateRules(SWITCH_ID_A, emptyList(), emptyList());
+        verify(flowPathRepository, times(3)).findBySegmentDestSwitch(SWITCH_ID_A);
+    }
+
     @Test
     public void validateMetersEmpty() throws SwitchNotFoundException {
         ValidationService validationService = new ValidationServiceImpl(persistenceManager().build(), topologyConfig);